@@ -51,6 +51,46 @@ public class ConsoleProperties {
      */
     public static final String CUSTOM_PAGE_DEBUG = "custom.page.debug";
 
+    /**
+     * REST API debug mode
+     */
+    public static final String REST_API_DEBUG = "rest.api.debug";
+
+    /**
+     * Time (in milliseconds) during which the custom pages metadata retrieved from the engine are reused
+     */
+    public static final String CUSTOM_PAGE_METADATA_CACHE_TTL = "custom.page.metadata.cache.ttl";
+
+    /**
+     * Default time to live of the custom pages metadata
+     */
+    public static final long DEFAULT_CUSTOM_PAGE_METADATA_CACHE_TTL = 5000L;
+
+    /**
+     * Custom pages libraries kept on disk and indexed instead of being loaded in memory
+     */
+    public static final String CUSTOM_PAGE_INDEXED_LIBRARIES = "custom.page.indexed.libraries";
+
+    /**
+     * Time (in seconds) during which the browsers can use the resources requested with a version without revalidating them
+     */
+    public static final String VERSIONED_RESOURCES_MAX_AGE = "versioned.resources.max.age";
+
+    /**
+     * Size (in megabytes) from which the imported files are imported in the background
+     */
+    public static final String IMPORT_BACKGROUND_MIN_SIZE = "import.background.min.size";
+
+    /**
+     * Max size (in megabytes) of the documents contents kept on disk to be downloaded
+     */
+    public static final String DOCUMENT_CONTENT_CACHE_MAX_SIZE = "document.content.cache.max.size";
+
+    /**
+     * Default max size of the documents contents kept on disk
+     */
+    public static final long DEFAULT_DOCUMENT_CONTENT_CACHE_MAX_SIZE = 256L;
+
     /**
      * Instances attribute
      */
@@ -154,6 +194,51 @@ public class ConsoleProperties {
         return Boolean.parseBoolean(debugMode);
     }
 
+    public boolean isRestAPIInDebugMode() {
+        final String debugMode = this.getProperty(REST_API_DEBUG);
+        return Boolean.parseBoolean(debugMode);
+    }
+
+    public long getCustomPageMetadataCacheTimeToLive() {
+        final String timeToLive = this.getProperty(CUSTOM_PAGE_METADATA_CACHE_TTL);
+        if (timeToLive != null) {
+            return Long.valueOf(timeToLive.trim());
+        }
+        return DEFAULT_CUSTOM_PAGE_METADATA_CACHE_TTL;
+    }
+
+    /**
+     * @return the size (in megabytes) from which the imports asked to run in the background actually do, 0 if they never do
+     */
+    public long getImportBackgroundMinSize() {
+        final String minSize = this.getProperty(IMPORT_BACKGROUND_MIN_SIZE);
+        if (minSize != null) {
+            return Long.valueOf(minSize.trim());
+        }
+        return 0L;
+    }
+
+    public long getDocumentContentCacheMaxSize() {
+        final String maxSize = this.getProperty(DOCUMENT_CONTENT_CACHE_MAX_SIZE);
+        if (maxSize != null) {
+            return Long.valueOf(maxSize.trim());
+        }
+        return DEFAULT_DOCUMENT_CONTENT_CACHE_MAX_SIZE;
+    }
+
+    public long getVersionedResourcesMaxAge() {
+        final String maxAge = this.getProperty(VERSIONED_RESOURCES_MAX_AGE);
+        if (maxAge != null) {
+            return Long.valueOf(maxAge.trim());
+        }
+        return 0L;
+    }
+
+    public boolean isCustomPageLibrariesIndexingEnabled() {
+        final String indexedLibraries = this.getProperty(CUSTOM_PAGE_INDEXED_LIBRARIES);
+        return indexedLibraries == null || Boolean.parseBoolean(indexedLibraries.trim());
+    }
+
     private void closeInputStream(final InputStream inputStream) {
         if (inputStream != null) {
             try {
@@ -15,7 +15,9 @@
 package org.bonitasoft.console.common.server.preferences.properties;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -38,7 +40,9 @@ public class CustomPermissionsMapping extends SimpleProperties {
      */
     protected static CustomPermissionsMapping getInstance(final long tenantId) {
         CustomPermissionsMapping tenancyProperties = INSTANCES.get(tenantId);
-        if (tenancyProperties == null || SecurityProperties.getInstance(tenantId).isAPIAuthorizationsCheckInDebugMode()) {
+        // in debug mode, the file is reloaded as soon as it is modified
+        if (tenancyProperties == null
+                || SecurityProperties.getInstance(tenantId).isAPIAuthorizationsCheckInDebugMode() && tenancyProperties.isOutdated()) {
             final File fileName = getTenantPropertiesFile(tenantId, PROPERTIES_FILENAME);
             tenancyProperties = new CustomPermissionsMapping(fileName);
             INSTANCES.put(tenantId, tenancyProperties);
@@ -46,8 +50,35 @@ public class CustomPermissionsMapping extends SimpleProperties {
         return tenancyProperties;
     }
 
+    /**
+     * Properties parsed once so that the permissions sets don't have to be parsed on each login
+     */
+    private volatile Map<String, Set<String>> propertiesAsSets;
+
     CustomPermissionsMapping(final File fileName) {
         super(fileName);
+        propertiesAsSets = getPropertiesAsSets();
+    }
+
+    @Override
+    public synchronized void setProperty(final String propertyName, final String propertyValue) {
+        super.setProperty(propertyName, propertyValue);
+        propertiesAsSets = getPropertiesAsSets();
+    }
+
+    @Override
+    public synchronized void removeProperty(final String propertyName) {
+        super.removeProperty(propertyName);
+        propertiesAsSets = getPropertiesAsSets();
+    }
+
+    @Override
+    public Set<String> getPropertyAsSet(final String propertyName) {
+        final Set<String> propertyAsSet = propertiesAsSets.get(propertyName);
+        if (propertyAsSet == null) {
+            return Collections.emptySet();
+        }
+        return propertyAsSet;
     }
 
 }
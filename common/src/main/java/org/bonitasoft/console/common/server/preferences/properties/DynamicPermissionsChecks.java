@@ -38,7 +38,9 @@ public class DynamicPermissionsChecks extends ResourcesPermissionsMapping {
      */
     protected static DynamicPermissionsChecks getInstance(final long tenantId) {
         DynamicPermissionsChecks tenancyProperties = INSTANCES.get(tenantId);
-        if (tenancyProperties == null || SecurityProperties.getInstance(tenantId).isAPIAuthorizationsCheckInDebugMode()) {
+        // in debug mode, the file is reloaded as soon as it is modified
+        if (tenancyProperties == null
+                || SecurityProperties.getInstance(tenantId).isAPIAuthorizationsCheckInDebugMode() && tenancyProperties.isOutdated()) {
             final File fileName = getTenantPropertiesFile(tenantId, PROPERTIES_FILENAME);
             tenancyProperties = new DynamicPermissionsChecks(fileName);
             INSTANCES.put(tenantId, tenancyProperties);
@@ -17,6 +17,7 @@ package org.bonitasoft.console.common.server.preferences.properties;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -48,7 +49,9 @@ public class ResourcesPermissionsMapping extends SimpleProperties {
      */
     protected static ResourcesPermissionsMapping getInstance(final long tenantId) {
         ResourcesPermissionsMapping tenancyProperties = INSTANCES.get(tenantId);
-        if (tenancyProperties == null || SecurityProperties.getInstance(tenantId).isAPIAuthorizationsCheckInDebugMode()) {
+        // in debug mode, the file is reloaded as soon as it is modified
+        if (tenancyProperties == null
+                || SecurityProperties.getInstance(tenantId).isAPIAuthorizationsCheckInDebugMode() && tenancyProperties.isOutdated()) {
             final File fileName = getTenantPropertiesFile(tenantId, PROPERTIES_FILENAME);
             tenancyProperties = new ResourcesPermissionsMapping(fileName);
             INSTANCES.put(tenantId, tenancyProperties);
@@ -56,24 +59,70 @@ public class ResourcesPermissionsMapping extends SimpleProperties {
         return tenancyProperties;
     }
 
+    /**
+     * Permissions of the resources compiled from the properties file. It is replaced (never modified) when the properties change.
+     */
+    private volatile PermissionsIndex permissionsIndex;
+
     ResourcesPermissionsMapping(final File fileName) {
         super(fileName);
+        permissionsIndex = new PermissionsIndex(getPropertiesAsSets());
+    }
+
+    @Override
+    public synchronized void setProperty(final String propertyName, final String propertyValue) {
+        super.setProperty(propertyName, propertyValue);
+        permissionsIndex = new PermissionsIndex(getPropertiesAsSets());
+    }
+
+    @Override
+    public synchronized void removeProperty(final String propertyName) {
+        super.removeProperty(propertyName);
+        permissionsIndex = new PermissionsIndex(getPropertiesAsSets());
+    }
+
+    @Override
+    public Set<String> getPropertyAsSet(final String propertyName) {
+        final Set<String> permissions = permissionsIndex.propertiesAsSets.get(propertyName);
+        if (permissions == null) {
+            return Collections.emptySet();
+        }
+        return permissions;
     }
 
     public Set<String> getResourcePermissions(final String method, final String apiName, final String resourceName, final List<String> resourceQualifiers) {
-        final String key = buildResourceKey(method, apiName, resourceName, resourceQualifiers);
-        return getPropertyAsSet(key);
+        PermissionsNode node = permissionsIndex.getResourceNode(method, apiName, resourceName);
+        if (node != null && resourceQualifiers != null) {
+            for (final String resourceQualifier : resourceQualifiers) {
+                node = node.getChild(resourceQualifier);
+                if (node == null) {
+                    break;
+                }
+            }
+        }
+        return node != null ? node.permissions : Collections.<String> emptySet();
     }
 
     public Set<String> getResourcePermissionsWithWildCard(final String method, final String apiName, final String resourceName,
             final List<String> resourceQualifiers) {
-        if (resourceQualifiers != null) {
-            for (int i = resourceQualifiers.size() - 1; i >= 0; i--) {
-                final List<String> resourceQualifiersWithWildCard = getResourceQualifiersWithWildCard(resourceQualifiers, i);
-                final String key = buildResourceKey(method, apiName, resourceName, resourceQualifiersWithWildCard);
-                final Set<String> permissions = getPropertyAsSet(key);
-                if (!permissions.isEmpty()) {
-                    return permissions;
+        final PermissionsNode resourceNode = permissionsIndex.getResourceNode(method, apiName, resourceName);
+        if (resourceNode != null && resourceQualifiers != null) {
+            // nodes reached by the qualifiers before the wildcard position
+            final PermissionsNode[] exactNodes = new PermissionsNode[resourceQualifiers.size()];
+            PermissionsNode node = resourceNode;
+            for (int i = 0; i < exactNodes.length && node != null; i++) {
+                exactNodes[i] = node;
+                node = node.getChild(resourceQualifiers.get(i));
+            }
+            for (int i = exactNodes.length - 1; i >= 0; i--) {
+                if (exactNodes[i] != null) {
+                    node = exactNodes[i].getChild(WILDCARD);
+                    for (int j = i + 1; j < exactNodes.length && node != null; j++) {
+                        node = node.getChild(resourceQualifiers.get(j));
+                    }
+                    if (node != null && !node.permissions.isEmpty()) {
+                        return node.permissions;
+                    }
                 }
             }
         }
@@ -100,4 +149,60 @@ public class ResourcesPermissionsMapping extends SimpleProperties {
         return getResourcePermissions(method, apiName, resourceName, null);
     }
 
+    /**
+     * Tree of the resources keys (method, API, resource and qualifiers) built once so that a lookup doesn't have to build and parse keys
+     */
+    private static class PermissionsIndex {
+
+        private final Map<String, Set<String>> propertiesAsSets;
+
+        private final PermissionsNode root = new PermissionsNode();
+
+        private PermissionsIndex(final Map<String, Set<String>> propertiesAsSets) {
+            this.propertiesAsSets = propertiesAsSets;
+            for (final Map.Entry<String, Set<String>> property : propertiesAsSets.entrySet()) {
+                final String key = property.getKey();
+                final int separatorIndex = key.indexOf(API_METHOD_SEPARATOR);
+                if (separatorIndex >= 0) {
+                    PermissionsNode node = root.getOrCreateChild(key.substring(0, separatorIndex));
+                    for (final String segment : key.substring(separatorIndex + 1).split("/", -1)) {
+                        node = node.getOrCreateChild(segment);
+                    }
+                    node.permissions = property.getValue();
+                }
+            }
+        }
+
+        private PermissionsNode getResourceNode(final String method, final String apiName, final String resourceName) {
+            PermissionsNode node = root.getChild(method);
+            if (node != null) {
+                node = node.getChild(apiName);
+            }
+            if (node != null) {
+                node = node.getChild(resourceName);
+            }
+            return node;
+        }
+    }
+
+    private static class PermissionsNode {
+
+        private final Map<String, PermissionsNode> children = new HashMap<String, PermissionsNode>();
+
+        private Set<String> permissions = Collections.emptySet();
+
+        private PermissionsNode getChild(final String segment) {
+            return children.get(segment);
+        }
+
+        private PermissionsNode getOrCreateChild(final String segment) {
+            PermissionsNode child = children.get(segment);
+            if (child == null) {
+                child = new PermissionsNode();
+                children.put(segment, child);
+            }
+            return child;
+        }
+    }
+
 }
@@ -62,6 +62,21 @@ public class SecurityProperties {
      */
     public static final String API_AUTHORIZATIONS_CHECK_DEBUG = "security.rest.api.authorizations.check.debug";
 
+    /**
+     * property for the time to live (in milliseconds) of the dynamic permissions scripts verdicts (0 to disable the cache)
+     */
+    public static final String API_AUTHORIZATIONS_CHECK_CACHE_TTL = "security.rest.api.authorizations.check.cache.ttl";
+
+    /**
+     * property for the max number of dynamic permissions scripts verdicts kept for a tenant
+     */
+    public static final String API_AUTHORIZATIONS_CHECK_CACHE_MAX_SIZE = "security.rest.api.authorizations.check.cache.maxsize";
+
+    /**
+     * default max number of dynamic permissions scripts verdicts kept for a tenant
+     */
+    public static final int DEFAULT_API_AUTHORIZATIONS_CHECK_CACHE_MAX_SIZE = 10000;
+
     /**
      * property for the auto login mechanism activation
      */
@@ -311,6 +326,36 @@ public class SecurityProperties {
         return Boolean.parseBoolean(debugMode);
     }
 
+    /**
+     * @return the time to live in milliseconds of the dynamic permissions scripts verdicts (0 if they must not be cached)
+     */
+    public long getAPIAuthorizationsCheckCacheTimeToLive() {
+        final String timeToLive = defaultProperties.getProperty(API_AUTHORIZATIONS_CHECK_CACHE_TTL);
+        try {
+            return timeToLive != null ? Long.parseLong(timeToLive.trim()) : 0L;
+        } catch (final NumberFormatException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Invalid value for " + API_AUTHORIZATIONS_CHECK_CACHE_TTL + ": " + timeToLive + ". The cache is disabled.");
+            }
+            return 0L;
+        }
+    }
+
+    /**
+     * @return the max number of dynamic permissions scripts verdicts kept for a tenant
+     */
+    public int getAPIAuthorizationsCheckCacheMaxSize() {
+        final String maxSize = defaultProperties.getProperty(API_AUTHORIZATIONS_CHECK_CACHE_MAX_SIZE);
+        try {
+            return maxSize != null ? Integer.parseInt(maxSize.trim()) : DEFAULT_API_AUTHORIZATIONS_CHECK_CACHE_MAX_SIZE;
+        } catch (final NumberFormatException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Invalid value for " + API_AUTHORIZATIONS_CHECK_CACHE_MAX_SIZE + ": " + maxSize + ". The default value is used.");
+            }
+            return DEFAULT_API_AUTHORIZATIONS_CHECK_CACHE_MAX_SIZE;
+        }
+    }
+
     /**
      * @return the value to allow or not CSRF protection
      */
@@ -23,7 +23,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.logging.Level;
@@ -51,6 +53,16 @@ public class SimpleProperties {
      */
     protected File propertiesFile;
 
+    /**
+     * Last modification date of the properties file when it was loaded (or last saved)
+     */
+    private long loadedLastModified;
+
+    /**
+     * Length of the properties file when it was loaded (or last saved)
+     */
+    private long loadedLength;
+
     public SimpleProperties(final File propertiesFile) {
         this.propertiesFile = propertiesFile;
         InputStream inputStream = null;
@@ -60,6 +72,7 @@ public class SimpleProperties {
             }
             inputStream = new FileInputStream(propertiesFile);
             properties.load(inputStream);
+            recordFileState();
         } catch (final IOException e) {
             if (LOGGER.isLoggable(Level.WARNING)) {
                 LOGGER.log(Level.WARNING, "Bonita web preferences file " + propertiesFile.getPath() + " could not be loaded.", e);
@@ -128,6 +141,7 @@ public class SimpleProperties {
             try {
                 outputStream = new FileOutputStream(propertiesFile);
                 properties.store(outputStream, null);
+                recordFileState();
             } catch (final IOException e) {
                 if (LOGGER.isLoggable(Level.WARNING)) {
                     LOGGER.log(Level.WARNING, "Bonita web preferences file " + propertiesFile.getPath() + " could not be loaded.", e);
@@ -146,6 +160,32 @@ public class SimpleProperties {
         }
     }
 
+    private void recordFileState() {
+        loadedLastModified = propertiesFile.lastModified();
+        loadedLength = propertiesFile.length();
+    }
+
+    /**
+     * @return true if the properties file was modified since it was loaded
+     */
+    public boolean isOutdated() {
+        if (propertiesFile == null) {
+            return false;
+        }
+        return propertiesFile.lastModified() != loadedLastModified || propertiesFile.length() != loadedLength;
+    }
+
+    /**
+     * @return all the properties parsed as sets (see {@link #getPropertyAsSet(String)}), the returned sets must not be modified
+     */
+    protected Map<String, Set<String>> getPropertiesAsSets() {
+        final Map<String, Set<String>> propertiesAsSets = new HashMap<String, Set<String>>();
+        for (final String propertyName : getPropertiesNames()) {
+            propertiesAsSets.put(propertyName, Collections.unmodifiableSet(stringToSet(getProperty(propertyName))));
+        }
+        return propertiesAsSets;
+    }
+
     public Set<String> getPropertyAsSet(final String propertyName) {
         final String propertyAsString = getProperty(propertyName);
         return stringToSet(propertyAsString);
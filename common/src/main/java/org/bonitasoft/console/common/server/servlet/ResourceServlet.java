@@ -18,7 +18,6 @@ package org.bonitasoft.console.common.server.servlet;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.logging.Level;
@@ -30,11 +29,13 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.servlet.http.HttpSession;
 
-import org.apache.commons.io.FileUtils;
+import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.CompressedResourceCache;
 import org.bonitasoft.console.common.server.utils.SessionUtil;
+import org.bonitasoft.console.common.server.utils.StaticResourceSender;
 import org.bonitasoft.engine.session.APISession;
 
 /**
@@ -108,7 +109,6 @@ public abstract class ResourceServlet extends HttpServlet {
      */
     protected void getResourceFile(final HttpServletRequest request, final HttpServletResponse response, String resourceName, String fileName)
             throws ServletException, UnsupportedEncodingException {
-        byte[] content = null;
         String contentType = null;
         if (resourceName == null) {
             final String errorMessage = "Error while using the servlet to get a resource: the parameter " + getResourceParameterName() + " is null.";
@@ -181,14 +181,8 @@ public abstract class ResourceServlet extends HttpServlet {
             if (contentType == null) {
                 contentType = "application/octet-stream";
             }
-            content = FileUtils.readFileToByteArray(file);
-            response.setContentType(contentType);
-            response.setContentLength(content.length);
-            response.setBufferSize(content.length);
-            final OutputStream out = response.getOutputStream();
-            out.write(content, 0, content.length);
-            response.flushBuffer();
-            out.close();
+            final File fileToSend = getCompressedResourceCache(request).getFileToSend(request, response, file);
+            getStaticResourceSender(request).send(request, response, fileToSend, contentType);
         } catch (final IOException e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Error while generating the response.", e);
@@ -197,19 +191,31 @@ public abstract class ResourceServlet extends HttpServlet {
         }
     }
 
-    protected File getResourcesParentFolder(final HttpServletRequest request) throws ServletException {
-        File resourcesParentFolder = null;
-        final HttpSession session = request.getSession();
+    protected CompressedResourceCache getCompressedResourceCache(final HttpServletRequest request) {
+        return new CompressedResourceCache(WebBonitaConstantsUtils.getInstance(getTenantId(request)).getTempFolder());
+    }
+
+    protected StaticResourceSender getStaticResourceSender(final HttpServletRequest request) {
+        return new StaticResourceSender(PropertiesFactory.getConsoleProperties(getTenantId(request)).getVersionedResourcesMaxAge());
+    }
+
+    protected long getTenantId(final HttpServletRequest request) {
         long tenantId = 1;
         final String tenantFromRequest = request.getParameter(TENANT_PARAM);
         if (tenantFromRequest == null) {
-            final APISession apiSession = (APISession) session.getAttribute(SessionUtil.API_SESSION_PARAM_KEY);
+            final APISession apiSession = (APISession) request.getSession().getAttribute(SessionUtil.API_SESSION_PARAM_KEY);
             if (apiSession != null) {
                 tenantId = apiSession.getTenantId();
             }
         } else {
             tenantId = Long.parseLong(tenantFromRequest);
         }
+        return tenantId;
+    }
+
+    protected File getResourcesParentFolder(final HttpServletRequest request) throws ServletException {
+        File resourcesParentFolder = null;
+        final long tenantId = getTenantId(request);
         try {
             resourcesParentFolder = getResourcesParentFolder(tenantId);
         } catch (final RuntimeException e) {
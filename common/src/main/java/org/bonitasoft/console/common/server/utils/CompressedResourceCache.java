@@ -0,0 +1,192 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Gzipped variants of the text resources of the pages, layouts and themes.<br>
+ * A variant is compressed once and stored in the temp folder of the tenant: in a folder per resource, named after the hash of the resource
+ * path (so of its page or theme), and in a file named after the last modification date of the resource. Compressing a new version of a
+ * resource deletes the variants of its previous versions, and nothing is ever written in the page or theme folders.
+ */
+public class CompressedResourceCache {
+
+    public static final String GZIP_ENCODING = "gzip";
+
+    /**
+     * Folder of the variants in the temp folder of the tenant
+     */
+    static final String VARIANTS_FOLDER_NAME = "compressed_resources";
+
+    /**
+     * Resources smaller than this (in bytes) are not worth compressing
+     */
+    static final long MIN_SIZE = 256;
+
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS = new HashSet<>(Arrays.asList("js", "css", "html", "htm", "json", "svg"));
+
+    private static final String VARIANT_EXTENSION = ".gz";
+
+    private static final Logger LOGGER = Logger.getLogger(CompressedResourceCache.class.getName());
+
+    private final File variantsFolder;
+
+    /**
+     * @param tempFolder
+     *            the temp folder of the tenant
+     */
+    public CompressedResourceCache(final File tempFolder) {
+        variantsFolder = new File(tempFolder, VARIANTS_FOLDER_NAME);
+    }
+
+    /**
+     * @return true if the resource is sent compressed to the clients accepting it
+     */
+    public boolean isCompressible(final File resourceFile) {
+        final String name = resourceFile.getName();
+        final int extensionStart = name.lastIndexOf('.');
+        return extensionStart >= 0 && COMPRESSIBLE_EXTENSIONS.contains(name.substring(extensionStart + 1).toLowerCase(Locale.ENGLISH))
+                && resourceFile.length() >= MIN_SIZE;
+    }
+
+    public boolean acceptsCompressedResources(final HttpServletRequest request) {
+        final String acceptEncoding = request.getHeader("Accept-Encoding");
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final String encoding : acceptEncoding.split(",")) {
+            final String[] encodingAndParameters = encoding.split(";");
+            final String encodingName = encodingAndParameters[0].trim();
+            if (GZIP_ENCODING.equalsIgnoreCase(encodingName) || "*".equals(encodingName)) {
+                return !isRefused(encodingAndParameters);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Choose the file to send for a resource: its gzipped variant if the resource is worth compressing and the client accepts it (the
+     * Content-Encoding header is then set), the resource itself otherwise
+     */
+    public File getFileToSend(final HttpServletRequest request, final HttpServletResponse response, final File resourceFile) {
+        if (!resourceFile.isFile() || !isCompressible(resourceFile)) {
+            return resourceFile;
+        }
+        response.setHeader("Vary", "Accept-Encoding");
+        // byte ranges are served on the uncompressed resource
+        if (request.getHeader("Range") != null || !acceptsCompressedResources(request)) {
+            return resourceFile;
+        }
+        final File variant = getCompressedVariant(resourceFile);
+        if (variant == null) {
+            return resourceFile;
+        }
+        response.setHeader("Content-Encoding", GZIP_ENCODING);
+        return variant;
+    }
+
+    /**
+     * @return the gzipped variant of the resource, compressed now if it is not already, or null if it cannot be written
+     */
+    public File getCompressedVariant(final File resourceFile) {
+        final File resourceVariantsFolder = new File(variantsFolder, hash(resourceFile.getAbsolutePath()));
+        final File variant = new File(resourceVariantsFolder, resourceFile.lastModified() + VARIANT_EXTENSION);
+        if (variant.exists()) {
+            return variant;
+        }
+        try {
+            Files.createDirectories(resourceVariantsFolder.toPath());
+            // written in a temp file and moved so that concurrent requests never send a partial variant
+            final File tempVariant = File.createTempFile("variant", VARIANT_EXTENSION + ".tmp", resourceVariantsFolder);
+            try {
+                compress(resourceFile, tempVariant);
+                Files.move(tempVariant.toPath(), variant.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempVariant.toPath());
+            }
+            deletePreviousVersions(resourceVariantsFolder, variant);
+            return variant;
+        } catch (final IOException e) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Unable to write the compressed variant of " + resourceFile.getPath() + ", it is sent uncompressed.", e);
+            }
+            return null;
+        }
+    }
+
+    private void deletePreviousVersions(final File resourceVariantsFolder, final File variant) {
+        final File[] variants = resourceVariantsFolder.listFiles();
+        if (variants == null) {
+            return;
+        }
+        for (final File previousVariant : variants) {
+            if (previousVariant.getName().endsWith(VARIANT_EXTENSION) && !previousVariant.equals(variant)) {
+                previousVariant.delete();
+            }
+        }
+    }
+
+    private void compress(final File resourceFile, final File variant) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(variant))) {
+            Files.copy(resourceFile.toPath(), out);
+        }
+    }
+
+    private String hash(final String resourcePath) {
+        try {
+            final StringBuilder hash = new StringBuilder();
+            for (final byte b : MessageDigest.getInstance("SHA-1").digest(resourcePath.getBytes(StandardCharsets.UTF_8))) {
+                hash.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hash.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            // every JVM provides SHA-1
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean isRefused(final String[] encodingAndParameters) {
+        for (int i = 1; i < encodingAndParameters.length; i++) {
+            final String parameter = encodingAndParameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim()) <= 0;
+                } catch (final NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,283 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+
+/**
+ * Contents of the engine documents written on disk, by content storage id.<br>
+ * The content of a content storage id never changes (a new version of a document gets a new one), so the downloads of an attachment only
+ * retrieve it once from the engine and the content is then streamed from disk, which allows range requests. The least recently used
+ * contents are deleted once the contents of the tenant take more than their max size, except the ones being sent: a file returned by
+ * {@link #getContentFile(String, ContentLoader)} is kept until it is given back with {@link #release(String)}.
+ */
+public class DocumentContentCache {
+
+    /**
+     * Name of the folder of the contents in the tenant temp folder
+     */
+    public static final String FOLDER_NAME = "documentContents";
+
+    private static final String TEMP_FILE_PREFIX = ".content";
+
+    private static final Logger LOGGER = Logger.getLogger(DocumentContentCache.class.getName());
+
+    private static final ConcurrentMap<Long, DocumentContentCache> INSTANCES = new ConcurrentHashMap<Long, DocumentContentCache>();
+
+    private final File folder;
+
+    private final long maxSize;
+
+    /**
+     * Size of the contents by file name, in access order
+     */
+    private final LinkedHashMap<String, Long> contentSizes = new LinkedHashMap<String, Long>(16, 0.75f, true);
+
+    /**
+     * Number of requests sending each content, by file name
+     */
+    private final Map<String, Integer> readers = new HashMap<String, Integer>();
+
+    /**
+     * Contents being retrieved from the engine, so that concurrent downloads of the same content wait for a single retrieval
+     */
+    private final ConcurrentMap<String, FutureTask<Void>> loadsInProgress = new ConcurrentHashMap<String, FutureTask<Void>>();
+
+    private long totalSize = 0;
+
+    /**
+     * Retrieve the content of a document from the engine
+     */
+    public interface ContentLoader {
+
+        byte[] load() throws Exception;
+    }
+
+    public static DocumentContentCache getInstance(final long tenantId) {
+        DocumentContentCache documentContentCache = INSTANCES.get(tenantId);
+        if (documentContentCache == null) {
+            final DocumentContentCache newDocumentContentCache = new DocumentContentCache(new File(WebBonitaConstantsUtils.getInstance(tenantId)
+                    .getTempFolder(), FOLDER_NAME), PropertiesFactory.getConsoleProperties(tenantId).getDocumentContentCacheMaxSize() * 1048576);
+            documentContentCache = INSTANCES.putIfAbsent(tenantId, newDocumentContentCache);
+            if (documentContentCache == null) {
+                documentContentCache = newDocumentContentCache;
+            }
+        }
+        return documentContentCache;
+    }
+
+    /**
+     * @param maxSize
+     *            max size (in bytes) of the contents kept on disk
+     */
+    public DocumentContentCache(final File folder, final long maxSize) {
+        this.folder = folder;
+        this.maxSize = maxSize;
+        indexExistingContents();
+    }
+
+    /**
+     * @return the file holding the content, retrieved with the loader if it is not on disk yet. It is not deleted until
+     *         {@link #release(String)} is called.
+     */
+    public File getContentFile(final String contentStorageId, final ContentLoader loader) throws Exception {
+        final String fileName = getFileName(contentStorageId);
+        final File contentFile = new File(folder, fileName);
+        while (!acquire(fileName, contentFile)) {
+            final FutureTask<Void> load = new FutureTask<Void>(new Callable<Void>() {
+
+                @Override
+                public Void call() throws Exception {
+                    write(fileName, contentFile, loader.load());
+                    return null;
+                }
+            });
+            final FutureTask<Void> loadInProgress = loadsInProgress.putIfAbsent(fileName, load);
+            if (loadInProgress != null) {
+                // the content may be evicted again before this thread acquires it, hence the loop
+                waitFor(loadInProgress);
+            } else if (acquire(fileName, contentFile)) {
+                // written by a load which ended right before this one started
+                loadsInProgress.remove(fileName, load);
+                return contentFile;
+            } else {
+                try {
+                    load.run();
+                } finally {
+                    loadsInProgress.remove(fileName, load);
+                }
+                waitFor(load);
+                // acquired by write
+                return contentFile;
+            }
+        }
+        return contentFile;
+    }
+
+    /**
+     * Give back a file returned by {@link #getContentFile(String, ContentLoader)} once it is sent, so that it can be deleted
+     */
+    public synchronized void release(final String contentStorageId) {
+        final String fileName = getFileName(contentStorageId);
+        final Integer contentReaders = readers.get(fileName);
+        if (contentReaders == null) {
+            return;
+        }
+        if (contentReaders > 1) {
+            readers.put(fileName, contentReaders - 1);
+        } else {
+            readers.remove(fileName);
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    /**
+     * @return a strong ETag of the content, built from its content storage id and its size
+     */
+    public String getEntityTag(final String contentStorageId, final long size) {
+        return "\"" + getFileName(contentStorageId) + "-" + Long.toHexString(size) + "\"";
+    }
+
+    public synchronized long getTotalSize() {
+        return totalSize;
+    }
+
+    String getFileName(final String contentStorageId) {
+        return contentStorageId.replaceAll("[^A-Za-z0-9_-]", "_") + "-" + Integer.toHexString(contentStorageId.hashCode());
+    }
+
+    /**
+     * @return true if the content is on disk, with one more reader
+     */
+    private synchronized boolean acquire(final String fileName, final File contentFile) {
+        if (contentSizes.get(fileName) == null || !contentFile.isFile()) {
+            return false;
+        }
+        addReader(fileName);
+        return true;
+    }
+
+    private void addReader(final String fileName) {
+        final Integer contentReaders = readers.get(fileName);
+        readers.put(fileName, contentReaders == null ? 1 : contentReaders + 1);
+    }
+
+    private void write(final String fileName, final File contentFile, final byte[] content) throws IOException {
+        if (!folder.isDirectory() && !folder.mkdirs() && !folder.isDirectory()) {
+            throw new IOException("Unable to create the folder " + folder.getPath());
+        }
+        // written in a temp file and moved so that concurrent downloads never send a partial content
+        final File tempFile = File.createTempFile(TEMP_FILE_PREFIX, ".tmp", folder);
+        try {
+            Files.write(tempFile.toPath(), content == null ? new byte[0] : content);
+            Files.move(tempFile.toPath(), contentFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+        register(fileName, contentFile.length());
+    }
+
+    private void waitFor(final FutureTask<Void> load) throws Exception {
+        try {
+            load.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a document content to be retrieved");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Index the content just written, with the writing thread as reader so that it is not deleted before being sent
+     */
+    private synchronized void register(final String fileName, final long size) {
+        final Long previousSize = contentSizes.put(fileName, size);
+        totalSize += size - (previousSize == null ? 0 : previousSize);
+        addReader(fileName);
+        evictLeastRecentlyUsed();
+    }
+
+    /**
+     * Must be called in a block synchronized on this cache
+     */
+    private void evictLeastRecentlyUsed() {
+        final Iterator<Map.Entry<String, Long>> contents = contentSizes.entrySet().iterator();
+        while (totalSize > maxSize && contents.hasNext()) {
+            final Map.Entry<String, Long> content = contents.next();
+            if (readers.containsKey(content.getKey())) {
+                // being sent, deleted once released if still needed
+                continue;
+            }
+            totalSize -= content.getValue();
+            contents.remove();
+            final File contentFile = new File(folder, content.getKey());
+            if (!contentFile.delete() && contentFile.exists() && LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Unable to delete the document content " + contentFile.getPath());
+            }
+        }
+    }
+
+    /**
+     * Take the contents written before a restart into account (the oldest ones being the least recently used)
+     */
+    private synchronized void indexExistingContents() {
+        final File[] files = folder.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+
+            @Override
+            public int compare(final File file1, final File file2) {
+                return Long.compare(file1.lastModified(), file2.lastModified());
+            }
+        });
+        for (final File file : files) {
+            if (file.getName().startsWith(TEMP_FILE_PREFIX)) {
+                file.delete();
+            } else if (file.isFile()) {
+                contentSizes.put(file.getName(), file.length());
+                totalSize += file.length();
+            }
+        }
+    }
+}
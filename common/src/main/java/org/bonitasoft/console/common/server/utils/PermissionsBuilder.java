@@ -35,15 +35,25 @@ public class PermissionsBuilder {
     private final CustomPermissionsMapping customPermissionsMapping;
     private final CompoundPermissionsMapping compoundPermissionsMapping;
     private final boolean apiAuthorizationsCheckEnabled;
+    private final boolean apiAuthorizationsCheckInDebugMode;
+    private final ProfilePermissionsCache profilePermissionsCache;
 
     protected PermissionsBuilder(final APISession session, final ProfileAPI profileAPI,final ApplicationAPI applicationAPI, final CustomPermissionsMapping customPermissionsMapping,
             final CompoundPermissionsMapping compoundPermissionsMapping, final SecurityProperties securityProperties) {
+        this(session, profileAPI, applicationAPI, customPermissionsMapping, compoundPermissionsMapping, securityProperties, new ProfilePermissionsCache());
+    }
+
+    protected PermissionsBuilder(final APISession session, final ProfileAPI profileAPI, final ApplicationAPI applicationAPI,
+            final CustomPermissionsMapping customPermissionsMapping, final CompoundPermissionsMapping compoundPermissionsMapping,
+            final SecurityProperties securityProperties, final ProfilePermissionsCache profilePermissionsCache) {
         this.session = session;
         this.profileAPI = profileAPI;
         this.applicationAPI = applicationAPI;
         this.customPermissionsMapping = customPermissionsMapping;
         this.compoundPermissionsMapping = compoundPermissionsMapping;
         apiAuthorizationsCheckEnabled = securityProperties.isAPIAuthorizationsCheckEnabled();
+        apiAuthorizationsCheckInDebugMode = securityProperties.isAPIAuthorizationsCheckInDebugMode();
+        this.profilePermissionsCache = profilePermissionsCache;
     }
 
     public Set<String> getPermissions() throws LoginFailedException {
@@ -56,44 +66,56 @@ public class PermissionsBuilder {
                 addProfilesPermissions(permissions);
                 addCustomUserPermissions(permissions);
             }
+            // the sessions of the users having the same permissions share the same set
+            permissions = profilePermissionsCache.share(permissions);
         }
         return permissions;
     }
 
     void addProfilesPermissions(final Set<String> permissions) throws LoginFailedException {
-        final Set<String> pageTokens;
         try {
-            pageTokens = getAllPagesForUser(permissions);
+            int profilesIndex = 0;
+            int nbOfProfilesRetrieved = MAX_ELEMENTS_RETRIEVED;
+            while (nbOfProfilesRetrieved == MAX_ELEMENTS_RETRIEVED) {
+                final List<Profile> profiles = profileAPI.getProfilesForUser(session.getUserId(), profilesIndex, MAX_ELEMENTS_RETRIEVED,
+                        ProfileCriterion.ID_ASC);
+                nbOfProfilesRetrieved = profiles.size();
+                for (final Profile profile : profiles) {
+                    permissions.addAll(getProfilePermissions(profile));
+                }
+                profilesIndex = profilesIndex + nbOfProfilesRetrieved;
+            }
         } catch (final SearchException e) {
             throw new LoginFailedException(e);
         }
-        for (final String pageToken : pageTokens) {
-            permissions.addAll(getCompoundPermissions(pageToken));
-        }
     }
 
     /**
-     * return the page names the user can access and add custom permissions of the profile in the permissions set
+     * return the permissions of the profile, computed only if they are not already in the tenant cache (in debug mode, the mapping files
+     * are reloaded when they are modified so the permissions are always computed)
      *
-     * @param permissions
-     *        the set to complete
+     * @param profile
+     *        the profile of the user
      * @return
-     *         the page names the user can access
+     *         the permissions of the pages the profile can access and the custom permissions of the profile
      * @throws SearchException
      */
-    Set<String> getAllPagesForUser(final Set<String> permissions) throws SearchException {
+    Set<String> getProfilePermissions(final Profile profile) throws SearchException {
+        final Set<String> cachedPermissions = apiAuthorizationsCheckInDebugMode ? null : profilePermissionsCache.get(profile.getId());
+        if (cachedPermissions != null) {
+            return cachedPermissions;
+        }
+        final long cacheGeneration = profilePermissionsCache.getGeneration();
+        final Set<String> permissions = new HashSet<String>();
         final Set<String> pageTokens = new HashSet<String>();
-        int profilesIndex = 0;
-        int nbOfProfilesRetrieved = MAX_ELEMENTS_RETRIEVED;
-        while (nbOfProfilesRetrieved == MAX_ELEMENTS_RETRIEVED) {
-            final List<Profile> profiles = profileAPI.getProfilesForUser(session.getUserId(), profilesIndex, MAX_ELEMENTS_RETRIEVED, ProfileCriterion.ID_ASC);
-            nbOfProfilesRetrieved = profiles.size();
-            for (final Profile profile : profiles) {
-                addPageAndCustomPermissionsOfProfile(permissions, pageTokens, profile);
-            }
-            profilesIndex = profilesIndex + nbOfProfilesRetrieved;
+        addPageAndCustomPermissionsOfProfile(permissions, pageTokens, profile);
+        for (final String pageToken : pageTokens) {
+            permissions.addAll(getCompoundPermissions(pageToken));
+        }
+        if (apiAuthorizationsCheckInDebugMode) {
+            return permissions;
         }
-        return pageTokens;
+        return profilePermissionsCache.put(profile.getId(), permissions, cacheGeneration);
     }
 
     void addPageAndCustomPermissionsOfProfile(final Set<String> permissions, final Set<String> pageTokens, final Profile profile) throws SearchException {
@@ -26,6 +26,7 @@ public class PermissionsBuilderAccessor {
         final SecurityProperties securityProperties = PropertiesFactory.getSecurityProperties(session.getTenantId());
         final CustomPermissionsMapping customPermissionsMapping = PropertiesFactory.getCustomPermissionsMapping(session.getTenantId());
         final CompoundPermissionsMapping compoundPermissionsMapping = PropertiesFactory.getCompoundPermissionsMapping(session.getTenantId());
-        return new PermissionsBuilder(session, profileAPI, applicationAPI, customPermissionsMapping, compoundPermissionsMapping, securityProperties);
+        return new PermissionsBuilder(session, profileAPI, applicationAPI, customPermissionsMapping, compoundPermissionsMapping, securityProperties,
+                ProfilePermissionsCache.getInstance(session.getTenantId()));
     }
 }
@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Permissions of the profiles of a tenant, computed once instead of at every login.<br>
+ * The permissions of a profile (the ones of its pages, of the pages of its applications and its custom permissions) are the same for all
+ * its users, so the permissions of a user are the union of the cached permissions of its profiles. The resulting sets are also shared by the
+ * HTTP sessions of the users having the same permissions.<br>
+ * Everything is dropped when the REST API changes or imports pages or applications. Changes made outside of the web application (e.g. by
+ * the Studio or by another node of a cluster) are seen once the permissions of the profile expire.
+ */
+public class ProfilePermissionsCache {
+
+    /**
+     * Time to live of the permissions of a profile in milliseconds
+     */
+    public static final long DEFAULT_TIME_TO_LIVE = 60000L;
+
+    /**
+     * Max number of distinct user permission sets shared between the sessions
+     */
+    static final int MAX_SHARED_PERMISSIONS = 1000;
+
+    private static final ConcurrentMap<Long, ProfilePermissionsCache> INSTANCES = new ConcurrentHashMap<Long, ProfilePermissionsCache>();
+
+    private final ConcurrentMap<Long, CachedPermissions> permissionsByProfile = new ConcurrentHashMap<Long, CachedPermissions>();
+
+    private final ConcurrentMap<Set<String>, Set<String>> sharedPermissions = new ConcurrentHashMap<Set<String>, Set<String>>();
+
+    /**
+     * Incremented at each invalidation so that permissions computed before it are not cached
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final long timeToLive;
+
+    public static ProfilePermissionsCache getInstance(final long tenantId) {
+        ProfilePermissionsCache profilePermissionsCache = INSTANCES.get(tenantId);
+        if (profilePermissionsCache == null) {
+            final ProfilePermissionsCache newProfilePermissionsCache = new ProfilePermissionsCache();
+            profilePermissionsCache = INSTANCES.putIfAbsent(tenantId, newProfilePermissionsCache);
+            if (profilePermissionsCache == null) {
+                profilePermissionsCache = newProfilePermissionsCache;
+            }
+        }
+        return profilePermissionsCache;
+    }
+
+    public ProfilePermissionsCache() {
+        this(DEFAULT_TIME_TO_LIVE);
+    }
+
+    public ProfilePermissionsCache(final long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * @return the permissions of the profile or null if they are not computed yet or expired
+     */
+    public Set<String> get(final long profileId) {
+        final CachedPermissions cachedPermissions = permissionsByProfile.get(profileId);
+        if (cachedPermissions == null) {
+            return null;
+        }
+        if (now() - cachedPermissions.creationTime > timeToLive) {
+            permissionsByProfile.remove(profileId, cachedPermissions);
+            return null;
+        }
+        return cachedPermissions.permissions;
+    }
+
+    /**
+     * @return the current generation, to read before computing permissions to put in the cache
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Cache the permissions of the profile unless the cache was cleared since they started to be computed
+     *
+     * @param generation
+     *            the generation read before computing the permissions
+     * @return the unmodifiable permissions of the profile
+     */
+    public Set<String> put(final long profileId, final Set<String> permissions, final long generation) {
+        final Set<String> profilePermissions = Collections.unmodifiableSet(new HashSet<String>(permissions));
+        if (generation == this.generation.get() && timeToLive > 0) {
+            final CachedPermissions cachedPermissions = new CachedPermissions(profilePermissions, now());
+            permissionsByProfile.put(profileId, cachedPermissions);
+            if (generation != this.generation.get()) {
+                // cleared in the meantime
+                permissionsByProfile.remove(profileId, cachedPermissions);
+            }
+        }
+        return profilePermissions;
+    }
+
+    /**
+     * @return an unmodifiable set equal to the permissions, the same instance for all the equal sets
+     */
+    public Set<String> share(final Set<String> permissions) {
+        final Set<String> sharedPermissionsSet = sharedPermissions.get(permissions);
+        if (sharedPermissionsSet != null) {
+            return sharedPermissionsSet;
+        }
+        if (sharedPermissions.size() >= MAX_SHARED_PERMISSIONS) {
+            // the sets already stored in the sessions stay valid, they are just not shared with the next ones
+            sharedPermissions.clear();
+        }
+        final Set<String> newSharedPermissionsSet = Collections.unmodifiableSet(new HashSet<String>(permissions));
+        final Set<String> previousSharedPermissionsSet = sharedPermissions.putIfAbsent(newSharedPermissionsSet, newSharedPermissionsSet);
+        return previousSharedPermissionsSet == null ? newSharedPermissionsSet : previousSharedPermissionsSet;
+    }
+
+    /**
+     * Drop all the permissions of the tenant (e.g. when a page or an application changes)
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        permissionsByProfile.clear();
+        sharedPermissions.clear();
+    }
+
+    public int size() {
+        return permissionsByProfile.size();
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private static class CachedPermissions {
+
+        private final Set<String> permissions;
+
+        private final long creationTime;
+
+        private CachedPermissions(final Set<String> permissions, final long creationTime) {
+            this.permissions = permissions;
+            this.creationTime = creationTime;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.utils;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Send a static file (page, layout or theme resource, downloaded document) as the response of a GET request.<br>
+ * The response carries a strong ETag, given by the caller or built from the path, the last modification date and the size of the file (the
+ * folder of a page is extracted again each time the page is updated) so that the browser can revalidate it with a conditional request
+ * answered with a 304.
+ * Single byte ranges are supported. The file is streamed from its channel (or by the container itself when it supports sendfile) instead of
+ * being read in memory.
+ */
+public class StaticResourceSender {
+
+    /**
+     * Query parameter carrying the version of a resource (e.g. themeResource?theme=portal&location=bonita.css&v=7.0.0)
+     */
+    public static final String VERSION_PARAM = "v";
+
+    /**
+     * Size from which the file is sent by the container when it supports sendfile
+     */
+    static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private static final String BYTES_UNIT = "bytes";
+
+    private final long versionedResourcesMaxAge;
+
+    private final boolean sendfileAllowed;
+
+    /**
+     * @param versionedResourcesMaxAge
+     *            time (in seconds) during which the browser can use a resource requested with a version without revalidating it, 0 to always
+     *            revalidate
+     */
+    public StaticResourceSender(final long versionedResourcesMaxAge) {
+        this(versionedResourcesMaxAge, true);
+    }
+
+    /**
+     * @param sendfileAllowed
+     *            false if the file may be deleted as soon as the send method returns, since the container reads it afterwards with sendfile
+     */
+    public StaticResourceSender(final long versionedResourcesMaxAge, final boolean sendfileAllowed) {
+        this.versionedResourcesMaxAge = versionedResourcesMaxAge;
+        this.sendfileAllowed = sendfileAllowed;
+    }
+
+    public void send(final HttpServletRequest request, final HttpServletResponse response, final File file, final String contentType)
+            throws IOException {
+        send(request, response, file, contentType, null);
+    }
+
+    /**
+     * @param entityTag
+     *            the strong ETag identifying the content of the file, or null to build it from the file
+     */
+    public void send(final HttpServletRequest request, final HttpServletResponse response, final File file, final String contentType,
+            final String entityTag) throws IOException {
+        if (!file.isFile()) {
+            throw new FileNotFoundException("Cannot find the resource file " + file.getName());
+        }
+        final long length = file.length();
+        // HTTP dates have a precision of one second
+        final long lastModified = file.lastModified() / 1000 * 1000;
+        if (entityTag == null) {
+            sendFile(request, response, file, contentType, buildEntityTag(file, lastModified, length), lastModified, length);
+        } else {
+            sendFile(request, response, file, contentType, entityTag, lastModified, length);
+        }
+    }
+
+    private void sendFile(final HttpServletRequest request, final HttpServletResponse response, final File file, final String contentType,
+            final String entityTag, final long lastModified, final long length) throws IOException {
+
+        response.setHeader("ETag", entityTag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Accept-Ranges", BYTES_UNIT);
+        response.setHeader("Cache-Control", getCacheControl(request));
+        if (isNotModified(request, entityTag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        final long[] range = getRange(request, entityTag, lastModified, length);
+        if (range != null) {
+            if (range.length == 0) {
+                response.setHeader("Content-Range", BYTES_UNIT + " */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range[0];
+            end = range[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", BYTES_UNIT + " " + start + "-" + end + "/" + length);
+        }
+        final long contentLength = end - start + 1;
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        if (contentLength <= Integer.MAX_VALUE) {
+            response.setContentLength((int) contentLength);
+        } else {
+            response.setHeader("Content-Length", String.valueOf(contentLength));
+        }
+        if (sendfileAllowed && contentLength >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.getCanonicalPath());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, end + 1);
+            return;
+        }
+        try (FileChannel fileChannel = openChannel(file);
+                OutputStream out = response.getOutputStream()) {
+            final WritableByteChannel outChannel = Channels.newChannel(out);
+            long position = start;
+            while (position <= end) {
+                final long transferred = fileChannel.transferTo(position, end - position + 1, outChannel);
+                if (transferred <= 0) {
+                    // the file was truncated meanwhile
+                    break;
+                }
+                position += transferred;
+            }
+        }
+        response.flushBuffer();
+    }
+
+    private FileChannel openChannel(final File file) throws IOException {
+        try {
+            return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (final NoSuchFileException e) {
+            // deleted since it was checked, nothing is written yet
+            throw new FileNotFoundException("Cannot find the resource file " + file.getName());
+        }
+    }
+
+    String buildEntityTag(final File file, final long lastModified, final long length) {
+        return "\"" + Integer.toHexString(file.getPath().hashCode()) + "-" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+    }
+
+    private String getCacheControl(final HttpServletRequest request) {
+        if (versionedResourcesMaxAge > 0 && request.getParameter(VERSION_PARAM) != null) {
+            return "public, max-age=" + versionedResourcesMaxAge + ", immutable";
+        }
+        return "no-cache";
+    }
+
+    private boolean isNotModified(final HttpServletRequest request, final String entityTag, final long lastModified) {
+        final String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matches(ifNoneMatch, entityTag);
+        }
+        final long ifModifiedSince = getDateHeader(request, "If-Modified-Since");
+        return ifModifiedSince > 0 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * @return null to send the whole file, an empty array if the range cannot be satisfied or the first and last positions to send
+     */
+    private long[] getRange(final HttpServletRequest request, final String entityTag, final long lastModified, final long length) {
+        final String rangeHeader = request.getHeader("Range");
+        if (rangeHeader == null || !rangeHeader.startsWith(BYTES_UNIT + "=") || !isRangeStillValid(request, entityTag, lastModified)) {
+            return null;
+        }
+        final String rangeSpec = rangeHeader.substring(BYTES_UNIT.length() + 1).trim();
+        final int dashIndex = rangeSpec.indexOf('-');
+        if (dashIndex < 0 || rangeSpec.indexOf(',') >= 0) {
+            // multiple ranges are not supported, the whole file is sent
+            return null;
+        }
+        try {
+            final String firstPosition = rangeSpec.substring(0, dashIndex).trim();
+            final String lastPosition = rangeSpec.substring(dashIndex + 1).trim();
+            long start;
+            long end;
+            if (firstPosition.isEmpty()) {
+                final long suffixLength = Long.parseLong(lastPosition);
+                start = Math.max(0, length - suffixLength);
+                end = suffixLength > 0 ? length - 1 : -1;
+            } else {
+                start = Long.parseLong(firstPosition);
+                end = lastPosition.isEmpty() ? length - 1 : Math.min(Long.parseLong(lastPosition), length - 1);
+            }
+            if (start >= length || end < start) {
+                return new long[0];
+            }
+            return new long[] { start, end };
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private boolean isRangeStillValid(final HttpServletRequest request, final String entityTag, final long lastModified) {
+        final String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(entityTag);
+        }
+        return getDateHeader(request, "If-Range") == lastModified;
+    }
+
+    private boolean matches(final String entityTags, final String entityTag) {
+        for (final String candidate : entityTags.split(",")) {
+            final String trimmedCandidate = candidate.trim();
+            if ("*".equals(trimmedCandidate) || entityTag.equals(trimmedCandidate) || ("W/" + entityTag).equals(trimmedCandidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long getDateHeader(final HttpServletRequest request, final String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (final IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -21,11 +21,27 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.regex.Pattern;
 
+import org.apache.commons.io.FileUtils;
 import org.bonitasoft.engine.io.IOUtil;
 
 /**
- * Utility class extracting zip file
+ * Utility class extracting zip file<br>
+ * A zip is extracted in a temporary folder next to the target folder which is then renamed into place, replacing the previous content of the
+ * target folder, so that a folder being extracted is never seen half-filled. Extractions of different target folders run in parallel while
+ * concurrent extractions of the same target folder share the one already in progress. The temporary folders left behind by an interrupted
+ * extraction are deleted by the next extraction of the same target folder.
  *
  * @author Zhiheng Yang
  */
@@ -33,6 +49,11 @@ public class UnzipUtil {
 
     static final int BUFFER = 2048;
 
+    /**
+     * Extractions in progress by canonical path of their target folder
+     */
+    private static final ConcurrentMap<String, FutureTask<Void>> EXTRACTIONS = new ConcurrentHashMap<>();
+
     /**
      * Unzip a zip file from InputStream
      *
@@ -42,9 +63,31 @@ public class UnzipUtil {
      * @throws IOException
      * @throws FileNotFoundException
      */
-    public static synchronized void unzip(final InputStream sourceFile, final String targetPath) throws FileNotFoundException, IOException {
-        IOUtil.unzipToFolder(sourceFile, new File(targetPath));
-        sourceFile.close();
+    public static void unzip(final InputStream sourceFile, final String targetPath) throws FileNotFoundException, IOException {
+        try {
+            final File targetFolder = new File(targetPath).getCanonicalFile();
+            final FutureTask<Void> extraction = new FutureTask<>(new Callable<Void>() {
+
+                @Override
+                public Void call() throws IOException {
+                    extract(sourceFile, targetFolder);
+                    return null;
+                }
+            });
+            final FutureTask<Void> extractionInProgress = EXTRACTIONS.putIfAbsent(targetFolder.getPath(), extraction);
+            if (extractionInProgress != null) {
+                waitFor(extractionInProgress);
+                return;
+            }
+            try {
+                extraction.run();
+            } finally {
+                EXTRACTIONS.remove(targetFolder.getPath(), extraction);
+            }
+            waitFor(extraction);
+        } finally {
+            sourceFile.close();
+        }
     }
 
     /**
@@ -56,12 +99,12 @@ public class UnzipUtil {
      * @throws IOException
      * @throws FileNotFoundException
      */
-    public static synchronized void unzip(final File zipFile, final String targetPath) throws FileNotFoundException, IOException {
+    public static void unzip(final File zipFile, final String targetPath) throws FileNotFoundException, IOException {
         final FileInputStream zipFileInputStream = new FileInputStream(zipFile);
         unzip(zipFileInputStream, targetPath);
     }
 
-    public static synchronized void unzip(final File zipFile, final String targetPath, final boolean deleteFileAfterZip) throws FileNotFoundException,
+    public static void unzip(final File zipFile, final String targetPath, final boolean deleteFileAfterZip) throws FileNotFoundException,
             IOException {
         unzip(zipFile, targetPath);
         if (deleteFileAfterZip) {
@@ -69,7 +112,7 @@ public class UnzipUtil {
         }
     }
 
-    public static synchronized String getZipNameWithoutExtention(final File zipFile) {
+    public static String getZipNameWithoutExtention(final File zipFile) {
         String zipName = zipFile.getName();
         if (zipName.indexOf(".") > 0) {
             zipName = zipName.substring(0, zipName.lastIndexOf("."));
@@ -78,4 +121,66 @@ public class UnzipUtil {
         return zipName;
     }
 
+    private static void extract(final InputStream sourceFile, final File targetFolder) throws IOException {
+        final Path parentFolder = Files.createDirectories(targetFolder.getParentFile().toPath());
+        deleteStaleFolders(parentFolder, targetFolder.getName());
+        // created next to the target folder so that it can be renamed into place
+        final Path extractionFolder = Files.createTempDirectory(parentFolder, "." + targetFolder.getName() + ".");
+        try {
+            IOUtil.unzipToFolder(sourceFile, extractionFolder.toFile());
+            moveIntoPlace(extractionFolder, targetFolder.toPath());
+        } finally {
+            FileUtils.deleteQuietly(extractionFolder.toFile());
+        }
+    }
+
+    /**
+     * Delete the extraction and previous content folders of the target folder left behind by an extraction which did not end (e.g. the
+     * server stopped in the middle). No other extraction of the target folder can be in progress when this is called.
+     */
+    private static void deleteStaleFolders(final Path parentFolder, final String targetFolderName) throws IOException {
+        final Pattern staleFolderName = Pattern.compile(Pattern.quote("." + targetFolderName + ".") + "-?\\d+(\\.old)?");
+        try (DirectoryStream<Path> siblings = Files.newDirectoryStream(parentFolder)) {
+            for (final Path sibling : siblings) {
+                if (staleFolderName.matcher(sibling.getFileName().toString()).matches()) {
+                    FileUtils.deleteQuietly(sibling.toFile());
+                }
+            }
+        }
+    }
+
+    private static void moveIntoPlace(final Path extractionFolder, final Path targetFolder) throws IOException {
+        if (!Files.exists(targetFolder)) {
+            Files.move(extractionFolder, targetFolder, StandardCopyOption.ATOMIC_MOVE);
+            return;
+        }
+        final Path previousFolder = targetFolder.resolveSibling("." + targetFolder.getFileName() + "." + System.nanoTime() + ".old");
+        Files.move(targetFolder, previousFolder, StandardCopyOption.ATOMIC_MOVE);
+        try {
+            Files.move(extractionFolder, targetFolder, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            Files.move(previousFolder, targetFolder, StandardCopyOption.ATOMIC_MOVE);
+            throw e;
+        }
+        FileUtils.deleteQuietly(previousFolder.toFile());
+    }
+
+    private static void waitFor(final FutureTask<Void> extraction) throws IOException {
+        try {
+            extraction.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the extraction of a zip file");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Unable to extract the zip file", cause);
+        }
+    }
+
 }
@@ -175,7 +175,28 @@ public class JSonItemReader {
      * @param itemDefinition
      */
     public static <E extends IItem> E parseItem(final String json, final ItemDefinition<E> itemDefinition, final boolean applyValidators) {
-        AbstractTreeNode<String> tree = UNSERIALIZER._unserializeTree(json);
+        return parseItem(UNSERIALIZER._unserializeTree(json), itemDefinition, applyValidators);
+    }
+
+    /**
+     * Parse an item based on an already unserialized JSon
+     * 
+     * @param tree
+     * @param itemDefinition
+     */
+    public static <E extends IItem> E parseItem(final AbstractTreeNode<String> tree, final ItemDefinition<E> itemDefinition) {
+        return parseItem(tree, itemDefinition, APPLY_VALIDATORS);
+    }
+
+    /**
+     * Parse an item based on an already unserialized JSon
+     * 
+     * @param jsonTree
+     * @param itemDefinition
+     */
+    public static <E extends IItem> E parseItem(final AbstractTreeNode<String> jsonTree, final ItemDefinition<E> itemDefinition,
+            final boolean applyValidators) {
+        AbstractTreeNode<String> tree = jsonTree;
 
         if (tree instanceof Tree<?>) {
             tree = ((Tree<String>) tree).get(0);
@@ -16,6 +16,7 @@
  */
 package org.bonitasoft.web.toolkit.client.common.json;
 
+import java.io.IOException;
 import java.util.HashMap;
 
 /**
@@ -33,12 +34,29 @@ public class JSonUtil {
             return "";
         }
 
+        final StringBuilder sb = new StringBuilder(string.length() + 4);
+        try {
+            escape(string, sb);
+        } catch (final IOException e) {
+            // a StringBuilder does not throw IOException
+            throw new RuntimeException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Append the escaped string to an Appendable (e.g. a Writer) without building it first
+     */
+    public static void escape(final String string, final Appendable out) throws IOException {
+        if (string == null) {
+            return;
+        }
+
         char b;
         char c = 0;
         String hhhh;
         int i;
         final int len = string.length();
-        final StringBuffer sb = new StringBuffer(len + 4);
 
         for (i = 0; i < len; i += 1) {
             b = c;
@@ -46,42 +64,40 @@ public class JSonUtil {
             switch (c) {
                 case '\\':
                 case '"':
-                    sb.append('\\');
-                    sb.append(c);
+                    out.append('\\');
+                    out.append(c);
                     break;
                 case '/':
                     if (b == '<') {
-                        sb.append('\\');
+                        out.append('\\');
                     }
-                    sb.append(c);
+                    out.append(c);
                     break;
                 case '\b':
-                    sb.append("\\b");
+                    out.append("\\b");
                     break;
                 case '\t':
-                    sb.append("\\t");
+                    out.append("\\t");
                     break;
                 case '\n':
-                    sb.append("\\n");
+                    out.append("\\n");
                     break;
                 case '\f':
-                    sb.append("\\f");
+                    out.append("\\f");
                     break;
                 case '\r':
-                    sb.append("\\r");
+                    out.append("\\r");
                     break;
                 default:
                     if (c < ' ' || c >= '\u0080' && c < '\u00a0' ||
                             c >= '\u2000' && c < '\u2100') {
                         hhhh = "000" + Integer.toHexString(c);
-                        sb.append("\\u" + hhhh.substring(hhhh.length() - 4));
+                        out.append("\\u").append(hhhh.substring(hhhh.length() - 4));
                     } else {
-                        sb.append(c);
+                        out.append(c);
                     }
             }
         }
-
-        return sb.toString();
     }
 
     private static Character next(final String string, int currentPos) {
@@ -0,0 +1,262 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.client.data.item;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Attributes of an Item stored in a flat array indexed by the slots of the attributes of its ItemDefinition.<br>
+ * The attributes which are not in the ItemDefinition are kept in a map allocated on first use. Attributes are iterated in the order of the
+ * ItemDefinition.
+ */
+final class CompactAttributeMap extends AbstractMap<String, String> {
+
+    /**
+     * Value of an attribute set to null (a null cell is an attribute not set)
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    private final IItem owner;
+
+    private ItemAttributeSlots slots;
+
+    private Object[] values;
+
+    private int definedSize = 0;
+
+    private Map<String, String> otherAttributes;
+
+    /**
+     * @param owner
+     *            the Item of the attributes. Its ItemDefinition is only read on the first access to the attributes.
+     */
+    CompactAttributeMap(final IItem owner) {
+        this.owner = owner;
+    }
+
+    private ItemAttributeSlots getSlots() {
+        if (slots == null) {
+            slots = ItemAttributeSlots.of(owner);
+        }
+        return slots;
+    }
+
+    private int getSlot(final Object name) {
+        return getSlots().getSlot(name);
+    }
+
+    @Override
+    public int size() {
+        return definedSize + (otherAttributes == null ? 0 : otherAttributes.size());
+    }
+
+    @Override
+    public boolean containsKey(final Object name) {
+        final int slot = getSlot(name);
+        if (slot >= 0) {
+            return values != null && values[slot] != null;
+        }
+        return otherAttributes != null && otherAttributes.containsKey(name);
+    }
+
+    @Override
+    public String get(final Object name) {
+        final int slot = getSlot(name);
+        if (slot >= 0) {
+            return values == null ? null : toValue(values[slot]);
+        }
+        return otherAttributes == null ? null : otherAttributes.get(name);
+    }
+
+    @Override
+    public String put(final String name, final String value) {
+        final int slot = getSlot(name);
+        if (slot >= 0) {
+            if (values == null) {
+                values = new Object[getSlots().size()];
+            }
+            final Object previous = values[slot];
+            if (previous == null) {
+                definedSize++;
+            }
+            values[slot] = value == null ? NULL_VALUE : value;
+            return toValue(previous);
+        }
+        if (otherAttributes == null) {
+            otherAttributes = new HashMap<String, String>();
+        }
+        return otherAttributes.put(name, value);
+    }
+
+    @Override
+    public String remove(final Object name) {
+        final int slot = getSlot(name);
+        if (slot >= 0) {
+            return values == null ? null : removeSlot(slot);
+        }
+        return otherAttributes == null ? null : otherAttributes.remove(name);
+    }
+
+    @Override
+    public void clear() {
+        values = null;
+        definedSize = 0;
+        otherAttributes = null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<Entry<String, String>>() {
+
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return CompactAttributeMap.this.size();
+            }
+        };
+    }
+
+    private String removeSlot(final int slot) {
+        final Object previous = values[slot];
+        if (previous != null) {
+            values[slot] = null;
+            definedSize--;
+        }
+        return toValue(previous);
+    }
+
+    private static String toValue(final Object cell) {
+        return cell == null || cell == NULL_VALUE ? null : (String) cell;
+    }
+
+    /**
+     * Iterate over the attributes of the ItemDefinition then over the other ones
+     */
+    private class EntryIterator implements Iterator<Entry<String, String>> {
+
+        private int nextSlot = 0;
+
+        private int currentSlot = -1;
+
+        private Iterator<Entry<String, String>> otherAttributesIterator;
+
+        private EntryIterator() {
+            skipEmptySlots();
+        }
+
+        private void skipEmptySlots() {
+            while (values != null && nextSlot < values.length && values[nextSlot] == null) {
+                nextSlot++;
+            }
+        }
+
+        private boolean hasNextSlot() {
+            return values != null && nextSlot < values.length;
+        }
+
+        private Iterator<Entry<String, String>> getOtherAttributesIterator() {
+            if (otherAttributesIterator == null && otherAttributes != null) {
+                otherAttributesIterator = otherAttributes.entrySet().iterator();
+            }
+            return otherAttributesIterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNextSlot() || getOtherAttributesIterator() != null && getOtherAttributesIterator().hasNext();
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (hasNextSlot()) {
+                currentSlot = nextSlot++;
+                skipEmptySlots();
+                return new SlotEntry(currentSlot);
+            }
+            currentSlot = -1;
+            if (getOtherAttributesIterator() == null) {
+                throw new NoSuchElementException();
+            }
+            return getOtherAttributesIterator().next();
+        }
+
+        @Override
+        public void remove() {
+            if (currentSlot >= 0) {
+                removeSlot(currentSlot);
+                currentSlot = -1;
+            } else if (otherAttributesIterator != null) {
+                otherAttributesIterator.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    private class SlotEntry implements Entry<String, String> {
+
+        private final int slot;
+
+        private SlotEntry(final int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String getKey() {
+            return getSlots().getName(slot);
+        }
+
+        @Override
+        public String getValue() {
+            return toValue(values[slot]);
+        }
+
+        @Override
+        public String setValue(final String value) {
+            final String previous = getValue();
+            values[slot] = value == null ? NULL_VALUE : value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Entry<?, ?>)) {
+                return false;
+            }
+            final Entry<?, ?> other = (Entry<?, ?>) obj;
+            return getKey().equals(other.getKey()) && (getValue() == null ? other.getValue() == null : getValue().equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ (getValue() == null ? 0 : getValue().hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
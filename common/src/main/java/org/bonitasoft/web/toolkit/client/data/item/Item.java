@@ -55,9 +55,12 @@ public abstract class Item implements IItem {
     // DEFAULT FILTERS SUPERVISOR AND TEAM MANAGER
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private final Map<String, String> attributes = new HashMap<String, String>();
+    private final Map<String, String> attributes = useCompactStorageByDefault ? new CompactAttributeMap(this) : new HashMap<String, String>();
 
-    private final Map<String, IItem> deploys = new HashMap<String, IItem>();
+    /**
+     * Allocated on the first deploy
+     */
+    private Map<String, IItem> deploys = null;
 
     // private final Map<String, Long> counters = new HashMap<String, Long>();
 
@@ -108,6 +111,8 @@ public abstract class Item implements IItem {
 
     private static boolean applyValidatorMandatoryByDefault = true;
 
+    private static boolean useCompactStorageByDefault = false;
+
     private Boolean applyOutputModifiers = null;
 
     private Boolean applyInputModifiers = null;
@@ -148,6 +153,17 @@ public abstract class Item implements IItem {
         Item.applyValidatorMandatoryByDefault = applyValidatorMandatoryByDefault;
     }
 
+    /**
+     * Store the attributes of the Items created from now on in an array indexed by the attributes of their ItemDefinition instead of a
+     * HashMap. Saves memory when a lot of Items are kept (e.g. on server side), attributes are then iterated in the ItemDefinition order.
+     *
+     * @param useCompactStorageByDefault
+     *        the useCompactStorageByDefault to set
+     */
+    public final static void setUseCompactStorageByDefault(final boolean useCompactStorageByDefault) {
+        Item.useCompactStorageByDefault = useCompactStorageByDefault;
+    }
+
     /**
      * @param applyOutputModifiers
      *        the applyOutputModifiers to set
@@ -335,6 +351,9 @@ public abstract class Item implements IItem {
      */
     @Override
     public void setDeploy(final String attributeName, final IItem item) {
+        if (deploys == null) {
+            deploys = new HashMap<String, IItem>();
+        }
         deploys.put(attributeName, item);
     }
 
@@ -346,7 +365,9 @@ public abstract class Item implements IItem {
      */
     @Override
     public final void removeDeploy(final String attributeName) {
-        deploys.remove(attributeName);
+        if (deploys != null) {
+            deploys.remove(attributeName);
+        }
     }
 
     /**
@@ -411,7 +432,7 @@ public abstract class Item implements IItem {
         }
 
         // Read an id from a deployed attribute
-        else if (deploys.containsKey(attributeName)) {
+        else if (hasDeploy(attributeName)) {
 
             final IItem deploy = getDeploy(attributeName);
 
@@ -556,7 +577,7 @@ public abstract class Item implements IItem {
 
     @Override
     public final Map<String, String> getAttributes(final boolean applyModifiers) {
-        final Map<String, String> results = new HashMap<String, String>();
+        final Map<String, String> results = new HashMap<String, String>(attributes.size() * 4 / 3 + 1);
 
         for (final String attributeName : attributes.keySet()) {
             results.put(attributeName, this.getAttributeValue(attributeName, applyModifiers));
@@ -576,11 +597,25 @@ public abstract class Item implements IItem {
     public final IItem getDeploy(final String attributeName) {
         // TODO If not deployed, automatically call the API to deploy.
 
-        return deploys.get(attributeName);
+        return deploys == null ? null : deploys.get(attributeName);
+    }
+
+    /**
+     * Indicate if a deployed version of an attribute is set, even if it is NULL.
+     *
+     * @param attributeName
+     *        The name of the deployed attribute
+     * @return This method returns TRUE if the attribute is deployed, otherwise FALSE.
+     */
+    public final boolean hasDeploy(final String attributeName) {
+        return deploys != null && deploys.containsKey(attributeName);
     }
 
     @Override
     public Map<String, IItem> getDeploys() {
+        if (deploys == null) {
+            deploys = new HashMap<String, IItem>();
+        }
         return deploys;
     }
 
@@ -645,9 +680,11 @@ public abstract class Item implements IItem {
             sb.append("\r\n");
         }
 
-        for (final Entry<String, IItem> entry : deploys.entrySet()) {
-            sb.append(entry.getKey()).append(" : ").append(entry.getValue());
-            sb.append("\r\n");
+        if (deploys != null) {
+            for (final Entry<String, IItem> entry : deploys.entrySet()) {
+                sb.append(entry.getKey()).append(" : ").append(entry.getValue());
+                sb.append("\r\n");
+            }
         }
         return sb.toString();
     }
@@ -659,7 +696,7 @@ public abstract class Item implements IItem {
 
         boolean first = true;
         for (final String attribute : getAttributeNames()) {
-            if (deploys.containsKey(attribute)) {
+            if (hasDeploy(attribute)) {
                 json.append(!first ? "," : "").append(JSonSerializer.quote(attribute)).append(":")
                         .append(JSonSerializer.serialize(deploys.get(attribute)));
             } else {
@@ -688,6 +725,7 @@ public abstract class Item implements IItem {
         result = prime * result + (applyValidatorMandatory == null ? 0 : applyValidatorMandatory.hashCode());
         result = prime * result + (applyValidators == null ? 0 : applyValidators.hashCode());
         result = prime * result + (attributes == null ? 0 : attributes.hashCode());
+        // no deploys and an empty map of deploys are the same
         result = prime * result + (deploys == null ? 0 : deploys.hashCode());
         return result;
     }
@@ -739,8 +777,8 @@ public abstract class Item implements IItem {
         } else if (!attributes.equals(other.attributes)) {
             return false;
         }
-        if (deploys == null) {
-            if (other.deploys != null) {
+        if (deploys == null || deploys.isEmpty()) {
+            if (other.deploys != null && !other.deploys.isEmpty()) {
                 return false;
             }
         } else if (!deploys.equals(other.deploys)) {
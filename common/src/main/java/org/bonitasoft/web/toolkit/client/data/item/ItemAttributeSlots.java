@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.client.data.item;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.web.toolkit.client.data.item.attribute.ItemAttribute;
+
+/**
+ * Position of each attribute of an ItemDefinition in the array of a {@link CompactAttributeMap}.<br>
+ * The slots are computed once per Item class and shared by all its instances.
+ */
+final class ItemAttributeSlots {
+
+    private static final ItemAttributeSlots NO_SLOTS = new ItemAttributeSlots(new String[0]);
+
+    /**
+     * Slots by Item class name. Copied on write so that reads don't need any lock.
+     */
+    private static volatile Map<String, ItemAttributeSlots> slotsByItemClass = new HashMap<String, ItemAttributeSlots>();
+
+    private final String[] names;
+
+    private final Map<String, Integer> slots = new HashMap<String, Integer>();
+
+    private ItemAttributeSlots(final String[] names) {
+        this.names = names;
+        for (int i = 0; i < names.length; i++) {
+            slots.put(names[i], i);
+        }
+    }
+
+    /**
+     * @return the slots of the attributes defined in the ItemDefinition of this Item
+     */
+    static ItemAttributeSlots of(final IItem item) {
+        final String itemClassName = item.getClass().getName();
+        ItemAttributeSlots itemSlots = slotsByItemClass.get(itemClassName);
+        if (itemSlots == null) {
+            itemSlots = create(item.getItemDefinition());
+            register(itemClassName, itemSlots);
+        }
+        return itemSlots;
+    }
+
+    private static ItemAttributeSlots create(final ItemDefinition<?> itemDefinition) {
+        if (itemDefinition == null) {
+            return NO_SLOTS;
+        }
+        final List<ItemAttribute> attributes = itemDefinition.getAttributes();
+        final String[] names = new String[attributes.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = attributes.get(i).getName();
+        }
+        return new ItemAttributeSlots(names);
+    }
+
+    private static synchronized void register(final String itemClassName, final ItemAttributeSlots itemSlots) {
+        if (!slotsByItemClass.containsKey(itemClassName)) {
+            final Map<String, ItemAttributeSlots> newSlotsByItemClass = new HashMap<String, ItemAttributeSlots>(slotsByItemClass);
+            newSlotsByItemClass.put(itemClassName, itemSlots);
+            slotsByItemClass = newSlotsByItemClass;
+        }
+    }
+
+    /**
+     * @return the slot of the attribute or -1 if it is not defined
+     */
+    int getSlot(final Object name) {
+        final Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    String getName(final int slot) {
+        return names[slot];
+    }
+
+    int size() {
+        return names.length;
+    }
+}
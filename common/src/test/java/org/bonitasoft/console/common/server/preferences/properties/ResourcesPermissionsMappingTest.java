@@ -69,6 +69,63 @@ public class ResourcesPermissionsMappingTest {
         Assertions.assertThat(postWithResourcesQualifiers).containsOnly("Custom permission");
     }
 
+    @Test
+    public void testGetResourcePermissionWithWildCardOnTheLastQualifierFirst() throws Exception {
+        //given
+        final String fileContent = "GET|bpm/case/*/context [Case context]\n" +
+                "GET|bpm/case/6/* [Case 6 resources]\n" +
+                "GET|bpm/case/7/* []";
+        final ResourcesPermissionsMapping resourcesPermissionsMapping = getResourcesPermissionsMapping(fileContent);
+
+        //when
+        final Set<String> case6Permissions = resourcesPermissionsMapping.getResourcePermissionsWithWildCard("GET", "bpm", "case",
+                Arrays.asList("6", "context"));
+        final Set<String> case7Permissions = resourcesPermissionsMapping.getResourcePermissionsWithWildCard("GET", "bpm", "case",
+                Arrays.asList("7", "context"));
+        final Set<String> unknownPermissions = resourcesPermissionsMapping.getResourcePermissionsWithWildCard("GET", "bpm", "case",
+                Arrays.asList("7", "unknown"));
+
+        //then
+        Assertions.assertThat(case6Permissions).containsOnly("Case 6 resources");
+        Assertions.assertThat(case7Permissions).containsOnly("Case context");
+        Assertions.assertThat(unknownPermissions).isEmpty();
+    }
+
+    @Test
+    public void testSetPropertyUpdatesResourcePermissions() throws Exception {
+        //given
+        final File resourceMappingFile = File.createTempFile("resourceMapping", ".tmp");
+        resourceMappingFile.deleteOnExit();
+        IOUtils.write("GET|bpm/process [Process visualization]".getBytes(), new FileOutputStream(resourceMappingFile));
+        final ResourcesPermissionsMapping resourcesPermissionsMapping = new ResourcesPermissionsMapping(resourceMappingFile);
+
+        //when
+        resourcesPermissionsMapping.setProperty("GET|extension/myRestApi", "[Custom permission]");
+        resourcesPermissionsMapping.removeProperty("GET|bpm/process");
+
+        //then
+        Assertions.assertThat(resourcesPermissionsMapping.getResourcePermissions("GET", "extension", "myRestApi")).containsOnly("Custom permission");
+        Assertions.assertThat(resourcesPermissionsMapping.getPropertyAsSet("GET|extension/myRestApi")).containsOnly("Custom permission");
+        Assertions.assertThat(resourcesPermissionsMapping.getResourcePermissions("GET", "bpm", "process")).isEmpty();
+        Assertions.assertThat(resourcesPermissionsMapping.isOutdated()).isFalse();
+    }
+
+    @Test
+    public void testIsOutdatedWhenTheFileIsModified() throws Exception {
+        //given
+        final File resourceMappingFile = File.createTempFile("resourceMapping", ".tmp");
+        resourceMappingFile.deleteOnExit();
+        IOUtils.write("GET|bpm/process [Process visualization]".getBytes(), new FileOutputStream(resourceMappingFile));
+        final ResourcesPermissionsMapping resourcesPermissionsMapping = new ResourcesPermissionsMapping(resourceMappingFile);
+        Assertions.assertThat(resourcesPermissionsMapping.isOutdated()).isFalse();
+
+        //when
+        IOUtils.write("GET|bpm/process [Process visualization, Process categories]".getBytes(), new FileOutputStream(resourceMappingFile));
+
+        //then
+        Assertions.assertThat(resourcesPermissionsMapping.isOutdated()).isTrue();
+    }
+
     public static ResourcesPermissionsMapping getResourcesPermissionsMapping(final String fileContent) throws IOException {
         final File resourceMappingFile = File.createTempFile("resourceMapping", ".tmp");
         IOUtils.write(fileContent.getBytes(), new FileOutputStream(resourceMappingFile));
@@ -0,0 +1,139 @@
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CompressedResourceCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private File tempFolder;
+
+    private CompressedResourceCache compressedResourceCache;
+
+    @Before
+    public void setUp() throws Exception {
+        tempFolder = temporaryFolder.newFolder("tenantTemp");
+        compressedResourceCache = new CompressedResourceCache(tempFolder);
+    }
+
+    @Test
+    public void should_compress_text_resources_once_per_version() throws Exception {
+        final File resource = createResource("app.js", CompressedResourceCache.MIN_SIZE);
+
+        final File variant = compressedResourceCache.getCompressedVariant(resource);
+        final long compressionDate = variant.lastModified();
+
+        assertThat(compressedResourceCache.getCompressedVariant(resource)).isEqualTo(variant);
+        assertThat(variant.lastModified()).isEqualTo(compressionDate);
+        assertThat(uncompress(variant)).isEqualTo(FileUtils.readFileToString(resource));
+
+        resource.setLastModified(resource.lastModified() - 10000L);
+        assertThat(compressedResourceCache.getCompressedVariant(resource)).isNotEqualTo(variant);
+        assertThat(variant).doesNotExist();
+    }
+
+    @Test
+    public void should_store_the_variants_in_the_temp_folder_apart_for_each_resource() throws Exception {
+        final File resource = createResource("app.js", CompressedResourceCache.MIN_SIZE);
+        final File otherPageFolder = temporaryFolder.newFolder("otherPage");
+        final File otherResource = new File(otherPageFolder, "app.js");
+        FileUtils.copyFile(resource, otherResource);
+
+        final File variant = compressedResourceCache.getCompressedVariant(resource);
+        final File otherVariant = compressedResourceCache.getCompressedVariant(otherResource);
+
+        assertThat(variant.getParentFile().getParentFile()).isEqualTo(new File(tempFolder, CompressedResourceCache.VARIANTS_FOLDER_NAME));
+        assertThat(otherVariant.getParentFile()).isNotEqualTo(variant.getParentFile());
+        assertThat(otherPageFolder.list()).containsOnly("app.js");
+    }
+
+    @Test
+    public void should_send_the_variant_to_the_clients_accepting_it() throws Exception {
+        final File resource = createResource("app.js", CompressedResourceCache.MIN_SIZE);
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+
+        final File fileToSend = compressedResourceCache.getFileToSend(request, response, resource);
+
+        assertThat(fileToSend).isEqualTo(compressedResourceCache.getCompressedVariant(resource));
+        verify(response).setHeader("Content-Encoding", CompressedResourceCache.GZIP_ENCODING);
+        verify(response).setHeader("Vary", "Accept-Encoding");
+    }
+
+    @Test
+    public void should_send_the_resource_itself_for_a_byte_range() throws Exception {
+        final File resource = createResource("app.js", CompressedResourceCache.MIN_SIZE);
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        when(request.getHeader("Range")).thenReturn("bytes=0-10");
+
+        final File fileToSend = compressedResourceCache.getFileToSend(request, response, resource);
+
+        assertThat(fileToSend).isEqualTo(resource);
+        verify(response, never()).setHeader("Content-Encoding", CompressedResourceCache.GZIP_ENCODING);
+    }
+
+    @Test
+    public void should_only_compress_big_enough_text_resources() throws Exception {
+        assertThat(compressedResourceCache.isCompressible(createResource("style.CSS", CompressedResourceCache.MIN_SIZE))).isTrue();
+        assertThat(compressedResourceCache.isCompressible(createResource("small.css", CompressedResourceCache.MIN_SIZE - 1))).isFalse();
+        assertThat(compressedResourceCache.isCompressible(createResource("image.png", CompressedResourceCache.MIN_SIZE))).isFalse();
+    }
+
+    @Test
+    public void should_detect_the_clients_accepting_gzip() throws Exception {
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip, deflate", "deflate, gzip;q=0", "br;q=1.0, *;q=0.5", "deflate", null);
+
+        assertThat(compressedResourceCache.acceptsCompressedResources(request)).isTrue();
+        assertThat(compressedResourceCache.acceptsCompressedResources(request)).isFalse();
+        assertThat(compressedResourceCache.acceptsCompressedResources(request)).isTrue();
+        assertThat(compressedResourceCache.acceptsCompressedResources(request)).isFalse();
+        assertThat(compressedResourceCache.acceptsCompressedResources(request)).isFalse();
+    }
+
+    private File createResource(final String name, final long size) throws Exception {
+        final File resource = temporaryFolder.newFile(name);
+        final StringBuilder content = new StringBuilder();
+        while (content.length() < size) {
+            content.append('a');
+        }
+        FileUtils.writeStringToFile(resource, content.toString());
+        return resource;
+    }
+
+    private String uncompress(final File variant) throws Exception {
+        final InputStream input = new GZIPInputStream(new FileInputStream(variant));
+        try {
+            return IOUtils.toString(input);
+        } finally {
+            input.close();
+        }
+    }
+}
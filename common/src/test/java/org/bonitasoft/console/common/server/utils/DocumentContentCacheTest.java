@@ -0,0 +1,189 @@
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DocumentContentCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_retrieve_the_content_from_the_engine_only_once() throws Exception {
+        final DocumentContentCache documentContentCache = new DocumentContentCache(temporaryFolder.getRoot(), 1024);
+        final CountingLoader loader = new CountingLoader("content");
+
+        final File contentFile = documentContentCache.getContentFile("storage/1", loader);
+        final File sameContentFile = documentContentCache.getContentFile("storage/1", loader);
+
+        assertThat(loader.calls.get()).isEqualTo(1);
+        assertThat(sameContentFile).isEqualTo(contentFile);
+        assertThat(FileUtils.readFileToString(contentFile)).isEqualTo("content");
+        assertThat(contentFile.getParentFile()).isEqualTo(temporaryFolder.getRoot());
+    }
+
+    @Test
+    public void should_retrieve_the_content_from_the_engine_only_once_when_downloaded_concurrently() throws Exception {
+        final DocumentContentCache documentContentCache = documentContentCache();
+        final CountDownLatch loadStarted = new CountDownLatch(1);
+        final CountDownLatch loadAllowed = new CountDownLatch(1);
+        final CountingLoader loader = new CountingLoader("content") {
+
+            @Override
+            public byte[] load() throws Exception {
+                loadStarted.countDown();
+                loadAllowed.await(10, TimeUnit.SECONDS);
+                return super.load();
+            }
+        };
+        final Callable<File> download = new Callable<File>() {
+
+            @Override
+            public File call() throws Exception {
+                return documentContentCache.getContentFile("storage/1", loader);
+            }
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final Future<File> first = executor.submit(download);
+            loadStarted.await(10, TimeUnit.SECONDS);
+            final Future<File> second = executor.submit(download);
+            final Future<File> third = executor.submit(download);
+            Thread.sleep(100);
+            loadAllowed.countDown();
+
+            assertThat(second.get()).isEqualTo(first.get());
+            assertThat(third.get()).isEqualTo(first.get());
+            assertThat(loader.calls.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void should_not_delete_a_content_being_sent_until_it_is_released() throws Exception {
+        final DocumentContentCache documentContentCache = new DocumentContentCache(temporaryFolder.getRoot(), 5);
+        final File sent = documentContentCache.getContentFile("1", new CountingLoader("1234"));
+
+        final File written = documentContentCache.getContentFile("2", new CountingLoader("1234"));
+
+        assertThat(sent).exists();
+        documentContentCache.release("1");
+        assertThat(sent).doesNotExist();
+        assertThat(written).exists();
+        assertThat(documentContentCache.getTotalSize()).isEqualTo(4);
+    }
+
+    @Test
+    public void should_retrieve_a_content_deleted_from_disk_again() throws Exception {
+        final DocumentContentCache documentContentCache = documentContentCache();
+        final CountingLoader loader = new CountingLoader("content");
+        final File contentFile = documentContentCache.getContentFile("1", loader);
+        documentContentCache.release("1");
+        contentFile.delete();
+
+        assertThat(documentContentCache.getContentFile("1", loader)).hasContent("content");
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_delete_the_least_recently_used_contents_above_the_max_size() throws Exception {
+        final DocumentContentCache documentContentCache = new DocumentContentCache(temporaryFolder.getRoot(), 10);
+        final File first = getAndRelease(documentContentCache, "1", new CountingLoader("1234"));
+        final File second = getAndRelease(documentContentCache, "2", new CountingLoader("1234"));
+        // the first content becomes the most recently used
+        getAndRelease(documentContentCache, "1", new CountingLoader("1234"));
+
+        final File third = getAndRelease(documentContentCache, "3", new CountingLoader("1234"));
+
+        assertThat(first).exists();
+        assertThat(second).doesNotExist();
+        assertThat(third).exists();
+        assertThat(documentContentCache.getTotalSize()).isEqualTo(8);
+    }
+
+    @Test
+    public void should_keep_a_content_bigger_than_the_max_size_until_it_is_sent() throws Exception {
+        final DocumentContentCache documentContentCache = new DocumentContentCache(temporaryFolder.getRoot(), 2);
+
+        final File big = documentContentCache.getContentFile("big", new CountingLoader("1234"));
+
+        assertThat(big).exists();
+        documentContentCache.release("big");
+        assertThat(big).doesNotExist();
+        getAndRelease(documentContentCache, "small", new CountingLoader("1"));
+        assertThat(documentContentCache.getTotalSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_index_the_contents_written_before_a_restart() throws Exception {
+        final File content = documentContentCache().getContentFile("1", new CountingLoader("1234"));
+        final File tempFile = new File(temporaryFolder.getRoot(), ".content123.tmp");
+        FileUtils.writeStringToFile(tempFile, "partial");
+
+        final DocumentContentCache documentContentCache = documentContentCache();
+        final CountingLoader loader = new CountingLoader("1234");
+
+        assertThat(documentContentCache.getContentFile("1", loader)).isEqualTo(content);
+        assertThat(loader.calls.get()).isEqualTo(0);
+        assertThat(documentContentCache.getTotalSize()).isEqualTo(4);
+        assertThat(tempFile).doesNotExist();
+    }
+
+    @Test
+    public void should_build_the_entity_tag_from_the_content_storage_id_and_the_size() throws Exception {
+        final DocumentContentCache documentContentCache = documentContentCache();
+
+        assertThat(documentContentCache.getEntityTag("1", 255)).isEqualTo("\"" + documentContentCache.getFileName("1") + "-ff\"");
+        assertThat(documentContentCache.getEntityTag("1", 255)).isNotEqualTo(documentContentCache.getEntityTag("2", 255));
+    }
+
+    @Test
+    public void should_not_use_the_content_storage_id_as_a_path() throws Exception {
+        final DocumentContentCache documentContentCache = documentContentCache();
+
+        assertThat(documentContentCache.getFileName("../../file")).doesNotContain("/").doesNotContain("..");
+        assertThat(documentContentCache.getFileName("a/b")).isNotEqualTo(documentContentCache.getFileName("a_b"));
+    }
+
+    private File getAndRelease(final DocumentContentCache documentContentCache, final String contentStorageId, final CountingLoader loader)
+            throws Exception {
+        final File contentFile = documentContentCache.getContentFile(contentStorageId, loader);
+        documentContentCache.release(contentStorageId);
+        return contentFile;
+    }
+
+    private DocumentContentCache documentContentCache() {
+        return new DocumentContentCache(temporaryFolder.getRoot(), 1024);
+    }
+
+    private static class CountingLoader implements DocumentContentCache.ContentLoader {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private final String content;
+
+        private CountingLoader(final String content) {
+            this.content = content;
+        }
+
+        @Override
+        public byte[] load() throws Exception {
+            calls.incrementAndGet();
+            return content.getBytes("UTF-8");
+        }
+    }
+}
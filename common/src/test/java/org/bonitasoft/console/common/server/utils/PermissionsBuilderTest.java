@@ -13,6 +13,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -74,6 +75,8 @@ public class PermissionsBuilderTest {
 
     PermissionsBuilder permissionsBuilder;
 
+    ProfilePermissionsCache profilePermissionsCache;
+
     @Before
     public void setUp() throws Exception {
         init(true);
@@ -81,8 +84,9 @@ public class PermissionsBuilderTest {
 
     private void init(final boolean apiAuthorizationsCheckEnabled) {
         doReturn(apiAuthorizationsCheckEnabled).when(securityProperties).isAPIAuthorizationsCheckEnabled();
+        profilePermissionsCache = new ProfilePermissionsCache();
         permissionsBuilder = spy(new PermissionsBuilder(apiSession, profileAPI, applicationAPI, customPermissionsMapping, compoundPermissionsMapping,
-                securityProperties));
+                securityProperties, profilePermissionsCache));
         doReturn("myUser").when(apiSession).getUserName();
         doReturn(1l).when(apiSession).getTenantId();
         doReturn(1l).when(apiSession).getUserId();
@@ -110,22 +114,82 @@ public class PermissionsBuilderTest {
     }
 
     @Test
-    public void should_addProfilesPermissions_add_permissions_to_the_set() throws Exception {
-        final HashSet<String> permissions = new HashSet<String>();
-        doReturn(new HashSet<String>(Arrays.asList("Page1", "Page2"))).when(permissionsBuilder).getAllPagesForUser(permissions);
+    public void should_getProfilePermissions_add_permissions_of_the_pages_of_the_profile() throws Exception {
+        doReturn("profileName").when(profile).getName();
         doReturn(new HashSet<String>(Arrays.asList("Perm2", "Perm1"))).when(compoundPermissionsMapping).getPropertyAsSet(eq("Page1"));
         doReturn(new HashSet<String>(Arrays.asList("Perm1", "Perm3"))).when(compoundPermissionsMapping).getPropertyAsSet(eq("Page2"));
+        when(applicationAPI.getAllPagesForProfile(anyLong())).thenReturn(Arrays.asList("Page1", "Page2"));
+        doReturn(new ArrayList<ProfileEntry>()).when(permissionsBuilder).getProfileEntriesForProfile(eq(profile), anyInt());
 
-        permissionsBuilder.addProfilesPermissions(permissions);
+        final Set<String> permissions = permissionsBuilder.getProfilePermissions(profile);
+
+        assertThat(permissions).containsOnly("Perm1", "Perm2", "Perm3", "profile|profileName");
+    }
+
+    @Test
+    public void should_getProfilePermissions_compute_the_permissions_of_a_profile_once() throws Exception {
+        doReturn(12L).when(profile).getId();
+        doReturn(new ArrayList<ProfileEntry>()).when(permissionsBuilder).getProfileEntriesForProfile(eq(profile), anyInt());
+        final PermissionsBuilder otherPermissionsBuilder = spy(new PermissionsBuilder(apiSession, profileAPI, applicationAPI, customPermissionsMapping,
+                compoundPermissionsMapping, securityProperties, profilePermissionsCache));
+
+        final Set<String> permissions = permissionsBuilder.getProfilePermissions(profile);
+        final Set<String> otherPermissions = otherPermissionsBuilder.getProfilePermissions(profile);
+
+        assertThat(otherPermissions).isSameAs(permissions);
+        verify(applicationAPI, times(1)).getAllPagesForProfile(12L);
+        verify(otherPermissionsBuilder, never()).addPageAndCustomPermissionsOfProfile(anySetOf(String.class), anySetOf(String.class), eq(profile));
+    }
+
+    @Test
+    public void should_getProfilePermissions_compute_the_permissions_again_once_the_cache_is_cleared() throws Exception {
+        doReturn(12L).when(profile).getId();
+        doReturn(new ArrayList<ProfileEntry>()).when(permissionsBuilder).getProfileEntriesForProfile(eq(profile), anyInt());
+        when(applicationAPI.getAllPagesForProfile(12L)).thenReturn(Arrays.asList("Page1"), Arrays.asList("Page1", "Page2"));
+        doReturn(new HashSet<String>(Arrays.asList("Perm1"))).when(compoundPermissionsMapping).getPropertyAsSet(eq("Page1"));
+        doReturn(new HashSet<String>(Arrays.asList("Perm2"))).when(compoundPermissionsMapping).getPropertyAsSet(eq("Page2"));
+        permissionsBuilder.getProfilePermissions(profile);
+
+        profilePermissionsCache.clear();
+
+        assertThat(permissionsBuilder.getProfilePermissions(profile)).contains("Perm1", "Perm2");
+    }
+
+    @Test
+    public void should_getProfilePermissions_not_use_the_cache_in_debug_mode() throws Exception {
+        doReturn(true).when(securityProperties).isAPIAuthorizationsCheckInDebugMode();
+        init(true);
+        doReturn(12L).when(profile).getId();
+        doReturn(new ArrayList<ProfileEntry>()).when(permissionsBuilder).getProfileEntriesForProfile(eq(profile), anyInt());
+
+        permissionsBuilder.getProfilePermissions(profile);
+        permissionsBuilder.getProfilePermissions(profile);
+
+        verify(applicationAPI, times(2)).getAllPagesForProfile(12L);
+        assertThat(profilePermissionsCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_getPermissions_share_the_same_set_between_the_users_with_the_same_permissions() throws Exception {
+        doNothing().when(permissionsBuilder).addCustomUserPermissions(anySetOf(String.class));
+        final List<Profile> profiles = fillInProfilesList(0, 2);
+        doReturn(profiles).when(profileAPI).getProfilesForUser(anyLong(), anyInt(), anyInt(), any(ProfileCriterion.class));
+        doReturn(new HashSet<String>(Arrays.asList("Perm1", "Perm2"))).when(permissionsBuilder).getProfilePermissions(profiles.get(0));
+        doReturn(new HashSet<String>(Arrays.asList("Perm2", "Perm3"))).when(permissionsBuilder).getProfilePermissions(profiles.get(1));
+
+        final Set<String> permissions = permissionsBuilder.getPermissions();
+        final Set<String> otherPermissions = permissionsBuilder.getPermissions();
 
         assertThat(permissions).containsOnly("Perm1", "Perm2", "Perm3");
+        assertThat(otherPermissions).isSameAs(permissions);
     }
 
     @Test
-    public void should_addProfilesPermissions_throw_LoginException_when_issue_on_getAllPages() throws Exception {
+    public void should_addProfilesPermissions_throw_LoginException_when_issue_on_getProfilePermissions() throws Exception {
 
         final Set<String> permissions = new HashSet<String>();
-        doThrow(new SearchException("issue", new SBonitaReadException(""))).when(permissionsBuilder).getAllPagesForUser(permissions);
+        doReturn(Arrays.asList(profile)).when(profileAPI).getProfilesForUser(anyLong(), anyInt(), anyInt(), any(ProfileCriterion.class));
+        doThrow(new SearchException("issue", new SBonitaReadException(""))).when(permissionsBuilder).getProfilePermissions(profile);
         try {
             permissionsBuilder.addProfilesPermissions(permissions);
             fail("expecting " + LoginFailedException.class.getName());
@@ -137,19 +201,22 @@ public class PermissionsBuilderTest {
     }
 
     @Test
-    public void should_getAllPagesForUser_add_page_and_custom_permissions_of_profiles_of_user() throws Exception {
+    public void should_addProfilesPermissions_add_permissions_of_all_profiles_of_user() throws Exception {
         final List<Profile> profileList1 = fillInProfilesList(0, PermissionsBuilder.MAX_ELEMENTS_RETRIEVED);
         doReturn(profileList1).when(profileAPI).getProfilesForUser(anyLong(), anyInt(), anyInt(), any(ProfileCriterion.class));
         final List<Profile> profileList2 = fillInProfilesList(PermissionsBuilder.MAX_ELEMENTS_RETRIEVED, 10);
         doReturn(profileList2).when(profileAPI).getProfilesForUser(anyLong(), eq(PermissionsBuilder.MAX_ELEMENTS_RETRIEVED), anyInt(),
                 any(ProfileCriterion.class));
         final HashSet<String> permissions = new HashSet<String>();
-        doNothing().when(permissionsBuilder).addPageAndCustomPermissionsOfProfile(eq(permissions), anySetOf(String.class), any(Profile.class));
+        doReturn(new HashSet<String>()).when(permissionsBuilder).getProfilePermissions(any(Profile.class));
 
-        permissionsBuilder.getAllPagesForUser(permissions);
+        permissionsBuilder.addProfilesPermissions(permissions);
 
         for (final Profile profile : profileList1) {
-            verify(permissionsBuilder).addPageAndCustomPermissionsOfProfile(eq(permissions), anySetOf(String.class), eq(profile));
+            verify(permissionsBuilder).getProfilePermissions(profile);
+        }
+        for (final Profile profile : profileList2) {
+            verify(permissionsBuilder).getProfilePermissions(profile);
         }
     }
 
@@ -0,0 +1,90 @@
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class ProfilePermissionsCacheTest {
+
+    private long currentTime = 1000L;
+
+    private final ProfilePermissionsCache profilePermissionsCache = new ProfilePermissionsCache(100L) {
+
+        @Override
+        protected long now() {
+            return currentTime;
+        }
+    };
+
+    @Test
+    public void should_keep_the_permissions_of_a_profile() throws Exception {
+        final Set<String> permissions = profilePermissionsCache.put(1L, set("Perm1", "Perm2"), profilePermissionsCache.getGeneration());
+
+        assertThat(profilePermissionsCache.get(1L)).isSameAs(permissions).containsOnly("Perm1", "Perm2");
+        assertThat(profilePermissionsCache.get(2L)).isNull();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void should_not_let_the_cached_permissions_be_modified() throws Exception {
+        profilePermissionsCache.put(1L, set("Perm1"), profilePermissionsCache.getGeneration()).add("Perm2");
+    }
+
+    @Test
+    public void should_drop_the_permissions_on_clear() throws Exception {
+        profilePermissionsCache.put(1L, set("Perm1"), profilePermissionsCache.getGeneration());
+
+        profilePermissionsCache.clear();
+
+        assertThat(profilePermissionsCache.get(1L)).isNull();
+        assertThat(profilePermissionsCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_drop_the_permissions_of_a_profile_once_expired() throws Exception {
+        profilePermissionsCache.put(1L, set("Perm1"), profilePermissionsCache.getGeneration());
+
+        currentTime += 100;
+        assertThat(profilePermissionsCache.get(1L)).containsOnly("Perm1");
+        currentTime += 1;
+        assertThat(profilePermissionsCache.get(1L)).isNull();
+        assertThat(profilePermissionsCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_not_keep_the_permissions_computed_before_a_clear() throws Exception {
+        final long generation = profilePermissionsCache.getGeneration();
+        profilePermissionsCache.clear();
+
+        final Set<String> permissions = profilePermissionsCache.put(1L, set("Perm1"), generation);
+
+        assertThat(permissions).containsOnly("Perm1");
+        assertThat(profilePermissionsCache.get(1L)).isNull();
+    }
+
+    @Test
+    public void should_share_the_equal_permission_sets() throws Exception {
+        final Set<String> permissions = profilePermissionsCache.share(set("Perm1", "Perm2"));
+
+        assertThat(profilePermissionsCache.share(set("Perm2", "Perm1"))).isSameAs(permissions);
+        assertThat(profilePermissionsCache.share(set("Perm1"))).isNotSameAs(permissions);
+    }
+
+    @Test
+    public void should_keep_sharing_once_the_max_number_of_shared_sets_is_reached() throws Exception {
+        for (int i = 0; i < ProfilePermissionsCache.MAX_SHARED_PERMISSIONS; i++) {
+            profilePermissionsCache.share(set("Perm" + i));
+        }
+
+        final Set<String> permissions = profilePermissionsCache.share(set("Perm1", "Perm2"));
+
+        assertThat(profilePermissionsCache.share(set("Perm1", "Perm2"))).isSameAs(permissions);
+    }
+
+    private Set<String> set(final String... permissions) {
+        return new HashSet<String>(Arrays.asList(permissions));
+    }
+}
@@ -0,0 +1,93 @@
+package org.bonitasoft.console.common.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class UnzipUtilTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_replace_the_content_of_the_target_folder() throws Exception {
+        final File targetFolder = new File(temporaryFolder.getRoot(), "page");
+        UnzipUtil.unzip(new ByteArrayInputStream(zip("index.html", "v1", "resources/old.js", "old")), targetFolder.getPath());
+
+        UnzipUtil.unzip(new ByteArrayInputStream(zip("index.html", "v2")), targetFolder.getPath());
+
+        assertThat(FileUtils.readFileToString(new File(targetFolder, "index.html"))).isEqualTo("v2");
+        assertThat(new File(targetFolder, "resources/old.js")).doesNotExist();
+        assertThat(temporaryFolder.getRoot().list()).containsOnly("page");
+    }
+
+    @Test
+    public void should_extract_concurrently_in_the_same_and_in_different_folders() throws Exception {
+        final byte[] zip = zip("index.html", "content", "resources/app.js", "app");
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Void>> extractions = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                final File targetFolder = new File(temporaryFolder.getRoot(), "page" + i % 4);
+                extractions.add(executor.submit(new Callable<Void>() {
+
+                    @Override
+                    public Void call() throws Exception {
+                        UnzipUtil.unzip(new ByteArrayInputStream(zip), targetFolder.getPath());
+                        return null;
+                    }
+                }));
+            }
+            for (final Future<Void> extraction : extractions) {
+                extraction.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(temporaryFolder.getRoot().list()).containsOnly("page0", "page1", "page2", "page3");
+        for (int i = 0; i < 4; i++) {
+            assertThat(FileUtils.readFileToString(new File(temporaryFolder.getRoot(), "page" + i + "/resources/app.js"))).isEqualTo("app");
+        }
+    }
+
+    @Test
+    public void should_delete_the_folders_left_behind_by_an_interrupted_extraction() throws Exception {
+        final File targetFolder = new File(temporaryFolder.getRoot(), "page");
+        temporaryFolder.newFolder(".page.123456789");
+        temporaryFolder.newFolder(".page.-987654321.old");
+        temporaryFolder.newFolder(".page.other.123456789");
+
+        UnzipUtil.unzip(new ByteArrayInputStream(zip("index.html", "v1")), targetFolder.getPath());
+
+        assertThat(FileUtils.readFileToString(new File(targetFolder, "index.html"))).isEqualTo("v1");
+        assertThat(temporaryFolder.getRoot().list()).containsOnly("page", ".page.other.123456789");
+    }
+
+    private byte[] zip(final String... namesAndContents) throws Exception {
+        final ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(zip)) {
+            for (int i = 0; i < namesAndContents.length; i += 2) {
+                zipOutputStream.putNextEntry(new ZipEntry(namesAndContents[i]));
+                zipOutputStream.write(namesAndContents[i + 1].getBytes("UTF-8"));
+                zipOutputStream.closeEntry();
+            }
+        }
+        return zip.toByteArray();
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.client.data.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.bonitasoft.web.rest.model.identity.UserItem;
+import org.junit.Test;
+
+public class CompactAttributeMapTest {
+
+    private final CompactAttributeMap attributes = new CompactAttributeMap(new UserItem());
+
+    @Test
+    public void should_keep_defined_and_other_attributes_including_null_values() throws Exception {
+        attributes.put(UserItem.ATTRIBUTE_USERNAME, "walter.bates");
+        attributes.put(UserItem.ATTRIBUTE_FIRSTNAME, null);
+        attributes.put("not_defined", "value");
+
+        assertThat(attributes.size()).isEqualTo(3);
+        assertThat(attributes.get(UserItem.ATTRIBUTE_USERNAME)).isEqualTo("walter.bates");
+        assertThat(attributes.containsKey(UserItem.ATTRIBUTE_FIRSTNAME)).isTrue();
+        assertThat(attributes.get(UserItem.ATTRIBUTE_FIRSTNAME)).isNull();
+        assertThat(attributes.containsKey(UserItem.ATTRIBUTE_LASTNAME)).isFalse();
+        assertThat(attributes.get("not_defined")).isEqualTo("value");
+    }
+
+    @Test
+    public void should_iterate_in_the_order_of_the_definition_then_over_other_attributes() throws Exception {
+        attributes.put("not_defined", "value");
+        attributes.put(UserItem.ATTRIBUTE_USERNAME, "walter.bates");
+        attributes.put(UserItem.ATTRIBUTE_ID, "1");
+
+        assertThat(attributes.keySet()).containsExactly(UserItem.ATTRIBUTE_ID, UserItem.ATTRIBUTE_USERNAME, "not_defined");
+    }
+
+    @Test
+    public void should_remove_attributes_from_the_map_and_from_its_iterator() throws Exception {
+        attributes.put(UserItem.ATTRIBUTE_ID, "1");
+        attributes.put(UserItem.ATTRIBUTE_USERNAME, "walter.bates");
+        attributes.put("not_defined", "value");
+
+        assertThat(attributes.remove(UserItem.ATTRIBUTE_USERNAME)).isEqualTo("walter.bates");
+        final Iterator<String> names = attributes.keySet().iterator();
+        names.next();
+        names.remove();
+
+        assertThat(attributes.keySet()).containsExactly("not_defined");
+        assertThat(attributes.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_be_equal_to_a_hashmap_with_the_same_attributes() throws Exception {
+        final Map<String, String> expected = new HashMap<String, String>();
+        expected.put(UserItem.ATTRIBUTE_ID, "1");
+        expected.put(UserItem.ATTRIBUTE_LASTNAME, null);
+        expected.put("not_defined", "value");
+
+        attributes.putAll(expected);
+
+        assertThat(attributes).isEqualTo(expected);
+        assertThat(expected).isEqualTo(attributes);
+        assertThat(attributes.hashCode()).isEqualTo(expected.hashCode());
+    }
+
+    @Test
+    public void should_create_items_with_compact_storage_when_asked() throws Exception {
+        final UserItem hashMapUser = new UserItem();
+        hashMapUser.setAttribute(UserItem.ATTRIBUTE_ID, "1", false, false);
+        Item.setUseCompactStorageByDefault(true);
+        try {
+            final UserItem compactUser = new UserItem();
+            compactUser.setAttribute(UserItem.ATTRIBUTE_ID, "1", false, false);
+
+            assertThat(compactUser.getAttributeValue(UserItem.ATTRIBUTE_ID)).isEqualTo("1");
+            assertThat(compactUser.getDeploys()).isEmpty();
+            assertThat(compactUser).isEqualTo(hashMapUser);
+        } finally {
+            Item.setUseCompactStorageByDefault(false);
+        }
+    }
+}
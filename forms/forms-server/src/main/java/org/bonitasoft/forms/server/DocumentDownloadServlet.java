@@ -18,7 +18,6 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.util.Date;
 import java.util.logging.Level;
@@ -31,7 +30,9 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.bonitasoft.console.common.server.utils.BPMEngineAPIUtil;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.DocumentContentCache;
 import org.bonitasoft.console.common.server.utils.FormsResourcesUtils;
+import org.bonitasoft.console.common.server.utils.StaticResourceSender;
 import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.document.ArchivedDocument;
@@ -125,18 +126,18 @@ public class DocumentDownloadServlet extends HttpServlet {
         final String documentId = request.getParameter(DOCUMENT_ID_PARAM);
         String contentStorageId = request.getParameter(CONTENT_STORAGE_ID_PARAM);
         final APISession apiSession = (APISession) request.getSession().getAttribute(API_SESSION_PARAM_KEY);
-        byte[] fileContent = null;
+        File file = null;
+        String cachedContentStorageId = null;
         if (filePath != null) {
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.log(Level.FINE, "attachmentPath: " + filePath);
             }
             final BonitaHomeFolderAccessor tempFolderAccessor = new BonitaHomeFolderAccessor();
             try {
-                final File file = tempFolderAccessor.getTempFile(filePath, apiSession.getTenantId());
+                file = tempFolderAccessor.getTempFile(filePath, apiSession.getTenantId());
                 if (fileName == null) {
                     fileName = file.getName();
                 }
-                fileContent = getFileContent(file, filePath);
             } catch (final UnauthorizedFolderException e) {
                 throw new ServletException(e.getMessage());
             } catch (final IOException e) {
@@ -144,7 +145,8 @@ public class DocumentDownloadServlet extends HttpServlet {
             }
         } else if (fileName != null && contentStorageId != null) {
             try {
-                fileContent = bpmEngineAPIUtil.getProcessAPI(apiSession).getDocumentContent(contentStorageId);
+                file = getDocumentContentFile(apiSession, bpmEngineAPIUtil.getProcessAPI(apiSession), contentStorageId);
+                cachedContentStorageId = contentStorageId;
             } catch (final Exception e) {
                 final String errorMessage = "Error while retrieving the document  with content storage ID " + contentStorageId + " from the engine.";
                 if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -165,7 +167,8 @@ public class DocumentDownloadServlet extends HttpServlet {
                     contentStorageId = archivedDocument.getContentStorageId();
                 }
                 if (contentStorageId != null && !contentStorageId.isEmpty()) {
-                    fileContent = processAPI.getDocumentContent(contentStorageId);
+                    file = getDocumentContentFile(apiSession, processAPI, contentStorageId);
+                    cachedContentStorageId = contentStorageId;
                 }
             } catch (final Exception e) {
                 final String errorMessage = "Error while retrieving the document  with ID " + documentId + " from the engine.";
@@ -203,7 +206,7 @@ public class DocumentDownloadServlet extends HttpServlet {
                 final File resource = new File(processDir, BUSINESS_ARCHIVE_RESOURCES_DIRECTORY + File.separator + resourcePath);
                 if (resource.exists()) {
                     fileName = resource.getName();
-                    fileContent = getFileContent(resource, filePath);
+                    file = resource;
                 } else {
                     final String errorMessage = "The target resource does not exist " + resource.getAbsolutePath();
                     if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -225,7 +228,6 @@ public class DocumentDownloadServlet extends HttpServlet {
             }
             throw new ServletException(errorMessage);
         }
-        response.setContentType("application/octet-stream");
         response.setCharacterEncoding("UTF-8");
         try {
             final String encodedfileName = URLEncoder.encode(fileName, "UTF-8");
@@ -236,22 +238,99 @@ public class DocumentDownloadServlet extends HttpServlet {
                 response.setHeader("Content-Disposition", "attachment; filename=\"" + encodedfileName.replaceAll("\\+", " ") + "\"; filename*=UTF-8''"
                         + encodedfileName.replace("+", "%20"));
             }
-            final OutputStream out = response.getOutputStream();
-            if (fileContent == null) {
-                response.setContentLength(0);
+            if (cachedContentStorageId != null) {
+                sendDocumentContent(request, response, apiSession, cachedContentStorageId, file, "application/octet-stream");
             } else {
-                response.setContentLength(fileContent.length);
-                out.write(fileContent);
+                sendFile(request, response, file, "application/octet-stream", null);
             }
-            out.close();
+        } catch (final FileNotFoundException e) {
+            final String errorMessage = "Error while getting the attachment. The file " + (filePath != null ? filePath : fileName) + " does not exist.";
+            if (LOGGER.isLoggable(Level.SEVERE)) {
+                LOGGER.log(Level.SEVERE, errorMessage, e);
+            }
+            throw new ServletException(errorMessage, e);
         } catch (final IOException e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Error while generating the response.", e);
             }
             throw new ServletException(e);
+        } finally {
+            if (cachedContentStorageId != null) {
+                getDocumentContentCache(apiSession).release(cachedContentStorageId);
+            }
+        }
+    }
+
+    /**
+     * @return the file holding the content of the document, retrieved from the engine only if it is not already on disk. It must be given
+     *         back to the {@link DocumentContentCache} once sent.
+     */
+    protected File getDocumentContentFile(final APISession apiSession, final ProcessAPI processAPI, final String contentStorageId) throws Exception {
+        return getDocumentContentCache(apiSession).getContentFile(contentStorageId, new DocumentContentCache.ContentLoader() {
+
+            @Override
+            public byte[] load() throws Exception {
+                return processAPI.getDocumentContent(contentStorageId);
+            }
+        });
+    }
+
+    protected DocumentContentCache getDocumentContentCache(final APISession apiSession) {
+        return DocumentContentCache.getInstance(apiSession.getTenantId());
+    }
+
+    /**
+     * Stream a file got with {@link #getDocumentContentFile(APISession, ProcessAPI, String)}. If it was deleted from disk in the meantime
+     * (e.g. by a cleaning of the temp folder), the content is retrieved again from the engine instead of failing.
+     */
+    protected void sendDocumentContent(final HttpServletRequest request, final HttpServletResponse response, final APISession apiSession,
+            final String contentStorageId, final File contentFile, final String contentType) throws IOException {
+        final DocumentContentCache documentContentCache = getDocumentContentCache(apiSession);
+        try {
+            sendDocumentContent(request, response, documentContentCache, contentStorageId, contentFile, contentType);
+        } catch (final FileNotFoundException e) {
+            final File reloadedContentFile;
+            try {
+                reloadedContentFile = getDocumentContentFile(apiSession, bpmEngineAPIUtil.getProcessAPI(apiSession), contentStorageId);
+            } catch (final IOException ioe) {
+                throw ioe;
+            } catch (final Exception ex) {
+                throw new IOException("Unable to retrieve the content " + contentStorageId + " from the engine again", ex);
+            }
+            // the caller only releases the content once
+            documentContentCache.release(contentStorageId);
+            sendDocumentContent(request, response, documentContentCache, contentStorageId, reloadedContentFile, contentType);
+        }
+    }
+
+    private void sendDocumentContent(final HttpServletRequest request, final HttpServletResponse response,
+            final DocumentContentCache documentContentCache, final String contentStorageId, final File contentFile, final String contentType)
+            throws IOException {
+        // the content is not handed to sendfile since it may be deleted as soon as it is released
+        new StaticResourceSender(0, false).send(request, response, contentFile, contentType,
+                documentContentCache.getEntityTag(contentStorageId, contentFile.length()));
+    }
+
+    /**
+     * Stream the file (or an empty content if there is no file) with support of conditional and range requests
+     */
+    protected void sendFile(final HttpServletRequest request, final HttpServletResponse response, final File file, final String contentType,
+            final String entityTag) throws IOException {
+        if (file == null) {
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(0);
+            response.getOutputStream().close();
+        } else {
+            new StaticResourceSender(0).send(request, response, file, contentType, entityTag);
         }
     }
 
+    /**
+     * @deprecated the files are now streamed by {@link #sendFile(HttpServletRequest, HttpServletResponse, File, String, String)}
+     */
+    @Deprecated
     protected byte[] getFileContent(final File file, final String filePath) throws ServletException {
 
         int fileLength = 0;
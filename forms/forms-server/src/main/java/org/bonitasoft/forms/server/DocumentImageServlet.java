@@ -15,7 +15,6 @@ package org.bonitasoft.forms.server;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.util.Date;
 import java.util.logging.Level;
@@ -68,18 +67,18 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
         final String resourcePath = request.getParameter(RESOURCE_FILE_NAME_PARAM);
         final String documentId = request.getParameter(DOCUMENT_ID_PARAM);
         final APISession apiSession = (APISession) request.getSession().getAttribute(API_SESSION_PARAM_KEY);
-        byte[] fileContent = null;
+        File file = null;
+        String cachedContentStorageId = null;
         String contentType = null;
         if (filePath != null) {
             final BonitaHomeFolderAccessor tempFolderAccessor = new BonitaHomeFolderAccessor();
             try {
-                final File file = tempFolderAccessor.getTempFile(filePath, apiSession.getTenantId());
+                file = tempFolderAccessor.getTempFile(filePath, apiSession.getTenantId());
                 if (fileName == null) {
                     fileName = file.getName();
                 }
                 final FileTypeMap mimetypesFileTypeMap = new MimetypesFileTypeMap();
                 contentType = mimetypesFileTypeMap.getContentType(file);
-                fileContent = getFileContent(file, filePath);
             } catch (final UnauthorizedFolderException e) {
                 throw new ServletException(e.getMessage());
             } catch (final IOException e) {
@@ -99,7 +98,8 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
                     contentStorageId = archivedDocument.getContentStorageId();
                 }
                 if (contentStorageId != null && !contentStorageId.isEmpty()) {
-                    fileContent = processAPI.getDocumentContent(contentStorageId);
+                    file = getDocumentContentFile(apiSession, processAPI, contentStorageId);
+                    cachedContentStorageId = contentStorageId;
                 }
             } catch (final Exception e) {
                 final String errorMessage = "Error while retrieving the document  with ID " + documentId + " from the engine.";
@@ -138,7 +138,7 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
                 final File resource = new File(processDir, BUSINESS_ARCHIVE_RESOURCES_DIRECTORY + File.separator + resourcePath);
                 if (resource.exists()) {
                     fileName = resource.getName();
-                    fileContent = getFileContent(resource, filePath);
+                    file = resource;
                 } else {
                     final String errorMessage = "The target resource does not exist " + resource.getAbsolutePath();
                     if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -160,37 +160,35 @@ public class DocumentImageServlet extends DocumentDownloadServlet {
             }
             throw new ServletException(errorMessage);
         }
-        if (contentType != null) {
-            response.setContentType(contentType);
-        }
-        response.setCharacterEncoding("UTF-8");
-        if (fileName != null) {
-            try {
-                final String encodedfileName = URLEncoder.encode(fileName, "UTF-8");
-                final String userAgent = request.getHeader("User-Agent");
-                if (userAgent != null && userAgent.contains("Firefox")) {
-                    response.setHeader("Content-Disposition", "inline; filename*=UTF-8''" + encodedfileName);
-                } else {
-                    response.setHeader("Content-Disposition", "inline; filename=\"" + encodedfileName.replaceAll("\\+", " ") + "\"; filename*=UTF-8''"
-                            + encodedfileName);
-                }
-                if (fileContent != null) {
-                    response.setContentLength(fileContent.length);
-                    OutputStream out = null;
-                    try {
-                        out = response.getOutputStream();
-                        out.write(fileContent);
-                    } finally {
-                        if (out != null) {
-                            out.close();
-                        }
+        try {
+            response.setCharacterEncoding("UTF-8");
+            if (fileName != null) {
+                try {
+                    final String encodedfileName = URLEncoder.encode(fileName, "UTF-8");
+                    final String userAgent = request.getHeader("User-Agent");
+                    if (userAgent != null && userAgent.contains("Firefox")) {
+                        response.setHeader("Content-Disposition", "inline; filename*=UTF-8''" + encodedfileName);
+                    } else {
+                        response.setHeader("Content-Disposition", "inline; filename=\"" + encodedfileName.replaceAll("\\+", " ") + "\"; filename*=UTF-8''"
+                                + encodedfileName);
                     }
+                    if (cachedContentStorageId != null) {
+                        sendDocumentContent(request, response, apiSession, cachedContentStorageId, file, contentType);
+                    } else if (file != null) {
+                        sendFile(request, response, file, contentType, null);
+                    } else if (contentType != null) {
+                        response.setContentType(contentType);
+                    }
+                } catch (final IOException e) {
+                    if (LOGGER.isLoggable(Level.SEVERE)) {
+                        LOGGER.log(Level.SEVERE, "Error while generating the response.", e);
+                    }
+                    throw new ServletException(e.getMessage(), e);
                 }
-            } catch (final IOException e) {
-                if (LOGGER.isLoggable(Level.SEVERE)) {
-                    LOGGER.log(Level.SEVERE, "Error while generating the response.", e);
-                }
-                throw new ServletException(e.getMessage(), e);
+            }
+        } finally {
+            if (cachedContentStorageId != null) {
+                getDocumentContentCache(apiSession).release(cachedContentStorageId);
             }
         }
     }
@@ -76,6 +76,7 @@ import org.bonitasoft.forms.server.exception.NoCredentialsInSessionException;
 import org.bonitasoft.forms.server.provider.FormServiceProvider;
 import org.bonitasoft.forms.server.provider.impl.util.FormServiceProviderFactory;
 import org.bonitasoft.forms.server.provider.impl.util.FormServiceProviderUtil;
+import org.bonitasoft.forms.server.util.FormRequestMemo;
 import org.bonitasoft.forms.server.util.LocaleUtil;
 import org.bonitasoft.web.rest.model.user.User;
 import org.w3c.dom.Document;
@@ -123,6 +124,7 @@ public class FormsServlet extends RemoteServiceServlet implements FormsService {
      */
     @Override
     public String processCall(final String payload) throws SerializationException {
+        final long startTime = System.nanoTime();
         try {
             return super.processCall(payload);
         } catch (final SerializationException e) {
@@ -131,7 +133,23 @@ public class FormsServlet extends RemoteServiceServlet implements FormsService {
                     "The Object returned by the RPC call is not supported by the client. Complex java types and XML types are not supported as data field's inputs.",
                     e);
             throw e;
+        } finally {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                logCallDuration(startTime);
+            }
+        }
+    }
+
+    private void logCallDuration(final long startTime) {
+        final StringBuilder message = new StringBuilder("Forms RPC call served in ").append((System.nanoTime() - startTime) / 1000000).append(" ms");
+        final HttpServletRequest request = getThreadLocalRequest();
+        if (request != null) {
+            final FormRequestMemo memo = (FormRequestMemo) request.getAttribute(FormServiceProviderUtil.REQUEST_MEMO);
+            if (memo != null) {
+                message.append(" (engine lookups: ").append(memo.getLookupsSummary()).append(")");
+            }
         }
+        LOGGER.log(Level.FINE, message.toString());
     }
 
     /**
@@ -220,7 +238,7 @@ public class FormsServlet extends RemoteServiceServlet implements FormsService {
                     formPage = definitionAPI.getFormPage(formID, pageId, context);
                     if (formPage != null) {
                         formPage.setPageLabel((String) formServiceProvider.resolveExpression(formPage.getPageLabelExpression(), context));
-                        formFieldValuesUtil.setFormWidgetsValues(tenantID, formPage.getFormWidgets(), context);
+                        formFieldValuesUtil.setFormWidgetsValues(tenantID, formID, pageId, localeStr, deployementDate, formPage.getFormWidgets(), context);
                         formFieldValuesUtil.storeWidgetsInCacheAndSetCacheID(tenantID, formID, pageId, localeStr, deployementDate, formPage.getFormWidgets());
                     }
                 } else {
@@ -308,6 +326,7 @@ public class FormsServlet extends RemoteServiceServlet implements FormsService {
         context.put(FormServiceProviderUtil.URL_CONTEXT, urlContext);
         context.put(FormServiceProviderUtil.LOCALE, locale);
         context.put(FormServiceProviderUtil.API_SESSION, aAPISession);
+        request.setAttribute(FormServiceProviderUtil.REQUEST_MEMO, FormRequestMemo.get(context));
         return context;
     }
 
@@ -348,7 +367,7 @@ public class FormsServlet extends RemoteServiceServlet implements FormsService {
             if (pageId != null) {
                 final FormPage formPage = definitionAPI.getFormPage(formID, pageId, context);
                 formPage.setPageLabel((String) formServiceProvider.resolveExpression(formPage.getPageLabelExpression(), context));
-                formFieldValuesUtil.setFormWidgetsValues(tenantID, formPage.getFormWidgets(), context);
+                formFieldValuesUtil.setFormWidgetsValues(tenantID, formID, pageId, localeStr, deployementDate, formPage.getFormWidgets(), context);
                 formFieldValuesUtil.storeWidgetsInCacheAndSetCacheID(tenantID, formID, pageId, localeStr, deployementDate, formPage.getFormWidgets());
                 return formPage.getReducedFormPage();
             } else {
@@ -72,6 +72,21 @@ public class DefaultFormsProperties {
      */
     protected final static long DEFAULT_CACHE_PROCESS_EXPIRATION_TIME = 300000;
 
+    /**
+     * Default maximum number of elements per forms cache region
+     */
+    public static final int DEFAULT_CACHE_REGION_MAX_SIZE = 10000;
+
+    /**
+     * Default time to live of the forms cache elements (0 means eternal)
+     */
+    public static final long DEFAULT_CACHE_REGION_TIME_TO_LIVE = 0;
+
+    /**
+     * Default maximum number of elements written to disk per forms cache region
+     */
+    public static final int DEFAULT_CACHE_REGION_MAX_SIZE_ON_DISK = 100000;
+
     /**
      * Default form attachment max size
      */
@@ -196,6 +211,39 @@ public class DefaultFormsProperties {
         }
     }
 
+    public int getCacheRegionMaxSize() {
+        final String cacheRegionMaxSize = defaultProperties.getProperty("forms.cache.region.size");
+        try {
+            return Integer.parseInt(cacheRegionMaxSize);
+        } catch (final NumberFormatException nfe) {
+            LOGGER.log(Level.INFO, "the max number of elements per forms cache region is undefined or incorrectly defined. Using the default value : "
+                    + DEFAULT_CACHE_REGION_MAX_SIZE);
+            return DEFAULT_CACHE_REGION_MAX_SIZE;
+        }
+    }
+
+    public long getCacheRegionTimeToLive() {
+        final String cacheRegionTTL = defaultProperties.getProperty("forms.cache.region.ttl");
+        try {
+            return Long.parseLong(cacheRegionTTL);
+        } catch (final NumberFormatException nfe) {
+            LOGGER.log(Level.INFO, "the forms cache elements time to live is undefined or incorrectly defined. Using the default value : "
+                    + DEFAULT_CACHE_REGION_TIME_TO_LIVE);
+            return DEFAULT_CACHE_REGION_TIME_TO_LIVE;
+        }
+    }
+
+    public int getCacheRegionMaxSizeOnDisk() {
+        final String cacheRegionMaxSizeOnDisk = defaultProperties.getProperty("forms.cache.region.disk.size");
+        try {
+            return Integer.parseInt(cacheRegionMaxSizeOnDisk);
+        } catch (final NumberFormatException nfe) {
+            LOGGER.log(Level.INFO, "the max number of elements written to disk per forms cache region is undefined or incorrectly defined. Using the default value : "
+                    + DEFAULT_CACHE_REGION_MAX_SIZE_ON_DISK);
+            return DEFAULT_CACHE_REGION_MAX_SIZE_ON_DISK;
+        }
+    }
+
     public long getAttachmentMaxSize() {
         final String attachmentMaxSize = defaultProperties.getProperty("form.attachment.max.size");
         try {
@@ -1,7 +1,11 @@
 package org.bonitasoft.forms.server.accessor.impl.util;
 
+import java.io.File;
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -13,7 +17,10 @@ import org.bonitasoft.forms.client.model.FormPage;
 import org.bonitasoft.forms.client.model.FormValidator;
 import org.bonitasoft.forms.client.model.FormWidget;
 import org.bonitasoft.forms.client.model.TransientData;
-import org.bonitasoft.forms.server.cache.CacheUtil;
+import org.bonitasoft.forms.server.accessor.DefaultFormsProperties;
+import org.bonitasoft.forms.server.accessor.DefaultFormsPropertiesFactory;
+import org.bonitasoft.forms.server.cache.CacheRegion;
+import org.bonitasoft.forms.server.cache.PartitionedCache;
 import org.bonitasoft.forms.server.exception.InvalidFormDefinitionException;
 
 public class FormCacheUtil {
@@ -57,21 +64,74 @@ public class FormCacheUtil {
 
     protected static final String FORM_WIDGET_CACHE = "formWidgetCache";
 
-    protected static String CACHE_DISK_STORE_PATH = null;
+    protected static final String FORM_STATIC_EXPRESSIONS_CACHE = "formStaticExpressionsCache";
 
     protected static String DOMAIN_KEY_CONNECTOR = "@";
 
+    /**
+     * Regions whose keys are sent to the browser and resolved on a later request (e.g. when an open form is submitted). A missing element
+     * breaks the forms still open, so their elements never expire and the ones evicted from the memory are written to disk (up to
+     * forms.cache.region.disk.size elements per region).
+     */
+    protected static final List<String> REFERENCED_BY_ID_CACHES = Arrays.asList(FORM_WIDGET_CACHE, FIELD_VALIDATORS_CACHE, PAGE_VALIDATORS_CACHE,
+            NEXT_PAGE_ID_EXPRESSION_CACHE, FORM_PAGE_LAYOUT_CACHE, FORM_APPLICATION_LAYOUT_CACHE);
+
     protected long tenantID;
 
+    protected int regionMaxSize = DefaultFormsProperties.DEFAULT_CACHE_REGION_MAX_SIZE;
+
+    protected long regionTimeToLive = DefaultFormsProperties.DEFAULT_CACHE_REGION_TIME_TO_LIVE;
+
+    protected int regionMaxSizeOnDisk = DefaultFormsProperties.DEFAULT_CACHE_REGION_MAX_SIZE_ON_DISK;
+
+    protected File overflowDirectory;
+
+    protected final PartitionedCache partitionedCache = PartitionedCache.getInstance();
+
     protected FormCacheUtil(final long tenantID) {
+        this.tenantID = tenantID;
         try {
-            CACHE_DISK_STORE_PATH = WebBonitaConstantsUtils.getInstance(tenantID).getFormsWorkFolder().getAbsolutePath();
-            this.tenantID = tenantID;
+            overflowDirectory = new File(WebBonitaConstantsUtils.getInstance(tenantID).getFormsWorkFolder(), "cache");
         } catch (final Exception e) {
-            LOGGER.log(Level.WARNING, "Unable to retrieve the path of the cache disk store directory path.", e);
+            overflowDirectory = new File(System.getProperty("java.io.tmpdir"), "bonita-forms-cache-" + tenantID);
+            LOGGER.log(Level.WARNING, "Unable to retrieve the forms work folder. The forms cache overflows to " + overflowDirectory.getPath(), e);
         }
+        try {
+            final DefaultFormsProperties defaultFormsProperties = DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID);
+            regionMaxSize = defaultFormsProperties.getCacheRegionMaxSize();
+            regionTimeToLive = defaultFormsProperties.getCacheRegionTimeToLive();
+            regionMaxSizeOnDisk = defaultFormsProperties.getCacheRegionMaxSizeOnDisk();
+        } catch (final Exception e) {
+            LOGGER.log(Level.WARNING, "Unable to retrieve the forms cache configuration. Using the default values.", e);
+        }
+    }
+
+    protected CacheRegion getRegion(final String cacheName) {
+        final CacheRegion region = partitionedCache.getExistingRegion(tenantID, cacheName);
+        if (region != null) {
+            return region;
+        }
+        if (REFERENCED_BY_ID_CACHES.contains(cacheName)) {
+            return partitionedCache.getRegion(tenantID, cacheName, regionMaxSize, 0, new File(overflowDirectory, cacheName), regionMaxSizeOnDisk);
+        }
+        return partitionedCache.getRegion(tenantID, cacheName, regionMaxSize, regionTimeToLive);
+    }
+
+    protected Object get(final String cacheName, final Object key) {
+        return getRegion(cacheName).get(key);
+    }
+
+    protected void store(final String cacheName, final Object key, final Object value) {
+        getRegion(cacheName).store(key, value);
     }
 
+    protected boolean contains(final String cacheName, final Object key) {
+        return getRegion(cacheName).contains(key);
+    }
+
+    protected void clear(final String cacheName) {
+        partitionedCache.clear(tenantID, cacheName);
+    }
 
     protected static String getDateStr(final Date date) {
         if (date != null) {
@@ -81,137 +141,137 @@ public class FormCacheUtil {
     }
 
     public Expression getFirstPage(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (Expression) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_FIRST_PAGE_CACHE, formID + locale + getDateStr(applicationDeployementDate)
+        return (Expression) get(FORM_FIRST_PAGE_CACHE, formID + locale + getDateStr(applicationDeployementDate)
                 + DOMAIN_KEY_CONNECTOR + tenantID);
     }
 
     public void storeFirstPage(final String formID, final String locale, final Date applicationDeployementDate, final Expression firstPage) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_FIRST_PAGE_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
+        store(FORM_FIRST_PAGE_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
                 + tenantID, firstPage);
     }
 
     public FormPage getPage(final String formID, final String locale, final Date applicationDeployementDate, final String pageId) throws InvalidFormDefinitionException {
-        return (FormPage) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGES_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
+        return (FormPage) get(FORM_PAGES_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
                 + DOMAIN_KEY_CONNECTOR + tenantID);
     }
 
     public void storePage(final String formID, final String locale, final Date applicationDeployementDate, final FormPage formPage) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGES_CACHE, formID + locale + getDateStr(applicationDeployementDate) + formPage.getPageId()
+        store(FORM_PAGES_CACHE, formID + locale + getDateStr(applicationDeployementDate) + formPage.getPageId()
                 + DOMAIN_KEY_CONNECTOR + tenantID, formPage);
     }
 
     @SuppressWarnings("unchecked")
     public List<TransientData> getTransientData(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (List<TransientData>) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_TRANSIENT_DATA_CACHE, formID + locale + getDateStr(applicationDeployementDate)
+        return (List<TransientData>) get(FORM_TRANSIENT_DATA_CACHE, formID + locale + getDateStr(applicationDeployementDate)
                 + DOMAIN_KEY_CONNECTOR
                 + tenantID);
     }
 
     public void storeTransientData(final String formID, final String locale, final Date applicationDeployementDate, final List<TransientData> transientData) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_TRANSIENT_DATA_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
+        store(FORM_TRANSIENT_DATA_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
                 + tenantID, transientData);
     }
 
     @SuppressWarnings("unchecked")
     public List<FormAction> getPageActions(final String formID, final String locale, final Date applicationDeployementDate, final String pageId)
             throws InvalidFormDefinitionException {
-        return (List<FormAction>) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGE_ACTIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
+        return (List<FormAction>) get(FORM_PAGE_ACTIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
                 + pageId + DOMAIN_KEY_CONNECTOR + tenantID);
     }
 
     public void storePageActions(final String formID, final String locale, final Date applicationDeployementDate, final String pageId,
             final List<FormAction> actions) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGE_ACTIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
+        store(FORM_PAGE_ACTIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
                 + DOMAIN_KEY_CONNECTOR + tenantID, actions);
     }
 
 	public ApplicationConfig getApplicationConfig(final String formID, final String locale, final Date applicationDeployementDate, final boolean includeApplicationTemplate) throws InvalidFormDefinitionException {
-        return (ApplicationConfig) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_CONFIG_CACHE,
+        return (ApplicationConfig) get(FORM_CONFIG_CACHE,
                 formID + locale + getDateStr(applicationDeployementDate) + Boolean.toString(includeApplicationTemplate) + DOMAIN_KEY_CONNECTOR + tenantID);
     }
 
     public final void storeApplicationConfig(final String formID, final String locale, final Date applicationDeployementDate, final boolean includeApplicationTemplate, final ApplicationConfig ApplicationConfig) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_CONFIG_CACHE,
+        store(FORM_CONFIG_CACHE,
                 formID + locale + getDateStr(applicationDeployementDate) + Boolean.toString(includeApplicationTemplate) + DOMAIN_KEY_CONNECTOR + tenantID,
                 ApplicationConfig);
     }
 
     public String getApplicationPermissions(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
+        return (String) get(FORM_APPLICATION_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
                 + DOMAIN_KEY_CONNECTOR
                 + tenantID);
     }
 
     public void storeApplicationPermissions(final String formID, final String locale, final Date applicationDeployementDate, final String applicationPermissions) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
+        store(FORM_APPLICATION_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
                 + DOMAIN_KEY_CONNECTOR + tenantID, applicationPermissions);
     }
 
     public String getMigrationProductVersion(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_MIGRATION_PRODUCT_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
+        return (String) get(FORM_MIGRATION_PRODUCT_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
                 + DOMAIN_KEY_CONNECTOR
                 + tenantID);
     }
 
     public void storeMigrationProductVersion(final String formID, final String locale, final Date applicationDeployementDate, final String migrationProductVersion) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_MIGRATION_PRODUCT_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
+        store(FORM_MIGRATION_PRODUCT_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
                 + DOMAIN_KEY_CONNECTOR + tenantID, migrationProductVersion);
     }
 
     public String getFormPermissions(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
+        return (String) get(FORM_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate)
                 + DOMAIN_KEY_CONNECTOR + tenantID);
     }
 
     public void storeFormPermissions(final String formID, final String locale, final Date applicationDeployementDate, final String formPermissions) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
+        store(FORM_PERMISSIONS_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
                 + tenantID, formPermissions);
     }
 
     public String getNextForm(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_NEXT_FORM_CACHE, formID + locale + getDateStr(applicationDeployementDate)
+        return (String) get(FORM_NEXT_FORM_CACHE, formID + locale + getDateStr(applicationDeployementDate)
                 + DOMAIN_KEY_CONNECTOR + tenantID);
     }
 
     public void storeNextForm(final String formID, final String locale, final Date applicationDeployementDate, final String nextForm) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_NEXT_FORM_CACHE,
+        store(FORM_NEXT_FORM_CACHE,
                 formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID, nextForm);
     }
 
     public String getFormPageLayout(final String formID, final String locale, final Date applicationDeployementDate,final String pageId) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
+        return (String) get(FORM_PAGE_LAYOUT_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId
                 + DOMAIN_KEY_CONNECTOR
                 + tenantID);
     }
 
     public void storeFormPageLayout(final String formID, final String locale, final Date applicationDeployementDate,final String pageId, final String formPageLayout) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId + DOMAIN_KEY_CONNECTOR
+        store(FORM_PAGE_LAYOUT_CACHE, formID + locale + getDateStr(applicationDeployementDate) + pageId + DOMAIN_KEY_CONNECTOR
                 + tenantID, formPageLayout);
     }
 
     public String getApplicationVersion(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
+        return (String) get(FORM_APPLICATION_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate)
                 + DOMAIN_KEY_CONNECTOR
                 + tenantID);
     }
 
     public void storeApplicationVersion(final String formID, final String locale, final Date applicationDeployementDate, final String applicationVersion) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
+        store(FORM_APPLICATION_VERSION_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
                 + tenantID, applicationVersion);
     }
 
     public String getApplicationName(final String formID, final String locale, final Date applicationDeployementDate) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_NAME_CACHE, formID + locale + getDateStr(applicationDeployementDate)
+        return (String) get(FORM_APPLICATION_NAME_CACHE, formID + locale + getDateStr(applicationDeployementDate)
                 + DOMAIN_KEY_CONNECTOR + tenantID);
     }
 
     public void storeApplicationName(final String formID, final String locale, final Date applicationDeployementDate, final String applicationName) throws InvalidFormDefinitionException {
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_NAME_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
+        store(FORM_APPLICATION_NAME_CACHE, formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR
                 + tenantID, applicationName);
     }
 
     public FormWidget getFormWidget(final String formWidgetCacheId){
-        return (FormWidget) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_WIDGET_CACHE, formWidgetCacheId);
+        return (FormWidget) get(FORM_WIDGET_CACHE, formWidgetCacheId);
     }
 
     public FormWidget getFormWidget(final String formID, final String pageID, final String widgetID, final String locale, final Date processDeployementDate) {
@@ -219,81 +279,113 @@ public class FormCacheUtil {
     }
 
     public String storeFormWidget(final String formID, final String pageID, final String locale, final Date processDeployementDate, final FormWidget formWidget) {
-        final String formWidgetCacheId = formID + pageID + formWidget.getId() + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_WIDGET_CACHE, formWidgetCacheId, formWidget);
+        final String formWidgetCacheId = getFormWidgetCacheId(formID, pageID, formWidget.getId(), locale, processDeployementDate);
+        store(FORM_WIDGET_CACHE, formWidgetCacheId, formWidget);
         return formWidgetCacheId;
     }
 
+    public String getFormWidgetCacheId(final String formID, final String pageID, final String widgetID, final String locale, final Date processDeployementDate) {
+        return formID + pageID + widgetID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
+    }
+
+    public boolean containsFormWidget(final String formWidgetCacheId) {
+        return contains(FORM_WIDGET_CACHE, formWidgetCacheId);
+    }
+
+    /**
+     * @return the values of the constant and i18n expressions of the page widgets by expression name
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Serializable> getStaticExpressionsValues(final String formID, final String pageID, final String locale, final Date processDeployementDate) {
+        return (Map<String, Serializable>) get(FORM_STATIC_EXPRESSIONS_CACHE, formID + pageID + locale + getDateStr(processDeployementDate)
+                + DOMAIN_KEY_CONNECTOR + tenantID);
+    }
+
+    public void storeStaticExpressionsValues(final String formID, final String pageID, final String locale, final Date processDeployementDate,
+            final Map<String, Serializable> staticExpressionsValues) {
+        store(FORM_STATIC_EXPRESSIONS_CACHE, formID + pageID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID,
+                staticExpressionsValues);
+    }
+
     public Expression getNextPageIdExpression(final String nextPageExpressionId) {
-        return (Expression) CacheUtil.get(CACHE_DISK_STORE_PATH, NEXT_PAGE_ID_EXPRESSION_CACHE, nextPageExpressionId);
+        return (Expression) get(NEXT_PAGE_ID_EXPRESSION_CACHE, nextPageExpressionId);
     }
 
     public String storeNextPageIdExpression(final String formID, final String pageID, final String locale, final Date processDeployementDate, final Expression nextPageIdExpression) {
         final String nextPageExpressionId = formID + pageID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, NEXT_PAGE_ID_EXPRESSION_CACHE, nextPageExpressionId, nextPageIdExpression);
+        store(NEXT_PAGE_ID_EXPRESSION_CACHE, nextPageExpressionId, nextPageIdExpression);
         return nextPageExpressionId;
     }
 
     @SuppressWarnings("unchecked")
     public List<FormValidator> getFieldValidators(final String fieldValidatorsId) {
-        return (List<FormValidator>) CacheUtil.get(CACHE_DISK_STORE_PATH, FIELD_VALIDATORS_CACHE, fieldValidatorsId);
+        return (List<FormValidator>) get(FIELD_VALIDATORS_CACHE, fieldValidatorsId);
     }
 
     public String storeFieldValidators(final String formID, final String pageID, final String widgetID, final String locale, final Date processDeployementDate, final List<FormValidator> validators) {
-        final String validatorsId = formID + pageID + widgetID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FIELD_VALIDATORS_CACHE, validatorsId, validators);
+        final String validatorsId = getFieldValidatorsCacheId(formID, pageID, widgetID, locale, processDeployementDate);
+        store(FIELD_VALIDATORS_CACHE, validatorsId, validators);
         return validatorsId;
     }
 
+    public String getFieldValidatorsCacheId(final String formID, final String pageID, final String widgetID, final String locale, final Date processDeployementDate) {
+        return formID + pageID + widgetID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
+    }
+
+    public boolean containsFieldValidators(final String fieldValidatorsId) {
+        return contains(FIELD_VALIDATORS_CACHE, fieldValidatorsId);
+    }
+
     @SuppressWarnings("unchecked")
     public List<FormValidator> getPageValidators(final String pageValidatorsId) {
-        return (List<FormValidator>) CacheUtil.get(CACHE_DISK_STORE_PATH, PAGE_VALIDATORS_CACHE, pageValidatorsId);
+        return (List<FormValidator>) get(PAGE_VALIDATORS_CACHE, pageValidatorsId);
     }
 
     public String storePageValidators(final String formID, final String pageID, final String locale, final Date processDeployementDate, final List<FormValidator> validators) {
         final String validatorsId = formID + pageID + locale + getDateStr(processDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, PAGE_VALIDATORS_CACHE, validatorsId, validators);
+        store(PAGE_VALIDATORS_CACHE, validatorsId, validators);
         return validatorsId;
     }
 
     public String getPageLayoutContent(final String bodyContentId) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, bodyContentId);
+        return (String) get(FORM_PAGE_LAYOUT_CACHE, bodyContentId);
     }
 
     public String storePageLayoutContent(final String formID, final String PageID, final String locale, final Date applicationDeployementDate, final String BodyContent) throws InvalidFormDefinitionException {
         final String bodyContentId = formID + PageID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE, bodyContentId, BodyContent);
+        store(FORM_PAGE_LAYOUT_CACHE, bodyContentId, BodyContent);
         return bodyContentId;
     }
 
     public String getApplicationLayoutContent(final String bodyContentId) throws InvalidFormDefinitionException {
-        return (String) CacheUtil.get(CACHE_DISK_STORE_PATH, FORM_APPLICATION_LAYOUT_CACHE, bodyContentId);
+        return (String) get(FORM_APPLICATION_LAYOUT_CACHE, bodyContentId);
     }
 
     public String storeApplicationLayoutContent(final String formID, final String locale, final Date applicationDeployementDate, final String BodyContent) throws InvalidFormDefinitionException {
         final String bodyContentId = formID + locale + getDateStr(applicationDeployementDate) + DOMAIN_KEY_CONNECTOR + tenantID;
-        CacheUtil.store(CACHE_DISK_STORE_PATH, FORM_APPLICATION_LAYOUT_CACHE, bodyContentId, BodyContent);
+        store(FORM_APPLICATION_LAYOUT_CACHE, bodyContentId, BodyContent);
         return bodyContentId;
     }
 
     public void clearAll() {
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_FIRST_PAGE_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PAGES_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_TRANSIENT_DATA_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PAGE_ACTIONS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_CONFIG_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_PERMISSIONS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_MIGRATION_PRODUCT_VERSION_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PERMISSIONS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_NEXT_FORM_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_PAGE_LAYOUT_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_VERSION_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_NAME_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, NEXT_PAGE_ID_EXPRESSION_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FIELD_VALIDATORS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, PAGE_VALIDATORS_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_WIDGET_CACHE);
-        CacheUtil.clear(CACHE_DISK_STORE_PATH, FORM_APPLICATION_LAYOUT_CACHE);
+        clear(FORM_FIRST_PAGE_CACHE);
+        clear(FORM_PAGES_CACHE);
+        clear(FORM_TRANSIENT_DATA_CACHE);
+        clear(FORM_PAGE_ACTIONS_CACHE);
+        clear(FORM_CONFIG_CACHE);
+        clear(FORM_APPLICATION_PERMISSIONS_CACHE);
+        clear(FORM_MIGRATION_PRODUCT_VERSION_CACHE);
+        clear(FORM_PERMISSIONS_CACHE);
+        clear(FORM_NEXT_FORM_CACHE);
+        clear(FORM_PAGE_LAYOUT_CACHE);
+        clear(FORM_APPLICATION_VERSION_CACHE);
+        clear(FORM_APPLICATION_NAME_CACHE);
+        clear(NEXT_PAGE_ID_EXPRESSION_CACHE);
+        clear(FIELD_VALIDATORS_CACHE);
+        clear(PAGE_VALIDATORS_CACHE);
+        clear(FORM_WIDGET_CACHE);
+        clear(FORM_STATIC_EXPRESSIONS_CACHE);
+        clear(FORM_APPLICATION_LAYOUT_CACHE);
     }
 
 }
@@ -23,10 +23,14 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URL;
 import java.util.Date;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,7 +40,10 @@ import org.bonitasoft.engine.bpm.process.ProcessDefinitionNotFoundException;
 import org.bonitasoft.engine.exception.RetrieveException;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.engine.session.InvalidSessionException;
+import org.bonitasoft.forms.server.accessor.DefaultFormsProperties;
 import org.bonitasoft.forms.server.accessor.DefaultFormsPropertiesFactory;
+import org.bonitasoft.forms.server.cache.CacheRegion;
+import org.bonitasoft.forms.server.cache.PartitionedCache;
 import org.bonitasoft.forms.server.exception.InvalidFormDefinitionException;
 import org.w3c.dom.Document;
 
@@ -78,11 +85,6 @@ public class FormDocumentBuilder {
      */
     protected String locale;
 
-    /**
-     * Last access to the current instance
-     */
-    protected Long lastAccess = new Date().getTime();
-
     /**
      * the {@link Date} of the process deployment
      */
@@ -99,9 +101,14 @@ public class FormDocumentBuilder {
     private static Logger LOGGER = Logger.getLogger(FormDocumentBuilder.class.getName());
 
     /**
-     * Instances map by process
+     * Name of the {@link PartitionedCache} region containing the instances
      */
-    private static Map<String, Map<String, FormDocumentBuilder>> INSTANCES;
+    protected final static String INSTANCES_CACHE = "formDocumentBuilderCache";
+
+    /**
+     * Instances being built by tenant and instance key. Concurrent requests for the same instance wait for the one building it.
+     */
+    private static final ConcurrentMap<String, FutureTask<FormDocumentBuilder>> INSTANCES_IN_PROGRESS = new ConcurrentHashMap<String, FutureTask<FormDocumentBuilder>>();
 
     /**
      * Separator for the instance map keys
@@ -110,8 +117,8 @@ public class FormDocumentBuilder {
 
     /**
      * Retrieve an instance of FormDocumentBuilder or create a new one if necessary.
-     * The map contains a cache of instances. Each instance has a validity duration equals to the INSTANCE_EXPIRATION_TIME constant value
-     * The deployment date is also check because a process can be undeployed and redeployed (after modifications) with the same UUID
+     * The instances are cached by tenant, process, locale and deployment date (a process can be undeployed and redeployed after modifications
+     * with the same ID). Each instance has a validity duration equals to the forms.cache.process.ttl property value
      * 
      * @param session
      *            the engine API session
@@ -126,7 +133,7 @@ public class FormDocumentBuilder {
      * @throws BPMEngineException
      * @throws InvalidSessionException
      */
-    public static synchronized FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
+    public static FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
             final Date processDeployementDate) throws ProcessDefinitionNotFoundException, IOException, InvalidFormDefinitionException, BPMEngineException,
             InvalidSessionException, RetrieveException {
 
@@ -135,8 +142,8 @@ public class FormDocumentBuilder {
 
     /**
      * Retrieve an instance of FormDocumentBuilder or create a new one if necessary.
-     * The map contains a cache of instances. Each instance has a validity duration equals to the INSTANCE_EXPIRATION_TIME constant value
-     * The deployment date is also check because a process can be undeployed and redeployed (after modifications) with the same UUID
+     * The instances are cached by tenant, process, locale and deployment date (a process can be undeployed and redeployed after modifications
+     * with the same ID). Each instance has a validity duration equals to the forms.cache.process.ttl property value
      * 
      * @param session
      *            the engine API session
@@ -153,76 +160,105 @@ public class FormDocumentBuilder {
      * @throws BPMEngineException
      * @throws InvalidSessionException
      */
-    public static synchronized FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
+    public static FormDocumentBuilder getInstance(final APISession session, final long processDefinitionID, final String locale,
             final Date processDeployementDate, final boolean getFormDefinitionFromBAR) throws ProcessDefinitionNotFoundException, IOException,
             InvalidFormDefinitionException, BPMEngineException, InvalidSessionException, RetrieveException {
 
+        if (processDefinitionID == -1) {
+            return buildInstance(session, processDefinitionID, locale, processDeployementDate, getFormDefinitionFromBAR);
+        }
         final long tenantID = session.getTenantId();
-        if (INSTANCES == null) {
-            INSTANCES = new LinkedHashMap<String, Map<String, FormDocumentBuilder>>(DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID)
-                    .getMaxProcessesInCache(), .75F, true) {
-
-                private static final long serialVersionUID = 7451370208143315146L;
-
-                @Override
-                protected boolean removeEldestEntry(final Map.Entry<String, Map<String, FormDocumentBuilder>> eldest) {
-                    return size() > DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getMaxProcessesInCache();
-                };
-            };
+        final CacheRegion instancesCache = getInstancesCache(tenantID);
+        final String instanceKey = processDefinitionID + INSTANCES_MAP_SEPERATOR + locale + INSTANCES_MAP_SEPERATOR
+                + (processDeployementDate != null ? processDeployementDate.getTime() : "");
+        final FormDocumentBuilder instance = (FormDocumentBuilder) instancesCache.get(instanceKey);
+        if (instance != null) {
+            return instance;
         }
+        final FutureTask<FormDocumentBuilder> instanceBuild = new FutureTask<FormDocumentBuilder>(new Callable<FormDocumentBuilder>() {
 
-        FormDocumentBuilder instance = null;
-        if (processDefinitionID == -1) {
+            @Override
+            public FormDocumentBuilder call() throws Exception {
+                final FormDocumentBuilder newInstance = new FormDocumentBuilder(session, processDefinitionID, locale, processDeployementDate,
+                        getFormDefinitionFromBAR);
+                instancesCache.store(instanceKey, newInstance);
+                return newInstance;
+            }
+        });
+        final String buildKey = instanceKey + INSTANCES_MAP_SEPERATOR + tenantID;
+        final FutureTask<FormDocumentBuilder> instanceBuildInProgress = INSTANCES_IN_PROGRESS.putIfAbsent(buildKey, instanceBuild);
+        try {
+            if (instanceBuildInProgress != null) {
+                return waitFor(instanceBuildInProgress);
+            }
             try {
-                instance = new FormDocumentBuilder(session, -1, locale, processDeployementDate, getFormDefinitionFromBAR);
-            } catch (final FileNotFoundException e) {
-                if (locale != null) {
-                    instance = new FormDocumentBuilder(session, -1, null, processDeployementDate, getFormDefinitionFromBAR);
-                } else {
-                    throw new FileNotFoundException("The forms definition file for process was not found.");
-                }
+                instanceBuild.run();
+            } finally {
+                INSTANCES_IN_PROGRESS.remove(buildKey, instanceBuild);
             }
-        } else {
-            Map<String, FormDocumentBuilder> localeInstances = INSTANCES.get(processDefinitionID + INSTANCES_MAP_SEPERATOR + tenantID);
-            if (localeInstances != null) {
-                instance = localeInstances.get(locale);
+            return waitFor(instanceBuild);
+        } catch (final FileNotFoundException e) {
+            if (locale != null) {
+                return new FormDocumentBuilder(session, processDefinitionID, null, processDeployementDate, getFormDefinitionFromBAR);
             }
-            boolean outOfDateDefinition = false;
-            if (instance != null
-                    && ((processDeployementDate != null && processDeployementDate.compareTo(instance.processDeployementDate) != 0) || instance
-                            .hasExpired(tenantID))) {
-                localeInstances.remove(locale);
-                outOfDateDefinition = true;
+            throw new FileNotFoundException("The forms definition file for process " + processDefinitionID + "in tenant " + tenantID
+                    + " was not found.");
+        }
+    }
+
+    private static FormDocumentBuilder buildInstance(final APISession session, final long processDefinitionID, final String locale,
+            final Date processDeployementDate, final boolean getFormDefinitionFromBAR) throws ProcessDefinitionNotFoundException, IOException,
+            InvalidFormDefinitionException, BPMEngineException, InvalidSessionException, RetrieveException {
+        try {
+            return new FormDocumentBuilder(session, processDefinitionID, locale, processDeployementDate, getFormDefinitionFromBAR);
+        } catch (final FileNotFoundException e) {
+            if (locale != null) {
+                return new FormDocumentBuilder(session, processDefinitionID, null, processDeployementDate, getFormDefinitionFromBAR);
             }
-            if (instance == null || outOfDateDefinition) {
-                if (localeInstances == null) {
-                    localeInstances = new LinkedHashMap<String, FormDocumentBuilder>() {
+            throw new FileNotFoundException("The forms definition file for process was not found.");
+        }
+    }
 
-                        private static final long serialVersionUID = -2092174987934309788L;
+    /**
+     * The region is created with the forms properties of the tenant the first time it is accessed and is then bounded to
+     * forms.cache.processes.size processes with forms.cache.languages.size locales each
+     */
+    protected static CacheRegion getInstancesCache(final long tenantID) {
+        final PartitionedCache partitionedCache = PartitionedCache.getInstance();
+        final CacheRegion instancesCache = partitionedCache.getExistingRegion(tenantID, INSTANCES_CACHE);
+        if (instancesCache != null) {
+            return instancesCache;
+        }
+        final DefaultFormsProperties defaultFormsProperties = DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID);
+        return partitionedCache.getRegion(tenantID, INSTANCES_CACHE,
+                defaultFormsProperties.getMaxProcessesInCache() * defaultFormsProperties.getMaxLanguagesInCache(),
+                defaultFormsProperties.getProcessesTimeToLiveInCache());
+    }
 
-                        @Override
-                        protected boolean removeEldestEntry(final java.util.Map.Entry<String, FormDocumentBuilder> eldest) {
-                            return size() > DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getMaxLanguagesInCache();
-                        }
-                    };
-                }
-                try {
-                    instance = new FormDocumentBuilder(session, processDefinitionID, locale, processDeployementDate, getFormDefinitionFromBAR);
-                    localeInstances.put(locale, instance);
-                    INSTANCES.put(processDefinitionID + INSTANCES_MAP_SEPERATOR + tenantID, localeInstances);
-                } catch (final FileNotFoundException e) {
-                    if (locale != null) {
-                        instance = new FormDocumentBuilder(session, processDefinitionID, null, processDeployementDate, getFormDefinitionFromBAR);
-                    } else {
-                        throw new FileNotFoundException("The forms definition file for process " + processDefinitionID + "in tenant " + tenantID
-                                + " was not found.");
-                    }
-                }
-            } else {
-                instance.lastAccess = new Date().getTime();
+    private static FormDocumentBuilder waitFor(final FutureTask<FormDocumentBuilder> instanceBuild) throws ProcessDefinitionNotFoundException,
+            IOException, InvalidFormDefinitionException, BPMEngineException, InvalidSessionException, RetrieveException {
+        try {
+            return instanceBuild.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the forms definition file to be parsed");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof ProcessDefinitionNotFoundException) {
+                throw (ProcessDefinitionNotFoundException) cause;
+            } else if (cause instanceof InvalidFormDefinitionException) {
+                throw (InvalidFormDefinitionException) cause;
+            } else if (cause instanceof BPMEngineException) {
+                throw (BPMEngineException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
             }
+            throw new BPMEngineException("Unable to build the forms definition document", cause);
         }
-        return instance;
     }
 
     /**
@@ -331,15 +367,4 @@ public class FormDocumentBuilder {
         return document;
     }
 
-    /**
-     * Determinates whether the current instance has expired or not
-     * 
-     * @param tenantID
-     *            the tenant ID
-     * @return true if the current instance has expired, false otherwise
-     */
-    protected boolean hasExpired(final long tenantID) {
-        final long now = new Date().getTime();
-        return this.lastAccess + DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantID).getProcessesTimeToLiveInCache() < now;
-    }
 }
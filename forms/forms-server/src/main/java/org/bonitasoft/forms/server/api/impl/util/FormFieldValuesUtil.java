@@ -880,6 +880,111 @@ public class FormFieldValuesUtil {
         }
     }
 
+    /**
+     * set the widget values of a form page.<br>
+     * The constant and i18n expressions of the page are resolved once per form, page, locale and deployment date and their values are cached,
+     * only the other expressions are resolved on each call.
+     *
+     * @param tenantID
+     *            the tenant ID
+     * @param formID
+     *            the form ID
+     * @param pageID
+     *            the page ID
+     * @param locale
+     *            the user's locale as a string
+     * @param processDeployementDate
+     *            the process deployment date
+     * @param widgets
+     *            the widgets of the page
+     * @param context
+     *            the context including the URL parameters
+     * @throws FormServiceProviderNotFoundException
+     * @throws FormNotFoundException
+     * @throws SessionTimeoutException
+     * @throws IOException
+     * @throws FileTooBigException
+     * @throws FormInitializationException
+     */
+    public void setFormWidgetsValues(final long tenantID, final String formID, final String pageID, final String locale,
+            final Date processDeployementDate, final List<FormWidget> widgets, final Map<String, Object> context) throws FormNotFoundException,
+            FormServiceProviderNotFoundException, SessionTimeoutException, IOException, FileTooBigException, FormInitializationException {
+        final FormServiceProvider formServiceProvider = FormServiceProviderFactory.getFormServiceProvider(tenantID);
+        final Map<String, Serializable> staticExpressionsValues = getStaticExpressionsValues(tenantID, formID, pageID, locale, processDeployementDate,
+                widgets, context, formServiceProvider);
+
+        final Map<String, Serializable> evaluatedDisplayExpressions = resolveExpressions(new DisplayExpressions(widgets).asList(),
+                staticExpressionsValues, context, formServiceProvider);
+        final Map<String, Serializable> evaluatedExpressions = resolveExpressions(
+                getExpressionsToEvaluation(widgets, evaluatedDisplayExpressions, context),
+                staticExpressionsValues, context, formServiceProvider);
+        evaluatedExpressions.putAll(evaluatedDisplayExpressions);
+
+        for (final FormWidget formWidget : widgets) {
+            setFormWidgetValues(tenantID, formWidget, evaluatedExpressions, context);
+            setTablesParams(formWidget, evaluatedExpressions, context);
+        }
+    }
+
+    /**
+     * @return the values of the constant and i18n expressions of the page widgets (display conditions included) by expression name
+     */
+    protected Map<String, Serializable> getStaticExpressionsValues(final long tenantID, final String formID, final String pageID, final String locale,
+            final Date processDeployementDate, final List<FormWidget> widgets, final Map<String, Object> context,
+            final FormServiceProvider formServiceProvider) throws FormNotFoundException, SessionTimeoutException, FileTooBigException, IOException,
+            FormInitializationException {
+        final FormCacheUtil formCacheUtil = FormCacheUtilFactory.getTenantFormCacheUtil(tenantID);
+        Map<String, Serializable> staticExpressionsValues = formCacheUtil.getStaticExpressionsValues(formID, pageID, locale, processDeployementDate);
+        if (staticExpressionsValues == null) {
+            final List<Expression> staticExpressions = new ArrayList<Expression>();
+            for (final Expression expression : new DisplayExpressions(widgets).asList()) {
+                if (!isExpressionDynamic(expression)) {
+                    staticExpressions.add(expression);
+                }
+            }
+            for (final FormWidget formWidget : widgets) {
+                for (final Expression expression : getWidgetExpressions(formWidget, context)) {
+                    if (!isExpressionDynamic(expression)) {
+                        staticExpressions.add(expression);
+                    }
+                }
+            }
+            staticExpressionsValues = new HashMap<String, Serializable>();
+            if (!staticExpressions.isEmpty()) {
+                final Map<String, Serializable> resolvedExpressions = formServiceProvider.resolveExpressions(staticExpressions, context);
+                if (resolvedExpressions != null) {
+                    staticExpressionsValues.putAll(resolvedExpressions);
+                }
+            }
+            formCacheUtil.storeStaticExpressionsValues(formID, pageID, locale, processDeployementDate, staticExpressionsValues);
+        }
+        return staticExpressionsValues;
+    }
+
+    /**
+     * Resolve the dynamic expressions and take the values of the static ones from the given map
+     */
+    private Map<String, Serializable> resolveExpressions(final List<Expression> expressions, final Map<String, Serializable> staticExpressionsValues,
+            final Map<String, Object> context, final FormServiceProvider formServiceProvider) throws FormNotFoundException, SessionTimeoutException,
+            FileTooBigException, IOException, FormInitializationException {
+        final Map<String, Serializable> resolvedExpressions = new HashMap<String, Serializable>();
+        final List<Expression> dynamicExpressions = new ArrayList<Expression>();
+        for (final Expression expression : expressions) {
+            if (!isExpressionDynamic(expression) && staticExpressionsValues.containsKey(expression.getName())) {
+                resolvedExpressions.put(expression.getName(), staticExpressionsValues.get(expression.getName()));
+            } else {
+                dynamicExpressions.add(expression);
+            }
+        }
+        if (!dynamicExpressions.isEmpty()) {
+            final Map<String, Serializable> resolvedDynamicExpressions = formServiceProvider.resolveExpressions(dynamicExpressions, context);
+            if (resolvedDynamicExpressions != null) {
+                resolvedExpressions.putAll(resolvedDynamicExpressions);
+            }
+        }
+        return resolvedExpressions;
+    }
+
     private Map<String, Serializable> resolveDisplayExpressions(final List<FormWidget> widgets, final Map<String, Object> context,
             final FormServiceProvider formServiceProvider)
             throws FormNotFoundException, SessionTimeoutException, FileTooBigException, IOException, FormInitializationException {
@@ -925,11 +1030,19 @@ public class FormFieldValuesUtil {
                 || isListOfListOfExpressionsDynamic(formWidget.getTableAvailableValues()) || isExpressionDynamic(formWidget.getDisplayConditionExpression())) {
             formWidget.setHasDynamicValue(true);
         }
-        final String formWidgetCacheId = formCacheUtil.storeFormWidget(formID, pageID, locale, processDeployementDate, formWidget);
+        // the cached widget is only used for its definition, it doesn't need to be stored again on each display
+        String formWidgetCacheId = formCacheUtil.getFormWidgetCacheId(formID, pageID, formWidget.getId(), locale, processDeployementDate);
+        if (!formCacheUtil.containsFormWidget(formWidgetCacheId)) {
+            formWidgetCacheId = formCacheUtil.storeFormWidget(formID, pageID, locale, processDeployementDate, formWidget);
+        }
         formWidget.setFormWidgetCacheId(formWidgetCacheId);
         if (formWidget.getValidators() != null) {
-            formWidget.setValidatorsCacheId(formCacheUtil.storeFieldValidators(formID, pageID, formWidget.getId(), locale, processDeployementDate,
-                    formWidget.getValidators()));
+            String validatorsCacheId = formCacheUtil.getFieldValidatorsCacheId(formID, pageID, formWidget.getId(), locale, processDeployementDate);
+            if (!formCacheUtil.containsFieldValidators(validatorsCacheId)) {
+                validatorsCacheId = formCacheUtil.storeFieldValidators(formID, pageID, formWidget.getId(), locale, processDeployementDate,
+                        formWidget.getValidators());
+            }
+            formWidget.setValidatorsCacheId(validatorsCacheId);
         }
     }
 
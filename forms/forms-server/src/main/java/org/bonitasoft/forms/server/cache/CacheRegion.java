@@ -0,0 +1,582 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Region of the {@link PartitionedCache}.<br>
+ * Reads never lock. The size limit is enforced by the writer which overflows it (other writers do not wait for it) and expired elements are
+ * dropped when they are read or during an eviction.<br>
+ * A region created with an overflow directory writes the elements it evicts to this directory instead of dropping them, and reads them back
+ * on a miss.<br>
+ * Mutable values are copied so that callers modifying the returned objects never alter the cached ones.
+ */
+public class CacheRegion {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOGGER = Logger.getLogger(CacheRegion.class.getName());
+
+    /**
+     * Ratio of the max size the region is shrunk to when it overflows (avoids evicting on each store once the region is full)
+     */
+    protected static final float EVICTION_TARGET_RATIO = 0.9f;
+
+    private final String name;
+
+    private final int maxSize;
+
+    private final long timeToLive;
+
+    private final File overflowDirectory;
+
+    private final int maxOverflowSize;
+
+    private volatile boolean overflowDirectoryPrepared;
+
+    private final ConcurrentMap<Object, CacheEntry> entries = new ConcurrentHashMap<Object, CacheEntry>();
+
+    private final ConcurrentMap<Object, OverflowedEntry> overflowedEntries = new ConcurrentHashMap<Object, OverflowedEntry>();
+
+    private final AtomicLong overflowFileCounter = new AtomicLong();
+
+    private final AtomicBoolean evictionInProgress = new AtomicBoolean(false);
+
+    private final AtomicBoolean overflowEvictionInProgress = new AtomicBoolean(false);
+
+    /**
+     * @param name
+     *            the name of the region
+     * @param maxSize
+     *            the max number of elements in the region (0 or less means unbounded)
+     * @param timeToLive
+     *            the time to live of an element in milliseconds (0 or less means eternal)
+     */
+    public CacheRegion(final String name, final int maxSize, final long timeToLive) {
+        this(name, maxSize, timeToLive, null, 0);
+    }
+
+    /**
+     * @param name
+     *            the name of the region
+     * @param maxSize
+     *            the max number of elements kept in memory (0 or less means unbounded)
+     * @param timeToLive
+     *            the time to live of an element in milliseconds (0 or less means eternal)
+     * @param overflowDirectory
+     *            the directory the evicted elements are written to (null to drop them). The files it contains are deleted before the first
+     *            element is written.
+     * @param maxOverflowSize
+     *            the max number of elements written to the overflow directory (0 or less means unbounded). The oldest ones are dropped first.
+     */
+    public CacheRegion(final String name, final int maxSize, final long timeToLive, final File overflowDirectory, final int maxOverflowSize) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.overflowDirectory = overflowDirectory;
+        this.maxOverflowSize = maxOverflowSize;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * @return the number of elements kept in memory
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of elements written to the overflow directory
+     */
+    public int overflowedSize() {
+        return overflowedEntries.size();
+    }
+
+    public Object get(final Object key) {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            entry = loadOverflowedEntry(key);
+        }
+        if (entry == null) {
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST, "####Element " + key + " not found in cache with name " + name);
+            }
+            return null;
+        }
+        final long now = now();
+        if (isExpired(entry, now)) {
+            entries.remove(key, entry);
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST, "####Element " + key + " expired in cache with name " + name);
+            }
+            return null;
+        }
+        entry.lastAccessTime = now;
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.log(Level.FINEST, "####Element " + key + " found in cache with name " + name);
+        }
+        return entry.getValue();
+    }
+
+    public void store(final Object key, final Object value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        entries.put(key, new CacheEntry(value, now()));
+        removeOverflowedEntry(key);
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.log(Level.FINEST, "####Element " + key + " created in cache with name " + name);
+        }
+        if (maxSize > 0 && entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Unlike {@link #get(Object)}, the value is not copied
+     *
+     * @return true if the region contains a non expired element for the key
+     */
+    public boolean contains(final Object key) {
+        final CacheEntry entry = entries.get(key);
+        if (entry != null) {
+            return !isExpired(entry, now());
+        }
+        final OverflowedEntry overflowedEntry = overflowedEntries.get(key);
+        return overflowedEntry != null && !isExpired(overflowedEntry.creationTime, now());
+    }
+
+    public void remove(final Object key) {
+        entries.remove(key);
+        removeOverflowedEntry(key);
+    }
+
+    public void clear() {
+        entries.clear();
+        for (final Object key : overflowedEntries.keySet()) {
+            removeOverflowedEntry(key);
+        }
+    }
+
+    /**
+     * Drop the expired elements then move the least recently accessed ones to the overflow directory (or drop them if there is none) until
+     * the region is back under its max size.<br>
+     * Only one thread evicts at a time, the others keep going without waiting.
+     */
+    protected void evict() {
+        if (!evictionInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final long now = now();
+            final List<EvictionCandidate> candidates = new ArrayList<EvictionCandidate>(entries.size());
+            for (final Map.Entry<Object, CacheEntry> mapEntry : entries.entrySet()) {
+                if (isExpired(mapEntry.getValue(), now)) {
+                    entries.remove(mapEntry.getKey(), mapEntry.getValue());
+                } else {
+                    candidates.add(new EvictionCandidate(mapEntry.getKey(), mapEntry.getValue()));
+                }
+            }
+            final int targetSize = (int) (maxSize * EVICTION_TARGET_RATIO);
+            int nbToEvict = candidates.size() - targetSize;
+            if (nbToEvict > 0) {
+                Collections.sort(candidates);
+                for (final EvictionCandidate candidate : candidates) {
+                    if (nbToEvict-- <= 0) {
+                        break;
+                    }
+                    if (overflowDirectory != null) {
+                        overflow(candidate.key, candidate.entry);
+                    } else {
+                        entries.remove(candidate.key, candidate.entry);
+                    }
+                }
+            }
+        } finally {
+            evictionInProgress.set(false);
+        }
+    }
+
+    /**
+     * Write an element to the overflow directory before removing it from the memory so that readers always find it somewhere
+     */
+    protected void overflow(final Object key, final CacheEntry entry) {
+        prepareOverflowDirectory();
+        try {
+            final long sequence = overflowFileCounter.incrementAndGet();
+            final File file = new File(overflowDirectory, sequence + ".ser");
+            final FileOutputStream outputStream = new FileOutputStream(file);
+            try {
+                outputStream.write(entry.getSerializedValue());
+            } finally {
+                outputStream.close();
+            }
+            final OverflowedEntry overflowedEntry = new OverflowedEntry(file, sequence, entry.creationTime);
+            final OverflowedEntry previousEntry = overflowedEntries.put(key, overflowedEntry);
+            if (previousEntry != null) {
+                previousEntry.delete();
+            }
+            if (!entries.remove(key, entry) && overflowedEntries.remove(key, overflowedEntry)) {
+                // the element was stored again meanwhile: the written copy is stale
+                overflowedEntry.delete();
+            }
+            if (maxOverflowSize > 0 && overflowedEntries.size() > maxOverflowSize) {
+                evictOverflowed();
+            }
+        } catch (final IOException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Unable to write the element " + key + " of the cache with name " + name + " to disk. It is dropped.", e);
+            }
+            entries.remove(key, entry);
+        }
+    }
+
+    /**
+     * Read an element back from the overflow directory and put it in memory
+     *
+     * @return the element or null if it was not written to the overflow directory
+     */
+    protected CacheEntry loadOverflowedEntry(final Object key) {
+        final OverflowedEntry overflowedEntry = overflowedEntries.get(key);
+        if (overflowedEntry == null) {
+            return null;
+        }
+        final CacheEntry entry;
+        try {
+            entry = overflowedEntry.load();
+        } catch (final IOException e) {
+            // the element may have been read back or removed by another thread meanwhile
+            return entries.get(key);
+        }
+        // not to be the first element evicted again
+        entry.lastAccessTime = now();
+        final CacheEntry existingEntry = entries.putIfAbsent(key, entry);
+        if (overflowedEntries.remove(key, overflowedEntry)) {
+            overflowedEntry.delete();
+        }
+        if (existingEntry != null) {
+            return existingEntry;
+        }
+        if (maxSize > 0 && entries.size() > maxSize) {
+            evict();
+        }
+        return entry;
+    }
+
+    protected void removeOverflowedEntry(final Object key) {
+        final OverflowedEntry overflowedEntry = overflowedEntries.remove(key);
+        if (overflowedEntry != null) {
+            overflowedEntry.delete();
+        }
+    }
+
+    /**
+     * Drop the oldest elements written to the overflow directory until it is back under its max size.<br>
+     * Only one thread evicts at a time, the others keep going without waiting.
+     */
+    protected void evictOverflowed() {
+        if (!overflowEvictionInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final List<Map.Entry<Object, OverflowedEntry>> candidates = new ArrayList<Map.Entry<Object, OverflowedEntry>>(overflowedEntries.entrySet());
+            final int nbToEvict = candidates.size() - (int) (maxOverflowSize * EVICTION_TARGET_RATIO);
+            if (nbToEvict > 0) {
+                Collections.sort(candidates, new Comparator<Map.Entry<Object, OverflowedEntry>>() {
+
+                    @Override
+                    public int compare(final Map.Entry<Object, OverflowedEntry> entry1, final Map.Entry<Object, OverflowedEntry> entry2) {
+                        final long sequence1 = entry1.getValue().sequence;
+                        final long sequence2 = entry2.getValue().sequence;
+                        return sequence1 < sequence2 ? -1 : sequence1 == sequence2 ? 0 : 1;
+                    }
+                });
+                for (final Map.Entry<Object, OverflowedEntry> candidate : candidates.subList(0, nbToEvict)) {
+                    if (overflowedEntries.remove(candidate.getKey(), candidate.getValue())) {
+                        candidate.getValue().delete();
+                    }
+                }
+            }
+        } finally {
+            overflowEvictionInProgress.set(false);
+        }
+    }
+
+    /**
+     * Empty the overflow directory the first time the region writes to it. It is not done when the region is built since a region losing
+     * the creation race in {@link PartitionedCache} must not delete the files of the published one.
+     */
+    private void prepareOverflowDirectory() {
+        if (overflowDirectoryPrepared) {
+            return;
+        }
+        synchronized (this) {
+            if (!overflowDirectoryPrepared) {
+                // the files of a previous run are not indexed
+                deleteOverflowFiles();
+                if (!overflowDirectory.isDirectory() && !overflowDirectory.mkdirs()) {
+                    LOGGER.log(Level.WARNING, "Unable to create the overflow directory " + overflowDirectory.getPath() + " of the cache with name " + name);
+                }
+                overflowDirectoryPrepared = true;
+            }
+        }
+    }
+
+    private void deleteOverflowFiles() {
+        final File[] files = overflowDirectory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                if (!file.delete() && LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Unable to delete the overflow file " + file.getPath());
+                }
+            }
+        }
+    }
+
+    protected boolean isExpired(final CacheEntry entry, final long now) {
+        return isExpired(entry.creationTime, now);
+    }
+
+    protected boolean isExpired(final long creationTime, final long now) {
+        return timeToLive > 0 && now - creationTime > timeToLive;
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    protected static boolean isImmutable(final Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum;
+    }
+
+    protected static byte[] serialize(final Object value) throws IOException {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        final ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
+        try {
+            objectOutputStream.writeObject(value);
+        } finally {
+            objectOutputStream.close();
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    protected static Object deserialize(final byte[] serializedValue) throws IOException, ClassNotFoundException {
+        final ObjectInputStream objectInputStream = new CacheObjectInputStream(new ByteArrayInputStream(serializedValue));
+        try {
+            return objectInputStream.readObject();
+        } finally {
+            objectInputStream.close();
+        }
+    }
+
+    /**
+     * Element of the region.<br>
+     * Mutable serializable values are kept serialized (copy on write) and deserialized on each read (copy on read).
+     */
+    protected static class CacheEntry {
+
+        private final Object value;
+
+        private final byte[] serializedValue;
+
+        protected final long creationTime;
+
+        protected volatile long lastAccessTime;
+
+        protected CacheEntry(final Object value, final long creationTime) {
+            this.creationTime = creationTime;
+            lastAccessTime = creationTime;
+            byte[] serialized = null;
+            if (!isImmutable(value) && value instanceof Serializable) {
+                try {
+                    serialized = serialize(value);
+                } catch (final IOException e) {
+                    if (LOGGER.isLoggable(Level.WARNING)) {
+                        LOGGER.log(Level.WARNING, "Unable to copy the element of type " + value.getClass().getName() + ". It will be cached by reference.", e);
+                    }
+                }
+            }
+            serializedValue = serialized;
+            this.value = serialized == null ? value : null;
+        }
+
+        /**
+         * Element read back from the overflow directory
+         */
+        protected CacheEntry(final byte[] serializedValue, final long creationTime) throws IOException {
+            this.creationTime = creationTime;
+            lastAccessTime = creationTime;
+            final Object readValue;
+            try {
+                readValue = deserialize(serializedValue);
+            } catch (final ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+            // immutable values are not kept serialized
+            this.serializedValue = isImmutable(readValue) ? null : serializedValue;
+            value = isImmutable(readValue) ? readValue : null;
+        }
+
+        /**
+         * @throws IOException
+         *             if the value is not serializable
+         */
+        protected byte[] getSerializedValue() throws IOException {
+            if (serializedValue != null) {
+                return serializedValue;
+            }
+            return serialize(value);
+        }
+
+        protected Object getValue() {
+            if (serializedValue == null) {
+                return value;
+            }
+            try {
+                return deserialize(serializedValue);
+            } catch (final Exception e) {
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, "Unable to read a cached element.", e);
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Element written to the overflow directory
+     */
+    protected static class OverflowedEntry {
+
+        private final File file;
+
+        protected final long sequence;
+
+        protected final long creationTime;
+
+        protected OverflowedEntry(final File file, final long sequence, final long creationTime) {
+            this.file = file;
+            this.sequence = sequence;
+            this.creationTime = creationTime;
+        }
+
+        protected CacheEntry load() throws IOException {
+            final byte[] serializedValue = new byte[(int) file.length()];
+            final FileInputStream inputStream = new FileInputStream(file);
+            try {
+                int offset = 0;
+                while (offset < serializedValue.length) {
+                    final int read = inputStream.read(serializedValue, offset, serializedValue.length - offset);
+                    if (read < 0) {
+                        throw new IOException("Unexpected end of the overflow file " + file.getPath());
+                    }
+                    offset += read;
+                }
+            } finally {
+                inputStream.close();
+            }
+            return new CacheEntry(serializedValue, creationTime);
+        }
+
+        protected void delete() {
+            if (!file.delete() && file.exists() && LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Unable to delete the overflow file " + file.getPath());
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the last access time of an element (the sort must not see it change)
+     */
+    private static class EvictionCandidate implements Comparable<EvictionCandidate> {
+
+        private final Object key;
+
+        private final CacheEntry entry;
+
+        private final long lastAccessTime;
+
+        private EvictionCandidate(final Object key, final CacheEntry entry) {
+            this.key = key;
+            this.entry = entry;
+            lastAccessTime = entry.lastAccessTime;
+        }
+
+        @Override
+        public int compareTo(final EvictionCandidate other) {
+            return lastAccessTime < other.lastAccessTime ? -1 : lastAccessTime == other.lastAccessTime ? 0 : 1;
+        }
+    }
+
+    /**
+     * Resolves the classes of the cached elements with the context classloader (the webapp one) first
+     */
+    protected static class CacheObjectInputStream extends ObjectInputStream {
+
+        protected CacheObjectInputStream(final InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            if (contextClassLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, contextClassLoader);
+                } catch (final ClassNotFoundException e) {
+                    // fallback to the default resolution
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.cache;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In memory cache partitioned by tenant and by cache region.<br>
+ * No lock is taken to access an existing region: the partitions are created once with putIfAbsent and then only read.
+ */
+public class PartitionedCache {
+
+    private static final PartitionedCache INSTANCE = new PartitionedCache();
+
+    private final ConcurrentMap<Long, ConcurrentMap<String, CacheRegion>> tenantPartitions = new ConcurrentHashMap<Long, ConcurrentMap<String, CacheRegion>>();
+
+    public static PartitionedCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get a region of the tenant partition, creating it with the given settings if it doesn't exist yet
+     *
+     * @param tenantId
+     *            the tenant ID
+     * @param regionName
+     *            the name of the region
+     * @param maxSize
+     *            the max number of elements of the region if it has to be created
+     * @param timeToLive
+     *            the time to live (in ms) of the elements of the region if it has to be created
+     * @return the {@link CacheRegion}
+     */
+    public CacheRegion getRegion(final long tenantId, final String regionName, final int maxSize, final long timeToLive) {
+        return getRegion(tenantId, regionName, maxSize, timeToLive, null, 0);
+    }
+
+    /**
+     * Get a region of the tenant partition, creating it with the given settings if it doesn't exist yet
+     *
+     * @param tenantId
+     *            the tenant ID
+     * @param regionName
+     *            the name of the region
+     * @param maxSize
+     *            the max number of elements kept in memory by the region if it has to be created
+     * @param timeToLive
+     *            the time to live (in ms) of the elements of the region if it has to be created
+     * @param overflowDirectory
+     *            the directory the region writes its evicted elements to if it has to be created (null to drop them)
+     * @param maxOverflowSize
+     *            the max number of elements written to the overflow directory if the region has to be created
+     * @return the {@link CacheRegion}
+     */
+    public CacheRegion getRegion(final long tenantId, final String regionName, final int maxSize, final long timeToLive, final File overflowDirectory,
+            final int maxOverflowSize) {
+        final ConcurrentMap<String, CacheRegion> tenantPartition = getTenantPartition(tenantId);
+        CacheRegion region = tenantPartition.get(regionName);
+        if (region == null) {
+            final CacheRegion newRegion = new CacheRegion(regionName, maxSize, timeToLive, overflowDirectory, maxOverflowSize);
+            region = tenantPartition.putIfAbsent(regionName, newRegion);
+            if (region == null) {
+                region = newRegion;
+            }
+        }
+        return region;
+    }
+
+    /**
+     * @return the region or null if it was not created yet
+     */
+    public CacheRegion getExistingRegion(final long tenantId, final String regionName) {
+        final ConcurrentMap<String, CacheRegion> tenantPartition = tenantPartitions.get(tenantId);
+        if (tenantPartition != null) {
+            return tenantPartition.get(regionName);
+        }
+        return null;
+    }
+
+    public void clear(final long tenantId, final String regionName) {
+        final CacheRegion region = getExistingRegion(tenantId, regionName);
+        if (region != null) {
+            region.clear();
+        }
+    }
+
+    public void clearTenant(final long tenantId) {
+        final ConcurrentMap<String, CacheRegion> tenantPartition = tenantPartitions.get(tenantId);
+        if (tenantPartition != null) {
+            for (final CacheRegion region : tenantPartition.values()) {
+                region.clear();
+            }
+        }
+    }
+
+    protected ConcurrentMap<String, CacheRegion> getTenantPartition(final long tenantId) {
+        ConcurrentMap<String, CacheRegion> tenantPartition = tenantPartitions.get(tenantId);
+        if (tenantPartition == null) {
+            final ConcurrentMap<String, CacheRegion> newTenantPartition = new ConcurrentHashMap<String, CacheRegion>();
+            tenantPartition = tenantPartitions.putIfAbsent(tenantId, newTenantPartition);
+            if (tenantPartition == null) {
+                tenantPartition = newTenantPartition;
+            }
+        }
+        return tenantPartition;
+    }
+}
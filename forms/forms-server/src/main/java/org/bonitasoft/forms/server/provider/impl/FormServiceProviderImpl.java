@@ -89,6 +89,7 @@ import org.bonitasoft.forms.server.provider.impl.util.ApplicationURLUtils;
 import org.bonitasoft.forms.server.provider.impl.util.FormServiceProviderUtil;
 import org.bonitasoft.forms.server.util.FormContextUtil;
 import org.bonitasoft.forms.server.util.FormLogger;
+import org.bonitasoft.forms.server.util.FormRequestMemo;
 import org.bonitasoft.forms.server.util.IFormLogger;
 import org.bonitasoft.web.rest.model.user.User;
 import org.w3c.dom.Document;
@@ -116,6 +117,17 @@ public class FormServiceProviderImpl implements FormServiceProvider {
 
     private final static int DEFAULT_NUM_VALUE = 0;
 
+    /**
+     * Keys of the values memoized in the {@link FormRequestMemo} of the request
+     */
+    private static final String PROCESS_DEFINITION_ID_MEMO = "processDefinitionID";
+
+    private static final String DEPLOYMENT_DATE_MEMO = "deployementDate@";
+
+    private static final String EDIT_MODE_MEMO = "editMode@";
+
+    private static final String CLASSLOADER_MEMO = "classloader@";
+
     static {
         if (Logger.getLogger(FormServiceProviderImpl.class.getName()).isLoggable(Level.WARNING)) {
             DATE_FORMAT = new SimpleDateFormat("HH:mm:ss:SSS");
@@ -198,13 +210,24 @@ public class FormServiceProviderImpl implements FormServiceProvider {
     }
 
     /**
-     * Return the process definition ID based on the context map
+     * Return the process definition ID based on the context map (retrieved once per request)
      *
      * @param context
      *        Map of context
      * @return the ProcessDefinitionID
      */
     protected long getProcessDefinitionID(final Map<String, Object> context) throws InvalidSessionException {
+        final FormRequestMemo memo = FormRequestMemo.get(context);
+        if (memo.contains(PROCESS_DEFINITION_ID_MEMO)) {
+            return memo.<Long> get(PROCESS_DEFINITION_ID_MEMO);
+        }
+        final long lookupStartTime = System.nanoTime();
+        final long processDefinitionID = retrieveProcessDefinitionID(context);
+        memo.put(PROCESS_DEFINITION_ID_MEMO, processDefinitionID, lookupStartTime);
+        return processDefinitionID;
+    }
+
+    private long retrieveProcessDefinitionID(final Map<String, Object> context) throws InvalidSessionException {
         final FormContextUtil ctxu = createFormContextUtil(context);
         if (defaultLogger.isLoggable(Level.FINEST)) {
             final String time = DATE_FORMAT.format(new Date());
@@ -1552,6 +1575,20 @@ public class FormServiceProviderImpl implements FormServiceProvider {
     protected Date getDeployementDate(final APISession session, final long processDefinitionID,
             final Map<String, Object> context) throws ProcessDefinitionNotFoundException, IOException,
             SessionTimeoutException {
+        final FormRequestMemo memo = FormRequestMemo.get(context);
+        final String memoKey = DEPLOYMENT_DATE_MEMO + processDefinitionID;
+        if (memo.contains(memoKey)) {
+            return memo.get(memoKey);
+        }
+        final long lookupStartTime = System.nanoTime();
+        final Date processDeployementDate = retrieveDeployementDate(session, processDefinitionID, context);
+        memo.put(memoKey, processDeployementDate, lookupStartTime);
+        return processDeployementDate;
+    }
+
+    private Date retrieveDeployementDate(final APISession session, final long processDefinitionID,
+            final Map<String, Object> context) throws ProcessDefinitionNotFoundException, IOException,
+            SessionTimeoutException {
         Date processDeployementDate = null;
         if (processDefinitionID != -1) {
             try {
@@ -1838,6 +1875,18 @@ public class FormServiceProviderImpl implements FormServiceProvider {
      */
     @Override
     public boolean isEditMode(final String formID, final Map<String, Object> context) throws FormNotFoundException, SessionTimeoutException {
+        final FormRequestMemo memo = FormRequestMemo.get(context);
+        final String memoKey = EDIT_MODE_MEMO + formID;
+        if (memo.contains(memoKey)) {
+            return memo.<Boolean> get(memoKey);
+        }
+        final long lookupStartTime = System.nanoTime();
+        final boolean isEditMode = retrieveEditMode(context);
+        memo.put(memoKey, isEditMode, lookupStartTime);
+        return isEditMode;
+    }
+
+    private boolean retrieveEditMode(final Map<String, Object> context) throws FormNotFoundException, SessionTimeoutException {
         final FormContextUtil ctxu = createFormContextUtil(context);
         long activityInstanceID = -1;
         boolean isEditMode = false;
@@ -2118,8 +2167,16 @@ public class FormServiceProviderImpl implements FormServiceProvider {
         }
         try {
             final long processDefinitionID = getProcessDefinitionID(context);
+            final FormRequestMemo memo = FormRequestMemo.get(context);
+            final String memoKey = CLASSLOADER_MEMO + processDefinitionID;
+            if (memo.contains(memoKey)) {
+                return memo.get(memoKey);
+            }
+            final long lookupStartTime = System.nanoTime();
             final APISession session = ctxu.getAPISessionFromContext();
-            return getProcessClassloader(processDefinitionID, session);
+            final ClassLoader classloader = getProcessClassloader(processDefinitionID, session);
+            memo.put(memoKey, classloader, lookupStartTime);
+            return classloader;
         } catch (final InvalidSessionException e) {
             final String message = "The engine session is invalid.";
             if (getLogger().isLoggable(Level.INFO)) {
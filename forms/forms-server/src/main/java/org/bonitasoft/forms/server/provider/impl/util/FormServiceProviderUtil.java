@@ -195,4 +195,9 @@ public class FormServiceProviderUtil {
      */
     public static final String API_SESSION = "apiSession";
 
+    /**
+     * The values retrieved from the engine during the current request
+     */
+    public static final String REQUEST_MEMO = "requestMemo";
+
 }
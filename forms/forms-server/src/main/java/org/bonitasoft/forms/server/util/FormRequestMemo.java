@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.bonitasoft.forms.server.provider.impl.util.FormServiceProviderUtil;
+
+/**
+ * Values retrieved from the engine while serving a forms request (process definition ID, deployment date, edit mode, classloader...).<br>
+ * It is stored in the context map of the request so that the several steps of a form page rendering make each engine lookup only once. The time
+ * spent in each lookup is kept to be logged with the duration of the request.
+ */
+public class FormRequestMemo {
+
+    private final Map<String, Object> values = new HashMap<String, Object>();
+
+    private final Map<String, Long> lookupDurations = new LinkedHashMap<String, Long>();
+
+    private int hits = 0;
+
+    /**
+     * @return the memo of the request the context belongs to, created if it doesn't exist yet
+     */
+    public static FormRequestMemo get(final Map<String, Object> context) {
+        FormRequestMemo memo = (FormRequestMemo) context.get(FormServiceProviderUtil.REQUEST_MEMO);
+        if (memo == null) {
+            memo = new FormRequestMemo();
+            context.put(FormServiceProviderUtil.REQUEST_MEMO, memo);
+        }
+        return memo;
+    }
+
+    public boolean contains(final String key) {
+        final boolean contains = values.containsKey(key);
+        if (contains) {
+            hits++;
+        }
+        return contains;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key) {
+        return (T) values.get(key);
+    }
+
+    /**
+     * @param lookupStartTime
+     *            the value of {@link System#nanoTime()} when the lookup of the value started
+     */
+    public void put(final String key, final Object value, final long lookupStartTime) {
+        values.put(key, value);
+        lookupDurations.put(key, System.nanoTime() - lookupStartTime);
+    }
+
+    /**
+     * @return the duration of each lookup and the number of lookups saved, for logging purpose
+     */
+    public String getLookupsSummary() {
+        final StringBuilder summary = new StringBuilder();
+        for (final Map.Entry<String, Long> lookupDuration : lookupDurations.entrySet()) {
+            summary.append(lookupDuration.getKey()).append(": ").append(lookupDuration.getValue() / 1000000).append(" ms, ");
+        }
+        return summary.append(hits).append(" lookup(s) saved").toString();
+    }
+}
@@ -1,19 +1,32 @@
 package org.bonitasoft.forms.server;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
+
 import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
+import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstants;
+import org.bonitasoft.console.common.server.utils.BPMEngineAPIUtil;
+import org.bonitasoft.console.common.server.utils.DocumentContentCache;
+import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.toolkit.client.common.util.StringUtil;
 import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -36,6 +49,15 @@ public class DocumentDownloadServletTest {
     @Mock
     APISession session;
 
+    @Mock
+    BPMEngineAPIUtil bpmEngineAPIUtil;
+
+    @Mock
+    ProcessAPI processAPI;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private String savedBonitaHomeProperty;
 
     @Test
@@ -62,6 +84,26 @@ public class DocumentDownloadServletTest {
         }
     }
 
+    @Test
+    public void should_retrieve_a_document_content_again_when_deleted_from_disk_before_being_sent() throws Exception {
+        final DocumentDownloadServlet documentDownloadServlet = spy(new DocumentDownloadServlet());
+        documentDownloadServlet.bpmEngineAPIUtil = bpmEngineAPIUtil;
+        when(bpmEngineAPIUtil.getProcessAPI(session)).thenReturn(processAPI);
+        final DocumentContentCache documentContentCache = new DocumentContentCache(temporaryFolder.newFolder(), 1024);
+        doReturn(documentContentCache).when(documentDownloadServlet).getDocumentContentCache(session);
+        final File reloadedContentFile = temporaryFolder.newFile();
+        FileUtils.writeStringToFile(reloadedContentFile, "content");
+        doReturn(reloadedContentFile).when(documentDownloadServlet).getDocumentContentFile(session, processAPI, "1");
+        when(res.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+        final File deletedContentFile = new File(temporaryFolder.getRoot(), "deleted");
+        assertThat(deletedContentFile).doesNotExist();
+
+        documentDownloadServlet.sendDocumentContent(req, res, session, "1", deletedContentFile, "application/octet-stream");
+
+        verify(documentDownloadServlet).getDocumentContentFile(session, processAPI, "1");
+        verify(res).setContentLength(7);
+    }
+
     @After
     public void teardown() throws Exception {
         if (StringUtil.isBlank(savedBonitaHomeProperty)) {
@@ -2,15 +2,23 @@ package org.bonitasoft.forms.server.accessor.impl.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Locale;
 
+import org.bonitasoft.forms.client.model.FormValidator;
 import org.bonitasoft.forms.client.model.FormWidget;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class FormCacheUtilTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testStoreFormWidget() {
         final FormWidget widget1 = new FormWidget();
@@ -24,4 +32,37 @@ public class FormCacheUtilTest {
         assertNotNull(formWidget1RetrievedFromCacheByParameters);
         assertEquals("widget1", widget1.getId());
     }
+
+    @Test
+    public void should_resolve_the_cache_ids_of_an_open_form_once_they_are_evicted_from_the_memory() throws Exception {
+        final FormCacheUtil formCacheUtil = new FormCacheUtil(42) {
+
+            {
+                regionMaxSize = 2;
+                overflowDirectory = temporaryFolder.getRoot();
+            }
+        };
+        final Date processDeploymentDate = new Date();
+        final FormWidget widget = new FormWidget();
+        widget.setId("widget0");
+        final String formWidgetCacheId = formCacheUtil.storeFormWidget("formID", "pageID", Locale.ENGLISH.toString(), processDeploymentDate, widget);
+        final String fieldValidatorsId = formCacheUtil.storeFieldValidators("formID", "pageID", "widget0", Locale.ENGLISH.toString(),
+                processDeploymentDate, Arrays.asList(new FormValidator()));
+        formCacheUtil.storeFormPermissions("form0", Locale.ENGLISH.toString(), processDeploymentDate, "permissions0");
+
+        for (int i = 1; i < 10; i++) {
+            final FormWidget otherWidget = new FormWidget();
+            otherWidget.setId("widget" + i);
+            formCacheUtil.storeFormWidget("formID", "pageID", Locale.ENGLISH.toString(), processDeploymentDate, otherWidget);
+            formCacheUtil.storeFieldValidators("formID", "pageID", "widget" + i, Locale.ENGLISH.toString(), processDeploymentDate,
+                    Arrays.asList(new FormValidator()));
+            formCacheUtil.storeFormPermissions("form" + i, Locale.ENGLISH.toString(), processDeploymentDate, "permissions" + i);
+        }
+
+        assertTrue(formCacheUtil.getRegion(FormCacheUtil.FORM_PERMISSIONS_CACHE).size() <= 2);
+        assertTrue(formCacheUtil.getRegion(FormCacheUtil.FORM_WIDGET_CACHE).size() <= 2);
+        assertTrue(formCacheUtil.getRegion(FormCacheUtil.FIELD_VALIDATORS_CACHE).size() <= 2);
+        assertEquals("widget0", formCacheUtil.getFormWidget(formWidgetCacheId).getId());
+        assertEquals(1, formCacheUtil.getFieldValidators(fieldValidatorsId).size());
+    }
 }
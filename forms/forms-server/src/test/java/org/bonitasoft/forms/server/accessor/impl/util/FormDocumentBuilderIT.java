@@ -69,6 +69,15 @@ public class FormDocumentBuilderIT extends FormsTestCase {
         Assert.assertEquals("Comment", formDefAccessor.getPageWidgets("0").get(0).getTitleExpression().getContent());
     }
 
+    @Test
+    public void testInstancesAreCachedByDeploymentDate() throws Exception {
+        final FormDocumentBuilder instance = FormDocumentBuilder.getInstance(getSession(), 1L, "en", new Date(1000L));
+
+        Assert.assertSame(instance, FormDocumentBuilder.getInstance(getSession(), 1L, "en", new Date(1000L)));
+        Assert.assertNotSame(instance, FormDocumentBuilder.getInstance(getSession(), 1L, "en", new Date(2000L)));
+        Assert.assertNotSame(instance, FormDocumentBuilder.getInstance(getSession(), 1L, "fr", new Date(1000L)));
+    }
+
     @Test
     public void testExtractResourcesFromBar() throws Exception {
 
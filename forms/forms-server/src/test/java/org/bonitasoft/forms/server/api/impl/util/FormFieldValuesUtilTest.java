@@ -22,6 +22,12 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -38,6 +44,8 @@ import org.bonitasoft.forms.client.model.FormValidator;
 import org.bonitasoft.forms.client.model.FormWidget;
 import org.bonitasoft.forms.server.accessor.impl.util.FormCacheUtil;
 import org.bonitasoft.forms.server.accessor.impl.util.FormCacheUtilFactory;
+import org.bonitasoft.forms.server.provider.FormServiceProvider;
+import org.junit.Before;
 import org.junit.Test;
 
 /**
@@ -48,6 +56,12 @@ public class FormFieldValuesUtilTest {
 
     FormFieldValuesUtil util = new FormFieldValuesUtil();
 
+    @Before
+    public void clearCache() {
+        // the widgets are only stored when they are not cached yet
+        FormCacheUtilFactory.getTenantFormCacheUtil(1).clearAll();
+    }
+
     @Test
     public void testWeRetrieveExpressionOfDisplayedWidgetOnly() throws Exception {
         final List<FormWidget> widgets = Arrays.asList(
@@ -169,4 +183,42 @@ public class FormFieldValuesUtilTest {
         assertThat(fieldValidatorsRetrievedFromCacheByCacheID, hasSize(1));
         assertEquals("validator1", fieldValidatorsRetrievedFromCacheByCacheID.get(0).getId());
     }
+
+    @Test
+    public void testStaticExpressionsAreResolvedOncePerPage() throws Exception {
+        final FormWidget widget1 = new FormWidget();
+        widget1.setId("widget1");
+        widget1.setLabelExpression(new Expression(null, "label", ExpressionType.TYPE_CONSTANT.name(), String.class.getName(), null, null));
+        widget1.setInitialValueExpression(new Expression(null, "value", ExpressionType.TYPE_READ_ONLY_SCRIPT.name(), String.class.getName(),
+                "GROOVY", null));
+        final List<FormWidget> formWidgets = Arrays.asList(widget1);
+        final Map<String, Serializable> resolvedExpressions = new HashMap<String, Serializable>();
+        resolvedExpressions.put("widget1:label", "resolved label");
+        final FormServiceProvider formServiceProvider = mock(FormServiceProvider.class);
+        when(formServiceProvider.resolveExpressions(anyListOf(Expression.class), anyMapOf(String.class, Object.class))).thenReturn(resolvedExpressions);
+        final Date processDeploymentDate = new Date();
+
+        util.getStaticExpressionsValues(2, "staticFormID", "pageID", Locale.ENGLISH.toString(), processDeploymentDate, formWidgets,
+                new HashMap<String, Object>(), formServiceProvider);
+        final Map<String, Serializable> staticExpressionsValues = util.getStaticExpressionsValues(2, "staticFormID", "pageID",
+                Locale.ENGLISH.toString(), processDeploymentDate, formWidgets, new HashMap<String, Object>(), formServiceProvider);
+
+        assertEquals("resolved label", staticExpressionsValues.get("widget1:label"));
+        verify(formServiceProvider, times(1)).resolveExpressions(anyListOf(Expression.class), anyMapOf(String.class, Object.class));
+    }
+
+    @Test
+    public void testWidgetsAreStoredInCacheOnlyOnce() {
+        final FormWidget widget1 = new FormWidget();
+        widget1.setId("widget1");
+        widget1.setLabel("first display");
+        final Date processDeploymentDate = new Date();
+        util.storeWidgetsInCacheAndSetCacheID(1, "onceFormID", "pageID", Locale.ENGLISH.toString(), processDeploymentDate, Arrays.asList(widget1));
+
+        widget1.setLabel("second display");
+        util.storeWidgetsInCacheAndSetCacheID(1, "onceFormID", "pageID", Locale.ENGLISH.toString(), processDeploymentDate, Arrays.asList(widget1));
+
+        final FormWidget cachedWidget = FormCacheUtilFactory.getTenantFormCacheUtil(1).getFormWidget(widget1.getFormWidgetCacheId());
+        assertEquals("first display", cachedWidget.getLabel());
+    }
 }
@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.forms.server.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.bonitasoft.forms.client.model.FormWidget;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CacheRegionTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private long currentTime = 1000L;
+
+    private CacheRegion createRegion(final int maxSize, final long timeToLive) {
+        return createRegion(maxSize, timeToLive, null, 0);
+    }
+
+    private CacheRegion createRegion(final int maxSize, final long timeToLive, final File overflowDirectory, final int maxOverflowSize) {
+        return new CacheRegion("testRegion", maxSize, timeToLive, overflowDirectory, maxOverflowSize) {
+
+            @Override
+            protected long now() {
+                return currentTime;
+            }
+        };
+    }
+
+    @Test
+    public void should_get_stored_element() throws Exception {
+        final CacheRegion region = createRegion(10, 0);
+
+        region.store("key", "value");
+
+        assertThat(region.get("key")).isEqualTo("value");
+    }
+
+    @Test
+    public void should_return_a_copy_of_mutable_elements() throws Exception {
+        final CacheRegion region = createRegion(10, 0);
+        final FormWidget widget = new FormWidget();
+        widget.setId("widget1");
+        region.store("key", widget);
+
+        final FormWidget cachedWidget = (FormWidget) region.get("key");
+        cachedWidget.setId("modified");
+
+        assertThat(cachedWidget).isNotSameAs(widget);
+        assertThat(((FormWidget) region.get("key")).getId()).isEqualTo("widget1");
+    }
+
+    @Test
+    public void should_drop_expired_elements() throws Exception {
+        final CacheRegion region = createRegion(10, 100);
+        region.store("key", "value");
+
+        currentTime += 101;
+
+        assertThat(region.get("key")).isNull();
+        assertThat(region.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_evict_least_recently_accessed_elements_when_max_size_is_exceeded() throws Exception {
+        final CacheRegion region = createRegion(10, 0);
+        for (int i = 0; i < 10; i++) {
+            currentTime++;
+            region.store("key" + i, "value" + i);
+        }
+        currentTime++;
+        region.get("key0");
+
+        currentTime++;
+        region.store("key10", "value10");
+
+        assertThat(region.size()).isEqualTo(9);
+        assertThat(region.get("key0")).isEqualTo("value0");
+        assertThat(region.get("key10")).isEqualTo("value10");
+        assertThat(region.get("key1")).isNull();
+    }
+
+    @Test
+    public void should_write_evicted_elements_to_the_overflow_directory_and_read_them_back() throws Exception {
+        final File overflowDirectory = new File(temporaryFolder.getRoot(), "overflow");
+        final CacheRegion region = createRegion(10, 0, overflowDirectory, 0);
+        final FormWidget widget = new FormWidget();
+        widget.setId("widget0");
+        region.store("key0", widget);
+        for (int i = 1; i <= 10; i++) {
+            currentTime++;
+            region.store("key" + i, "value" + i);
+        }
+
+        assertThat(region.size()).isEqualTo(9);
+        assertThat(region.overflowedSize()).isEqualTo(2);
+        assertThat(overflowDirectory.listFiles()).hasSize(2);
+        assertThat(region.contains("key0")).isTrue();
+        assertThat(((FormWidget) region.get("key0")).getId()).isEqualTo("widget0");
+        assertThat(region.get("key1")).isEqualTo("value1");
+    }
+
+    @Test
+    public void should_delete_the_overflow_files_when_the_region_is_cleared() throws Exception {
+        final File overflowDirectory = new File(temporaryFolder.getRoot(), "overflow");
+        final CacheRegion region = createRegion(1, 0, overflowDirectory, 0);
+        region.store("key0", "value0");
+        currentTime++;
+        region.store("key1", "value1");
+
+        region.clear();
+
+        assertThat(region.get("key0")).isNull();
+        assertThat(region.overflowedSize()).isEqualTo(0);
+        assertThat(overflowDirectory.listFiles()).isEmpty();
+    }
+
+    @Test
+    public void should_delete_the_overflow_files_of_a_previous_run_before_writing_to_the_overflow_directory() throws Exception {
+        final File overflowDirectory = temporaryFolder.newFolder("overflow");
+        final File staleFile = new File(overflowDirectory, "previousRun.ser");
+        staleFile.createNewFile();
+        final CacheRegion region = createRegion(1, 0, overflowDirectory, 0);
+
+        region.store("key0", "value0");
+        currentTime++;
+        region.store("key1", "value1");
+
+        assertThat(staleFile).doesNotExist();
+        assertThat(region.get("key0")).isEqualTo("value0");
+    }
+
+    @Test
+    public void should_not_delete_the_overflow_files_of_another_region_when_built() throws Exception {
+        final File overflowDirectory = new File(temporaryFolder.getRoot(), "overflow");
+        final CacheRegion region = createRegion(1, 0, overflowDirectory, 0);
+        region.store("key0", "value0");
+        currentTime++;
+        region.store("key1", "value1");
+
+        createRegion(1, 0, overflowDirectory, 0);
+
+        assertThat(region.get("key0")).isEqualTo("value0");
+    }
+
+    @Test
+    public void should_drop_the_oldest_overflowed_elements_when_the_max_overflow_size_is_exceeded() throws Exception {
+        final File overflowDirectory = new File(temporaryFolder.getRoot(), "overflow");
+        final CacheRegion region = createRegion(1, 0, overflowDirectory, 10);
+        for (int i = 0; i <= 11; i++) {
+            currentTime++;
+            region.store("key" + i, "value" + i);
+        }
+
+        assertThat(region.overflowedSize()).isLessThanOrEqualTo(10);
+        assertThat(overflowDirectory.listFiles()).hasSize(region.overflowedSize());
+        assertThat(region.contains("key0")).isFalse();
+        assertThat(region.get("key11")).isEqualTo("value11");
+    }
+
+    @Test
+    public void should_keep_tenant_partitions_separated() throws Exception {
+        final PartitionedCache partitionedCache = new PartitionedCache();
+        partitionedCache.getRegion(1L, "region", 10, 0).store("key", "tenant1");
+        partitionedCache.getRegion(2L, "region", 10, 0).store("key", "tenant2");
+
+        partitionedCache.clear(2L, "region");
+
+        assertThat(partitionedCache.getRegion(1L, "region", 10, 0).get("key")).isEqualTo("tenant1");
+        assertThat(partitionedCache.getRegion(2L, "region", 10, 0).get("key")).isNull();
+    }
+}
@@ -12,6 +12,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -125,6 +126,24 @@ public class FormServiceProviderImplTest {
         assertThat(processDefinitionID).isEqualTo(processDefinitionId);
     }
 
+    @Test
+    public void getProcessDefinitionId_should_be_retrieved_once_per_request() throws Exception {
+        // given
+        final Map<String, Object> requestContext = new HashMap<String, Object>();
+        requestContext.put(FormServiceProviderUtil.URL_CONTEXT, urlContext);
+        doReturn(null).when(urlContext).get(FormServiceProviderUtil.PROCESS_UUID);
+        doReturn("processName--1.0$entry").when(urlContext).get(FormServiceProviderUtil.FORM_ID);
+        doReturn(123l).when(workflowAPI).getProcessDefinitionIDFromUUID(any(APISession.class), any(String.class));
+
+        // when
+        formServiceProviderImpl.getProcessDefinitionID(requestContext);
+        final long processDefinitionID = formServiceProviderImpl.getProcessDefinitionID(requestContext);
+
+        // then
+        verify(workflowAPI, times(1)).getProcessDefinitionIDFromUUID(any(APISession.class), any(String.class));
+        assertThat(processDefinitionID).isEqualTo(123l);
+    }
+
     @Test
     public void testextractProcessDefinitionUUID() throws Exception {
 
@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.login.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.console.common.server.preferences.properties.SecurityProperties;
+import org.bonitasoft.engine.api.permission.APICallContext;
+
+/**
+ * Verdicts of the dynamic permissions scripts of a tenant kept for a short time.<br>
+ * A verdict is kept for an engine session, a script and a REST API call (method, resource, id and query parameters). Only the GET calls are
+ * cached since the verdict of the other calls may depend on their body.<br>
+ * The verdicts of a session are dropped on logout and all the verdicts of the tenant are dropped when the profiles or the memberships change.
+ * The cache is disabled unless a time to live is set in the security config file. The time to live and the max size are read from it on each
+ * call, like the other security settings.
+ */
+public class DynamicPermissionsVerdictCache {
+
+    /**
+     * Query parameters which don't change the verdict of a script (paging)
+     */
+    private static final List<String> IGNORED_PARAMETERS = Arrays.asList("p", "c");
+
+    private static final String KEY_SEPARATOR = "|";
+
+    private static final ConcurrentMap<Long, DynamicPermissionsVerdictCache> INSTANCES = new ConcurrentHashMap<Long, DynamicPermissionsVerdictCache>();
+
+    private final ConcurrentMap<String, CachedVerdict> verdicts = new ConcurrentHashMap<String, CachedVerdict>();
+
+    private final long tenantId;
+
+    public static DynamicPermissionsVerdictCache getInstance(final long tenantId) {
+        DynamicPermissionsVerdictCache verdictCache = INSTANCES.get(tenantId);
+        if (verdictCache == null) {
+            final DynamicPermissionsVerdictCache newVerdictCache = new DynamicPermissionsVerdictCache(tenantId);
+            verdictCache = INSTANCES.putIfAbsent(tenantId, newVerdictCache);
+            if (verdictCache == null) {
+                verdictCache = newVerdictCache;
+            }
+        }
+        return verdictCache;
+    }
+
+    public DynamicPermissionsVerdictCache(final long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public boolean isEnabled() {
+        return getTimeToLive() > 0 && getMaxSize() > 0;
+    }
+
+    /**
+     * @return the verdict of the script for this call or null if it is unknown, expired or if the call cannot be cached
+     */
+    public Boolean get(final long sessionId, final String resourceClassname, final APICallContext apiCallContext) {
+        if (!isCacheable(apiCallContext)) {
+            return null;
+        }
+        final String key = buildKey(sessionId, resourceClassname, apiCallContext);
+        final CachedVerdict cachedVerdict = verdicts.get(key);
+        if (cachedVerdict == null) {
+            return null;
+        }
+        if (now() - cachedVerdict.creationTime > getTimeToLive()) {
+            verdicts.remove(key, cachedVerdict);
+            return null;
+        }
+        return cachedVerdict.authorized;
+    }
+
+    public void put(final long sessionId, final String resourceClassname, final APICallContext apiCallContext, final boolean authorized) {
+        if (!isCacheable(apiCallContext)) {
+            return;
+        }
+        if (verdicts.size() >= getMaxSize()) {
+            // verdicts live a few seconds, there is no point in sorting them out
+            verdicts.clear();
+        }
+        verdicts.put(buildKey(sessionId, resourceClassname, apiCallContext), new CachedVerdict(authorized, now()));
+    }
+
+    /**
+     * Drop the verdicts of an engine session (e.g. on logout)
+     */
+    public void invalidateSession(final long sessionId) {
+        final String sessionPrefix = sessionId + KEY_SEPARATOR;
+        final Iterator<String> keys = verdicts.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().startsWith(sessionPrefix)) {
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * Drop all the verdicts of the tenant (e.g. when the profiles or the memberships change)
+     */
+    public void clear() {
+        verdicts.clear();
+    }
+
+    public int size() {
+        return verdicts.size();
+    }
+
+    protected long getTimeToLive() {
+        return getSecurityProperties().getAPIAuthorizationsCheckCacheTimeToLive();
+    }
+
+    protected int getMaxSize() {
+        return getSecurityProperties().getAPIAuthorizationsCheckCacheMaxSize();
+    }
+
+    protected SecurityProperties getSecurityProperties() {
+        return PropertiesFactory.getSecurityProperties(tenantId);
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private boolean isCacheable(final APICallContext apiCallContext) {
+        return isEnabled() && "GET".equals(apiCallContext.getMethod());
+    }
+
+    private String buildKey(final long sessionId, final String resourceClassname, final APICallContext apiCallContext) {
+        return sessionId + KEY_SEPARATOR + resourceClassname + KEY_SEPARATOR + apiCallContext.getMethod() + KEY_SEPARATOR
+                + apiCallContext.getApiName() + "/" + apiCallContext.getResourceName() + KEY_SEPARATOR + apiCallContext.getResourceId()
+                + KEY_SEPARATOR + normalizeQueryString(apiCallContext.getQueryString());
+    }
+
+    /**
+     * @return the query parameters sorted and without the ones which don't change the verdict
+     */
+    protected String normalizeQueryString(final String queryString) {
+        if (queryString == null || queryString.isEmpty()) {
+            return "";
+        }
+        final List<String> parameters = new ArrayList<String>();
+        for (final String parameter : queryString.split("&")) {
+            final int equalIndex = parameter.indexOf('=');
+            final String parameterName = equalIndex >= 0 ? parameter.substring(0, equalIndex) : parameter;
+            if (!parameter.isEmpty() && !IGNORED_PARAMETERS.contains(parameterName)) {
+                parameters.add(parameter);
+            }
+        }
+        Collections.sort(parameters);
+        return parameters.toString();
+    }
+
+    private static class CachedVerdict {
+
+        private final boolean authorized;
+
+        private final long creationTime;
+
+        private CachedVerdict(final boolean authorized, final long creationTime) {
+            this.authorized = authorized;
+            this.creationTime = creationTime;
+        }
+    }
+}
@@ -16,9 +16,15 @@ package org.bonitasoft.console.common.server.login.filter;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
@@ -26,20 +32,57 @@ import javax.servlet.http.HttpServletRequestWrapper;
 
 import org.apache.commons.io.IOUtils;
 
+/**
+ * Request wrapper allowing to read the body several times.<br>
+ * The body is read once in a buffer shared (read only) by all the streams returned by {@link #getInputStream()}. Bodies bigger than
+ * {@link #MEMORY_THRESHOLD} are kept in a temporary file. Once {@link #stopBuffering()} has been called, the body is no longer buffered if
+ * it was not read yet.
+ */
 public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
 
-    private ByteArrayOutputStream readBytes;
+    /**
+     * Logger
+     */
+    private static final Logger LOGGER = Logger.getLogger(MultiReadHttpServletRequest.class.getName());
+
+    /**
+     * Max size of a body kept in memory (in bytes)
+     */
+    public static final int MEMORY_THRESHOLD = 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final int memoryThreshold;
+
+    private byte[] bodyBytes;
+
+    private int bodyLength;
+
+    private File bodyFile;
+
+    private boolean buffering = true;
 
     public MultiReadHttpServletRequest(final HttpServletRequest request) {
+        this(request, MEMORY_THRESHOLD);
+    }
+
+    MultiReadHttpServletRequest(final HttpServletRequest request, final int memoryThreshold) {
         super(request);
+        this.memoryThreshold = memoryThreshold;
     }
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        if (readBytes == null) {
+        if (!isBodyRead()) {
+            if (!buffering) {
+                return super.getInputStream();
+            }
             readInputStream();
         }
-        return new CachedServletInputStream();
+        if (bodyFile != null) {
+            return new CachedServletInputStream(new FileInputStream(bodyFile));
+        }
+        return new CachedServletInputStream(new ByteArrayInputStream(bodyBytes, 0, bodyLength));
     }
 
     @Override
@@ -51,17 +94,79 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
         return new BufferedReader(new InputStreamReader(getInputStream(), enc));
     }
 
+    /**
+     * Don't buffer the body if it was not read yet: the next reader of the body will be the only one
+     */
+    public void stopBuffering() {
+        buffering = false;
+    }
+
+    /**
+     * Delete the temporary file of the body if any
+     */
+    public void release() {
+        if (bodyFile != null && !bodyFile.delete()) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Temporary file " + bodyFile.getPath() + " of the request body could not be deleted.");
+            }
+            bodyFile.deleteOnExit();
+        }
+        bodyFile = null;
+    }
+
+    boolean isBodyRead() {
+        return bodyBytes != null || bodyFile != null;
+    }
+
+    boolean isBodyInTemporaryFile() {
+        return bodyFile != null;
+    }
+
     private void readInputStream() throws IOException {
-        readBytes = new ByteArrayOutputStream();
-        IOUtils.copy(super.getInputStream(), readBytes);
+        final InputStream input = super.getInputStream();
+        byte[] buffer = new byte[Math.min(BUFFER_SIZE, memoryThreshold)];
+        int length = 0;
+        int read = input.read(buffer, length, buffer.length - length);
+        while (read != -1) {
+            length += read;
+            if (length == buffer.length) {
+                if (length >= memoryThreshold) {
+                    spillToTemporaryFile(buffer, length, input);
+                    return;
+                }
+                final byte[] biggerBuffer = new byte[Math.min(buffer.length * 2, memoryThreshold)];
+                System.arraycopy(buffer, 0, biggerBuffer, 0, length);
+                buffer = biggerBuffer;
+            }
+            read = input.read(buffer, length, buffer.length - length);
+        }
+        bodyBytes = buffer;
+        bodyLength = length;
+    }
+
+    private void spillToTemporaryFile(final byte[] buffer, final int length, final InputStream input) throws IOException {
+        final File file = File.createTempFile("requestBody", ".tmp");
+        final OutputStream output = new FileOutputStream(file);
+        boolean written = false;
+        try {
+            output.write(buffer, 0, length);
+            IOUtils.copy(input, output);
+            written = true;
+        } finally {
+            output.close();
+            if (!written) {
+                file.delete();
+            }
+        }
+        bodyFile = file;
     }
 
     class CachedServletInputStream extends ServletInputStream {
 
-        private final ByteArrayInputStream input;
+        private final InputStream input;
 
-        public CachedServletInputStream() {
-            input = new ByteArrayInputStream(readBytes.toByteArray());
+        public CachedServletInputStream(final InputStream input) {
+            this.input = input;
         }
 
         @Override
@@ -85,4 +190,4 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
             super.close();
         }
     }
-}
\ No newline at end of file
+}
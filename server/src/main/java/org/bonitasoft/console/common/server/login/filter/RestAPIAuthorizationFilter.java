@@ -76,6 +76,13 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
         return new MultiReadHttpServletRequest((HttpServletRequest) request);
     }
 
+    @Override
+    protected void releaseRequest(final HttpServletRequest request) {
+        if (request instanceof MultiReadHttpServletRequest) {
+            ((MultiReadHttpServletRequest) request).release();
+        }
+    }
+
     @Override
     protected boolean checkValidCondition(final HttpServletRequest httpRequest, final HttpServletResponse httpResponse) throws ServletException {
         try {
@@ -89,6 +96,11 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
                 LOGGER.log(Level.SEVERE, e.getMessage(), e);
             }
             throw new ServletException(e);
+        } finally {
+            if (httpRequest instanceof MultiReadHttpServletRequest) {
+                // the body only needs to be kept if a dynamic check already read it
+                ((MultiReadHttpServletRequest) httpRequest).stopBuffering();
+            }
         }
     }
 
@@ -187,6 +199,10 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
         return PropertiesFactory.getDynamicPermissionsChecks(tenantId);
     }
 
+    protected DynamicPermissionsVerdictCache getDynamicPermissionsVerdictCache(final long tenantId) {
+        return DynamicPermissionsVerdictCache.getInstance(tenantId);
+    }
+
     protected boolean staticCheck(final APICallContext apiCallContext, final Set<String> permissionsOfUser,
             final Set<String> resourcePermissions, final String username) {
         for (final String resourcePermission : resourcePermissions) {
@@ -219,8 +235,20 @@ public class RestAPIAuthorizationFilter extends AbstractAuthorizationFilter {
 
     protected boolean checkDynamicPermissionsWithScript(final APICallContext apiCallContext, final String resourceClassname,
             final APISession apiSession) throws ServletException {
+        // in debug mode the scripts may change between two calls
+        final DynamicPermissionsVerdictCache verdictCache = shouldReload(apiSession) ? null : getDynamicPermissionsVerdictCache(apiSession.getTenantId());
+        if (verdictCache != null) {
+            final Boolean cachedVerdict = verdictCache.get(apiSession.getId(), resourceClassname, apiCallContext);
+            if (cachedVerdict != null) {
+                return cachedVerdict;
+            }
+        }
         try {
-            return executeScript(apiSession, resourceClassname, apiCallContext);
+            final boolean authorized = executeScript(apiSession, resourceClassname, apiCallContext);
+            if (verdictCache != null) {
+                verdictCache.put(apiSession.getId(), resourceClassname, apiCallContext, authorized);
+            }
+            return authorized;
         } catch (final NotFoundException e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Unable to find the dynamic permissions script: " + resourceClassname, e);
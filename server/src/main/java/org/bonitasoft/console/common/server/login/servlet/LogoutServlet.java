@@ -33,6 +33,7 @@ import org.bonitasoft.console.common.server.auth.AuthenticationManagerFactory;
 import org.bonitasoft.console.common.server.auth.AuthenticationManagerNotFoundException;
 import org.bonitasoft.console.common.server.auth.ConsumerNotFoundException;
 import org.bonitasoft.console.common.server.login.HttpServletRequestAccessor;
+import org.bonitasoft.console.common.server.login.filter.DynamicPermissionsVerdictCache;
 import org.bonitasoft.console.common.server.login.localization.RedirectUrlBuilder;
 import org.bonitasoft.console.common.server.utils.SessionUtil;
 import org.bonitasoft.engine.api.LoginAPI;
@@ -102,6 +103,7 @@ public class LogoutServlet extends HttpServlet {
         }
         try {
             engineLogout(apiSession);
+            dropPermissionsVerdicts(apiSession);
             SessionUtil.sessionLogout(session);
 
             boolean redirectAfterLogin = true;
@@ -122,6 +124,15 @@ public class LogoutServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Drop the cached verdicts of the dynamic permissions scripts for the session
+     */
+    protected void dropPermissionsVerdicts(final APISession apiSession) {
+        if (apiSession != null) {
+            DynamicPermissionsVerdictCache.getInstance(apiSession.getTenantId()).invalidateSession(apiSession.getId());
+        }
+    }
+
     protected String getURLToRedirectTo(final HttpServletRequestAccessor requestAccessor, final long tenantId)
             throws AuthenticationManagerNotFoundException, UnsupportedEncodingException, ConsumerNotFoundException, ServletException {
         final AuthenticationManager loginManager = AuthenticationManagerFactory.getAuthenticationManager(tenantId);
@@ -19,9 +19,10 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -42,7 +43,10 @@ public class BDMClientDependenciesResolver {
 
     private static Logger LOGGER = Logger.getLogger(BDMClientDependenciesResolver.class.getName());
 
-    private final Set<String> dependenciesNames = new HashSet<>();
+    /**
+     * Names of the BDM jars, shared by the classloaders built concurrently with this resolver
+     */
+    private final Set<String> dependenciesNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
     public BDMClientDependenciesResolver(APISession session) {
         this.session = session;
@@ -17,10 +17,14 @@ import static org.apache.commons.io.FileUtils.deleteQuietly;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Level;
@@ -42,6 +46,16 @@ public class CustomPageChildFirstClassLoader extends MonoParentJarFileClassLoade
 
     protected Map<String, byte[]> nonJarResources = new HashMap<String, byte[]>();
 
+    /**
+     * Non jar resources of the lib folder when the libraries are indexed
+     */
+    protected Map<String, File> nonJarResourceFiles = new HashMap<String, File>();
+
+    /**
+     * Copies of the indexed jars, deleted once this class loader is destroyed
+     */
+    private final List<File> indexedJarCopies = new ArrayList<File>();
+
     private boolean isActive = true;
 
     private static final Logger LOGGER = Logger.getLogger(CustomPageChildFirstClassLoader.class.getName());
@@ -52,19 +66,38 @@ public class CustomPageChildFirstClassLoader extends MonoParentJarFileClassLoade
 
     private final String version;
 
+    private final boolean indexedLibraries;
+
     CustomPageChildFirstClassLoader(String pageName,
             CustomPageDependenciesResolver customPageDependenciesResolver,
             BDMClientDependenciesResolver bdmDependenciesResolver,
             ClassLoader parent) {
+        this(pageName, customPageDependenciesResolver, bdmDependenciesResolver, parent, false);
+    }
+
+    /**
+     * @param indexedLibraries
+     *            true to read the jars of the page lib folder from disk through an index of their packages instead of loading them in memory
+     */
+    CustomPageChildFirstClassLoader(String pageName,
+            CustomPageDependenciesResolver customPageDependenciesResolver,
+            BDMClientDependenciesResolver bdmDependenciesResolver,
+            ClassLoader parent,
+            boolean indexedLibraries) {
         super(pageName, new URL[] {}, parent);
         this.customPageDependenciesResolver = customPageDependenciesResolver;
         this.bdmDependenciesResolver = bdmDependenciesResolver;
         this.version = bdmDependenciesResolver.getBusinessDataModelVersion();
+        this.indexedLibraries = indexedLibraries;
     }
 
     public void addCustomPageResources() {
         addBDMDependencies();
-        addOtherDependencies();
+        if (indexedLibraries) {
+            addIndexedDependencies();
+        } else {
+            addOtherDependencies();
+        }
     }
 
     private void addBDMDependencies() {
@@ -98,6 +131,27 @@ public class CustomPageChildFirstClassLoader extends MonoParentJarFileClassLoade
     }
 
 
+    private void addIndexedDependencies() {
+        final Map<String, File> customPageLibraries = customPageDependenciesResolver.resolveCustomPageLibraries();
+        for (final Map.Entry<String, File> library : customPageLibraries.entrySet()) {
+            if (!library.getKey().matches(".*\\.jar")) {
+                nonJarResourceFiles.put(library.getKey(), library.getValue());
+            } else if (!bdmDependenciesResolver.isABDMDependency(library.getKey())) {
+                try {
+                    // copied so that the page folder can still be deleted while the jar is open
+                    final File file = File.createTempFile(library.getKey(), null, customPageDependenciesResolver.getTempFolder());
+                    indexedJarCopies.add(file);
+                    FileUtils.copyFile(library.getValue(), file);
+                    addIndexedJar(file);
+                } catch (final IOException e) {
+                    if (LOGGER.isLoggable(Level.WARNING)) {
+                        LOGGER.log(Level.WARNING, String.format("Failed to add file %s in classpath", library.getKey()), e);
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public InputStream getResourceAsStream(final String name) {
         /*
@@ -113,6 +167,14 @@ public class CustomPageChildFirstClassLoader extends MonoParentJarFileClassLoade
     }
 
     private InputStream getInternalInputstream(final String name) {
+        final File resourceFile = nonJarResourceFiles.get(name);
+        if (resourceFile != null) {
+            try {
+                return new FileInputStream(resourceFile);
+            } catch (final FileNotFoundException e) {
+                return null;
+            }
+        }
         final byte[] classData = loadProcessResource(name);
         if (classData != null) {
             return new ByteArrayInputStream(classData);
@@ -162,6 +224,18 @@ public class CustomPageChildFirstClassLoader extends MonoParentJarFileClassLoade
         return c;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        super.destroy();
+        for (final File indexedJarCopy : indexedJarCopies) {
+            deleteQuietly(indexedJarCopy);
+        }
+        indexedJarCopies.clear();
+    }
+
     public void release() {
         deleteQuietly(customPageDependenciesResolver.getTempFolder());
         isActive = false;
@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,7 +38,7 @@ public class CustomPageDependenciesResolver {
 
     private static final String LIB_FOLDER_NAME = "lib";
 
-    static final Map<String, File> PAGES_LIB_TMPDIR = new HashMap<>();
+    static final Map<String, File> PAGES_LIB_TMPDIR = new ConcurrentHashMap<>();
 
     private static final Logger LOGGER = Logger.getLogger(CustomPageDependenciesResolver.class.getName());
 
@@ -61,27 +62,57 @@ public class CustomPageDependenciesResolver {
     public Map<String, byte[]> resolveCustomPageDependencies() {
         final File customPageLibDirectory = new File(pageDirectory, LIB_FOLDER_NAME);
         if (customPageLibDirectory.exists()) {
-            this.libTempFolder = new File(this.webBonitaConstantsUtils.getTempFolder(), pageName
-                    + Long.toString(new Date().getTime()));
-            if (!this.libTempFolder.exists()) {
-                this.libTempFolder.mkdirs();
-            }
-            removePageLibTempFolder(pageName);
-            PAGES_LIB_TMPDIR.put(pageName, this.libTempFolder);
+            createLibTempFolder();
             return loadLibraries(customPageLibDirectory);
         }
         return Collections.emptyMap();
     }
 
+    /**
+     * Same as {@link #resolveCustomPageDependencies()} but the content of the libraries is left on disk
+     *
+     * @return the files of the page lib folder by name
+     */
+    public Map<String, File> resolveCustomPageLibraries() {
+        final File customPageLibDirectory = new File(pageDirectory, LIB_FOLDER_NAME);
+        if (customPageLibDirectory.exists()) {
+            createLibTempFolder();
+            return listLibraries(customPageLibDirectory);
+        }
+        return Collections.emptyMap();
+    }
+
+    private void createLibTempFolder() {
+        this.libTempFolder = new File(this.webBonitaConstantsUtils.getTempFolder(), pageName
+                + Long.toString(new Date().getTime()));
+        if (!this.libTempFolder.exists()) {
+            this.libTempFolder.mkdirs();
+        }
+        removePageLibTempFolder(pageName);
+        PAGES_LIB_TMPDIR.put(pageName, this.libTempFolder);
+    }
+
     private Map<String, byte[]> loadLibraries(final File customPageLibDirectory) {
         final Map<String, byte[]> result = new HashMap<String, byte[]>();
+        for (final Map.Entry<String, File> library : listLibraries(customPageLibDirectory).entrySet()) {
+            try {
+                result.put(library.getKey(), readFileToByteArray(library.getValue()));
+            } catch (final IOException e) {
+                LOGGER.log(Level.SEVERE, e.getMessage(), e);
+            }
+        }
+        return result;
+    }
+
+    private Map<String, File> listLibraries(final File customPageLibDirectory) {
+        final Map<String, File> result = new HashMap<String, File>();
         try {
             Files.walkFileTree(customPageLibDirectory.toPath(), new SimpleFileVisitor<Path>() {
 
                 @Override
                 public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
                     final File currentFile = file.toFile();
-                    result.put(currentFile.getName(), readFileToByteArray(currentFile));
+                    result.put(currentFile.getName(), currentFile);
                     return super.visitFile(file, attrs);
                 }
 
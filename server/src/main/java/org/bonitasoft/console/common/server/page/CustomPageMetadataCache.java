@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.page;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.engine.page.Page;
+
+/**
+ * Pages of a tenant retrieved from the engine and page folders known to be up to date, kept for a short time.<br>
+ * It spares the engine call and the read of the .lastupdate file made each time a custom page or a REST API extension is served. The
+ * cache is cleared when a page is updated or deleted and disabled if its time to live is 0 in the console config file.
+ */
+public class CustomPageMetadataCache {
+
+    private static final ConcurrentMap<Long, CustomPageMetadataCache> INSTANCES = new ConcurrentHashMap<Long, CustomPageMetadataCache>();
+
+    private final ConcurrentMap<Long, CachedPage> pagesById = new ConcurrentHashMap<Long, CachedPage>();
+
+    private final ConcurrentMap<String, CachedPage> pagesByName = new ConcurrentHashMap<String, CachedPage>();
+
+    /**
+     * Last update date of the page in each up to date page folder
+     */
+    private final ConcurrentMap<String, Long> upToDateFolders = new ConcurrentHashMap<String, Long>();
+
+    private final long timeToLive;
+
+    public static CustomPageMetadataCache getInstance(final long tenantId) {
+        CustomPageMetadataCache metadataCache = INSTANCES.get(tenantId);
+        if (metadataCache == null) {
+            final CustomPageMetadataCache newMetadataCache = new CustomPageMetadataCache(PropertiesFactory.getConsoleProperties(tenantId)
+                    .getCustomPageMetadataCacheTimeToLive());
+            metadataCache = INSTANCES.putIfAbsent(tenantId, newMetadataCache);
+            if (metadataCache == null) {
+                metadataCache = newMetadataCache;
+            }
+        }
+        return metadataCache;
+    }
+
+    public CustomPageMetadataCache(final long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public boolean isEnabled() {
+        return timeToLive > 0;
+    }
+
+    /**
+     * @return the page or null if it is unknown or expired
+     */
+    public Page getPage(final long pageId) {
+        return getValidPage(pagesById.get(pageId));
+    }
+
+    /**
+     * @return the page or null if it is unknown or expired
+     */
+    public Page getPage(final String fullPageName) {
+        return getValidPage(pagesByName.get(fullPageName));
+    }
+
+    public void putPage(final Page page) {
+        if (isEnabled()) {
+            pagesById.put(page.getId(), new CachedPage(page, now()));
+        }
+    }
+
+    public void putPage(final String fullPageName, final Page page) {
+        if (isEnabled()) {
+            pagesByName.put(fullPageName, new CachedPage(page, now()));
+        }
+    }
+
+    /**
+     * @return true if the folder was already checked against this last update date of the page
+     */
+    public boolean isFolderUpToDate(final String fullPageName, final long lastUpdateDate) {
+        final Long upToDateLastUpdateDate = upToDateFolders.get(fullPageName);
+        return upToDateLastUpdateDate != null && upToDateLastUpdateDate == lastUpdateDate;
+    }
+
+    public void setFolderUpToDate(final String fullPageName, final long lastUpdateDate) {
+        if (isEnabled()) {
+            upToDateFolders.put(fullPageName, lastUpdateDate);
+        }
+    }
+
+    /**
+     * Forget everything (e.g. when a page is updated or deleted)
+     */
+    public void clear() {
+        pagesById.clear();
+        pagesByName.clear();
+        upToDateFolders.clear();
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private Page getValidPage(final CachedPage cachedPage) {
+        if (cachedPage == null || now() - cachedPage.retrievalTime > timeToLive) {
+            return null;
+        }
+        return cachedPage.page;
+    }
+
+    private static class CachedPage {
+
+        private final Page page;
+
+        private final long retrievalTime;
+
+        private CachedPage(final Page page, final long retrievalTime) {
+            this.page = page;
+            this.retrievalTime = retrievalTime;
+        }
+    }
+}
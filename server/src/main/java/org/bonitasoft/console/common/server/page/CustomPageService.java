@@ -74,8 +74,6 @@ public class CustomPageService {
 
     private static final String LASTUPDATE_FILENAME = ".lastupdate";
 
-    private static final Map<String, GroovyClassLoader> PAGES_CLASSLOADERS = new HashMap<>();
-
     public static final String RESOURCES_PROPERTY = "resources";
     public static final String PROPERTY_CONTENT_TYPE = "contentType";
     public static final String PROPERTY_API_EXTENSIONS = "apiExtensions";
@@ -93,6 +91,13 @@ public class CustomPageService {
         return buildPageClassloader(apiSession, pageResourceProvider.getPageName(), pageResourceProvider.getPageDirectory());
     }
 
+    /**
+     * Give back a classloader returned by {@link #getPageClassloader(APISession, PageResourceProvider)} once the page is rendered
+     */
+    public void releasePageClassloader(final APISession apiSession, final GroovyClassLoader pageClassloader) {
+        getPageClassloaderRegistry(apiSession).release(pageClassloader);
+    }
+
     public void ensurePageFolderIsPresent(final APISession apiSession, final PageResourceProvider pageResourceProvider) throws BonitaException, IOException {
         if (!pageResourceProvider.getPageDirectory().exists()) {
             retrievePageZipContent(apiSession, pageResourceProvider);
@@ -104,8 +109,12 @@ public class CustomPageService {
         if (!pageResourceProvider.getPageDirectory().exists()) {
             retrievePageZipContent(apiSession, pageResourceProvider);
         } else {
-            final File timestampFile = getPageFile(pageFolder, LASTUPDATE_FILENAME);
             final long lastUpdateTimestamp = getPageLastUpdateDateFromEngine(apiSession, pageResourceProvider);
+            final CustomPageMetadataCache pageMetadataCache = getPageMetadataCache(apiSession);
+            if (pageMetadataCache.isFolderUpToDate(pageResourceProvider.getFullPageName(), lastUpdateTimestamp)) {
+                return;
+            }
+            final File timestampFile = getPageFile(pageFolder, LASTUPDATE_FILENAME);
             if (timestampFile.exists()) {
                 final String timestampString = FileUtils.readFileToString(timestampFile);
                 final long timestamp = Long.parseLong(timestampString);
@@ -116,6 +125,7 @@ public class CustomPageService {
             } else {
                 FileUtils.writeStringToFile(timestampFile, String.valueOf(lastUpdateTimestamp), false);
             }
+            pageMetadataCache.setFolderUpToDate(pageResourceProvider.getFullPageName(), lastUpdateTimestamp);
         }
     }
 
@@ -138,9 +148,12 @@ public class CustomPageService {
         if (pageControllerFile.exists()) {
             final String classloaderName = String.valueOf(System.currentTimeMillis());
             final GroovyClassLoader pageClassLoader = buildPageClassloader(session, classloaderName, tempPageDirectory);
-            pageClassLoader.parseClass(pageControllerFile);
-            final GroovyClassLoader classLoader = PAGES_CLASSLOADERS.remove(classloaderName);
-            classLoader.close();
+            try {
+                pageClassLoader.parseClass(pageControllerFile);
+            } finally {
+                releasePageClassloader(session, pageClassLoader);
+                getPageClassloaderRegistry(session).remove(classloaderName);
+            }
         }
     }
 
@@ -153,20 +166,13 @@ public class CustomPageService {
     }
 
     public void removePage(final APISession apiSession, final String pageName) throws IOException {
-        closeClassloader(pageName);
+        getPageMetadataCache(apiSession).clear();
+        getPageClassloaderRegistry(apiSession).remove(pageName);
         final PageResourceProvider pageResourceProvider = new PageResourceProvider(pageName, apiSession.getTenantId());
         removePageZipContent(apiSession, pageResourceProvider);
         CustomPageDependenciesResolver.removePageLibTempFolder(pageName);
     }
 
-    private static void closeClassloader(final String pageName) throws IOException {
-        final GroovyClassLoader classloader = PAGES_CLASSLOADERS.remove(pageName);
-        if (classloader != null) {
-            classloader.clearCache();
-            classloader.close();
-        }
-    }
-
     protected void retrievePageZipContent(final APISession apiSession, final String pageName) throws BonitaException, IOException {
         final PageResourceProvider pageResourceProvider = new PageResourceProvider(pageName, apiSession.getTenantId());
         retrievePageZipContent(apiSession, pageResourceProvider);
@@ -174,27 +180,28 @@ public class CustomPageService {
 
     protected GroovyClassLoader buildPageClassloader(final APISession apiSession, final String pageName, final File pageDirectory)
             throws CompilationFailedException, IOException {
-        GroovyClassLoader pageClassLoader = PAGES_CLASSLOADERS.get(pageName);
-        final BDMClientDependenciesResolver bdmDependenciesResolver = new BDMClientDependenciesResolver(apiSession);
-        if (pageClassLoader == null
-                || getConsoleProperties(apiSession).isPageInDebugMode()
-                || isOutdated(pageClassLoader, bdmDependenciesResolver)) {
-            pageClassLoader = new GroovyClassLoader(getParentClassloader(pageName,
-                    new CustomPageDependenciesResolver(pageName, pageDirectory, getWebBonitaConstantsUtils(apiSession)),
-                    bdmDependenciesResolver));
-            pageClassLoader.addClasspath(pageDirectory.getPath());
-            PAGES_CLASSLOADERS.put(pageName, pageClassLoader);
-        }
-        return pageClassLoader;
+        final PageClassloaderRegistry pageClassloaderRegistry = getPageClassloaderRegistry(apiSession);
+        final BDMClientDependenciesResolver bdmDependenciesResolver = pageClassloaderRegistry.getBDMDependenciesResolver(apiSession);
+        return pageClassloaderRegistry.getClassloader(pageName, getConsoleProperties(apiSession).isPageInDebugMode(),
+                pageClassloaderRegistry.getBusinessDataModelVersion(bdmDependenciesResolver), new PageClassloaderRegistry.ClassloaderBuilder() {
+
+                    @Override
+                    public GroovyClassLoader build() throws CompilationFailedException, IOException {
+                        final GroovyClassLoader pageClassLoader = new GroovyClassLoader(getParentClassloader(pageName,
+                                new CustomPageDependenciesResolver(pageName, pageDirectory, getWebBonitaConstantsUtils(apiSession)),
+                                bdmDependenciesResolver, getConsoleProperties(apiSession).isCustomPageLibrariesIndexingEnabled()));
+                        pageClassLoader.addClasspath(pageDirectory.getPath());
+                        return pageClassLoader;
+                    }
+                });
     }
 
-    private boolean isOutdated(GroovyClassLoader pageClassLoader, BDMClientDependenciesResolver bdmDependenciesResolver) {
-        final ClassLoader parent = pageClassLoader.getParent();
-        if (!(parent instanceof VersionedClassloader)) {
-            throw new IllegalStateException("Parent classloader should be versioned.");
-        }
-        final VersionedClassloader cachedClassloader = (VersionedClassloader) parent;
-        return !cachedClassloader.hasVersion(bdmDependenciesResolver.getBusinessDataModelVersion());
+    protected PageClassloaderRegistry getPageClassloaderRegistry(final APISession apiSession) {
+        return PageClassloaderRegistry.getInstance(apiSession.getTenantId());
+    }
+
+    protected CustomPageMetadataCache getPageMetadataCache(final APISession apiSession) {
+        return CustomPageMetadataCache.getInstance(apiSession.getTenantId());
     }
 
     protected ConsoleProperties getConsoleProperties(final APISession apiSession) {
@@ -207,9 +214,9 @@ public class CustomPageService {
 
     protected ClassLoader getParentClassloader(final String pageName,
             final CustomPageDependenciesResolver customPageDependenciesResolver,
-            final BDMClientDependenciesResolver bdmDependenciesResolver) throws IOException {
+            final BDMClientDependenciesResolver bdmDependenciesResolver, final boolean indexedLibraries) throws IOException {
         final CustomPageChildFirstClassLoader classLoader = new CustomPageChildFirstClassLoader(pageName, customPageDependenciesResolver,
-                bdmDependenciesResolver, Thread.currentThread().getContextClassLoader());
+                bdmDependenciesResolver, Thread.currentThread().getContextClassLoader(), indexedLibraries);
         classLoader.addCustomPageResources();
         return classLoader;
     }
@@ -260,8 +267,7 @@ public class CustomPageService {
 
     protected long getPageLastUpdateDateFromEngine(final APISession apiSession, final PageResourceProvider pageResourceProvider) throws BonitaException {
         try {
-            final PageAPI pageAPI = getPageAPI(apiSession);
-            final Date lastUpdateDate = pageResourceProvider.getPage(pageAPI).getLastModificationDate();
+            final Date lastUpdateDate = getPage(apiSession, pageResourceProvider).getLastModificationDate();
             if (lastUpdateDate != null) {
                 return lastUpdateDate.getTime();
             }
@@ -349,7 +355,23 @@ public class CustomPageService {
     }
 
     public Page getPage(final APISession apiSession, final long pageId) throws BonitaException {
-        return getPageAPI(apiSession).getPage(pageId);
+        final CustomPageMetadataCache pageMetadataCache = getPageMetadataCache(apiSession);
+        Page page = pageMetadataCache.getPage(pageId);
+        if (page == null) {
+            page = getPageAPI(apiSession).getPage(pageId);
+            pageMetadataCache.putPage(page);
+        }
+        return page;
+    }
+
+    protected Page getPage(final APISession apiSession, final PageResourceProvider pageResourceProvider) throws BonitaException {
+        final CustomPageMetadataCache pageMetadataCache = getPageMetadataCache(apiSession);
+        Page page = pageMetadataCache.getPage(pageResourceProvider.getFullPageName());
+        if (page == null) {
+            page = pageResourceProvider.getPage(getPageAPI(apiSession));
+            pageMetadataCache.putPage(pageResourceProvider.getFullPageName(), page);
+        }
+        return page;
     }
 
     public void removeRestApiExtensionPermissions(final ResourcesPermissionsMapping resourcesPermissionsMapping,
@@ -399,9 +421,6 @@ public class CustomPageService {
     }
 
     public static void clearCachedClassloaders() throws IOException {
-        for (final String page : PAGES_CLASSLOADERS.keySet()) {
-            closeClassloader(page);
-        }
-
+        PageClassloaderRegistry.closeAll();
     }
 }
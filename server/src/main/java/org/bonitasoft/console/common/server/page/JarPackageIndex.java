@@ -0,0 +1,229 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.page;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Jar files kept open and indexed by the directories (i.e. the packages) they contain.<br>
+ * Looking for a class or a resource only asks the jars containing its directory instead of all of them, and the content of the jars stays on
+ * disk. The index must be filled before the classloader using it is shared between threads.
+ */
+class JarPackageIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(JarPackageIndex.class.getName());
+
+    private final List<IndexedJar> jars = new ArrayList<>();
+
+    private final Map<String, List<IndexedJar>> jarsByDirectory = new HashMap<>();
+
+    /**
+     * Open the jar and index its directories, the jars added first are looked up first
+     */
+    void add(final File jar) throws IOException {
+        final IndexedJar indexedJar = new IndexedJar(new JarFile(jar), jar.toURI().toURL());
+        jars.add(indexedJar);
+        final Set<String> directories = new HashSet<>();
+        final Enumeration<JarEntry> entries = indexedJar.jarFile.entries();
+        while (entries.hasMoreElements()) {
+            final JarEntry entry = entries.nextElement();
+            if (!entry.isDirectory()) {
+                directories.add(getDirectory(entry.getName()));
+            }
+        }
+        for (final String directory : directories) {
+            List<IndexedJar> directoryJars = jarsByDirectory.get(directory);
+            if (directoryJars == null) {
+                directoryJars = new ArrayList<>(1);
+                jarsByDirectory.put(directory, directoryJars);
+            }
+            directoryJars.add(indexedJar);
+        }
+    }
+
+    /**
+     * @return the first jar containing the resource or null
+     */
+    IndexedJar find(final String resourceName) {
+        final List<IndexedJar> directoryJars = jarsByDirectory.get(getDirectory(resourceName));
+        if (directoryJars != null) {
+            for (final IndexedJar jar : directoryJars) {
+                if (jar.getEntry(resourceName) != null) {
+                    return jar;
+                }
+            }
+        }
+        return null;
+    }
+
+    URL findResource(final String resourceName) {
+        final IndexedJar jar = find(resourceName);
+        return jar == null ? null : jar.getResourceUrl(resourceName);
+    }
+
+    Enumeration<URL> findResources(final String resourceName) {
+        final List<IndexedJar> directoryJars = jarsByDirectory.get(getDirectory(resourceName));
+        if (directoryJars == null) {
+            return Collections.emptyEnumeration();
+        }
+        final List<URL> urls = new ArrayList<>();
+        for (final IndexedJar jar : directoryJars) {
+            if (jar.getEntry(resourceName) != null) {
+                final URL url = jar.getResourceUrl(resourceName);
+                if (url != null) {
+                    urls.add(url);
+                }
+            }
+        }
+        return Collections.enumeration(urls);
+    }
+
+    List<URL> getUrls() {
+        final List<URL> urls = new ArrayList<>(jars.size());
+        for (final IndexedJar jar : jars) {
+            urls.add(jar.url);
+        }
+        return urls;
+    }
+
+    void close() {
+        for (final IndexedJar jar : jars) {
+            try {
+                jar.jarFile.close();
+            } catch (final IOException e) {
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, "Unable to close the jar file " + jar.url, e);
+                }
+            }
+        }
+        jars.clear();
+        jarsByDirectory.clear();
+    }
+
+    private static String getDirectory(final String resourceName) {
+        final int directoryEnd = resourceName.lastIndexOf('/');
+        return directoryEnd < 0 ? "" : resourceName.substring(0, directoryEnd);
+    }
+
+    static class IndexedJar {
+
+        private final JarFile jarFile;
+
+        private final URL url;
+
+        private final URLStreamHandler resourceHandler = new IndexedJarURLStreamHandler();
+
+        private IndexedJar(final JarFile jarFile, final URL url) {
+            this.jarFile = jarFile;
+            this.url = url;
+        }
+
+        JarFile getJarFile() {
+            return jarFile;
+        }
+
+        URL getUrl() {
+            return url;
+        }
+
+        JarEntry getEntry(final String resourceName) {
+            return jarFile.getJarEntry(resourceName);
+        }
+
+        /**
+         * Read the whole entry (which also makes its certificates available)
+         */
+        byte[] getBytes(final JarEntry entry) throws IOException {
+            final InputStream inputStream = jarFile.getInputStream(entry);
+            try {
+                return IOUtils.toByteArray(inputStream);
+            } finally {
+                IOUtils.closeQuietly(inputStream);
+            }
+        }
+
+        /**
+         * The URL reads the resource from the jar file kept open by the index. A plain jar URL would be opened through the JVM wide
+         * JarURLConnection cache, whose jar files are never closed.
+         */
+        URL getResourceUrl(final String resourceName) {
+            try {
+                return new URL(null, "jar:" + url + "!/" + resourceName, resourceHandler);
+            } catch (final MalformedURLException e) {
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, "Unable to build the URL of the resource " + resourceName + " in " + url, e);
+                }
+                return null;
+            }
+        }
+
+        private class IndexedJarURLStreamHandler extends URLStreamHandler {
+
+            @Override
+            protected void parseURL(final URL resourceUrl, final String spec, final int start, final int limit) {
+                // jar URLs are opaque: keep the whole spec as the file part
+                setURL(resourceUrl, "jar", "", -1, null, null, spec.substring("jar:".length()), null, null);
+            }
+
+            @Override
+            protected URLConnection openConnection(final URL resourceUrl) throws IOException {
+                final String file = resourceUrl.getFile();
+                final String resourceName = file.substring(file.indexOf("!/") + 2);
+                return new URLConnection(resourceUrl) {
+
+                    @Override
+                    public void connect() throws IOException {
+                        connected = true;
+                    }
+
+                    @Override
+                    public InputStream getInputStream() throws IOException {
+                        final JarEntry entry = getEntry(resourceName);
+                        if (entry == null) {
+                            throw new IOException("No entry " + resourceName + " in " + url);
+                        }
+                        return jarFile.getInputStream(entry);
+                    }
+
+                    @Override
+                    public long getContentLengthLong() {
+                        final JarEntry entry = getEntry(resourceName);
+                        return entry == null ? -1 : entry.getSize();
+                    }
+                };
+            }
+        }
+    }
+}
@@ -24,8 +24,12 @@ import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
 import java.util.jar.Manifest;
 
 import org.apache.xbean.classloader.NamedClassLoader;
@@ -43,6 +47,8 @@ public class MonoParentJarFileClassLoader extends NamedClassLoader {
 
     private final UrlResourceFinder resourceFinder = new UrlResourceFinder();
 
+    private final JarPackageIndex jarPackageIndex = new JarPackageIndex();
+
     private final AccessControlContext acc;
 
     /**
@@ -80,7 +86,9 @@ public class MonoParentJarFileClassLoader extends NamedClassLoader {
      */
     @Override
     public URL[] getURLs() {
-        return resourceFinder.getUrls();
+        final List<URL> urls = new ArrayList<>(Arrays.asList(resourceFinder.getUrls()));
+        urls.addAll(jarPackageIndex.getUrls());
+        return urls.toArray(new URL[urls.size()]);
     }
 
     /**
@@ -119,12 +127,23 @@ public class MonoParentJarFileClassLoader extends NamedClassLoader {
         }, acc);
     }
 
+    /**
+     * Adds a jar looked up after the URLs through an index of its packages. Its content is read from disk when needed.
+     *
+     * @param jar
+     *            the jar file, kept open until this class loader is destroyed
+     */
+    protected void addIndexedJar(final File jar) throws IOException {
+        jarPackageIndex.add(jar);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void destroy() {
         resourceFinder.destroy();
+        jarPackageIndex.close();
         super.destroy();
     }
 
@@ -137,7 +156,11 @@ public class MonoParentJarFileClassLoader extends NamedClassLoader {
 
             @Override
             public Object run() {
-                return resourceFinder.findResource(resourceName);
+                final URL url = resourceFinder.findResource(resourceName);
+                if (url != null) {
+                    return url;
+                }
+                return jarPackageIndex.findResource(resourceName);
             }
         }, acc);
     }
@@ -161,7 +184,7 @@ public class MonoParentJarFileClassLoader extends NamedClassLoader {
         }, acc);
 
         // join the two together
-        return new UnionEnumeration(parentResources, myResources);
+        return new UnionEnumeration(parentResources, new UnionEnumeration(myResources, jarPackageIndex.findResources(resourceName)));
     }
 
     /**
@@ -221,6 +244,9 @@ public class MonoParentJarFileClassLoader extends NamedClassLoader {
                     checkPackageDefinition(className);
 
                     final ResourceHandle resourceHandle = findClassFileResource(className);
+                    if (resourceHandle == null) {
+                        return defineIndexedClass(className);
+                    }
 
                     byte[] bytes;
                     Manifest manifest;
@@ -255,11 +281,26 @@ public class MonoParentJarFileClassLoader extends NamedClassLoader {
                     final String resourceName = className.replace('.', '/') + ".class";
 
                     // find the class file resource
-                    final ResourceHandle resourceHandle = resourceFinder.getResource(resourceName);
-                    if (resourceHandle == null) {
+                    return resourceFinder.getResource(resourceName);
+                }
+
+                private Class<?> defineIndexedClass(final String className) throws ClassNotFoundException {
+                    final String resourceName = className.replace('.', '/') + ".class";
+                    final JarPackageIndex.IndexedJar indexedJar = jarPackageIndex.find(resourceName);
+                    if (indexedJar == null) {
                         throw new ClassNotFoundException(className);
                     }
-                    return resourceHandle;
+                    final JarEntry entry = indexedJar.getEntry(resourceName);
+                    byte[] bytes;
+                    Manifest manifest;
+                    try {
+                        bytes = indexedJar.getBytes(entry);
+                        manifest = indexedJar.getJarFile().getManifest();
+                    } catch (final IOException e) {
+                        throw new ClassNotFoundException(className, e);
+                    }
+                    definePackage(className, indexedJar.getUrl(), manifest);
+                    return defineClass(className, bytes, 0, bytes.length, new CodeSource(indexedJar.getUrl(), entry.getCertificates()));
                 }
 
                 private void checkPackageDefinition(final String className) {
@@ -0,0 +1,395 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.page;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bonitasoft.engine.session.APISession;
+import org.codehaus.groovy.control.CompilationFailedException;
+
+import groovy.lang.GroovyClassLoader;
+
+/**
+ * Classloaders of the custom pages of a tenant.<br>
+ * A classloader is built by one thread at a time for a given page, the other threads asking for it wait for the build to end. The
+ * classloaders of the least recently used pages are forgotten when there are more than {@link #DEFAULT_MAX_SIZE} of them. The version of
+ * the BDM the classloaders depend on is only asked to the engine once every {@link #DEFAULT_BDM_VERSION_TIME_TO_LIVE} milliseconds or after
+ * a BDM deployment.<br>
+ * A classloader returned by {@link #getClassloader(String, boolean, String, ClassloaderBuilder)} is in use until it is given back with
+ * {@link #release(GroovyClassLoader)}. A classloader which is replaced, evicted or removed while in use is only closed once its last user
+ * released it, so that the requests still rendering the page with it do not fail.
+ */
+public class PageClassloaderRegistry {
+
+    /**
+     * Max number of pages classloaders kept per tenant
+     */
+    public static final int DEFAULT_MAX_SIZE = 100;
+
+    /**
+     * Time (in milliseconds) during which the BDM version retrieved from the engine is reused
+     */
+    public static final long DEFAULT_BDM_VERSION_TIME_TO_LIVE = 5000L;
+
+    private static final Logger LOGGER = Logger.getLogger(PageClassloaderRegistry.class.getName());
+
+    private static final ConcurrentMap<Long, PageClassloaderRegistry> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * Classloaders by page name, in access order. Must be accessed in a block synchronized on it.
+     */
+    private final LinkedHashMap<String, GroovyClassLoader> classloaders = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Number of users of the classloaders in use. Must be accessed in a block synchronized on {@link #classloaders}.
+     */
+    private final Map<GroovyClassLoader, Integer> usages = new IdentityHashMap<>();
+
+    /**
+     * Classloaders no longer registered but still in use, with the name of their page if its lib folder must be removed once they are
+     * closed. Must be accessed in a block synchronized on {@link #classloaders}.
+     */
+    private final Map<GroovyClassLoader, String> retiredClassloaders = new IdentityHashMap<>();
+
+    /**
+     * Build locks by page name. They are kept when a page is removed, so that the threads building its classloader and the ones asking for
+     * it afterwards always synchronize on the same lock.
+     */
+    private final ConcurrentMap<String, Object> buildLocks = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    private final long bdmVersionTimeToLive;
+
+    private volatile CachedBDMVersion bdmVersion;
+
+    private volatile SessionBDMDependenciesResolver bdmDependenciesResolver;
+
+    /**
+     * Build the classloader of a page
+     */
+    public interface ClassloaderBuilder {
+
+        GroovyClassLoader build() throws CompilationFailedException, IOException;
+    }
+
+    public static PageClassloaderRegistry getInstance(final long tenantId) {
+        PageClassloaderRegistry registry = INSTANCES.get(tenantId);
+        if (registry == null) {
+            final PageClassloaderRegistry newRegistry = new PageClassloaderRegistry(DEFAULT_MAX_SIZE, DEFAULT_BDM_VERSION_TIME_TO_LIVE);
+            registry = INSTANCES.putIfAbsent(tenantId, newRegistry);
+            if (registry == null) {
+                registry = newRegistry;
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Close the classloaders of all the tenants
+     */
+    public static void closeAll() {
+        for (final PageClassloaderRegistry registry : INSTANCES.values()) {
+            registry.closeClassloaders();
+        }
+    }
+
+    public PageClassloaderRegistry(final int maxSize, final long bdmVersionTimeToLive) {
+        this.maxSize = maxSize;
+        this.bdmVersionTimeToLive = bdmVersionTimeToLive;
+    }
+
+    /**
+     * @param pageName
+     *            the name of the page
+     * @param rebuild
+     *            true to build a new classloader even if the current one is up to date (e.g. pages in debug mode)
+     * @param currentBDMVersion
+     *            the version of the BDM currently deployed
+     * @param builder
+     *            the builder to call if the page has no classloader or if it is outdated
+     * @return the classloader of the page, to give back with {@link #release(GroovyClassLoader)} once the page is rendered
+     */
+    public GroovyClassLoader getClassloader(final String pageName, final boolean rebuild, final String currentBDMVersion,
+            final ClassloaderBuilder builder) throws CompilationFailedException, IOException {
+        if (!rebuild) {
+            final GroovyClassLoader classloader = acquireUpToDate(pageName, currentBDMVersion);
+            if (classloader != null) {
+                return classloader;
+            }
+        }
+        synchronized (getBuildLock(pageName)) {
+            if (!rebuild) {
+                // another thread may have built it while this one was waiting
+                final GroovyClassLoader classloader = acquireUpToDate(pageName, currentBDMVersion);
+                if (classloader != null) {
+                    return classloader;
+                }
+            }
+            final GroovyClassLoader newClassloader = builder.build();
+            put(pageName, newClassloader);
+            return newClassloader;
+        }
+    }
+
+    /**
+     * Give back a classloader returned by {@link #getClassloader(String, boolean, String, ClassloaderBuilder)}. It is closed if it is no
+     * longer registered and this was its last user.
+     */
+    public void release(final GroovyClassLoader classloader) {
+        final Map<GroovyClassLoader, String> idleClassloaders = new IdentityHashMap<>();
+        synchronized (classloaders) {
+            final Integer users = usages.get(classloader);
+            if (users == null) {
+                return;
+            }
+            if (users > 1) {
+                usages.put(classloader, users - 1);
+                return;
+            }
+            usages.remove(classloader);
+            if (retiredClassloaders.containsKey(classloader)) {
+                idleClassloaders.put(classloader, retiredClassloaders.remove(classloader));
+            }
+        }
+        close(idleClassloaders);
+    }
+
+    public GroovyClassLoader get(final String pageName) {
+        synchronized (classloaders) {
+            return classloaders.get(pageName);
+        }
+    }
+
+    /**
+     * Forget the classloader of a page. It is closed right away if it is not in use, or else once its last user released it.
+     */
+    public void remove(final String pageName) {
+        final Map<GroovyClassLoader, String> idleClassloaders = new IdentityHashMap<>();
+        synchronized (classloaders) {
+            retire(classloaders.remove(pageName), null, idleClassloaders);
+        }
+        close(idleClassloaders);
+    }
+
+    /**
+     * Close all the classloaders, even the ones in use (e.g. when the web application stops)
+     */
+    public void closeClassloaders() {
+        final List<GroovyClassLoader> closedClassloaders;
+        synchronized (classloaders) {
+            closedClassloaders = new ArrayList<>(classloaders.values());
+            closedClassloaders.addAll(retiredClassloaders.keySet());
+            classloaders.clear();
+            retiredClassloaders.clear();
+            usages.clear();
+        }
+        for (final GroovyClassLoader classloader : closedClassloaders) {
+            invalidate(classloader);
+            close(classloader);
+        }
+    }
+
+    public int size() {
+        synchronized (classloaders) {
+            return classloaders.size();
+        }
+    }
+
+    /**
+     * @return the number of classloaders no longer registered but not closed yet because they are still in use
+     */
+    public int getRetiredSize() {
+        synchronized (classloaders) {
+            return retiredClassloaders.size();
+        }
+    }
+
+    /**
+     * @return the resolver of the BDM dependencies, reused as long as the pages are rendered with the same session
+     */
+    public BDMClientDependenciesResolver getBDMDependenciesResolver(final APISession apiSession) {
+        final SessionBDMDependenciesResolver sessionResolver = bdmDependenciesResolver;
+        if (sessionResolver != null && sessionResolver.sessionId == apiSession.getId()) {
+            return sessionResolver.resolver;
+        }
+        final BDMClientDependenciesResolver resolver = createBDMDependenciesResolver(apiSession);
+        bdmDependenciesResolver = new SessionBDMDependenciesResolver(apiSession.getId(), resolver);
+        return resolver;
+    }
+
+    protected BDMClientDependenciesResolver createBDMDependenciesResolver(final APISession apiSession) {
+        return new BDMClientDependenciesResolver(apiSession);
+    }
+
+    /**
+     * @return the version of the BDM currently deployed, asked to the resolver only if the cached one expired
+     */
+    public String getBusinessDataModelVersion(final BDMClientDependenciesResolver bdmDependenciesResolver) {
+        final CachedBDMVersion cachedBDMVersion = bdmVersion;
+        if (cachedBDMVersion != null && now() - cachedBDMVersion.retrievalTime <= bdmVersionTimeToLive) {
+            return cachedBDMVersion.version;
+        }
+        final String version = bdmDependenciesResolver.getBusinessDataModelVersion();
+        bdmVersion = new CachedBDMVersion(version, now());
+        return version;
+    }
+
+    /**
+     * Forget the cached BDM version (e.g. when a new BDM is deployed)
+     */
+    public void invalidateBusinessDataModelVersion() {
+        bdmVersion = null;
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * @return the registered classloader of the page, with one more user, or null if there is none or if it is outdated
+     */
+    private GroovyClassLoader acquireUpToDate(final String pageName, final String currentBDMVersion) {
+        synchronized (classloaders) {
+            final GroovyClassLoader classloader = classloaders.get(pageName);
+            if (classloader == null || isOutdated(classloader, currentBDMVersion)) {
+                return null;
+            }
+            acquire(classloader);
+            return classloader;
+        }
+    }
+
+    /**
+     * Must be called in a block synchronized on {@link #classloaders}
+     */
+    private void acquire(final GroovyClassLoader classloader) {
+        final Integer users = usages.get(classloader);
+        usages.put(classloader, users == null ? 1 : users + 1);
+    }
+
+    /**
+     * Must be called in a block synchronized on {@link #classloaders}. The classloader is added to the idle ones if it can be closed right
+     * away, or else kept until its last user releases it.
+     */
+    private void retire(final GroovyClassLoader classloader, final String pageName, final Map<GroovyClassLoader, String> idleClassloaders) {
+        if (classloader == null) {
+            return;
+        }
+        // the requests to come must not use the controllers of a classloader which is going to be closed
+        invalidate(classloader);
+        if (usages.containsKey(classloader)) {
+            retiredClassloaders.put(classloader, pageName);
+        } else {
+            idleClassloaders.put(classloader, pageName);
+        }
+    }
+
+    private void put(final String pageName, final GroovyClassLoader classloader) {
+        final Map<GroovyClassLoader, String> idleClassloaders = new IdentityHashMap<>();
+        synchronized (classloaders) {
+            acquire(classloader);
+            final GroovyClassLoader previousClassloader = classloaders.put(pageName, classloader);
+            if (previousClassloader != null && previousClassloader != classloader) {
+                // e.g. rebuilt in debug mode while other requests still render the page with it
+                retire(previousClassloader, null, idleClassloaders);
+            }
+            final Iterator<Map.Entry<String, GroovyClassLoader>> leastRecentlyUsed = classloaders.entrySet().iterator();
+            while (classloaders.size() > maxSize && leastRecentlyUsed.hasNext()) {
+                final Map.Entry<String, GroovyClassLoader> evicted = leastRecentlyUsed.next();
+                retire(evicted.getValue(), evicted.getKey(), idleClassloaders);
+                leastRecentlyUsed.remove();
+            }
+        }
+        close(idleClassloaders);
+    }
+
+    private Object getBuildLock(final String pageName) {
+        final Object newLock = new Object();
+        final Object lock = buildLocks.putIfAbsent(pageName, newLock);
+        return lock == null ? newLock : lock;
+    }
+
+    private boolean isOutdated(final GroovyClassLoader pageClassLoader, final String currentBDMVersion) {
+        final ClassLoader parent = pageClassLoader.getParent();
+        if (!(parent instanceof VersionedClassloader)) {
+            throw new IllegalStateException("Parent classloader should be versioned.");
+        }
+        return !((VersionedClassloader) parent).hasVersion(currentBDMVersion);
+    }
+
+    private void close(final Map<GroovyClassLoader, String> idleClassloaders) {
+        for (final Map.Entry<GroovyClassLoader, String> idleClassloader : idleClassloaders.entrySet()) {
+            close(idleClassloader.getKey());
+            final String evictedPageName = idleClassloader.getValue();
+            if (evictedPageName != null && get(evictedPageName) == null) {
+                CustomPageDependenciesResolver.removePageLibTempFolder(evictedPageName);
+            }
+        }
+    }
+
+    private void invalidate(final GroovyClassLoader classloader) {
+        RestApiControllerRegistry.getInstance().invalidate(classloader);
+    }
+
+    private void close(final GroovyClassLoader classloader) {
+        classloader.clearCache();
+        try {
+            classloader.close();
+        } catch (final IOException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Unable to close the custom page classloader " + classloader, e);
+            }
+        }
+        final ClassLoader parent = classloader.getParent();
+        if (parent instanceof CustomPageChildFirstClassLoader) {
+            ((CustomPageChildFirstClassLoader) parent).destroy();
+        }
+    }
+
+    private static class CachedBDMVersion {
+
+        private final String version;
+
+        private final long retrievalTime;
+
+        private CachedBDMVersion(final String version, final long retrievalTime) {
+            this.version = version;
+            this.retrievalTime = retrievalTime;
+        }
+    }
+
+    private static class SessionBDMDependenciesResolver {
+
+        private final long sessionId;
+
+        private final BDMClientDependenciesResolver resolver;
+
+        private SessionBDMDependenciesResolver(final long sessionId, final BDMClientDependenciesResolver resolver) {
+            this.sessionId = sessionId;
+            this.resolver = resolver;
+        }
+    }
+}
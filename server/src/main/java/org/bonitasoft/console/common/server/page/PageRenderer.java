@@ -119,6 +119,7 @@ public class PageRenderer {
                     new PageContext(apiSession, getCurrentLocale(request), getCurrentProfile(request)));
         } finally {
             Thread.currentThread().setContextClassLoader(originalClassloader);
+            customPageService.releasePageClassloader(apiSession, pageClassloader);
         }
     }
 
@@ -16,10 +16,8 @@ package org.bonitasoft.console.common.server.page;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -28,6 +26,10 @@ import java.util.logging.Logger;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.console.common.server.utils.CompressedResourceCache;
+import org.bonitasoft.console.common.server.utils.StaticResourceSender;
 import org.bonitasoft.engine.exception.BonitaException;
 import org.bonitasoft.engine.session.APISession;
 import org.codehaus.groovy.control.CompilationFailedException;
@@ -48,22 +50,13 @@ public class ResourceRenderer {
     public void renderFile(final HttpServletRequest request, final HttpServletResponse response, final File resourceFile, final APISession apiSession)
             throws CompilationFailedException, InstantiationException, IllegalAccessException, IOException, BonitaException {
 
-        byte[] content;
         response.setCharacterEncoding("UTF-8");
 
         try {
-            content = getFileContent(resourceFile, response);
-
-            response.setContentType(request.getSession().getServletContext()
-                    .getMimeType(resourceFile.getName()));
-            response.setContentLength(content.length);
-            response.setBufferSize(content.length);
-            response.setHeader("Cache-Control", "no-cache");
-
-            try (OutputStream out = response.getOutputStream()) {
-                out.write(content, 0, content.length);
-            }
-            response.flushBuffer();
+            checkResourceFile(resourceFile);
+            final String contentType = request.getSession().getServletContext().getMimeType(resourceFile.getName());
+            final File fileToSend = getCompressedResourceCache(apiSession).getFileToSend(request, response, resourceFile);
+            getStaticResourceSender(apiSession).send(request, response, fileToSend, contentType);
         }catch (final FileNotFoundException e) {
             response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
         }catch (final IOException e) {
@@ -74,7 +67,7 @@ public class ResourceRenderer {
         }
     }
 
-    private byte[] getFileContent(final File resourceFile, final HttpServletResponse response) throws IOException, BonitaException {
+    private void checkResourceFile(final File resourceFile) throws IOException, BonitaException {
         if (resourceFile == null) {
             final String errorMessage = "Resource file must not be null.";
             if (LOGGER.isLoggable(Level.WARNING)) {
@@ -82,9 +75,7 @@ public class ResourceRenderer {
             }
             throw new BonitaException(errorMessage);
         }
-        if (resourceFile.exists()) {
-            return Files.readAllBytes(resourceFile.toPath());
-        } else {
+        if (!resourceFile.exists()) {
             final String fileNotFoundMessage = "Cannot find the resource file ";
             if (LOGGER.isLoggable(Level.WARNING)) {
                 LOGGER.log(Level.WARNING, fileNotFoundMessage + resourceFile.getCanonicalPath());
@@ -93,6 +84,14 @@ public class ResourceRenderer {
         }
     }
 
+    protected CompressedResourceCache getCompressedResourceCache(final APISession apiSession) {
+        return new CompressedResourceCache(WebBonitaConstantsUtils.getInstance(apiSession.getTenantId()).getTempFolder());
+    }
+
+    protected StaticResourceSender getStaticResourceSender(final APISession apiSession) {
+        return new StaticResourceSender(PropertiesFactory.getConsoleProperties(apiSession.getTenantId()).getVersionedResourcesMaxAge());
+    }
+
     public List<String> getPathSegments(final String pathInfo) throws UnsupportedEncodingException {
         final List<String> segments = new ArrayList<>();
         if (pathInfo != null) {
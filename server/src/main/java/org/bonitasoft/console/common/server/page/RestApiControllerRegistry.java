@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.page;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.io.IOUtils;
+import org.bonitasoft.engine.page.Page;
+import org.codehaus.groovy.control.CompilationFailedException;
+
+import groovy.lang.GroovyClassLoader;
+
+/**
+ * Compiled controllers and page.properties of the REST API extensions, kept until the page is updated.<br>
+ * A controller class is reused as long as the page has the same last modification date and the page classloader it was compiled with is
+ * still the current one (a new classloader is built when the BDM changes or when the pages are in debug mode).
+ */
+public class RestApiControllerRegistry {
+
+    private static final String PAGE_PROPERTIES_FILENAME = "page.properties";
+
+    private static final String KEY_SEPARATOR = "|";
+
+    private static final RestApiControllerRegistry INSTANCE = new RestApiControllerRegistry();
+
+    private final ConcurrentMap<String, CachedController> controllers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, CachedPageProperties> pagesProperties = new ConcurrentHashMap<>();
+
+    public static RestApiControllerRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the page.properties of the REST API extension page, read from disk only if the page was updated since the last call
+     */
+    public Properties getPageProperties(final long tenantId, final Page page, final PageResourceProvider pageResourceProvider) throws IOException {
+        final String key = buildPageKey(tenantId, page);
+        final long lastModificationDate = getLastModificationDate(page);
+        final CachedPageProperties cachedPageProperties = pagesProperties.get(key);
+        if (cachedPageProperties != null && cachedPageProperties.lastModificationDate == lastModificationDate) {
+            return cachedPageProperties.properties;
+        }
+        final Properties properties = loadPageProperties(pageResourceProvider);
+        pagesProperties.put(key, new CachedPageProperties(lastModificationDate, properties));
+        return properties;
+    }
+
+    /**
+     * @return the controller class of the REST API extension, compiled only if the page or its classloader changed since the last call
+     */
+    public Class<RestApiController> getControllerClass(final long tenantId, final Page page, final String classFileName,
+            final GroovyClassLoader pageClassLoader, final PageResourceProvider pageResourceProvider, final CustomPageService customPageService)
+            throws CompilationFailedException, IOException {
+        final String key = buildPageKey(tenantId, page) + KEY_SEPARATOR + classFileName;
+        final long lastModificationDate = getLastModificationDate(page);
+        final CachedController cachedController = controllers.get(key);
+        if (cachedController != null && cachedController.lastModificationDate == lastModificationDate
+                && cachedController.classLoader == pageClassLoader) {
+            return cachedController.controllerClass;
+        }
+        final Class<RestApiController> controllerClass = customPageService.registerRestApiPage(pageClassLoader, pageResourceProvider, classFileName);
+        controllers.put(key, new CachedController(lastModificationDate, pageClassLoader, controllerClass));
+        return controllerClass;
+    }
+
+    /**
+     * Drop the controllers compiled with a classloader (e.g. when it is closed)
+     */
+    public void invalidate(final ClassLoader pageClassLoader) {
+        final Iterator<CachedController> cachedControllers = controllers.values().iterator();
+        while (cachedControllers.hasNext()) {
+            if (cachedControllers.next().classLoader == pageClassLoader) {
+                cachedControllers.remove();
+            }
+        }
+    }
+
+    /**
+     * Drop the page.properties and the controllers of a page (e.g. when it is updated or deleted)
+     */
+    public void invalidate(final long tenantId, final long pageId) {
+        final String key = tenantId + KEY_SEPARATOR + pageId;
+        pagesProperties.remove(key);
+        final Iterator<String> controllerKeys = controllers.keySet().iterator();
+        while (controllerKeys.hasNext()) {
+            if (controllerKeys.next().startsWith(key + KEY_SEPARATOR)) {
+                controllerKeys.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        controllers.clear();
+        pagesProperties.clear();
+    }
+
+    private Properties loadPageProperties(final PageResourceProvider pageResourceProvider) throws IOException {
+        final Properties properties = new Properties();
+        final InputStream resourceAsStream = pageResourceProvider.getResourceAsStream(PAGE_PROPERTIES_FILENAME);
+        try {
+            properties.load(resourceAsStream);
+        } finally {
+            IOUtils.closeQuietly(resourceAsStream);
+        }
+        return properties;
+    }
+
+    private String buildPageKey(final long tenantId, final Page page) {
+        return tenantId + KEY_SEPARATOR + page.getId();
+    }
+
+    private long getLastModificationDate(final Page page) {
+        return page.getLastModificationDate() == null ? 0L : page.getLastModificationDate().getTime();
+    }
+
+    private static final class CachedController {
+
+        private final long lastModificationDate;
+
+        private final ClassLoader classLoader;
+
+        private final Class<RestApiController> controllerClass;
+
+        private CachedController(final long lastModificationDate, final ClassLoader classLoader, final Class<RestApiController> controllerClass) {
+            this.lastModificationDate = lastModificationDate;
+            this.classLoader = classLoader;
+            this.controllerClass = controllerClass;
+        }
+    }
+
+    private static final class CachedPageProperties {
+
+        private final long lastModificationDate;
+
+        private final Properties properties;
+
+        private CachedPageProperties(final long lastModificationDate, final Properties properties) {
+            this.lastModificationDate = lastModificationDate;
+            this.properties = properties;
+        }
+    }
+}
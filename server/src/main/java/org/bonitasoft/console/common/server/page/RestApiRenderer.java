@@ -16,12 +16,14 @@ package org.bonitasoft.console.common.server.page;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.servlet.http.HttpServletRequest;
 
 import groovy.lang.GroovyClassLoader;
 import org.bonitasoft.engine.exception.BonitaException;
+import org.bonitasoft.engine.exception.NotFoundException;
 import org.bonitasoft.engine.page.Page;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.server.api.extension.ResourceExtensionResolver;
@@ -47,15 +49,37 @@ public class RestApiRenderer {
         final Page page = customPageService.getPage(apiSession, pageId);
         final PageResourceProvider pageResourceProvider = new PageResourceProvider(page, apiSession.getTenantId());
         customPageService.ensurePageFolderIsUpToDate(apiSession, pageResourceProvider);
-        String classFileName = resourceExtensionResolver.resolveClassFileName(pageResourceProvider);
+        String classFileName = resolveClassFileName(apiSession, page, pageResourceProvider, resourceExtensionResolver);
         final String mappingKey = resourceExtensionResolver.generateMappingKey();
         if (isFileGroovyPage(pageResourceProvider, classFileName)) {
-            return renderResponse(request, apiSession, pageContextHelper, pageResourceProvider, classFileName, mappingKey);
+            return renderResponse(request, apiSession, pageContextHelper, page, pageResourceProvider, classFileName, mappingKey);
         }
         LOGGER.log(Level.SEVERE, "resource does not exists:" + mappingKey);
         throw new BonitaException("unable to handle rest api call to " + mappingKey);
     }
 
+    private String resolveClassFileName(final APISession apiSession, final Page page, final PageResourceProvider pageResourceProvider,
+            final ResourceExtensionResolver resourceExtensionResolver) throws IOException, BonitaException {
+        if (isPageInDebugMode(apiSession)) {
+            return resourceExtensionResolver.resolveClassFileName(pageResourceProvider);
+        }
+        final Properties pageProperties;
+        try {
+            pageProperties = getRestApiControllerRegistry().getPageProperties(apiSession.getTenantId(), page, pageResourceProvider);
+        } catch (final IOException e) {
+            throw new NotFoundException("error while getting resource:" + resourceExtensionResolver.generateMappingKey());
+        }
+        return resourceExtensionResolver.resolveClassFileName(pageProperties);
+    }
+
+    protected boolean isPageInDebugMode(final APISession apiSession) {
+        return customPageService.getConsoleProperties(apiSession).isPageInDebugMode();
+    }
+
+    protected RestApiControllerRegistry getRestApiControllerRegistry() {
+        return RestApiControllerRegistry.getInstance();
+    }
+
     private boolean isFileGroovyPage(final PageResourceProvider pageResourceProvider, String classFileName) {
         final File pageFolder = pageResourceProvider.getPageDirectory();
         final File indexGroovy = customPageService.getPageFile(pageFolder, classFileName);
@@ -63,13 +87,14 @@ public class RestApiRenderer {
     }
 
     private RestApiResponse renderResponse(final HttpServletRequest request, final APISession apiSession, final PageContextHelper pageContextHelper,
-                                           final PageResourceProvider pageResourceProvider, String classFileName, String mappingKey)
+                                           final Page page, final PageResourceProvider pageResourceProvider, String classFileName, String mappingKey)
             throws CompilationFailedException, InstantiationException, IllegalAccessException, IOException, BonitaException {
         final ClassLoader originalClassloader = Thread.currentThread().getContextClassLoader();
         final GroovyClassLoader pageClassloader = customPageService.getPageClassloader(apiSession, pageResourceProvider);
         try {
             Thread.currentThread().setContextClassLoader(pageClassloader);
-            final Class<RestApiController> restApiControllerClass = customPageService.registerRestApiPage(pageClassloader, pageResourceProvider, classFileName);
+            final Class<RestApiController> restApiControllerClass = getRestApiControllerRegistry().getControllerClass(apiSession.getTenantId(), page,
+                    classFileName, pageClassloader, pageResourceProvider, customPageService);
             final RestApiController restApiController = customPageService.loadRestApiPage(restApiControllerClass);
             pageResourceProvider.setResourceClassLoader(pageClassloader);
             try {
@@ -81,6 +106,7 @@ public class RestApiRenderer {
             }
         } finally {
             Thread.currentThread().setContextClassLoader(originalClassloader);
+            customPageService.releasePageClassloader(apiSession, pageClassloader);
         }
     }
 
@@ -27,6 +27,8 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.bonitasoft.console.common.server.utils.StaticResourceSender;
+
 /**
  * Servlet allowing to download process instances attachments
  *
@@ -51,6 +53,21 @@ public abstract class DownloadServlet extends HttpServlet {
     protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws ServletException {
     }
 
+    /**
+     * Stream the file with support of conditional and range requests, the Content-Disposition header must already be set
+     *
+     * @throws FileNotFoundException
+     *             if the file does not exist
+     */
+    protected void sendFile(final HttpServletRequest request, final HttpServletResponse response, final File file, final String contentType)
+            throws IOException {
+        new StaticResourceSender(0).send(request, response, file, contentType);
+    }
+
+    /**
+     * @deprecated the files are now streamed by {@link #sendFile(HttpServletRequest, HttpServletResponse, File, String)}
+     */
+    @Deprecated
     protected byte[] getFileContent(final File file, final int fileLength, final String attachmentPath) throws ServletException, FileNotFoundException {
         byte[] content;
         try {
@@ -16,9 +16,15 @@ package org.bonitasoft.console.common.server.servlet;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.Serializable;
 import java.net.HttpURLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +38,8 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.fileupload.FileItem;
 import org.apache.commons.fileupload.FileItemFactory;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
 import org.apache.commons.fileupload.disk.DiskFileItemFactory;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
 import org.bonitasoft.forms.server.exception.FileTooBigException;
@@ -67,6 +75,10 @@ public abstract class FileUploadServlet extends HttpServlet {
 
     protected static final String RESPONSE_CONTENT_TYPE_PARAM = "ContentType";
 
+    protected static final String STREAM_UPLOAD_PARAM = "StreamUpload";
+
+    protected static final String UPLOADED_FILE_TIME_TO_LIVE_PARAM = "UploadedFileTimeToLive";
+
     protected static final String TEXT_CONTENT_TYPE = "text";
 
     protected static final String JSON_CONTENT_TYPE = "json";
@@ -75,6 +87,11 @@ public abstract class FileUploadServlet extends HttpServlet {
 
     protected static final String FILE_NAME_RESPONSE_ATTRIBUTE = "filename";
 
+    /**
+     * Max number of bytes transferred at once from the request to an uploaded file
+     */
+    private static final long TRANSFER_CHUNK_SIZE = 64 * 1024;
+
     protected String[] supportedExtensionsList = new String[0];
 
     protected boolean returnFullPathInResponse = false;
@@ -85,6 +102,16 @@ public abstract class FileUploadServlet extends HttpServlet {
 
     protected String responseContentType = TEXT_CONTENT_TYPE;
 
+    /**
+     * If true, the files are written straight from the request to their final location instead of being parsed in temp files first
+     */
+    protected boolean streamUpload = false;
+
+    /**
+     * Time (in milliseconds) after which an uploaded file is deleted
+     */
+    protected long uploadedFileTimeToLive = UploadedFilesJanitor.DEFAULT_TIME_TO_LIVE;
+
     @Override
     public void init() throws ServletException {
 
@@ -99,12 +126,25 @@ public abstract class FileUploadServlet extends HttpServlet {
             responseContentType = responseContentTypeParam;
         }
         checkUploadedFileSize = Boolean.parseBoolean(getInitParameter(CHECK_UPLOADED_FILE_SIZE));
+        streamUpload = Boolean.parseBoolean(getInitParameter(STREAM_UPLOAD_PARAM));
+        final String uploadedFileTimeToLiveParam = getInitParameter(UPLOADED_FILE_TIME_TO_LIVE_PARAM);
+        if (uploadedFileTimeToLiveParam != null) {
+            // configured in minutes
+            uploadedFileTimeToLive = Long.parseLong(uploadedFileTimeToLiveParam.trim()) * 60 * 1000;
+        }
     }
 
     protected abstract void defineUploadDirectoryPath(final HttpServletRequest request);
 
     protected abstract void checkUploadSize(final HttpServletRequest request, FileItem item) throws FileTooBigException;
 
+    /**
+     * @return the max size (in megabytes) of an uploaded file, or a negative value if there is no limit
+     */
+    protected long getUploadMaxSize(final HttpServletRequest request) {
+        return -1;
+    }
+
     protected void setUploadDirectoryPath(final String uploadDirectoryPath) {
         this.uploadDirectoryPath = uploadDirectoryPath;
     }
@@ -130,8 +170,15 @@ public abstract class FileUploadServlet extends HttpServlet {
                 targetDirectory.mkdirs();
             }
 
+            UploadedFilesJanitor.getInstance().watch(targetDirectory, uploadedFileTimeToLive);
+
             responsePW = response.getWriter();
 
+            if (streamUpload) {
+                streamUploadedFiles(request, response, responsePW, targetDirectory);
+                return;
+            }
+
             final FileItemFactory fileItemFactory = new DiskFileItemFactory();
             final ServletFileUpload serviceFileUpload = createServletFileUpload(fileItemFactory);
             final List<FileItem> items = serviceFileUpload.parseRequest(request);
@@ -158,22 +205,13 @@ public abstract class FileUploadServlet extends HttpServlet {
 
                 // Upload file
                 item.write(uploadedFile);
+                // the temp file of the parsed item is not needed anymore
+                item.delete();
                 if (LOGGER.isLoggable(Level.FINEST)) {
                     LOGGER.log(Level.FINEST, "File uploaded : " + uploadedFile.getPath());
                 }
-                uploadedFile.deleteOnExit();
-
-                // Response
-                final String responseString;
-                if (JSON_CONTENT_TYPE.equals(responseContentType)) {
-                    responseString = generateResponseJson(request, fileName, uploadedFile);
-                } else if (TEXT_CONTENT_TYPE.equals(responseContentType)) {
-                    responseString = generateResponseString(request, fileName, uploadedFile);
-                } else {
-                    throw new ServletException("Unsupported content type in servlet configuration : " + responseContentType);
-                }
-                responsePW.print(responseString);
-                responsePW.flush();
+
+                printResponse(request, responsePW, fileName, uploadedFile);
             }
         } catch (final FileTooBigException e) {
             LOGGER.log(Level.SEVERE, "File is Too Big", e);
@@ -195,11 +233,96 @@ public abstract class FileUploadServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Write each file of the request straight to its final location, the size of the file being checked while it is written
+     */
+    protected void streamUploadedFiles(final HttpServletRequest request, final HttpServletResponse response, final PrintWriter responsePW,
+            final File targetDirectory) throws Exception {
+        final FileItemIterator items = createStreamingServletFileUpload().getItemIterator(request);
+        while (items.hasNext()) {
+            final FileItemStream item = items.next();
+            if (item.isFormField()) {
+                continue;
+            }
+
+            final String fileName = item.getName();
+
+            // Check if extension is allowed before reading the file
+            if (!isSupportedExtention(fileName)) {
+                outputMediaTypeError(response, responsePW);
+                return;
+            }
+
+            final File uploadedFile = makeUniqueFilename(targetDirectory, fileName);
+            writeUploadedFile(request, item, uploadedFile);
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST, "File uploaded : " + uploadedFile.getPath());
+            }
+
+            printResponse(request, responsePW, fileName, uploadedFile);
+        }
+    }
+
+    /**
+     * Copy the content of the item to the file, which is deleted if the content is bigger than the max upload size
+     */
+    protected void writeUploadedFile(final HttpServletRequest request, final FileItemStream item, final File uploadedFile) throws IOException,
+            FileTooBigException {
+        final long maxSize = checkUploadedFileSize ? getUploadMaxSize(request) : -1;
+        final long maxBytes = maxSize < 0 ? -1 : maxSize * 1048576;
+        boolean written = false;
+        try (InputStream inputStream = item.openStream();
+                FileChannel fileChannel = FileChannel.open(uploadedFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ReadableByteChannel inputChannel = Channels.newChannel(inputStream);
+            long position = 0;
+            while (true) {
+                // one byte more than the max size is enough to know that the file is too big
+                final long count = maxBytes < 0 ? TRANSFER_CHUNK_SIZE : Math.min(TRANSFER_CHUNK_SIZE, maxBytes - position + 1);
+                final long transferred = fileChannel.transferFrom(inputChannel, position, count);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                if (maxBytes >= 0 && position > maxBytes) {
+                    final String errorMessage = "file " + item.getName() + " too big !";
+                    if (LOGGER.isLoggable(Level.SEVERE)) {
+                        LOGGER.log(Level.SEVERE, errorMessage);
+                    }
+                    throw new FileTooBigException(errorMessage, item.getName(), String.valueOf(maxSize));
+                }
+            }
+            written = true;
+        } finally {
+            if (!written) {
+                Files.deleteIfExists(uploadedFile.toPath());
+            }
+        }
+    }
+
+    private void printResponse(final HttpServletRequest request, final PrintWriter responsePW, final String fileName, final File uploadedFile)
+            throws Exception {
+        final String responseString;
+        if (JSON_CONTENT_TYPE.equals(responseContentType)) {
+            responseString = generateResponseJson(request, fileName, uploadedFile);
+        } else if (TEXT_CONTENT_TYPE.equals(responseContentType)) {
+            responseString = generateResponseString(request, fileName, uploadedFile);
+        } else {
+            throw new ServletException("Unsupported content type in servlet configuration : " + responseContentType);
+        }
+        responsePW.print(responseString);
+        responsePW.flush();
+    }
+
     //for test purpose
     protected ServletFileUpload createServletFileUpload(final FileItemFactory fileItemFactory) {
         return new ServletFileUpload(fileItemFactory);
     }
 
+    //for test purpose
+    protected ServletFileUpload createStreamingServletFileUpload() {
+        return new ServletFileUpload();
+    }
+
 
 
     protected String generateResponseString(final HttpServletRequest request, final String fileName, final File uploadedFile) throws Exception {
@@ -229,9 +352,8 @@ public abstract class FileUploadServlet extends HttpServlet {
     }
 
     protected File makeUniqueFilename(final File targetDirectory, final String fileName) throws IOException {
-        final File uploadedFile = File.createTempFile("tmp_", getExtension(fileName), targetDirectory);
-        uploadedFile.deleteOnExit();
-        return uploadedFile;
+        // deleted by the janitor once expired
+        return File.createTempFile(UploadedFilesJanitor.UPLOADED_FILE_PREFIX, getExtension(fileName), targetDirectory);
     }
 
     protected String getExtension(final String fileName) {
@@ -17,7 +17,6 @@ package org.bonitasoft.console.common.server.servlet;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -67,11 +66,11 @@ public abstract class ImageDownloadServlet extends DownloadServlet {
         final String srcStr = request.getParameter(SRC_PARAM);
         String fileName = null;
         String contentType = null;
-        byte[] attachment = null;
+        File file = null;
 
         if (srcStr != null) {
             final File iconDir = new File(directoryPath);
-            final File file = new File(iconDir, srcStr);
+            file = new File(iconDir, srcStr);
 
             final BonitaHomeFolderAccessor tenantFolder = new BonitaHomeFolderAccessor();
             try {
@@ -82,28 +81,20 @@ public abstract class ImageDownloadServlet extends DownloadServlet {
                 throw new ServletException(e);
             }
 
-            int fileLength = 0;
-            if (file.length() > Integer.MAX_VALUE) {
-                throw new ServletException("file " + srcStr + " too big !");
-            } else {
-                fileLength = (int) file.length();
+            if (!file.isFile()) {
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, "Image : No such file\n\t> " + srcStr);
+                }
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
             }
             if (fileName == null) {
                 fileName = file.getName();
             }
             final FileTypeMap mimetypesFileTypeMap = new MimetypesFileTypeMap();
             contentType = mimetypesFileTypeMap.getContentType(file);
-            try {
-                attachment = getFileContent(file, fileLength, srcStr);
-            } catch (final FileNotFoundException e) {
-                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-                return;
-            }
         }
 
-        if (contentType != null) {
-            response.setContentType(contentType);
-        }
         response.setCharacterEncoding("UTF-8");
         if (fileName != null) {
             try {
@@ -115,18 +106,10 @@ public abstract class ImageDownloadServlet extends DownloadServlet {
                     response.setHeader("Content-Disposition", "inline; filename=\"" + encodedfileName.replaceAll("\\+", " ") + "\"; filename*=UTF-8''"
                             + encodedfileName);
                 }
-                if (attachment != null) {
-                    response.setContentLength(attachment.length);
-                    OutputStream out = null;
-                    try {
-                        out = response.getOutputStream();
-                        out.write(attachment);
-                    } finally {
-                        if (out != null) {
-                            out.close();
-                        }
-                    }
-                }
+                sendFile(request, response, file, contentType);
+            } catch (final FileNotFoundException e) {
+                // deleted since it was checked
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             } catch (final IOException e) {
                 if (LOGGER.isLoggable(Level.SEVERE)) {
                     LOGGER.log(Level.SEVERE, "Error while generating the response.", e);
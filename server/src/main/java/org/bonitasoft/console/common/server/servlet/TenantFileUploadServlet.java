@@ -52,7 +52,7 @@ public class TenantFileUploadServlet extends FileUploadServlet {
     @Override
     protected void checkUploadSize(final HttpServletRequest request, final FileItem item) throws FileTooBigException {
         final long contentSize = item.getSize();
-        final long maxSize = getDefaultFormProperties(getAPISession(request).getTenantId()).getAttachmentMaxSize();
+        final long maxSize = getUploadMaxSize(request);
         if (contentSize > maxSize * 1048576) {
             final String errorMessage = "file " + item.getName() + " too big !";
             if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -62,6 +62,11 @@ public class TenantFileUploadServlet extends FileUploadServlet {
         }
     }
 
+    @Override
+    protected long getUploadMaxSize(final HttpServletRequest request) {
+        return getDefaultFormProperties(getAPISession(request).getTenantId()).getAttachmentMaxSize();
+    }
+
     protected DefaultFormsProperties getDefaultFormProperties(final long tenantId) {
         return DefaultFormsPropertiesFactory.getDefaultFormProperties(tenantId);
     }
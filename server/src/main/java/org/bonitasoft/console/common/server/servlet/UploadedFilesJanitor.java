@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.servlet;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delete the uploaded files once they are older than their time to live.<br>
+ * The upload servlets used to rely on {@link File#deleteOnExit()}, which keeps the path of every uploaded file in memory until the JVM stops.
+ * The directories in which files are uploaded are instead watched by a single background thread which regularly deletes the expired
+ * uploaded files.
+ */
+public class UploadedFilesJanitor {
+
+    /**
+     * Default time to live of an uploaded file in milliseconds (one day)
+     */
+    public static final long DEFAULT_TIME_TO_LIVE = 24 * 60 * 60 * 1000L;
+
+    /**
+     * Prefix of the name of the uploaded files (the other files of the directories are left untouched)
+     */
+    public static final String UPLOADED_FILE_PREFIX = "tmp_";
+
+    private static final long MIN_SWEEP_PERIOD = 60 * 1000L;
+
+    private static final long MAX_SWEEP_PERIOD = 60 * 60 * 1000L;
+
+    private static final Logger LOGGER = Logger.getLogger(UploadedFilesJanitor.class.getName());
+
+    private static final UploadedFilesJanitor INSTANCE = new UploadedFilesJanitor();
+
+    /**
+     * Time to live of the uploaded files by watched directory
+     */
+    private final ConcurrentMap<String, Long> timeToLiveByDirectory = new ConcurrentHashMap<String, Long>();
+
+    private volatile ScheduledExecutorService executor;
+
+    private long sweepPeriod;
+
+    public static UploadedFilesJanitor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Regularly delete the files uploaded in the directory which are older than the time to live (in milliseconds)
+     */
+    public void watch(final File directory, final long timeToLive) {
+        final Long previousTimeToLive = timeToLiveByDirectory.put(directory.getAbsolutePath(), timeToLive);
+        if (executor == null || previousTimeToLive == null || previousTimeToLive != timeToLive) {
+            start(timeToLive);
+        }
+    }
+
+    /**
+     * Stop the background thread (the watched directories are still swept if a directory is watched again)
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Delete the files of the watched directories which are expired
+     */
+    public void sweep() {
+        final long now = System.currentTimeMillis();
+        for (final Map.Entry<String, Long> directoryTimeToLive : timeToLiveByDirectory.entrySet()) {
+            sweep(new File(directoryTimeToLive.getKey()), directoryTimeToLive.getValue(), now);
+        }
+    }
+
+    /**
+     * @return the number of deleted files
+     */
+    int sweep(final File directory, final long timeToLive, final long now) {
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return 0;
+        }
+        int deletedFiles = 0;
+        for (final File file : files) {
+            if (file.isFile() && file.getName().startsWith(UPLOADED_FILE_PREFIX) && now - file.lastModified() > timeToLive) {
+                if (file.delete()) {
+                    deletedFiles++;
+                } else if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Unable to delete the expired uploaded file " + file.getPath());
+                }
+            }
+        }
+        if (deletedFiles > 0 && LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, deletedFiles + " expired uploaded files deleted from " + directory.getPath());
+        }
+        return deletedFiles;
+    }
+
+    private synchronized void start(final long timeToLive) {
+        final long period = Math.min(MAX_SWEEP_PERIOD, Math.max(MIN_SWEEP_PERIOD, timeToLive / 2));
+        if (executor != null) {
+            if (period >= sweepPeriod) {
+                // the current sweep period is already short enough
+                return;
+            }
+            executor.shutdownNow();
+        }
+        sweepPeriod = period;
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "Bonita-UploadedFilesJanitor");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.scheduleWithFixedDelay(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    sweep();
+                } catch (final RuntimeException e) {
+                    // the next sweeps must still happen
+                    if (LOGGER.isLoggable(Level.WARNING)) {
+                        LOGGER.log(Level.WARNING, "Error while deleting the expired uploaded files", e);
+                    }
+                }
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+}
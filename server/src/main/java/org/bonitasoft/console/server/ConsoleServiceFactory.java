@@ -1,6 +1,7 @@
 package org.bonitasoft.console.server;
 
 import org.bonitasoft.console.server.service.ApplicationsImportService;
+import org.bonitasoft.console.server.service.ImportStatusService;
 import org.bonitasoft.console.server.service.OrganizationImportService;
 import org.bonitasoft.console.server.service.ProcessActorImportService;
 import org.bonitasoft.web.toolkit.server.Service;
@@ -17,6 +18,8 @@ public class ConsoleServiceFactory implements ServiceFactory {
             return new ProcessActorImportService();
         } else if (ApplicationsImportService.TOKEN.equals(calledToolToken)) {
             return new ApplicationsImportService();
+        } else if (ImportStatusService.TOKEN.equals(calledToolToken)) {
+            return new ImportStatusService();
         }
         throw new ServiceNotFoundException(calledToolToken);
     }
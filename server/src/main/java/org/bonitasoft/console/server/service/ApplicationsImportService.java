@@ -19,6 +19,7 @@ import static org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n._;
 import java.util.List;
 import java.util.logging.Logger;
 
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.ImportStatus;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
@@ -30,6 +31,7 @@ import org.bonitasoft.engine.exception.ImportException;
 import org.bonitasoft.engine.exception.ServerAPIException;
 import org.bonitasoft.engine.exception.UnknownAPITypeException;
 import org.bonitasoft.engine.session.InvalidSessionException;
+import org.bonitasoft.livingapps.ApplicationModelCache;
 import org.bonitasoft.web.common.model.ImportStatusMessages;
 import org.bonitasoft.web.toolkit.client.common.texttemplate.Arg;
 
@@ -68,6 +70,10 @@ public class ApplicationsImportService extends BonitaImportService {
     public ImportStatusMessages importFileContent(final byte[] fileContent, final String importPolicyAsString) throws ExecutionException, ImportException, AlreadyExistsException, InvalidSessionException, BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException {
         final ApplicationImportPolicy importPolicy = ApplicationImportPolicy.valueOf(importPolicyAsString);
         final List<ImportStatus> ImportStatusList = getApplicationAPI().importApplications(fileContent, importPolicy);
+        // the living applications are served from a cache
+        ApplicationModelCache.getInstance(getTenantId()).clear();
+        // the imported applications may give new pages to the profiles
+        ProfilePermissionsCache.getInstance(getTenantId()).clear();
         return new ImportStatusMessages(ImportStatusList);
     }
 
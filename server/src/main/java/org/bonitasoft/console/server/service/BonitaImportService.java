@@ -17,13 +17,13 @@ package org.bonitasoft.console.server.service;
 import static org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n._;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.apache.commons.io.IOUtils;
+import javax.xml.stream.XMLStreamException;
+
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
 import org.bonitasoft.engine.exception.AlreadyExistsException;
 import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
@@ -60,10 +60,21 @@ abstract class BonitaImportService extends ConsoleService {
 
 
         final String importPolicyAsString = getParameter(IMPORT_POLICY_PARAM_NAME);
+        final ImportFile importFile = validateImportFile(xmlFile);
 
         try {
             final JacksonSerializer serializer = new JacksonSerializer();
-            final ImportStatusMessages importStatusMessages = importFileContent(readImportFile(xmlFile), importPolicyAsString);
+            if (isBackgroundImport(importFile.getSize())) {
+                final String description = getToken() + " (" + importFile.getSize() + " bytes)";
+                return serializer.serialize(submitBackgroundImport(description, new Callable<ImportStatusMessages>() {
+
+                    @Override
+                    public ImportStatusMessages call() throws Exception {
+                        return importFileContent(readImportFile(importFile), importPolicyAsString);
+                    }
+                }));
+            }
+            final ImportStatusMessages importStatusMessages = importFileContent(readImportFile(importFile), importPolicyAsString);
             return serializer.serialize(importStatusMessages);
         } catch (final InvalidSessionException e) {
             if (getLogger().isLoggable(Level.INFO)) {
@@ -93,25 +104,32 @@ abstract class BonitaImportService extends ConsoleService {
         }
     }
 
-    protected byte[] readImportFile(final File xmlFile) {
-        InputStream xmlStream = null;
-        byte[] content;
+    /**
+     * Read the file as a stream to reject it before calling the engine if it is malformed
+     */
+    protected ImportFile validateImportFile(final File xmlFile) {
         try {
-            xmlStream = new FileInputStream(xmlFile);
-            content = IOUtils.toByteArray(xmlStream);
-        } catch (final Exception e) {
-            throw new ServiceException(getFileReadingError(), e);
-        } finally {
-            if (xmlStream != null) {
-                try {
-                    xmlStream.close();
-                } catch (final IOException e) {
-                    xmlStream = null;
-                }
+            return new ImportFile(xmlFile).validate();
+        } catch (final XMLStreamException e) {
+            if (getLogger().isLoggable(Level.WARNING)) {
+                getLogger().log(Level.WARNING, e.getMessage(), e);
             }
+            throw new ServiceException(getToken(), getFileFormatExceptionMessage(), e);
+        } catch (final IOException e) {
+            throw new ServiceException(getFileReadingError(), e);
         }
+    }
+
+    protected byte[] readImportFile(final File xmlFile) {
+        return readImportFile(new ImportFile(xmlFile));
+    }
 
-        return content;
+    protected byte[] readImportFile(final ImportFile importFile) {
+        try {
+            return importFile.getContent();
+        } catch (final IOException e) {
+            throw new ServiceException(getFileReadingError(), e);
+        }
     }
 
     protected BonitaHomeFolderAccessor getTenantFolder() {
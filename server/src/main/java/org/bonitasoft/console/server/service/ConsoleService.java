@@ -16,6 +16,10 @@
  */
 package org.bonitasoft.console.server.service;
 
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.toolkit.server.Service;
 
@@ -25,6 +29,12 @@ import org.bonitasoft.web.toolkit.server.Service;
  */
 public abstract class ConsoleService extends Service {
 
+    /**
+     * Parameter with which the client asks for a big file to be imported in the background. The response is then the status of the queued
+     * import instead of the result of the import.
+     */
+    public static final String BACKGROUND_IMPORT_PARAM = "background";
+
     private APISession sessionSingleton = null;
 
     /**
@@ -37,4 +47,35 @@ public abstract class ConsoleService extends Service {
         return this.sessionSingleton;
     }
 
+    /**
+     * @return true if the client asked for a background import and the imported file is big enough to be imported in the background
+     */
+    protected boolean isBackgroundImport(final long fileSize) {
+        if (!isBackgroundImportRequested()) {
+            return false;
+        }
+        final long minSize = getImportBackgroundMinSize();
+        return minSize > 0 && fileSize >= minSize * 1048576;
+    }
+
+    /**
+     * Only the clients polling the import status can handle a background import
+     */
+    protected boolean isBackgroundImportRequested() {
+        return Boolean.parseBoolean(getParameter(BACKGROUND_IMPORT_PARAM));
+    }
+
+    protected long getImportBackgroundMinSize() {
+        return PropertiesFactory.getConsoleProperties(getSession().getTenantId()).getImportBackgroundMinSize();
+    }
+
+    /**
+     * Run the import in the background
+     *
+     * @return the status of the queued import
+     */
+    protected Map<String, Object> submitBackgroundImport(final String description, final Callable<?> importTask) {
+        return ImportJobs.getInstance().submit(getSession().getTenantId(), description, importTask);
+    }
+
 }
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.server.service;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Uploaded XML file to import.<br>
+ * The document is first read as a stream to reject a malformed file before calling the engine and to count its elements (e.g. the users,
+ * groups, roles and memberships of an organization). Its content is then read once in a single buffer for the engine.
+ */
+class ImportFile {
+
+    private static final String DEFAULT_ENCODING = "UTF-8";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+    private final File file;
+
+    private final Map<String, Integer> elementCounts = new HashMap<String, Integer>();
+
+    private String encoding = DEFAULT_ENCODING;
+
+    ImportFile(final File file) {
+        this.file = file;
+    }
+
+    private static XMLInputFactory createXMLInputFactory() {
+        final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        // the imported files never need a DTD or external entities
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
+
+    /**
+     * Read the whole document as a stream and count its elements
+     *
+     * @throws XMLStreamException
+     *             if the document is not well-formed
+     */
+    ImportFile validate() throws IOException, XMLStreamException {
+        elementCounts.clear();
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+            try {
+                encoding = getEncoding(reader);
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        final String elementName = reader.getLocalName();
+                        final Integer count = elementCounts.get(elementName);
+                        elementCounts.put(elementName, count == null ? 1 : count + 1);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return this;
+    }
+
+    private String getEncoding(final XMLStreamReader reader) {
+        if (reader.getCharacterEncodingScheme() != null) {
+            return reader.getCharacterEncodingScheme();
+        }
+        if (reader.getEncoding() != null) {
+            return reader.getEncoding();
+        }
+        return DEFAULT_ENCODING;
+    }
+
+    /**
+     * @return the number of elements of the document with this local name
+     */
+    int count(final String elementName) {
+        final Integer count = elementCounts.get(elementName);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return the number of elements of the document with these local names, e.g. "user: 3, group: 2"
+     */
+    String getSummary(final String... elementNames) {
+        final StringBuilder summary = new StringBuilder();
+        for (final String elementName : elementNames) {
+            if (summary.length() > 0) {
+                summary.append(", ");
+            }
+            summary.append(elementName).append(": ").append(count(elementName));
+        }
+        return summary.toString();
+    }
+
+    long getSize() {
+        return file.length();
+    }
+
+    byte[] getContent() throws IOException {
+        return Files.readAllBytes(file.toPath());
+    }
+
+    /**
+     * @return the content decoded with the encoding of the document
+     */
+    String getContentAsString() throws IOException {
+        return new String(getContent(), encoding);
+    }
+}
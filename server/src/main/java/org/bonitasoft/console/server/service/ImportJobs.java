@@ -0,0 +1,192 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.server.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Imports running in the background.<br>
+ * The big imports are run one after the other by a single thread instead of holding an HTTP thread (and the document) during the whole
+ * import. Their status can be read with the {@link ImportStatusService} until one hour after their end. The queued imports are dropped
+ * when the web application stops (see {@link #shutdown()}).
+ */
+public class ImportJobs {
+
+    public static final String STATE_QUEUED = "queued";
+
+    public static final String STATE_RUNNING = "running";
+
+    public static final String STATE_DONE = "done";
+
+    public static final String STATE_FAILED = "failed";
+
+    /**
+     * Time (in milliseconds) during which the status of a finished import is kept
+     */
+    static final long FINISHED_JOB_TIME_TO_LIVE = 60 * 60 * 1000L;
+
+    private static final Logger LOGGER = Logger.getLogger(ImportJobs.class.getName());
+
+    private static final ImportJobs INSTANCE = new ImportJobs();
+
+    private final ConcurrentMap<String, ImportJob> jobs = new ConcurrentHashMap<String, ImportJob>();
+
+    private ExecutorService executor;
+
+    public static ImportJobs getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue the import
+     *
+     * @param description
+     *            what is imported (e.g. the number of elements of each kind)
+     * @return the status of the queued import, including its id
+     */
+    public Map<String, Object> submit(final long tenantId, final String description, final Callable<?> importTask) {
+        removeExpiredJobs();
+        final ImportJob job = new ImportJob(UUID.randomUUID().toString(), tenantId, description);
+        jobs.put(job.id, job);
+        execute(new Runnable() {
+
+            @Override
+            public void run() {
+                job.run(importTask);
+            }
+        });
+        return job.getStatus();
+    }
+
+    private synchronized void execute(final Runnable runnable) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "Bonita-ImportJobs");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        executor.execute(runnable);
+    }
+
+    /**
+     * Drop the queued imports and interrupt the running one so that the import thread ends with the web application
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            final List<Runnable> droppedImports = executor.shutdownNow();
+            executor = null;
+            if (!droppedImports.isEmpty() && LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, droppedImports.size() + " queued background imports dropped");
+            }
+        }
+        jobs.clear();
+    }
+
+    /**
+     * @return the status of the import or null if it is unknown in this tenant
+     */
+    public Map<String, Object> getStatus(final long tenantId, final String id) {
+        final ImportJob job = id == null ? null : jobs.get(id);
+        if (job == null || job.tenantId != tenantId) {
+            return null;
+        }
+        return job.getStatus();
+    }
+
+    private void removeExpiredJobs() {
+        final long now = System.currentTimeMillis();
+        final Iterator<ImportJob> jobsIterator = jobs.values().iterator();
+        while (jobsIterator.hasNext()) {
+            final ImportJob job = jobsIterator.next();
+            if (job.endDate > 0 && now - job.endDate > FINISHED_JOB_TIME_TO_LIVE) {
+                jobsIterator.remove();
+            }
+        }
+    }
+
+    private static class ImportJob {
+
+        private final String id;
+
+        private final long tenantId;
+
+        private final String description;
+
+        private final long submissionDate = System.currentTimeMillis();
+
+        private volatile String state = STATE_QUEUED;
+
+        private volatile long startDate;
+
+        private volatile long endDate;
+
+        private volatile Object result;
+
+        private volatile String error;
+
+        private ImportJob(final String id, final long tenantId, final String description) {
+            this.id = id;
+            this.tenantId = tenantId;
+            this.description = description;
+        }
+
+        private void run(final Callable<?> importTask) {
+            startDate = System.currentTimeMillis();
+            state = STATE_RUNNING;
+            try {
+                result = importTask.call();
+                state = STATE_DONE;
+            } catch (final Exception e) {
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, "Background import " + id + " (" + description + ") failed", e);
+                }
+                error = e.getMessage();
+                state = STATE_FAILED;
+            } finally {
+                endDate = System.currentTimeMillis();
+            }
+        }
+
+        private Map<String, Object> getStatus() {
+            final Map<String, Object> status = new LinkedHashMap<String, Object>();
+            status.put("id", id);
+            status.put("state", state);
+            status.put("description", description);
+            status.put("submissionDate", submissionDate);
+            status.put("startDate", startDate);
+            status.put("endDate", endDate);
+            status.put("result", result);
+            status.put("error", error);
+            return status;
+        }
+    }
+}
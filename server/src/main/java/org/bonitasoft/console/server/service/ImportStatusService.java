@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.server.service;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.bonitasoft.web.rest.server.framework.json.JacksonSerializer;
+import org.bonitasoft.web.toolkit.server.ServiceException;
+
+/**
+ * Status of an import running in the background (see {@link ImportJobs})
+ */
+public class ImportStatusService extends ConsoleService {
+
+    public final static String TOKEN = "/import/status";
+
+    /**
+     * id of the import returned when it was submitted
+     */
+    public static final String IMPORT_ID_PARAM = "id";
+
+    @Override
+    public Object run() {
+        final String importId = getParameter(IMPORT_ID_PARAM);
+        final Map<String, Object> status = getImportJobs().getStatus(getTenantId(), importId);
+        if (status == null) {
+            throw new ServiceException(TOKEN, "Unknown import " + importId);
+        }
+        try {
+            return new JacksonSerializer().serialize(status);
+        } catch (final IOException e) {
+            throw new ServiceException(TOKEN, e);
+        }
+    }
+
+    protected ImportJobs getImportJobs() {
+        return ImportJobs.getInstance();
+    }
+
+    protected long getTenantId() {
+        return getSession().getTenantId();
+    }
+}
@@ -19,14 +19,15 @@ package org.bonitasoft.console.server.service;
 import static org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n._;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-import org.apache.commons.io.IOUtils;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
 import org.bonitasoft.engine.api.IdentityAPI;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
+import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.toolkit.server.ServiceException;
 
 /**
@@ -41,6 +42,10 @@ public class OrganizationImportService extends ConsoleService {
      */
     private static final String FILE_UPLOAD = "organizationDataUpload";
 
+    private static final String[] COUNTED_ELEMENTS = { "user", "group", "role", "membership" };
+
+    private static final Logger LOGGER = Logger.getLogger(OrganizationImportService.class.getName());
+
     @Override
     public Object run() {
         final BonitaHomeFolderAccessor tenantFolder = new BonitaHomeFolderAccessor();
@@ -52,28 +57,46 @@ public class OrganizationImportService extends ConsoleService {
             throw new ServiceException(TOKEN, e);
         }
 
-        InputStream xmlStream = null;
+        final ImportFile importFile;
         try {
-            xmlStream = new FileInputStream(xmlFile);
-            final byte[] organizationContent = IOUtils.toByteArray(xmlStream);
-            final IdentityAPI identityAPI = TenantAPIAccessor.getIdentityAPI(getSession());
-            identityAPI.importOrganization(new String(organizationContent));
+            // a malformed file is rejected before calling the engine
+            importFile = new ImportFile(xmlFile).validate();
         } catch (final Exception e) {
             throw new ServiceException(TOKEN, _("Can't import organization. Please check that your file is well-formed",
                     getLocale()), e);
-        } finally {
-            if (xmlStream != null) {
-                try {
-                    xmlStream.close();
-                } catch (final IOException e) {
-                    xmlStream = null;
+        }
+        final String summary = importFile.getSummary(COUNTED_ELEMENTS);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Importing organization (" + summary + ")");
+        }
+
+        if (isBackgroundImport(importFile.getSize())) {
+            final APISession apiSession = getSession();
+            return submitBackgroundImport("organization (" + summary + ")", new Callable<Void>() {
+
+                @Override
+                public Void call() throws Exception {
+                    importOrganization(apiSession, importFile);
+                    return null;
                 }
-            }
+            });
+        }
+
+        try {
+            importOrganization(getSession(), importFile);
+        } catch (final Exception e) {
+            throw new ServiceException(TOKEN, _("Can't import organization. Please check that your file is well-formed",
+                    getLocale()), e);
         }
 
         return "";
     }
 
+    protected void importOrganization(final APISession apiSession, final ImportFile importFile) throws Exception {
+        final IdentityAPI identityAPI = TenantAPIAccessor.getIdentityAPI(apiSession);
+        identityAPI.importOrganization(importFile.getContentAsString());
+    }
+
     protected long getTenantId() {
         return getSession().getTenantId();
     }
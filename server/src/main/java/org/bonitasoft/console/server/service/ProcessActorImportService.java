@@ -17,10 +17,10 @@
 package org.bonitasoft.console.server.service;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStream;
+import java.util.concurrent.Callable;
+
+import javax.xml.stream.XMLStreamException;
 
-import org.apache.commons.io.IOUtils;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
@@ -39,7 +39,6 @@ public class ProcessActorImportService extends ConsoleService {
 
     @Override
     public Object run() {
-        InputStream xmlStream = null;
         try {
             final BonitaHomeFolderAccessor tenantFolder = new BonitaHomeFolderAccessor();
             final File xmlFile = tenantFolder.getTempFile(getFileUploadParameter(),
@@ -49,11 +48,28 @@ public class ProcessActorImportService extends ConsoleService {
                 throw new Exception("File: " + getFileUploadParameter() + " does not exist.");
             }
 
+            final ImportFile importFile;
+            try {
+                // a malformed file is rejected before calling the engine
+                importFile = new ImportFile(xmlFile).validate();
+            } catch (final XMLStreamException e) {
+                throw new Exception("File: " + getFileUploadParameter() + " is not a well-formed XML document. " + e.getMessage(), e);
+            }
+
             final APISession apiSession = getSession();
-            xmlStream = new FileInputStream(xmlFile);
-            final byte[] actorsXmlContent = IOUtils.toByteArray(xmlStream);
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(apiSession);
-            processAPI.importActorMapping(Long.valueOf(getParameter("process_id")), actorsXmlContent);
+            final long processId = Long.valueOf(getParameter("process_id"));
+            if (isBackgroundImport(importFile.getSize())) {
+                return submitBackgroundImport("actor mapping of process " + processId + " (" + importFile.getSummary("actor") + ")",
+                        new Callable<Void>() {
+
+                            @Override
+                            public Void call() throws Exception {
+                                importActorMapping(apiSession, processId, importFile);
+                                return null;
+                            }
+                        });
+            }
+            importActorMapping(apiSession, processId, importFile);
 
         } catch (final InvalidSessionException e) {
             throw new APISessionInvalidException(e);
@@ -64,6 +80,11 @@ public class ProcessActorImportService extends ConsoleService {
         return "";
     }
 
+    protected void importActorMapping(final APISession apiSession, final long processId, final ImportFile importFile) throws Exception {
+        final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(apiSession);
+        processAPI.importActorMapping(processId, importFile.getContent());
+    }
+
     protected String getFileUploadParameter() {
         return getParameter("file");
     }
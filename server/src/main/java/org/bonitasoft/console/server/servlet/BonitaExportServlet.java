@@ -16,6 +16,7 @@ package org.bonitasoft.console.server.servlet;
 
 import static org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n._;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
@@ -54,16 +55,17 @@ abstract class BonitaExportServlet extends HttpServlet {
     protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws ServletException {
 
         final APISession apiSession = (APISession) request.getSession().getAttribute(SessionUtil.API_SESSION_PARAM_KEY);
-        OutputStream out = null;
         try {
             final long[] resourcesIDs = getResourcesAsList(request);
-            final byte[] resourceBytes = exportResources(resourcesIDs, apiSession);
-
             // Set response headers
             setResponseHeaders(request, response);
-            out = response.getOutputStream();
-            out.write(resourceBytes);
-            out.flush();
+            new ExportSpool(response).spool(getFileExportName(), new ExportSpool.Export() {
+
+                @Override
+                public void writeTo(final ExportSpool spool) throws Exception {
+                    exportResources(resourcesIDs, apiSession, spool);
+                }
+            });
 
         } catch (final InvalidSessionException e) {
             if (getLogger().isLoggable(Level.INFO)) {
@@ -75,14 +77,6 @@ abstract class BonitaExportServlet extends HttpServlet {
                 getLogger().log(Level.SEVERE, e.getMessage(), e);
             }
             throw new ServletException(e.getMessage(), e);
-        } finally {
-            try {
-                if (out != null) {
-                    out.close();
-                }
-            } catch (final Exception e) {
-                getLogger().log(Level.SEVERE, e.getMessage(), e);
-            }
         }
     }
 
@@ -126,6 +120,18 @@ abstract class BonitaExportServlet extends HttpServlet {
 
     protected abstract byte[] exportResources(final long[] ids, final APISession apiSession) throws BonitaHomeNotSetException, ServerAPIException, UnknownAPITypeException, ExecutionException, ExportException;
 
+    /**
+     * Write the export of the resources to the stream. The default implementation writes the array returned by
+     * {@link #exportResources(long[], APISession)}, exports able to produce their content incrementally should override it.
+     */
+    protected void exportResources(final long[] ids, final APISession apiSession, final OutputStream out) throws BonitaHomeNotSetException,
+            ServerAPIException, UnknownAPITypeException, ExecutionException, ExportException, IOException {
+        final byte[] resourceBytes = exportResources(ids, apiSession);
+        if (resourceBytes != null) {
+            out.write(resourceBytes);
+        }
+    }
+
     protected abstract Logger getLogger();
 
 }
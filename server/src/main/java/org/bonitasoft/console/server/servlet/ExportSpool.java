@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.server.servlet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Body of an export response, the export is streamed to the client while it is written.<br>
+ * The engine returns the exports as a whole (byte array or String), so they are written to the response without building another copy of
+ * them. Their size is not known when the headers are sent, so the headers are flushed first and the body is sent in chunks. The exports
+ * being built at the same time are also limited so that several big exports cannot exhaust the heap, the others wait for their turn.
+ */
+class ExportSpool extends OutputStream {
+
+    /**
+     * Max number of exports built at the same time
+     */
+    static final int MAX_CONCURRENT_EXPORTS = 4;
+
+    /**
+     * Time (in seconds) an export waits for its turn before being rejected
+     */
+    static final long QUEUE_TIMEOUT = 60;
+
+    private static final Logger LOGGER = Logger.getLogger(ExportSpool.class.getName());
+
+    private static final Semaphore EXPORT_PERMITS = new Semaphore(MAX_CONCURRENT_EXPORTS, true);
+
+    private static final String CHARSET = "UTF-8";
+
+    private final HttpServletResponse response;
+
+    private OutputStream out;
+
+    /**
+     * Content of an export, written in the spool once the turn of the export comes
+     */
+    interface Export {
+
+        void writeTo(ExportSpool exportSpool) throws Exception;
+    }
+
+    /**
+     * @param response
+     *            response in which the export is sent, its headers must be set before the export is spooled
+     */
+    ExportSpool(final HttpServletResponse response) {
+        this.response = response;
+    }
+
+    /**
+     * Wait for the turn of an export to be built, {@link #releasePermit()} must be called once it is sent
+     *
+     * @return false if the turn of the export did not come in time
+     */
+    static boolean acquirePermit() {
+        try {
+            return EXPORT_PERMITS.tryAcquire(QUEUE_TIMEOUT, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    static void releasePermit() {
+        EXPORT_PERMITS.release();
+    }
+
+    /**
+     * Once the turn of the export comes, flush the headers of the response and stream the export as its body. If the turn of the export
+     * does not come in time, the export is rejected with a 503 (Service Unavailable) telling the client when to retry.
+     *
+     * @param exportName
+     *            name of the export, used in the logs
+     * @return false if the export was rejected, the error is then already sent
+     */
+    boolean spool(final String exportName, final Export export) throws Exception {
+        if (!acquirePermit()) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Too many exports in progress, the export of " + exportName + " is rejected.");
+            }
+            response.reset();
+            response.setHeader("Retry-After", String.valueOf(QUEUE_TIMEOUT));
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return false;
+        }
+        try {
+            out = response.getOutputStream();
+            response.flushBuffer();
+            export.writeTo(this);
+            return true;
+        } finally {
+            try {
+                close();
+            } finally {
+                releasePermit();
+            }
+        }
+    }
+
+    /**
+     * Write the String encoded in UTF-8 without building its whole byte array
+     */
+    void write(final String exportContent) throws IOException {
+        if (exportContent == null) {
+            return;
+        }
+        final Writer writer = new OutputStreamWriter(this, CHARSET);
+        writer.write(exportContent);
+        writer.flush();
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        getOut().write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        getOut().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        getOut().flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+        }
+    }
+
+    private OutputStream getOut() throws IOException {
+        if (out == null) {
+            throw new IOException("The export can only be written once its turn comes.");
+        }
+        return out;
+    }
+}
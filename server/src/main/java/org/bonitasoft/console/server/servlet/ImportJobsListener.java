@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.server.servlet;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+import org.bonitasoft.console.server.service.ImportJobs;
+
+/**
+ * Shut down the {@link ImportJobs} when the web application stops, so that the queued imports are dropped and the import thread does not
+ * keep the web application classloader.
+ */
+public class ImportJobsListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(final ServletContextEvent sce) {
+        // the import thread is started by the first background import
+    }
+
+    @Override
+    public void contextDestroyed(final ServletContextEvent sce) {
+        ImportJobs.getInstance().shutdown();
+    }
+
+}
@@ -16,7 +16,6 @@
  */
 package org.bonitasoft.console.server.servlet;
 
-import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -57,10 +56,7 @@ public class OrganizationExportServlet extends HttpServlet {
     protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws ServletException {
 
         final APISession apiSession = (APISession) request.getSession().getAttribute(SessionUtil.API_SESSION_PARAM_KEY);
-        OutputStream out = null;
         try {
-            final String organizationContent = getIdentityAPI(apiSession).exportOrganization();
-
             // Set response headers
             response.setCharacterEncoding("UTF-8");
             response.setHeader("Expires", "0");
@@ -76,15 +72,13 @@ public class OrganizationExportServlet extends HttpServlet {
                         + encodedfileName);
             }
 
-            out = response.getOutputStream();
+            new ExportSpool(response).spool(EXPORT_FILE_NAME, new ExportSpool.Export() {
 
-            if (organizationContent == null) {
-                response.setContentLength(0);
-            } else {
-                response.setContentLength(organizationContent.getBytes().length);
-            }
-            out.write(organizationContent.getBytes());
-            out.flush();
+                @Override
+                public void writeTo(final ExportSpool spool) throws Exception {
+                    spool.write(getIdentityAPI(apiSession).exportOrganization());
+                }
+            });
 
         } catch (final InvalidSessionException e) {
             final String message = "Session expired. Please log in again.";
@@ -97,12 +91,6 @@ public class OrganizationExportServlet extends HttpServlet {
                 LOGGER.log(Level.SEVERE, e.getMessage(), e);
             }
             throw new ServletException(e.getMessage(), e);
-        } finally {
-            try {
-                out.close();
-            } catch (final Exception e) {
-                out = null;
-            }
         }
 
     }
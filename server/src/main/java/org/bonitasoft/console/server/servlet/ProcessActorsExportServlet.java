@@ -16,7 +16,6 @@
  */
 package org.bonitasoft.console.server.servlet;
 
-import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -27,7 +26,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.bonitasoft.console.common.server.utils.SessionUtil;
-import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.api.TenantAPIAccessor;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.engine.session.InvalidSessionException;
@@ -56,11 +54,7 @@ public class ProcessActorsExportServlet extends HttpServlet {
     protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws ServletException {
         final String processId = request.getParameter(PROCESS_ID);
         final APISession apiSession = (APISession) request.getSession().getAttribute(SessionUtil.API_SESSION_PARAM_KEY);
-        OutputStream out = null;
         try {
-            final ProcessAPI processAPI = TenantAPIAccessor.getProcessAPI(apiSession);
-            final String actorContent = processAPI.exportActorMapping(Long.parseLong(processId));
-
             // Set response headers
             response.setCharacterEncoding("UTF-8");
             response.setHeader("Expires", "0");
@@ -76,15 +70,13 @@ public class ProcessActorsExportServlet extends HttpServlet {
                         + encodedfileName);
             }
 
-            out = response.getOutputStream();
+            new ExportSpool(response).spool(processId + EXPORT_FILE_SUFFIX, new ExportSpool.Export() {
 
-            if (actorContent == null) {
-                response.setContentLength(0);
-            } else {
-                response.setContentLength(actorContent.length());
-            }
-            out.write(actorContent.getBytes());
-            out.flush();
+                @Override
+                public void writeTo(final ExportSpool spool) throws Exception {
+                    spool.write(TenantAPIAccessor.getProcessAPI(apiSession).exportActorMapping(Long.parseLong(processId)));
+                }
+            });
 
         } catch (final InvalidSessionException e) {
             final String message = "Session expires. Please login again.";
@@ -97,12 +89,6 @@ public class ProcessActorsExportServlet extends HttpServlet {
                 LOGGER.log(Level.SEVERE, e.getMessage(), e);
             }
             throw new ServletException(e.getMessage(), e);
-        } finally {
-            try {
-                out.close();
-            } catch (final Exception e) {
-                out = null;
-            }
         }
 
     }
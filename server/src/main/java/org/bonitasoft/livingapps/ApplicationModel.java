@@ -26,6 +26,7 @@ public class ApplicationModel {
     private final PageAPI pageApi;
     private final Application application;
     private final MenuFactory factory;
+    private final ApplicationModelCache cache;
 
     public ApplicationModel(
             final ApplicationAPI applicationApi,
@@ -33,11 +34,22 @@ public class ApplicationModel {
             final ProfileAPI profileApi,
             final Application application,
             final MenuFactory factory) {
+        this(applicationApi, pageApi, profileApi, application, factory, new ApplicationModelCache(0L, 0));
+    }
+
+    public ApplicationModel(
+            final ApplicationAPI applicationApi,
+            final PageAPI pageApi,
+            final ProfileAPI profileApi,
+            final Application application,
+            final MenuFactory factory,
+            final ApplicationModelCache cache) {
         this.applicationApi = applicationApi;
         this.pageApi = pageApi;
         this.profileApi = profileApi;
         this.application = application;
         this.factory = factory;
+        this.cache = cache;
     }
 
     public long getId() {
@@ -45,27 +57,59 @@ public class ApplicationModel {
     }
 
     public String getApplicationLayoutName() throws PageNotFoundException {
-        return pageApi.getPage(application.getLayoutId()).getName();
+        return getPageName(application.getLayoutId());
     }
 
     public String getApplicationThemeName() throws PageNotFoundException {
-        return pageApi.getPage(application.getThemeId()).getName();
+        return getPageName(application.getThemeId());
+    }
+
+    private String getPageName(final Long pageId) throws PageNotFoundException {
+        final String key = "pageName|" + pageId;
+        String pageName = cache.get(key);
+        if (pageName == null) {
+            pageName = pageApi.getPage(pageId).getName();
+            cache.put(key, pageName);
+        }
+        return pageName;
     }
 
     public String getApplicationHomePage() throws ApplicationPageNotFoundException {
-        return applicationApi.getApplicationHomePage(application.getId()).getToken() + "/";
+        final String key = "homePage|" + application.getId();
+        String homePage = cache.get(key);
+        if (homePage == null) {
+            homePage = applicationApi.getApplicationHomePage(application.getId()).getToken() + "/";
+            cache.put(key, homePage);
+        }
+        return homePage;
     }
 
     public boolean hasPage(final String pageToken) {
-        try {
-            applicationApi.getApplicationPage(application.getToken(), pageToken);
-            return true;
-        } catch (final ApplicationPageNotFoundException e) {
-            return false;
+        final String key = "hasPage|" + application.getId() + "|" + pageToken;
+        Boolean hasPage = cache.get(key);
+        if (hasPage == null) {
+            try {
+                applicationApi.getApplicationPage(application.getToken(), pageToken);
+                hasPage = true;
+            } catch (final ApplicationPageNotFoundException e) {
+                hasPage = false;
+            }
+            cache.put(key, hasPage);
         }
+        return hasPage;
     }
 
     public boolean authorize(final APISession session) {
+        final String key = "authorize|" + session.getId() + "|" + application.getId();
+        Boolean authorized = cache.get(key);
+        if (authorized == null) {
+            authorized = isInApplicationProfile(session);
+            cache.put(key, authorized);
+        }
+        return authorized;
+    }
+
+    private boolean isInApplicationProfile(final APISession session) {
         for (final Profile userProfile : getUserProfiles(session)) {
             if (userProfile.getId() == application.getProfileId()) {
                 return true;
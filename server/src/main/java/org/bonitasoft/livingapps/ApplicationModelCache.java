@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.livingapps;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * What the living applications of a tenant are made of (application, layout and theme names, home page, pages) and the authorizations
+ * of the sessions to access them, kept for a short time.<br>
+ * Displaying an application page and each resource of its layout and theme needs them, so without this cache the same engine searches
+ * would be made dozens of times per page. The cache is cleared each time the REST API changes an application, its pages or its menus and
+ * when applications are imported.
+ * Changes made outside of the REST API are seen once the values expire.
+ */
+public class ApplicationModelCache {
+
+    /**
+     * Time to live of a value in milliseconds
+     */
+    public static final long DEFAULT_TIME_TO_LIVE = 5000L;
+
+    /**
+     * Max number of values kept for a tenant
+     */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private static final ConcurrentMap<Long, ApplicationModelCache> INSTANCES = new ConcurrentHashMap<Long, ApplicationModelCache>();
+
+    private final ConcurrentMap<String, CachedValue> values = new ConcurrentHashMap<String, CachedValue>();
+
+    private final long timeToLive;
+
+    private final int maxSize;
+
+    public static ApplicationModelCache getInstance(final long tenantId) {
+        ApplicationModelCache applicationModelCache = INSTANCES.get(tenantId);
+        if (applicationModelCache == null) {
+            final ApplicationModelCache newApplicationModelCache = new ApplicationModelCache(DEFAULT_TIME_TO_LIVE, DEFAULT_MAX_SIZE);
+            applicationModelCache = INSTANCES.putIfAbsent(tenantId, newApplicationModelCache);
+            if (applicationModelCache == null) {
+                applicationModelCache = newApplicationModelCache;
+            }
+        }
+        return applicationModelCache;
+    }
+
+    public ApplicationModelCache(final long timeToLive, final int maxSize) {
+        this.timeToLive = timeToLive;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the value or null if it is unknown or expired
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key) {
+        final CachedValue cachedValue = values.get(key);
+        if (cachedValue == null) {
+            return null;
+        }
+        if (now() - cachedValue.creationTime > timeToLive) {
+            values.remove(key, cachedValue);
+            return null;
+        }
+        return (T) cachedValue.value;
+    }
+
+    public void put(final String key, final Object value) {
+        if (value == null || timeToLive <= 0) {
+            return;
+        }
+        if (values.size() >= maxSize) {
+            // values live a few seconds, there is no point in sorting them out
+            values.clear();
+        }
+        values.put(key, new CachedValue(value, now()));
+    }
+
+    /**
+     * Drop all the values of the tenant
+     */
+    public void clear() {
+        values.clear();
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private static class CachedValue {
+
+        private final Object value;
+
+        private final long creationTime;
+
+        private CachedValue(final Object value, final long creationTime) {
+            this.value = value;
+            this.creationTime = creationTime;
+        }
+    }
+}
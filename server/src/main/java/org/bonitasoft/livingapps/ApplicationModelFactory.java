@@ -16,15 +16,36 @@ public class ApplicationModelFactory {
     private final ApplicationAPI applicationApi;
     private final PageAPI customPageApi;
     private final ProfileAPI profileApi;
+    private final ApplicationModelCache cache;
 
     public ApplicationModelFactory(final ApplicationAPI applicationApi, final PageAPI customPageApi, final ProfileAPI profileApi) {
+        this(applicationApi, customPageApi, profileApi, new ApplicationModelCache(0L, 0));
+    }
+
+    public ApplicationModelFactory(final ApplicationAPI applicationApi, final PageAPI customPageApi, final ProfileAPI profileApi,
+            final ApplicationModelCache cache) {
         this.applicationApi = applicationApi;
         this.customPageApi = customPageApi;
         this.profileApi = profileApi;
+        this.cache = cache;
     }
 
     public ApplicationModel createApplicationModel(final String name) throws CreationException {
+        return new ApplicationModel(
+                applicationApi,
+                customPageApi,
+                profileApi,
+                getApplication(name),
+                new MenuFactory(applicationApi),
+                cache);
+    }
 
+    private Application getApplication(final String name) throws CreationException {
+        final String key = "application|" + name;
+        Application application = cache.get(key);
+        if (application != null) {
+            return application;
+        }
         try {
             final SearchResult<Application> result = applicationApi.searchApplications(
                     new SearchOptionsBuilder(0, 1)
@@ -34,13 +55,9 @@ public class ApplicationModelFactory {
             if (result.getCount() == 0) {
                 throw new CreationException("No application found with name " + name);
             }
-
-            return new ApplicationModel(
-                    applicationApi,
-                    customPageApi,
-                    profileApi,
-                    result.getResult().get(0),
-                    new MenuFactory(applicationApi));
+            application = result.getResult().get(0);
+            cache.put(key, application);
+            return application;
         } catch (final SearchException e) {
             throw new CreationException("Error while searching for the application " + name, e);
         }
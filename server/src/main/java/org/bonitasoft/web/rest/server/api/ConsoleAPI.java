@@ -17,10 +17,15 @@
 package org.bonitasoft.web.rest.server.api;
 
 import java.io.IOException;
+import java.util.Map;
 
+import org.bonitasoft.console.common.server.login.filter.DynamicPermissionsVerdictCache;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
 import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.ApplicationModelCache;
 import org.bonitasoft.web.rest.server.framework.API;
+import org.bonitasoft.web.rest.server.framework.CounterCache;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
 
 /**
@@ -40,6 +45,60 @@ public abstract class ConsoleAPI<T extends IItem> extends API<T> {
         return this.sessionSingleton;
     }
 
+    /**
+     * Get the value of a counter already computed during this request or, for a short time, by a previous request of the tenant
+     *
+     * @return the value of the counter or null if it has to be computed
+     */
+    protected Long getCount(final String counter, final Map<String, String> filters) {
+        Long count = getIdentityMap().getCount(counter, filters);
+        if (count == null) {
+            count = getCounterCache().get(counter, filters);
+            if (count != null) {
+                getIdentityMap().putCount(counter, filters, count);
+            }
+        }
+        return count;
+    }
+
+    protected void putCount(final String counter, final Map<String, String> filters, final Long count) {
+        getIdentityMap().putCount(counter, filters, count);
+        getCounterCache().put(counter, filters, count);
+    }
+
+    /**
+     * To call when the state of a case changes
+     */
+    protected void invalidateCounters() {
+        getCounterCache().clear();
+    }
+
+    /* this method is in visibility Public for testing purpose. */
+    public CounterCache getCounterCache() {
+        return CounterCache.getInstance(getEngineSession().getTenantId());
+    }
+
+    /**
+     * To call when the profiles or the memberships of users change since the dynamic permissions scripts may depend on them
+     */
+    protected void invalidatePermissionsVerdicts() {
+        DynamicPermissionsVerdictCache.getInstance(getEngineSession().getTenantId()).clear();
+    }
+
+    /**
+     * To call when an application, its pages or its menus change since the living applications are served from a cache
+     */
+    protected void invalidateApplicationModels() {
+        ApplicationModelCache.getInstance(getEngineSession().getTenantId()).clear();
+    }
+
+    /**
+     * To call when a page or an application changes since the permissions of the profiles computed at login are cached
+     */
+    protected void invalidateProfilePermissions() {
+        ProfilePermissionsCache.getInstance(getEngineSession().getTenantId()).clear();
+    }
+
     /* this method is in visibility Public for testing purpose. */
     @Override
     public String getCompleteTempFilePath(final String path) throws IOException {
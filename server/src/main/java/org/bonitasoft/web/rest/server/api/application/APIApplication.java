@@ -56,12 +56,18 @@ APIHasGet<ApplicationItem>, APIHasUpdate<ApplicationItem>, APIHasDelete {
 
     @Override
     public ApplicationItem add(final ApplicationItem item) {
-        return creator.create(getEngineSession()).add(item);
+        final ApplicationItem application = creator.create(getEngineSession()).add(item);
+        invalidateApplicationModels();
+        invalidateProfilePermissions();
+        return application;
     }
 
     @Override
     public ApplicationItem update(final APIID id, final Map<String, String> attributes) {
-        return creator.create(getEngineSession()).update(id, attributes);
+        final ApplicationItem application = creator.create(getEngineSession()).update(id, attributes);
+        invalidateApplicationModels();
+        invalidateProfilePermissions();
+        return application;
     }
 
     @Override
@@ -72,6 +78,8 @@ APIHasGet<ApplicationItem>, APIHasUpdate<ApplicationItem>, APIHasDelete {
     @Override
     public void delete(final List<APIID> ids) {
         creator.create(getEngineSession()).delete(ids);
+        invalidateApplicationModels();
+        invalidateProfilePermissions();
     }
 
     @Override
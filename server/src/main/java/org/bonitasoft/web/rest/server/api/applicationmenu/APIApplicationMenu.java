@@ -44,7 +44,9 @@ APIHasGet<ApplicationMenuItem>, APIHasDelete {
 
     @Override
     public ApplicationMenuItem add(final ApplicationMenuItem item) {
-        return creator.create(getEngineSession()).add(item);
+        final ApplicationMenuItem addedItem = creator.create(getEngineSession()).add(item);
+        invalidateApplicationModels();
+        return addedItem;
     }
 
     @Override
@@ -54,12 +56,15 @@ APIHasGet<ApplicationMenuItem>, APIHasDelete {
 
     @Override
     public ApplicationMenuItem update(final APIID id, final Map<String, String> attributes) {
-        return creator.create(getEngineSession()).update(id, attributes);
+        final ApplicationMenuItem updatedItem = creator.create(getEngineSession()).update(id, attributes);
+        invalidateApplicationModels();
+        return updatedItem;
     }
 
     @Override
     public void delete(final List<APIID> ids) {
         creator.create(getEngineSession()).delete(ids);
+        invalidateApplicationModels();
     }
 
     @Override
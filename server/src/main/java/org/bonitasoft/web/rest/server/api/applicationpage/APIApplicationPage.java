@@ -25,6 +25,7 @@ import org.bonitasoft.web.rest.server.framework.api.APIHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.APIHasGet;
 import org.bonitasoft.web.rest.server.framework.api.APIHasSearch;
 import org.bonitasoft.web.rest.server.framework.api.Datastore;
+import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.ItemDefinition;
 
 
@@ -41,7 +42,17 @@ public class APIApplicationPage extends ConsoleAPI<ApplicationPageItem> implemen
 
     @Override
     public ApplicationPageItem add(final ApplicationPageItem item) {
-        return factory.createApplicationPageDataStore(getEngineSession()).add(item);
+        final ApplicationPageItem applicationPage = factory.createApplicationPageDataStore(getEngineSession()).add(item);
+        invalidateApplicationModels();
+        invalidateProfilePermissions();
+        return applicationPage;
+    }
+
+    @Override
+    public void delete(final List<APIID> ids) {
+        super.delete(ids);
+        invalidateApplicationModels();
+        invalidateProfilePermissions();
     }
 
     @Override
@@ -14,15 +14,23 @@
  */
 package org.bonitasoft.web.rest.server.api.bpm.cases;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.bonitasoft.engine.bpm.process.ProcessInstanceCriterion;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseDefinition;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeItem;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessDefinition;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
+import org.bonitasoft.web.rest.model.identity.UserDefinition;
+import org.bonitasoft.web.rest.model.identity.UserItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
+import org.bonitasoft.web.rest.server.api.deployer.BatchDeployer;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.flownode.FlowNodeDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.ProcessDatastore;
@@ -50,7 +58,9 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
 
     @Override
     public CaseItem add(final CaseItem caseItem) {
-        return getCaseDatastore().add(caseItem);
+        final CaseItem startedCase = getCaseDatastore().add(caseItem);
+        invalidateCounters();
+        return startedCase;
     }
 
     @Override
@@ -82,11 +92,28 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
         fillProcess(item, deploys);
     }
 
+    @Override
+    protected void fillDeploys(final List<CaseItem> items, final List<String> deploys) {
+        final BatchDeployer<UserItem> userDeployer = new BatchDeployer<UserItem>(getIdentityMap().batchGetter(UserDefinition.TOKEN, getUserDatastore()),
+                CaseItem.ATTRIBUTE_STARTED_BY_USER_ID,
+                CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID);
+        final BatchDeployer<ProcessItem> processDeployer = new BatchDeployer<ProcessItem>(
+                getIdentityMap().batchGetter(ProcessDefinition.TOKEN, getProcessDatastore()), CaseItem.ATTRIBUTE_PROCESS_ID);
+        userDeployer.deployIn(items, deploys);
+        processDeployer.deployIn(items, deploys);
+
+        final List<String> deployedAttributes = Arrays.asList(
+                CaseItem.ATTRIBUTE_STARTED_BY_USER_ID,
+                CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID,
+                CaseItem.ATTRIBUTE_PROCESS_ID);
+        super.fillDeploys(items, getRemainingDeploys(deploys, deployedAttributes));
+    }
+
     private void fillStartedBy(final CaseItem item, final List<String> deploys) {
         if (isDeployable(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID, deploys, item)) {
             item.setDeploy(
                     CaseItem.ATTRIBUTE_STARTED_BY_USER_ID,
-                    getUserDatastore().get(item.getStartedByUserId()));
+                    getIdentityMap().getter(UserDefinition.TOKEN, getUserDatastore()).get(item.getStartedByUserId()));
         }
     }
 
@@ -94,7 +121,7 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
         if (isDeployable(CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID, deploys, item)) {
             item.setDeploy(
                     CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID,
-                    getUserDatastore().get(item.getStartedBySubstituteUserId()));
+                    getIdentityMap().getter(UserDefinition.TOKEN, getUserDatastore()).get(item.getStartedBySubstituteUserId()));
         }
     }
 
@@ -102,32 +129,81 @@ public class APICase extends ConsoleAPI<CaseItem> implements APIHasGet<CaseItem>
         if (isDeployable(CaseItem.ATTRIBUTE_PROCESS_ID, deploys, item)) {
             item.setDeploy(
                     CaseItem.ATTRIBUTE_PROCESS_ID,
-                    getProcessDatastore().get(item.getProcessId()));
+                    getIdentityMap().getter(ProcessDefinition.TOKEN, getProcessDatastore()).get(item.getProcessId()));
         }
     }
 
     private void fillNumberOfFailedFlowNodesIfFailedCounterExists(final CaseItem item, final List<String> counters) {
         if (counters.contains(CaseItem.COUNTER_FAILED_FLOW_NODES)) {
-            final FlowNodeDatastore flowNodeDatastore = getFlowNodeDatastore();
-            final Map<String, String> filters = new HashMap<String, String>();
-            filters.put(FlowNodeItem.ATTRIBUTE_STATE, FlowNodeItem.VALUE_STATE_FAILED);
-            filters.put(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, String.valueOf(item.getId().toLong()));
-            item.setAttribute(CaseItem.COUNTER_FAILED_FLOW_NODES, flowNodeDatastore.count(null, null, filters));
+            item.setAttribute(CaseItem.COUNTER_FAILED_FLOW_NODES,
+                    countFlowNodes(CaseItem.COUNTER_FAILED_FLOW_NODES, getCaseFlowNodesFilters(getFailedFlowNodesFilters(), item.getId())));
         }
     }
 
     private void fillNumberOfPendingFlowNodesIfActiveCounterExists(final CaseItem item, final List<String> counters) {
         if (counters.contains(CaseItem.COUNTER_ACTIVE_FLOW_NODES)) {
-            final FlowNodeDatastore flowNodeDatastore = getFlowNodeDatastore();
-            final Map<String, String> filters = new HashMap<String, String>();
-            filters.put(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, String.valueOf(item.getId().toLong()));
-            item.setAttribute(CaseItem.COUNTER_ACTIVE_FLOW_NODES, flowNodeDatastore.count(null, null, filters));
+            item.setAttribute(CaseItem.COUNTER_ACTIVE_FLOW_NODES,
+                    countFlowNodes(CaseItem.COUNTER_ACTIVE_FLOW_NODES, getCaseFlowNodesFilters(new HashMap<String, String>(), item.getId())));
+        }
+    }
+
+    /**
+     * Compute each counter of the whole page with one grouped search of the flow nodes of all the cases whose counter is not cached
+     */
+    @Override
+    protected void fillCounters(final List<CaseItem> items, final List<String> counters) {
+        if (counters.contains(CaseItem.COUNTER_FAILED_FLOW_NODES)) {
+            fillFlowNodesCounter(items, CaseItem.COUNTER_FAILED_FLOW_NODES, getFailedFlowNodesFilters());
+        }
+        if (counters.contains(CaseItem.COUNTER_ACTIVE_FLOW_NODES)) {
+            fillFlowNodesCounter(items, CaseItem.COUNTER_ACTIVE_FLOW_NODES, new HashMap<String, String>());
+        }
+    }
+
+    private void fillFlowNodesCounter(final List<CaseItem> items, final String counter, final Map<String, String> flowNodesFilters) {
+        final Set<APIID> uncountedCaseIds = new LinkedHashSet<APIID>();
+        for (final CaseItem item : items) {
+            if (getCount(counter, getCaseFlowNodesFilters(flowNodesFilters, item.getId())) == null) {
+                uncountedCaseIds.add(item.getId());
+            }
+        }
+        // a single case is cheaper to count without retrieving its flow nodes
+        if (uncountedCaseIds.size() > 1) {
+            final Map<APIID, Long> groupedCounts = getFlowNodeDatastore().countGroupedByParentCase(uncountedCaseIds, flowNodesFilters);
+            for (final APIID caseId : uncountedCaseIds) {
+                putCount(counter, getCaseFlowNodesFilters(flowNodesFilters, caseId), groupedCounts.get(caseId));
+            }
+        }
+        for (final CaseItem item : items) {
+            item.setAttribute(counter, countFlowNodes(counter, getCaseFlowNodesFilters(flowNodesFilters, item.getId())));
+        }
+    }
+
+    private Map<String, String> getFailedFlowNodesFilters() {
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put(FlowNodeItem.ATTRIBUTE_STATE, FlowNodeItem.VALUE_STATE_FAILED);
+        return filters;
+    }
+
+    private Map<String, String> getCaseFlowNodesFilters(final Map<String, String> flowNodesFilters, final APIID caseId) {
+        final Map<String, String> filters = new HashMap<String, String>(flowNodesFilters);
+        filters.put(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, String.valueOf(caseId.toLong()));
+        return filters;
+    }
+
+    private Long countFlowNodes(final String counter, final Map<String, String> filters) {
+        Long count = getCount(counter, filters);
+        if (count == null) {
+            count = getFlowNodeDatastore().count(null, null, filters);
+            putCount(counter, filters, count);
         }
+        return count;
     }
 
     @Override
     public void delete(final List<APIID> ids) {
         getCaseDatastore().delete(ids);
+        invalidateCounters();
     }
 
     @Override
@@ -15,19 +15,30 @@
 package org.bonitasoft.web.rest.server.api.bpm.flownode;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.bonitasoft.engine.bpm.flownode.FlowNodeInstanceSearchDescriptor;
 import org.bonitasoft.web.rest.model.bpm.cases.ArchivedCaseItem;
+import org.bonitasoft.web.rest.model.bpm.cases.CaseDefinition;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.ArchivedHumanTaskItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeDefinition;
 import org.bonitasoft.web.rest.model.bpm.flownode.FlowNodeItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.HumanTaskItem;
 import org.bonitasoft.web.rest.model.bpm.flownode.IFlowNodeItem;
+import org.bonitasoft.web.rest.model.bpm.process.ActorDefinition;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessDefinition;
+import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
+import org.bonitasoft.web.rest.model.identity.UserDefinition;
+import org.bonitasoft.web.rest.model.identity.UserItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
+import org.bonitasoft.web.rest.server.api.deployer.BatchDeployer;
 import org.bonitasoft.web.rest.server.api.deployer.GenericDeployer;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.ArchivedCaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore;
@@ -94,7 +105,10 @@ APIHasSearch<ITEM> {
             throw new APIException("Can't update a flow node state to \"" + state + "\"");
         }
 
-        return super.update(id, attributes);
+        final ITEM updatedItem = super.update(id, attributes);
+        // executing, skipping or replaying a flow node may change the state of its case
+        invalidateCounters();
+        return updatedItem;
     }
 
     protected boolean isAllowedState(final String state) {
@@ -113,49 +127,52 @@ APIHasSearch<ITEM> {
         /** TODO Refactor to an oriented object (cf. WEB-1637 ) */
         if (isDeployable(FlowNodeItem.ATTRIBUTE_PROCESS_ID, deploys, item)) {
             item.setDeploy(FlowNodeItem.ATTRIBUTE_PROCESS_ID,
-                    new ProcessDatastore(getEngineSession()).get(item.getProcessId()));
+                    getIdentityMap().getter(ProcessDefinition.TOKEN, getProcessDatastore()).get(item.getProcessId()));
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_CASE_ID, deploys, item) || isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CASE_ID, deploys, item)) {
-            final CaseItem item2 = getCaseDatastore().get(item.getCaseId());
+            final CaseItem item2 = getIdentityMap().getter(CaseDefinition.TOKEN, getCaseDatastore()).get(item.getCaseId());
             item.setDeploy(FlowNodeItem.ATTRIBUTE_CASE_ID, item2);
             item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CASE_ID, item2);
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, deploys, item)) {
             item.setDeploy(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID,
-                    getCaseDatastore().get(item.getParentCaseId()));
+                    getIdentityMap().getter(CaseDefinition.TOKEN, getCaseDatastore()).get(item.getParentCaseId()));
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, deploys, item)) {
-            CaseItem rootContainerCase = getCaseDatastore().get(item
+            CaseItem rootContainerCase = getIdentityMap().getter(CaseDefinition.TOKEN, getCaseDatastore()).get(item
                     .getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ROOT_CONTAINER_ID));
             if (rootContainerCase == null) {
                 rootContainerCase = getArchivedCase(item.getAttributeValue(HumanTaskItem.ATTRIBUTE_ROOT_CONTAINER_ID));
             }
             if (rootContainerCase != null) {
-                item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, new ProcessDatastore(getEngineSession()).get(rootContainerCase.getProcessId()));
+                item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID,
+                        getIdentityMap().getter(ProcessDefinition.TOKEN, getProcessDatastore()).get(rootContainerCase.getProcessId()));
             }
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID, deploys, item)) {
             item.setDeploy(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID,
-                    new UserDatastore(getEngineSession()).get(item.getExecutedByUserId()));
+                    getIdentityMap().getter(UserDefinition.TOKEN, getUserDatastore()).get(item.getExecutedByUserId()));
         }
 
         if (isDeployable(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID, deploys, item)) {
             item.setDeploy(FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID,
-                    new UserDatastore(getEngineSession()).get(item.getExecutedBySubstituteUserId()));
+                    getIdentityMap().getter(UserDefinition.TOKEN, getUserDatastore()).get(item.getExecutedBySubstituteUserId()));
         }
 
         if (isDeployable(HumanTaskItem.ATTRIBUTE_ACTOR_ID, deploys, item)) {
             item.setDeploy(HumanTaskItem.ATTRIBUTE_ACTOR_ID,
-                    new ActorDatastore(getEngineSession()).get(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ACTOR_ID)));
+                    getIdentityMap().getter(ActorDefinition.TOKEN, new ActorDatastore(getEngineSession()))
+                            .get(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ACTOR_ID)));
         }
 
         if (isDeployable(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID, deploys, item)) {
             item.setDeploy(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID,
-                    new UserDatastore(getEngineSession()).get(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID)));
+                    getIdentityMap().getter(UserDefinition.TOKEN, getUserDatastore())
+                            .get(item.getAttributeValueAsAPIID(HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID)));
         }
 
         addDeployer(new GenericDeployer<IItem>(new DatastoreHasGet<IItem>() {
@@ -171,6 +188,116 @@ APIHasSearch<ITEM> {
         super.fillDeploys(item, deploys);
     }
 
+    /**
+     * Deploys resolved for the whole search result page at once by {@link #fillDeploys(List, List)}
+     */
+    private static final List<String> BATCH_DEPLOYS = Arrays.asList(
+            FlowNodeItem.ATTRIBUTE_PROCESS_ID,
+            FlowNodeItem.ATTRIBUTE_CASE_ID,
+            FlowNodeItem.ATTRIBUTE_ROOT_CASE_ID,
+            FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID,
+            FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID,
+            FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID,
+            FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID,
+            HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID);
+
+    @Override
+    protected void fillDeploys(final List<ITEM> items, final List<String> deploys) {
+        fillCaseAndProcessDeploys(items, deploys);
+        new BatchDeployer<UserItem>(getIdentityMap().batchGetter(UserDefinition.TOKEN, getUserDatastore()),
+                FlowNodeItem.ATTRIBUTE_EXECUTED_BY_USER_ID,
+                FlowNodeItem.ATTRIBUTE_EXECUTED_BY_SUBSTITUTE_USER_ID,
+                HumanTaskItem.ATTRIBUTE_ASSIGNED_USER_ID).deployIn(items, deploys);
+
+        super.fillDeploys(items, getRemainingDeploys(deploys, BATCH_DEPLOYS));
+    }
+
+    /**
+     * Retrieve all the cases referenced by the items with one search, the archived root containers which are not live cases anymore with
+     * another one, then all the processes (of the items and of their root containers) with a last one
+     */
+    private void fillCaseAndProcessDeploys(final List<ITEM> items, final List<String> deploys) {
+        final Set<APIID> caseIds = new LinkedHashSet<APIID>();
+        for (final ITEM item : items) {
+            if (isCaseDeployable(item, deploys)) {
+                caseIds.add(item.getCaseId());
+            }
+            if (isDeployable(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, deploys, item)) {
+                caseIds.add(item.getParentCaseId());
+            }
+            if (isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, deploys, item)) {
+                caseIds.add(item.getAttributeValueAsAPIID(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID));
+            }
+        }
+        caseIds.remove(null);
+        final Map<APIID, CaseItem> cases = caseIds.isEmpty() ? new HashMap<APIID, CaseItem>() : getIdentityMap().batchGetter(CaseDefinition.TOKEN, getCaseDatastore()).get(caseIds);
+
+        final Set<APIID> archivedRootContainerIds = new LinkedHashSet<APIID>();
+        for (final ITEM item : items) {
+            if (isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, deploys, item)) {
+                final APIID rootContainerId = item.getAttributeValueAsAPIID(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID);
+                if (rootContainerId != null && !cases.containsKey(rootContainerId)) {
+                    archivedRootContainerIds.add(rootContainerId);
+                }
+            }
+        }
+        final Map<APIID, ArchivedCaseItem> archivedRootContainerCases = getArchivedCaseDatastore().getBySourceObjectIds(archivedRootContainerIds);
+
+        final Map<APIID, CaseItem> rootContainerCases = new HashMap<APIID, CaseItem>();
+        final Set<APIID> processIds = new LinkedHashSet<APIID>();
+        for (final ITEM item : items) {
+            if (isDeployable(FlowNodeItem.ATTRIBUTE_PROCESS_ID, deploys, item)) {
+                processIds.add(item.getProcessId());
+            }
+            if (isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, deploys, item)) {
+                final APIID rootContainerId = item.getAttributeValueAsAPIID(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID);
+                CaseItem rootContainerCase = cases.get(rootContainerId);
+                if (rootContainerCase == null) {
+                    rootContainerCase = archivedRootContainerCases.get(rootContainerId);
+                }
+                if (rootContainerCase != null) {
+                    rootContainerCases.put(rootContainerId, rootContainerCase);
+                    processIds.add(rootContainerCase.getProcessId());
+                }
+            }
+        }
+        processIds.remove(null);
+        final Map<APIID, ProcessItem> processes = processIds.isEmpty() ? new HashMap<APIID, ProcessItem>() : getIdentityMap().batchGetter(ProcessDefinition.TOKEN, getProcessDatastore())
+                .get(processIds);
+
+        for (final ITEM item : items) {
+            if (isDeployable(FlowNodeItem.ATTRIBUTE_PROCESS_ID, deploys, item)) {
+                item.setDeploy(FlowNodeItem.ATTRIBUTE_PROCESS_ID, processes.get(item.getProcessId()));
+            }
+            if (isCaseDeployable(item, deploys)) {
+                final CaseItem caseItem = cases.get(item.getCaseId());
+                item.setDeploy(FlowNodeItem.ATTRIBUTE_CASE_ID, caseItem);
+                item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CASE_ID, caseItem);
+            }
+            if (isDeployable(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, deploys, item)) {
+                item.setDeploy(FlowNodeItem.ATTRIBUTE_PARENT_CASE_ID, cases.get(item.getParentCaseId()));
+            }
+            if (isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, deploys, item)) {
+                final CaseItem rootContainerCase = rootContainerCases.get(item.getAttributeValueAsAPIID(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID));
+                if (rootContainerCase != null) {
+                    item.setDeploy(FlowNodeItem.ATTRIBUTE_ROOT_CONTAINER_ID, processes.get(rootContainerCase.getProcessId()));
+                }
+            }
+        }
+    }
+
+    private boolean isCaseDeployable(final ITEM item, final List<String> deploys) {
+        return isDeployable(FlowNodeItem.ATTRIBUTE_CASE_ID, deploys, item) || isDeployable(FlowNodeItem.ATTRIBUTE_ROOT_CASE_ID, deploys, item);
+    }
+
+    protected ProcessDatastore getProcessDatastore() {
+        return new ProcessDatastore(getEngineSession());
+    }
+
+    protected UserDatastore getUserDatastore() {
+        return new UserDatastore(getEngineSession());
+    }
+
     protected CaseDatastore getCaseDatastore() {
         return new CaseDatastore(getEngineSession());
     }
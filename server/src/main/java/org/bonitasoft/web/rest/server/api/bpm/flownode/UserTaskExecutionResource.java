@@ -22,6 +22,7 @@ import org.bonitasoft.engine.bpm.flownode.FlowNodeExecutionException;
 import org.bonitasoft.engine.bpm.flownode.UserTaskNotFoundException;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.server.api.resource.CommonResource;
+import org.bonitasoft.web.rest.server.framework.CounterCache;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.restlet.resource.Post;
 
@@ -66,6 +67,7 @@ public class UserTaskExecutionResource extends CommonResource {
     		}
             //clean temp files
             deleteFiles(taskContract, inputs, maxSizeForTenant, tenantId);
+            CounterCache.getInstance(tenantId).clear();
 
         } catch (final ContractViolationException e) {
             manageContractViolationException(e, "Cannot execute task.");
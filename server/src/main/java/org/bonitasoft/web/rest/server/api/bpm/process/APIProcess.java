@@ -17,8 +17,10 @@ package org.bonitasoft.web.rest.server.api.bpm.process;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
@@ -26,7 +28,10 @@ import org.bonitasoft.engine.bpm.process.ProcessInstanceState;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
 import org.bonitasoft.web.rest.model.bpm.process.ProcessDefinition;
 import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
+import org.bonitasoft.web.rest.model.identity.UserDefinition;
+import org.bonitasoft.web.rest.model.identity.UserItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
+import org.bonitasoft.web.rest.server.api.deployer.BatchDeployer;
 import org.bonitasoft.web.rest.server.api.deployer.UserDeployer;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.ProcessDatastore;
@@ -138,15 +143,24 @@ APIHasDelete
     @Override
     public void delete(final List<APIID> ids) {
         getProcessDatastore().delete(ids);
+        invalidateCounters();
     }
 
     @Override
     protected void fillDeploys(final ProcessItem item, final List<String> deploys) {
         addDeployer(new UserDeployer(
-                new UserDatastore(getEngineSession()), ProcessItem.ATTRIBUTE_DEPLOYED_BY_USER_ID));
+                getIdentityMap().getter(UserDefinition.TOKEN, getUserDatastore()), ProcessItem.ATTRIBUTE_DEPLOYED_BY_USER_ID));
         super.fillDeploys(item, deploys);
     }
 
+    @Override
+    protected void fillDeploys(final List<ProcessItem> items, final List<String> deploys) {
+        final BatchDeployer<UserItem> userDeployer = new BatchDeployer<UserItem>(getIdentityMap().batchGetter(UserDefinition.TOKEN, getUserDatastore()),
+                ProcessItem.ATTRIBUTE_DEPLOYED_BY_USER_ID);
+        userDeployer.deployIn(items, deploys);
+        super.fillDeploys(items, getRemainingDeploys(deploys, userDeployer.getDeployedAttributes()));
+    }
+
     @Override
     protected void fillCounters(final ProcessItem item, final List<String> counters) {
         fillNumberOfFailedCasesIfFailedCounterExists(item, counters);
@@ -155,22 +169,77 @@ APIHasDelete
 
     private void fillNumberOfFailedCasesIfFailedCounterExists(final ProcessItem item, final List<String> counters) {
         if (counters.contains(ProcessItem.COUNTER_FAILED_CASES)) {
-            final Map<String, String> filters = new HashMap<String, String>();
-            filters.put(CaseItem.FILTER_CALLER, "any");
-            filters.put(CaseItem.ATTRIBUTE_PROCESS_ID, item.getId().toString());
-            filters.put(CaseItem.FILTER_STATE, ProcessInstanceState.ERROR.name());
-            item.setAttribute(ProcessItem.COUNTER_FAILED_CASES, getCaseDatastore().count(null, null, filters));
+            item.setAttribute(ProcessItem.COUNTER_FAILED_CASES,
+                    countCases(ProcessItem.COUNTER_FAILED_CASES, getProcessCasesFilters(getFailedCasesFilters(), item.getId())));
         }
     }
 
     private void fillNumberOfOpenCasesIfOpenCounterExists(final ProcessItem item, final List<String> counters) {
         if (counters.contains(ProcessItem.COUNTER_OPEN_CASES)) {
-            // Open is all states without the terminal states
-            final Map<String, String> filters = new HashMap<String, String>();
-            filters.put(CaseItem.FILTER_CALLER, "any");
-            filters.put(CaseItem.ATTRIBUTE_PROCESS_ID, item.getId().toString());
-            item.setAttribute(ProcessItem.COUNTER_OPEN_CASES, getCaseDatastore().count(null, null, filters));
+            item.setAttribute(ProcessItem.COUNTER_OPEN_CASES,
+                    countCases(ProcessItem.COUNTER_OPEN_CASES, getProcessCasesFilters(getOpenCasesFilters(), item.getId())));
+        }
+    }
+
+    /**
+     * Compute each counter of the whole page with one grouped search of the cases of all the processes whose counter is not cached
+     */
+    @Override
+    protected void fillCounters(final List<ProcessItem> items, final List<String> counters) {
+        if (counters.contains(ProcessItem.COUNTER_FAILED_CASES)) {
+            fillCasesCounter(items, ProcessItem.COUNTER_FAILED_CASES, getFailedCasesFilters());
+        }
+        if (counters.contains(ProcessItem.COUNTER_OPEN_CASES)) {
+            fillCasesCounter(items, ProcessItem.COUNTER_OPEN_CASES, getOpenCasesFilters());
+        }
+    }
+
+    private void fillCasesCounter(final List<ProcessItem> items, final String counter, final Map<String, String> casesFilters) {
+        final Set<APIID> uncountedProcessIds = new LinkedHashSet<APIID>();
+        for (final ProcessItem item : items) {
+            if (getCount(counter, getProcessCasesFilters(casesFilters, item.getId())) == null) {
+                uncountedProcessIds.add(item.getId());
+            }
         }
+        // a single process is cheaper to count without retrieving its cases
+        if (uncountedProcessIds.size() > 1) {
+            final Map<APIID, Long> groupedCounts = getCaseDatastore().countGroupedByProcess(uncountedProcessIds, casesFilters);
+            for (final APIID processId : uncountedProcessIds) {
+                putCount(counter, getProcessCasesFilters(casesFilters, processId), groupedCounts.get(processId));
+            }
+        }
+        for (final ProcessItem item : items) {
+            item.setAttribute(counter, countCases(counter, getProcessCasesFilters(casesFilters, item.getId())));
+        }
+    }
+
+    private Map<String, String> getFailedCasesFilters() {
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put(CaseItem.FILTER_CALLER, "any");
+        filters.put(CaseItem.FILTER_STATE, ProcessInstanceState.ERROR.name());
+        return filters;
+    }
+
+    private Map<String, String> getOpenCasesFilters() {
+        // Open is all states without the terminal states
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put(CaseItem.FILTER_CALLER, "any");
+        return filters;
+    }
+
+    private Map<String, String> getProcessCasesFilters(final Map<String, String> casesFilters, final APIID processId) {
+        final Map<String, String> filters = new HashMap<String, String>(casesFilters);
+        filters.put(CaseItem.ATTRIBUTE_PROCESS_ID, processId.toString());
+        return filters;
+    }
+
+    private Long countCases(final String counter, final Map<String, String> filters) {
+        Long count = getCount(counter, filters);
+        if (count == null) {
+            count = getCaseDatastore().count(null, null, filters);
+            putCount(counter, filters, count);
+        }
+        return count;
     }
 
     String uploadIcon(final String iconTempPath) {
@@ -200,4 +269,8 @@ APIHasDelete
         return new CaseDatastore(getEngineSession());
     }
 
+    protected UserDatastore getUserDatastore() {
+        return new UserDatastore(getEngineSession());
+    }
+
 }
@@ -30,6 +30,7 @@ import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
 import org.bonitasoft.web.rest.server.api.resource.CommonResource;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseItemConverter;
+import org.bonitasoft.web.rest.server.framework.CounterCache;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.restlet.resource.Post;
 
@@ -76,6 +77,7 @@ public class ProcessInstantiationResource extends CommonResource {
             }
             //clean temp files
             deleteFiles(processContract, inputs, maxSizeForTenant, tenantId);
+            CounterCache.getInstance(tenantId).clear();
 
             final JsonNodeFactory factory = JsonNodeFactory.instance;
             final ObjectNode returnedObject = factory.objectNode();
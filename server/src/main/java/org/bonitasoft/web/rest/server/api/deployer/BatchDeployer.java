@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.deployer;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBatchGet;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+
+/**
+ * Deploy attributes referencing the same type of item in a list of items.<br>
+ * The distinct ids referenced by all the items are retrieved with a single call to the datastore.
+ */
+public class BatchDeployer<I extends IItem> {
+
+    private final DatastoreHasBatchGet<I> getter;
+
+    private final List<String> attributes;
+
+    public BatchDeployer(final DatastoreHasBatchGet<I> getter, final String... attributes) {
+        this.getter = getter;
+        this.attributes = Arrays.asList(attributes);
+    }
+
+    public List<String> getDeployedAttributes() {
+        return attributes;
+    }
+
+    public void deployIn(final List<? extends IItem> items, final List<String> deploys) {
+        final Set<APIID> ids = new LinkedHashSet<APIID>();
+        for (final String attribute : attributes) {
+            if (deploys.contains(attribute)) {
+                for (final IItem item : items) {
+                    final APIID id = item.getAttributeValueAsAPIID(attribute);
+                    if (id != null) {
+                        ids.add(id);
+                    }
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        final Map<APIID, I> deployedItems = getter.get(ids);
+        for (final String attribute : attributes) {
+            if (deploys.contains(attribute)) {
+                for (final IItem item : items) {
+                    final APIID id = item.getAttributeValueAsAPIID(attribute);
+                    if (id != null && deployedItems.containsKey(id)) {
+                        item.setDeploy(attribute, deployedItems.get(id));
+                    }
+                }
+            }
+        }
+    }
+}
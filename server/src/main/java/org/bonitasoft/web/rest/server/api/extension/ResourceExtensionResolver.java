@@ -65,7 +65,14 @@ public class ResourceExtensionResolver {
         } catch (IOException e) {
             throw new NotFoundException("error while getting resource:" + generateMappingKey());
         }
+        return resolveClassFileName(properties);
+    }
 
+    /**
+     * @param properties
+     *            the page.properties of the REST API extension page (e.g. already loaded by a previous call)
+     */
+    public String resolveClassFileName(Properties properties) throws NotFoundException {
         final String apiExtensionList = (String) properties.get("apiExtensions");
         final String[] apiExtensions = apiExtensionList.split(",");
 
@@ -35,6 +35,7 @@ import org.bonitasoft.web.rest.server.framework.api.Datastore;
 import org.bonitasoft.web.rest.server.framework.exception.APIFilterException;
 import org.bonitasoft.web.rest.server.framework.exception.APIFilterMandatoryException;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
+import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.Definitions;
 import org.bonitasoft.web.toolkit.client.data.item.ItemDefinition;
 
@@ -98,6 +99,19 @@ public class APIMembership extends ConsoleAPI<MembershipItem> implements
     // CRUDS
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+    @Override
+    public MembershipItem add(final MembershipItem item) {
+        final MembershipItem addedItem = super.add(item);
+        invalidatePermissionsVerdicts();
+        return addedItem;
+    }
+
+    @Override
+    public void delete(final List<APIID> ids) {
+        super.delete(ids);
+        invalidatePermissionsVerdicts();
+    }
+
     @Override
     public ItemSearchResult<MembershipItem> search(final int page, final int resultsByPage, final String search, final String orders,
             final Map<String, String> filters) {
@@ -30,6 +30,7 @@ import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
 import org.bonitasoft.web.rest.model.identity.UserDefinition;
 import org.bonitasoft.web.rest.model.identity.UserItem;
 import org.bonitasoft.web.rest.server.api.ConsoleAPI;
+import org.bonitasoft.web.rest.server.api.deployer.BatchDeployer;
 import org.bonitasoft.web.rest.server.datastore.bpm.flownode.HumanTaskDatastore;
 import org.bonitasoft.web.rest.server.datastore.organization.PersonalContactDataDatastore;
 import org.bonitasoft.web.rest.server.datastore.organization.ProfessionalContactDataDatastore;
@@ -159,7 +160,10 @@ APIHasGet<UserItem>, APIHasSearch<UserItem> {
             }
         }
         // Update
-        return new UserDatastore(getEngineSession()).update(id, item);
+        final UserItem updatedItem = new UserDatastore(getEngineSession()).update(id, item);
+        // the manager or the activation of the user may change the verdict of the dynamic permissions scripts
+        invalidatePermissionsVerdicts();
+        return updatedItem;
     }
 
     private void deleteOldIconFileIfExists(final APIID id) {
@@ -213,18 +217,19 @@ APIHasGet<UserItem>, APIHasSearch<UserItem> {
     @Override
     public void delete(final List<APIID> ids) {
         new UserDatastore(getEngineSession()).delete(ids);
+        invalidatePermissionsVerdicts();
     }
 
     @Override
     protected void fillDeploys(final UserItem item, final List<String> deploys) {
         if (isDeployable(UserItem.ATTRIBUTE_MANAGER_ID, deploys, item)) {
             item.setDeploy(UserItem.ATTRIBUTE_MANAGER_ID,
-                    new UserDatastore(getEngineSession()).get(item.getManagerId()));
+                    getIdentityMap().getter(UserDefinition.TOKEN, getUserDatastore()).get(item.getManagerId()));
         }
 
         if (isDeployable(UserItem.ATTRIBUTE_CREATED_BY_USER_ID, deploys, item)) {
             item.setDeploy(UserItem.ATTRIBUTE_CREATED_BY_USER_ID,
-                    new UserDatastore(getEngineSession()).get(item.getCreatedByUserId()));
+                    getIdentityMap().getter(UserDefinition.TOKEN, getUserDatastore()).get(item.getCreatedByUserId()));
         }
 
         if (deploys.contains(UserItem.DEPLOY_PERSONNAL_DATA)) {
@@ -245,6 +250,15 @@ APIHasGet<UserItem>, APIHasSearch<UserItem> {
 
     }
 
+    @Override
+    protected void fillDeploys(final List<UserItem> items, final List<String> deploys) {
+        final BatchDeployer<UserItem> userDeployer = new BatchDeployer<UserItem>(getIdentityMap().batchGetter(UserDefinition.TOKEN, getUserDatastore()),
+                UserItem.ATTRIBUTE_MANAGER_ID,
+                UserItem.ATTRIBUTE_CREATED_BY_USER_ID);
+        userDeployer.deployIn(items, deploys);
+        super.fillDeploys(items, getRemainingDeploys(deploys, userDeployer.getDeployedAttributes()));
+    }
+
     @Override
     protected void fillCounters(final UserItem item, final List<String> counters) {
 
@@ -261,6 +275,10 @@ APIHasGet<UserItem>, APIHasSearch<UserItem> {
         }
     }
 
+    protected UserDatastore getUserDatastore() {
+        return new UserDatastore(getEngineSession());
+    }
+
     private String uploadIcon(final String iconTempPath) {
         final String path = uploadAutoRename(
                 UserItem.ATTRIBUTE_ICON,
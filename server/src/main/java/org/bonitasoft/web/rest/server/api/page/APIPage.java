@@ -73,17 +73,22 @@ APIHasDelete {
 
     @Override
     public PageItem add(final PageItem item) {
-        return getPageDatastore().add(item);
+        final PageItem page = getPageDatastore().add(item);
+        invalidateProfilePermissions();
+        return page;
     }
 
     @Override
     public PageItem update(final APIID id, final Map<String, String> attributes) {
-        return getPageDatastore().update(id, attributes);
+        final PageItem page = getPageDatastore().update(id, attributes);
+        invalidateProfilePermissions();
+        return page;
     }
 
     @Override
     public void delete(final List<APIID> ids) {
         getPageDatastore().delete(ids);
+        invalidateProfilePermissions();
     }
 
     @Override
@@ -76,7 +76,9 @@ public abstract class AbstractAPIMember<T extends AbstractMemberItem> extends Co
 
         checkAttributes(item.getUserId(), item.getRoleId(), item.getGroupId());
 
-        return super.add(item);
+        final T addedItem = super.add(item);
+        invalidatePermissionsVerdicts();
+        return addedItem;
     }
 
     @Override
@@ -86,6 +88,7 @@ public abstract class AbstractAPIMember<T extends AbstractMemberItem> extends Co
         // checkAttributes(apiid.getPartAsAPIID(ATTRIBUTE_USER_ID), apiid.getPartAsAPIID(ATTRIBUTE_ROLE_ID), apiid.getPartAsAPIID(ATTRIBUTE_GROUP_ID));
         // }
         super.delete(ids);
+        invalidatePermissionsVerdicts();
     }
 
     @Override
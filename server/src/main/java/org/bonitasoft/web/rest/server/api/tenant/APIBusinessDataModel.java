@@ -11,6 +11,7 @@ package org.bonitasoft.web.rest.server.api.tenant;
 import java.io.File;
 import java.io.IOException;
 
+import org.bonitasoft.console.common.server.page.PageClassloaderRegistry;
 import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
 import org.bonitasoft.engine.io.IOUtil;
 import org.bonitasoft.web.rest.model.tenant.BusinessDataModelDefinition;
@@ -39,10 +40,19 @@ public class APIBusinessDataModel extends ConsoleAPI<BusinessDataModelItem> impl
         final byte[] businessDataModelContent = getBusinessDataModelContent(businessDataModel);
         getTenantManagementEngineClient().uninstallBusinessDataModel();
         getTenantManagementEngineClient().installBusinessDataModel(businessDataModelContent);
+        invalidateBusinessDataModelVersion();
         // return myself because get is not implemented in engine
         return businessDataModel;
     }
 
+    /**
+     * protected for testing
+     */
+    protected void invalidateBusinessDataModelVersion() {
+        // the custom pages classloaders have to be rebuilt with the new BDM client
+        PageClassloaderRegistry.getInstance(getEngineSession().getTenantId()).invalidateBusinessDataModelVersion();
+    }
+
     private byte[] getBusinessDataModelContent(final BusinessDataModelItem item) {
         try {
             return IOUtil.getAllContentFrom(new File(getCompleteTempFilePath(item.getFileUploadPath())));
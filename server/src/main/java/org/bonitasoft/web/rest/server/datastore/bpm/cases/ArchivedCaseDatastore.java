@@ -17,6 +17,8 @@
 package org.bonitasoft.web.rest.server.datastore.bpm.cases;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -135,6 +137,33 @@ DatastoreHasSearch<ArchivedCaseItem>, DatastoreHasDelete {
 
     }
 
+    /**
+     * Retrieve the archived cases of several cases with a single search
+     *
+     * @param caseIds
+     *        the ids of the cases (the source objects of the archived cases)
+     * @return the archived cases indexed by the id of their case. The cases which are not archived are absent from the map.
+     */
+    public Map<APIID, ArchivedCaseItem> getBySourceObjectIds(final Collection<APIID> caseIds) {
+        final Map<APIID, ArchivedCaseItem> archivedCases = new HashMap<APIID, ArchivedCaseItem>();
+        if (caseIds.isEmpty()) {
+            return archivedCases;
+        }
+        try {
+            final SearchOptionsBuilder builder = SearchOptionsBuilderUtil.buildIdsSearchOptions(ArchivedProcessInstancesSearchDescriptor.SOURCE_OBJECT_ID,
+                    APIID.toLongList(new ArrayList<APIID>(caseIds)));
+            for (final ArchivedProcessInstance archivedProcessInstance : getProcessApi().searchArchivedProcessInstances(builder.done()).getResult()) {
+                final APIID caseId = APIID.makeAPIID(archivedProcessInstance.getSourceObjectId());
+                if (!archivedCases.containsKey(caseId)) {
+                    archivedCases.put(caseId, convertEngineToConsoleItem(archivedProcessInstance));
+                }
+            }
+            return archivedCases;
+        } catch (final Exception e) {
+            throw new APIException(e);
+        }
+    }
+
     @Override
     public void delete(final List<APIID> ids) {
         try {
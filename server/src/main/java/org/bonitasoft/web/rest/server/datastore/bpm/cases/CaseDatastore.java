@@ -30,6 +30,7 @@ import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
 import org.bonitasoft.web.rest.server.engineclient.EngineAPIAccessor;
 import org.bonitasoft.web.rest.server.engineclient.EngineClientFactory;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasAdd;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBatchGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasSearch;
@@ -39,6 +40,9 @@ import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.common.util.MapUtil;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -46,8 +50,13 @@ import java.util.Map;
  * @author Séverin Moussel
  * @author Celine Souchet
  */
-public class CaseDatastore extends CommonDatastore<CaseItem, ProcessInstance> implements DatastoreHasGet<CaseItem>, DatastoreHasSearch<CaseItem>,
-DatastoreHasDelete, DatastoreHasAdd<CaseItem> {
+public class CaseDatastore extends CommonDatastore<CaseItem, ProcessInstance> implements DatastoreHasGet<CaseItem>, DatastoreHasBatchGet<CaseItem>,
+DatastoreHasSearch<CaseItem>, DatastoreHasDelete, DatastoreHasAdd<CaseItem> {
+
+    /**
+     * Number of cases retrieved by each page of a grouped count
+     */
+    static final int GROUPED_COUNT_PAGE_SIZE = 1000;
 
     public CaseDatastore(final APISession engineSession) {
         super(engineSession);
@@ -62,6 +71,43 @@ DatastoreHasDelete, DatastoreHasAdd<CaseItem> {
         return search(0, 0, search, orders, filters).getTotal();
     }
 
+    /**
+     * Count the cases of several processes with a single search, retrieved page by page
+     *
+     * @param processIds
+     *        the ids of the processes (must not be empty)
+     * @param filters
+     *        the filters of the counted cases (without the process id)
+     * @return the number of cases of each process
+     */
+    public Map<APIID, Long> countGroupedByProcess(final Collection<APIID> processIds, final Map<String, String> filters) {
+        final Map<APIID, Long> counts = new HashMap<APIID, Long>();
+        for (final APIID processId : processIds) {
+            counts.put(processId, 0L);
+        }
+        try {
+            final List<Long> processIdsList = APIID.toLongList(new ArrayList<APIID>(processIds));
+            long retrieved = 0;
+            SearchResult<ProcessInstance> searchResult;
+            int page = 0;
+            do {
+                final SearchOptionsBuilder builder = buildSearchOptions(page++, GROUPED_COUNT_PAGE_SIZE, null, null, filters);
+                SearchOptionsBuilderUtil.addIdsFilter(builder, ProcessInstanceSearchDescriptor.PROCESS_DEFINITION_ID, processIdsList);
+                searchResult = searchProcessInstances(filters, builder.done());
+                for (final ProcessInstance processInstance : searchResult.getResult()) {
+                    final APIID processId = APIID.makeAPIID(processInstance.getProcessDefinitionId());
+                    if (counts.containsKey(processId)) {
+                        counts.put(processId, counts.get(processId) + 1);
+                    }
+                }
+                retrieved += searchResult.getResult().size();
+            } while (!searchResult.getResult().isEmpty() && retrieved < searchResult.getCount());
+            return counts;
+        } catch (final Exception e) {
+            throw new APIException(e);
+        }
+    }
+
     /**
      * convenience for stubbing during unit test
      *
@@ -147,6 +193,24 @@ DatastoreHasDelete, DatastoreHasAdd<CaseItem> {
         }
     }
 
+    @Override
+    public Map<APIID, CaseItem> get(final Collection<APIID> ids) {
+        final Map<APIID, CaseItem> cases = new HashMap<APIID, CaseItem>();
+        if (ids.isEmpty()) {
+            return cases;
+        }
+        try {
+            final SearchOptionsBuilder builder = SearchOptionsBuilderUtil.buildIdsSearchOptions(ProcessInstanceSearchDescriptor.ID,
+                    APIID.toLongList(new ArrayList<APIID>(ids)));
+            for (final ProcessInstance processInstance : getProcessAPI().searchProcessInstances(builder.done()).getResult()) {
+                cases.put(APIID.makeAPIID(processInstance.getId()), convertEngineToConsoleItem(processInstance));
+            }
+            return cases;
+        } catch (final Exception e) {
+            throw new APIException(e);
+        }
+    }
+
     @Override
     public void delete(final List<APIID> ids) {
         try {
@@ -14,6 +14,10 @@
  */
 package org.bonitasoft.web.rest.server.datastore.bpm.flownode;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.bonitasoft.engine.api.ProcessAPI;
@@ -47,6 +51,11 @@ public class AbstractFlowNodeDatastore<CONSOLE_ITEM extends FlowNodeItem, ENGINE
         DatastoreHasGet<CONSOLE_ITEM>,
         DatastoreHasUpdate<CONSOLE_ITEM> {
 
+    /**
+     * Number of flow nodes retrieved by each page of a grouped count
+     */
+    static final int GROUPED_COUNT_PAGE_SIZE = 1000;
+
     private DatastoreHasUpdate<FlowNodeItem> updateHelper;
 
     public AbstractFlowNodeDatastore(final APISession engineSession) {
@@ -97,6 +106,39 @@ public class AbstractFlowNodeDatastore<CONSOLE_ITEM extends FlowNodeItem, ENGINE
         return search(0, 0, search, orders, filters).getTotal();
     }
 
+    /**
+     * Count the flow nodes of several cases with a single search, retrieved page by page
+     *
+     * @param caseIds
+     *            the ids of the parent cases (must not be empty)
+     * @param filters
+     *            the filters of the counted flow nodes (without the parent case id)
+     * @return the number of flow nodes of each case
+     */
+    public Map<APIID, Long> countGroupedByParentCase(final Collection<APIID> caseIds, final Map<String, String> filters) {
+        final Map<APIID, Long> counts = new HashMap<APIID, Long>();
+        for (final APIID caseId : caseIds) {
+            counts.put(caseId, 0L);
+        }
+        final List<Long> caseIdsList = APIID.toLongList(new ArrayList<APIID>(caseIds));
+        long retrieved = 0;
+        SearchResult<ENGINE_ITEM> results;
+        int page = 0;
+        do {
+            final SearchOptionsBuilder builder = makeSearchOptionBuilder(page++, GROUPED_COUNT_PAGE_SIZE, null, null, filters);
+            SearchOptionsBuilderUtil.addIdsFilter(builder, FlowNodeInstanceSearchDescriptor.PARENT_PROCESS_INSTANCE_ID, caseIdsList);
+            results = runSearch(builder, filters);
+            for (final ENGINE_ITEM flowNodeInstance : results.getResult()) {
+                final APIID caseId = APIID.makeAPIID(flowNodeInstance.getParentProcessInstanceId());
+                if (counts.containsKey(caseId)) {
+                    counts.put(caseId, counts.get(caseId) + 1);
+                }
+            }
+            retrieved += results.getResult().size();
+        } while (!results.getResult().isEmpty() && retrieved < results.getCount());
+        return counts;
+    }
+
     @Override
     public CONSOLE_ITEM get(final APIID id) {
         try {
@@ -18,6 +18,9 @@ package org.bonitasoft.web.rest.server.datastore.bpm.process;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,7 +33,9 @@ import org.bonitasoft.engine.bpm.bar.BusinessArchiveFactory;
 import org.bonitasoft.engine.bpm.process.ProcessDefinition;
 import org.bonitasoft.engine.bpm.process.ProcessDefinitionNotFoundException;
 import org.bonitasoft.engine.bpm.process.ProcessDeploymentInfo;
+import org.bonitasoft.engine.bpm.process.ProcessDeploymentInfoSearchDescriptor;
 import org.bonitasoft.engine.bpm.process.ProcessDeploymentInfoUpdater;
+import org.bonitasoft.engine.search.SearchResult;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
 import org.bonitasoft.web.rest.server.datastore.CommonDatastore;
@@ -40,11 +45,13 @@ import org.bonitasoft.web.rest.server.engineclient.EngineAPIAccessor;
 import org.bonitasoft.web.rest.server.engineclient.EngineClientFactory;
 import org.bonitasoft.web.rest.server.engineclient.ProcessEngineClient;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasAdd;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBatchGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasDelete;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasSearch;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasUpdate;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
+import org.bonitasoft.web.rest.server.framework.utils.SearchOptionsBuilderUtil;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIForbiddenException;
 import org.bonitasoft.web.toolkit.client.data.APIID;
@@ -59,6 +66,7 @@ public class ProcessDatastore extends CommonDatastore<ProcessItem, ProcessDeploy
 DatastoreHasAdd<ProcessItem>,
 DatastoreHasUpdate<ProcessItem>,
 DatastoreHasGet<ProcessItem>,
+DatastoreHasBatchGet<ProcessItem>,
 DatastoreHasSearch<ProcessItem>,
 DatastoreHasDelete
 {
@@ -166,6 +174,22 @@ DatastoreHasDelete
         return convertEngineToConsoleItem(processDeploymentInfo);
     }
 
+    @Override
+    public Map<APIID, ProcessItem> get(final Collection<APIID> ids) {
+        final Map<APIID, ProcessItem> processes = new HashMap<APIID, ProcessItem>();
+        if (ids.isEmpty()) {
+            return processes;
+        }
+        final ProcessEngineClient engineClient = getProcessEngineClient();
+        final SearchResult<ProcessDeploymentInfo> searchResult = engineClient.searchProcessDefinitions(
+                SearchOptionsBuilderUtil.buildIdsSearchOptions(ProcessDeploymentInfoSearchDescriptor.PROCESS_ID, APIID.toLongList(new ArrayList<APIID>(ids)))
+                        .done());
+        for (final ProcessDeploymentInfo processDeploymentInfo : searchResult.getResult()) {
+            processes.put(APIID.makeAPIID(processDeploymentInfo.getProcessId()), convertEngineToConsoleItem(processDeploymentInfo));
+        }
+        return processes;
+    }
+
     @Override
     public void delete(final List<APIID> ids) {
         final ProcessEngineClient engineClient = getProcessEngineClient();
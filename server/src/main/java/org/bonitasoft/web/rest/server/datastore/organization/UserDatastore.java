@@ -14,12 +14,16 @@
  */
 package org.bonitasoft.web.rest.server.datastore.organization;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.bonitasoft.engine.exception.SearchException;
 import org.bonitasoft.engine.identity.User;
 import org.bonitasoft.engine.identity.UserCreator;
+import org.bonitasoft.engine.identity.UserSearchDescriptor;
 import org.bonitasoft.engine.identity.UserUpdater;
 import org.bonitasoft.engine.search.SearchResult;
 import org.bonitasoft.engine.session.APISession;
@@ -33,9 +37,11 @@ import org.bonitasoft.web.rest.server.engineclient.EngineClientFactory;
 import org.bonitasoft.web.rest.server.engineclient.FlowNodeEngineClient;
 import org.bonitasoft.web.rest.server.engineclient.ProcessEngineClient;
 import org.bonitasoft.web.rest.server.engineclient.UserEngineClient;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBatchGet;
 import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
 import org.bonitasoft.web.rest.server.framework.exception.APIAttributeException;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
+import org.bonitasoft.web.rest.server.framework.utils.SearchOptionsBuilderUtil;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.data.APIID;
 
@@ -43,7 +49,7 @@ import org.bonitasoft.web.toolkit.client.data.APIID;
  * @author Séverin Moussel
  */
 public class UserDatastore extends CommonDatastore<UserItem, User>
-        implements DatastoreHasGet<UserItem> {
+        implements DatastoreHasGet<UserItem>, DatastoreHasBatchGet<UserItem> {
 
     protected EngineClientFactory engineClientFactory;
 
@@ -77,6 +83,20 @@ public class UserDatastore extends CommonDatastore<UserItem, User>
         return userItemConverter.convert(user);
     }
 
+    @Override
+    public Map<APIID, UserItem> get(final Collection<APIID> ids) {
+        final Map<APIID, UserItem> users = new HashMap<APIID, UserItem>();
+        if (ids.isEmpty()) {
+            return users;
+        }
+        final SearchResult<User> engineSearchResults = getUserEngineClient().search(
+                SearchOptionsBuilderUtil.buildIdsSearchOptions(UserSearchDescriptor.ID, APIID.toLongList(new ArrayList<APIID>(ids))).done());
+        for (final User user : engineSearchResults.getResult()) {
+            users.put(APIID.makeAPIID(user.getId()), userItemConverter.convert(user));
+        }
+        return users;
+    }
+
     /**
      * Search for users
      *
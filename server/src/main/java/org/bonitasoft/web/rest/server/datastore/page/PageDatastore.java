@@ -24,6 +24,7 @@ import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
 import org.bonitasoft.console.common.server.page.CustomPageService;
+import org.bonitasoft.console.common.server.page.RestApiControllerRegistry;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.console.common.server.preferences.properties.CompoundPermissionsMapping;
 import org.bonitasoft.console.common.server.preferences.properties.ResourcesPermissionsMapping;
@@ -268,6 +269,7 @@ DatastoreHasGet<PageItem>, DatastoreHasSearch<PageItem>, DatastoreHasDelete {
                     customPageService.removeRestApiExtensionPermissions(resourcesPermissionsMapping,
                             customPageService.getPageResourceProvider(page, engineSession.getTenantId()), engineSession);
                     pageAPI.deletePage(id.toLong());
+                    getRestApiControllerRegistry().invalidate(engineSession.getTenantId(), id.toLong());
                     customPageService.removePage(engineSession, page.getName());
                     compoundPermissionsMapping.removeProperty(page.getName());
                 }
@@ -394,11 +396,16 @@ DatastoreHasGet<PageItem>, DatastoreHasSearch<PageItem>, DatastoreHasDelete {
             customPageService.removeRestApiExtensionPermissions(resourcesPermissionsMapping,
                     customPageService.getPageResourceProvider(pageAPI.getPage(pageId), getEngineSession().getTenantId()), getEngineSession());
             pageAPI.updatePageContent(pageId, FileUtils.readFileToByteArray(zipFile));
+            getRestApiControllerRegistry().invalidate(getEngineSession().getTenantId(), pageId);
             zipFile.delete();
         }
         customPageService.removePage(getEngineSession(), oldURLToken);
     }
 
+    protected RestApiControllerRegistry getRestApiControllerRegistry() {
+        return RestApiControllerRegistry.getInstance();
+    }
+
     @Override
     protected PageItem convertEngineToConsoleItem(final Page item) {
         if (item != null) {
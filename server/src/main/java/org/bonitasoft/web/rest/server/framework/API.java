@@ -95,6 +95,24 @@ public abstract class API<ITEM extends IItem> {
         return this.caller;
     }
 
+    /**
+     * Identity map used when the API is not called through an {@link APIServletCall}
+     */
+    private ItemIdentityMap identityMap = null;
+
+    /**
+     * Get the identity map of the current request, shared by all the deploys and counters of the request.
+     */
+    protected final ItemIdentityMap getIdentityMap() {
+        if (this.caller != null && this.caller.getIdentityMap() != null) {
+            return this.caller.getIdentityMap();
+        }
+        if (this.identityMap == null) {
+            this.identityMap = new ItemIdentityMap();
+        }
+        return this.identityMap;
+    }
+
     /**
      * @return the itemDefinition
      */
@@ -254,10 +272,8 @@ public abstract class API<ITEM extends IItem> {
 
         final ItemSearchResult<ITEM> searchResult = search(page, resultsByPage, search, realOrders, filters != null ? filters : new HashMap<String, String>());
 
-        for (final ITEM item : searchResult.getResults()) {
-            fillDeploys(item, deploys != null ? deploys : new ArrayList<String>());
-            fillCounters(item, counters != null ? counters : new ArrayList<String>());
-        }
+        fillDeploys(searchResult.getResults(), deploys != null ? deploys : new ArrayList<String>());
+        fillCounters(searchResult.getResults(), counters != null ? counters : new ArrayList<String>());
 
         return searchResult;
     }
@@ -526,6 +542,26 @@ public abstract class API<ITEM extends IItem> {
         }
     }
 
+    /**
+     * Fill the deploys of all the items of a search result.<br>
+     * Override this method to retrieve the items referenced by the whole page at once (see {@link org.bonitasoft.web.rest.server.api.deployer.BatchDeployer})
+     * instead of one by one.
+     */
+    protected void fillDeploys(final List<ITEM> items, final List<String> deploys) {
+        for (final ITEM item : items) {
+            fillDeploys(item, deploys);
+        }
+    }
+
+    /**
+     * @return the deploys not contained in the given list of already deployed attributes
+     */
+    protected final List<String> getRemainingDeploys(final List<String> deploys, final List<String> deployedAttributes) {
+        final List<String> remainingDeploys = new ArrayList<String>(deploys);
+        remainingDeploys.removeAll(deployedAttributes);
+        return remainingDeploys;
+    }
+
     private void deployAttribute(final String attribute, final ITEM item) {
         if (deployers.containsKey(attribute)) {
             deployers.get(attribute).deployIn(item);
@@ -536,6 +572,16 @@ public abstract class API<ITEM extends IItem> {
         // Do Nothing if not override
     }
 
+    /**
+     * Fill the counters of all the items of a search result.<br>
+     * Override this method to compute a counter for the whole page at once instead of one item at a time.
+     */
+    protected void fillCounters(final List<ITEM> items, final List<String> counters) {
+        for (final ITEM item : items) {
+            fillCounters(item, counters);
+        }
+    }
+
     /**
      * @param attributeName
      * @param deploys
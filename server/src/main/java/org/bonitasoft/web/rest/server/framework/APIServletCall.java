@@ -14,6 +14,7 @@
  */
 package org.bonitasoft.web.rest.server.framework;
 
+import java.io.Reader;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -27,7 +28,11 @@ import java.util.logging.Logger;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.io.IOUtils;
 import org.bonitasoft.console.common.server.i18n.I18n;
+import org.bonitasoft.console.common.server.preferences.properties.PropertiesFactory;
+import org.bonitasoft.console.common.server.utils.SessionUtil;
+import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.server.framework.exception.APIMissingIdException;
 import org.bonitasoft.web.rest.server.framework.json.JSonSimpleDeserializer;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
@@ -67,6 +72,10 @@ public class APIServletCall extends ServletCall {
 
     public static final String PARAMETER_QUERY = "q";
 
+    public static final String HEADER_IDENTITY_MAP_HITS = "X-Bonita-Identity-Map-Hits";
+
+    public static final String HEADER_IDENTITY_MAP_MISSES = "X-Bonita-Identity-Map-Misses";
+
 
 
     // //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -83,6 +92,11 @@ public class APIServletCall extends ServletCall {
 
     private static Logger LOGGER = Logger.getLogger(APIServletCall.class.getName());
 
+    /**
+     * Items and counters retrieved during this call
+     */
+    private final ItemIdentityMap identityMap = new ItemIdentityMap();
+
     public APIServletCall(final HttpServletRequest request, final HttpServletResponse response) {
         super(request, response);
         final Date expdate = new Date();
@@ -116,11 +130,33 @@ public class APIServletCall extends ServletCall {
         return id;
     }
 
+    public ItemIdentityMap getIdentityMap() {
+        return identityMap;
+    }
+
+    /**
+     * Parse the inputStream as JSon without reading it in a String first.
+     *
+     * @return the parsed JSon or null if the inputStream is empty
+     */
+    private AbstractTreeNode<String> getJSonStreamAsTree() {
+        final Reader reader = getInputReader();
+        try {
+            return JSonSimpleDeserializer.unserializeTree(reader);
+        } finally {
+            IOUtils.closeQuietly(reader);
+        }
+    }
+
     /**
      * Read the inputStream and parse it as an IItem compatible with the called API.
      */
     private IItem getJSonStreamAsItem() {
-        final IItem item = JSonItemReader.parseItem(getInputStream(), api.getItemDefinition());
+        return getJSonTreeAsItem(getJSonStreamAsTree());
+    }
+
+    private IItem getJSonTreeAsItem(final AbstractTreeNode<String> tree) {
+        final IItem item = JSonItemReader.parseItem(tree, api.getItemDefinition());
 
         ValidatorEngine.validate(item, false);
 
@@ -172,7 +208,10 @@ public class APIServletCall extends ServletCall {
         try {
             // GET one
             if (id != null) {
-                output(api.runGet(id, getParameterAsList(PARAMETER_DEPLOY), getParameterAsList(PARAMETER_COUNTER)));
+                final IItem item = api.runGet(id, getParameterAsList(PARAMETER_DEPLOY), getParameterAsList(PARAMETER_COUNTER));
+                // headers must be written before the body commits the response
+                outputIdentityMapStatistics();
+                output(item);
             } else if (countParameters() == 0) {
                 throw new APIMissingIdException(getRequestURL());
             }
@@ -183,6 +222,7 @@ public class APIServletCall extends ServletCall {
                         getParameter(PARAMETER_ORDER), parseFilters(getParameterAsList(PARAMETER_FILTER)),
                         getParameterAsList(PARAMETER_DEPLOY), getParameterAsList(PARAMETER_COUNTER));
                 head("Content-Range", result.getPage() + "-" + result.getLength() + "/" + result.getTotal());
+                outputIdentityMapStatistics();
 
                 output(result.getResults());
             }
@@ -193,6 +233,21 @@ public class APIServletCall extends ServletCall {
         }
     }
 
+    /**
+     * In debug mode, tell how many items and counters were retrieved from the identity map instead of the engine
+     */
+    void outputIdentityMapStatistics() {
+        if (identityMap.getHits() + identityMap.getMisses() > 0 && isInDebugMode()) {
+            head(HEADER_IDENTITY_MAP_HITS, String.valueOf(identityMap.getHits()));
+            head(HEADER_IDENTITY_MAP_MISSES, String.valueOf(identityMap.getMisses()));
+        }
+    }
+
+    boolean isInDebugMode() {
+        final APISession apiSession = (APISession) getHttpSession().getAttribute(SessionUtil.API_SESSION_PARAM_KEY);
+        return apiSession != null && PropertiesFactory.getConsoleProperties(apiSession.getTenantId()).isRestAPIInDebugMode();
+    }
+
     @Override
     protected void output(final Object object) {
         super.output(object);
@@ -231,14 +286,14 @@ public class APIServletCall extends ServletCall {
                 throw new APIMissingIdException(getRequestURL());
             }
 
-            final String inputStream = getInputStream();
-            if (inputStream.length() == 0) {
+            final AbstractTreeNode<String> tree = getJSonStreamAsTree();
+            if (tree == null) {
                 api.runUpdate(id, new HashMap<String, String>());
                 return;
             }
 
             Item.setApplyValidatorMandatoryByDefault(false);
-            final IItem item = getJSonStreamAsItem();
+            final IItem item = getJSonTreeAsItem(tree);
             api.runUpdate(id, getAttributesWithDeploysAsJsonString(item));
         } catch (final APIException e) {
             e.setApi(apiName);
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Counters of a tenant (e.g. the number of open cases of a process) kept for a short time.<br>
+ * The counters are dropped each time the REST API changes the state of a case so users don't see stale counters after their own actions.
+ * Changes made outside of the REST API are seen once the counters expire.
+ */
+public class CounterCache {
+
+    /**
+     * Time to live of a counter in milliseconds
+     */
+    public static final long DEFAULT_TIME_TO_LIVE = 5000L;
+
+    /**
+     * Max number of counters kept for a tenant
+     */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private static final ConcurrentMap<Long, CounterCache> INSTANCES = new ConcurrentHashMap<Long, CounterCache>();
+
+    private final ConcurrentMap<String, CachedCount> counts = new ConcurrentHashMap<String, CachedCount>();
+
+    private final long timeToLive;
+
+    private final int maxSize;
+
+    public static CounterCache getInstance(final long tenantId) {
+        CounterCache counterCache = INSTANCES.get(tenantId);
+        if (counterCache == null) {
+            final CounterCache newCounterCache = new CounterCache(DEFAULT_TIME_TO_LIVE, DEFAULT_MAX_SIZE);
+            counterCache = INSTANCES.putIfAbsent(tenantId, newCounterCache);
+            if (counterCache == null) {
+                counterCache = newCounterCache;
+            }
+        }
+        return counterCache;
+    }
+
+    public CounterCache(final long timeToLive, final int maxSize) {
+        this.timeToLive = timeToLive;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param counter
+     *            the name of the counter
+     * @param filters
+     *            the filters of the counted items
+     * @return the value of the counter or null if it is unknown or expired
+     */
+    public Long get(final String counter, final Map<String, String> filters) {
+        final String key = buildKey(counter, filters);
+        final CachedCount cachedCount = counts.get(key);
+        if (cachedCount == null) {
+            return null;
+        }
+        if (now() - cachedCount.creationTime > timeToLive) {
+            counts.remove(key, cachedCount);
+            return null;
+        }
+        return cachedCount.count;
+    }
+
+    public void put(final String counter, final Map<String, String> filters, final Long count) {
+        if (count == null || timeToLive <= 0) {
+            return;
+        }
+        if (counts.size() >= maxSize) {
+            // counters live a few seconds, there is no point in sorting them out
+            counts.clear();
+        }
+        counts.put(buildKey(counter, filters), new CachedCount(count, now()));
+    }
+
+    /**
+     * Drop all the counters of the tenant
+     */
+    public void clear() {
+        counts.clear();
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private String buildKey(final String counter, final Map<String, String> filters) {
+        return counter + new TreeMap<String, String>(filters);
+    }
+
+    private static class CachedCount {
+
+        private final Long count;
+
+        private final long creationTime;
+
+        private CachedCount(final Long count, final long creationTime) {
+            this.count = count;
+            this.creationTime = creationTime;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBatchGet;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+
+/**
+ * Items and counters already retrieved from the engine during the current API call.<br>
+ * It is owned by the {@link APIServletCall} so that all the deploys and counters of a request share it and retrieve each (type, id) only
+ * once. It lives as long as the request and is not thread safe.
+ */
+public class ItemIdentityMap {
+
+    /**
+     * Stands for an item which doesn't exist (to avoid retrieving it again)
+     */
+    private static final Object NOT_FOUND = new Object();
+
+    /**
+     * Keeps the counters apart from the item types
+     */
+    private static final String COUNTER_PREFIX = "counter:";
+
+    private final Map<String, Map<Object, Object>> values = new HashMap<String, Map<Object, Object>>();
+
+    private int hits = 0;
+
+    private int misses = 0;
+
+    /**
+     * Get the items of a type through this identity map
+     *
+     * @param type
+     *            the token of the item type (e.g. the TOKEN of its item definition)
+     * @param datastore
+     *            the datastore used to retrieve the items which are not known yet
+     */
+    public <T extends IItem> DatastoreHasGet<T> getter(final String type, final DatastoreHasGet<T> datastore) {
+        return new DatastoreHasGet<T>() {
+
+            @Override
+            public T get(final APIID id) {
+                return getItem(type, id, datastore);
+            }
+        };
+    }
+
+    /**
+     * Get the items of a type through this identity map. Only the ids which are not known yet are requested to the datastore.
+     *
+     * @param type
+     *            the token of the item type (e.g. the TOKEN of its item definition)
+     * @param datastore
+     *            the datastore used to retrieve the items which are not known yet
+     */
+    public <T extends IItem> DatastoreHasBatchGet<T> batchGetter(final String type, final DatastoreHasBatchGet<T> datastore) {
+        return new DatastoreHasBatchGet<T>() {
+
+            @Override
+            public Map<APIID, T> get(final Collection<APIID> ids) {
+                return getItems(type, ids, datastore);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T extends IItem> T getItem(final String type, final APIID id, final DatastoreHasGet<T> datastore) {
+        final Map<Object, Object> typeValues = getTypeValues(type);
+        if (typeValues.containsKey(id)) {
+            hits++;
+            final Object value = typeValues.get(id);
+            return value == NOT_FOUND ? null : (T) value;
+        }
+        misses++;
+        final T item = datastore.get(id);
+        typeValues.put(id, item == null ? NOT_FOUND : item);
+        return item;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T extends IItem> Map<APIID, T> getItems(final String type, final Collection<APIID> ids, final DatastoreHasBatchGet<T> datastore) {
+        final Map<Object, Object> typeValues = getTypeValues(type);
+        final List<APIID> unknownIds = new ArrayList<APIID>();
+        for (final APIID id : ids) {
+            if (typeValues.containsKey(id)) {
+                hits++;
+            } else {
+                misses++;
+                unknownIds.add(id);
+            }
+        }
+        if (!unknownIds.isEmpty()) {
+            final Map<APIID, T> retrievedItems = datastore.get(unknownIds);
+            for (final APIID id : unknownIds) {
+                final T item = retrievedItems.get(id);
+                typeValues.put(id, item == null ? NOT_FOUND : item);
+            }
+        }
+        final Map<APIID, T> items = new LinkedHashMap<APIID, T>();
+        for (final APIID id : ids) {
+            final Object value = typeValues.get(id);
+            if (value != NOT_FOUND) {
+                items.put(id, (T) value);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * @param counter
+     *            the name of the counter
+     * @param filters
+     *            the filters of the counted items
+     * @return the value counted earlier during the request or null if it wasn't counted yet
+     */
+    public Long getCount(final String counter, final Map<String, String> filters) {
+        final Long count = (Long) getTypeValues(COUNTER_PREFIX + counter).get(new HashMap<String, String>(filters));
+        if (count != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return count;
+    }
+
+    public void putCount(final String counter, final Map<String, String> filters, final Long count) {
+        getTypeValues(COUNTER_PREFIX + counter).put(new HashMap<String, String>(filters), count);
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    private Map<Object, Object> getTypeValues(final String type) {
+        Map<Object, Object> typeValues = values.get(type);
+        if (typeValues == null) {
+            typeValues = new HashMap<Object, Object>();
+            values.put(type, typeValues);
+        }
+        return typeValues;
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework.api;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
+
+/**
+ * Datastore able to retrieve several items with a single engine call (used to resolve the deploys of a whole search result page)
+ */
+public interface DatastoreHasBatchGet<T extends IItem> {
+
+    /**
+     * @param ids
+     *            the ids of the items to retrieve
+     * @return the items found indexed by their id. The ids not found are absent from the map.
+     */
+    public abstract Map<APIID, T> get(final Collection<APIID> ids);
+}
@@ -16,6 +16,9 @@
  */
 package org.bonitasoft.web.rest.server.framework.json;
 
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -63,6 +66,32 @@ public class JSonSimpleDeserializer implements JSonUnserializer {
         }
     }
 
+    /**
+     * Parse the JSon read from a reader without reading it in a String first
+     *
+     * @return the parsed tree or null if the reader is empty
+     */
+    public static AbstractTreeNode<String> unserializeTree(final Reader json) {
+        return getInstance()._unserializeTree(json);
+    }
+
+    public AbstractTreeNode<String> _unserializeTree(final Reader json) {
+        try {
+            final PushbackReader reader = new PushbackReader(json);
+            final int firstChar = reader.read();
+            if (firstChar == -1) {
+                return null;
+            }
+            reader.unread(firstChar);
+
+            return unserializeTreeNode(new JSONParser().parse(reader));
+        } catch (final ParseException e) {
+            throw new IllegalArgumentException("Can't parse JSon", e);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Can't read JSon", e);
+        }
+    }
+
     private AbstractTreeNode<String> unserializeTreeNode(final Object object) {
         if (object instanceof JSONObject) {
             return unserializeTreeNode((JSONObject) object);
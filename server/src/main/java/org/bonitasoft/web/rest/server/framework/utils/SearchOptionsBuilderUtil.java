@@ -16,6 +16,8 @@
  */
 package org.bonitasoft.web.rest.server.framework.utils;
 
+import java.util.Collection;
+
 import org.bonitasoft.engine.search.Order;
 import org.bonitasoft.engine.search.SearchOptionsBuilder;
 
@@ -45,6 +47,44 @@ public class SearchOptionsBuilderUtil {
         return builder;
     }
 
+    /**
+     * build SearchOptionsBuilder matching all the elements whose id is one of the given ids
+     *
+     * @param idAttributeName
+     *        the search descriptor of the id
+     * @param ids
+     *        the ids to retrieve (must not be empty)
+     */
+    public static SearchOptionsBuilder buildIdsSearchOptions(final String idAttributeName, final Collection<Long> ids) {
+        final SearchOptionsBuilder builder = new SearchOptionsBuilder(0, ids.size());
+        addIdsFilter(builder, idAttributeName, ids);
+        return builder;
+    }
+
+    /**
+     * add a filter matching all the elements whose attribute is one of the given ids
+     *
+     * @param builder
+     *        the builder to complete
+     * @param attributeName
+     *        the search descriptor of the attribute
+     * @param ids
+     *        the accepted ids (must not be empty)
+     */
+    public static SearchOptionsBuilder addIdsFilter(final SearchOptionsBuilder builder, final String attributeName, final Collection<Long> ids) {
+        builder.leftParenthesis();
+        boolean first = true;
+        for (final Long id : ids) {
+            if (!first) {
+                builder.or();
+            }
+            builder.filter(attributeName, id);
+            first = false;
+        }
+        builder.rightParenthesis();
+        return builder;
+    }
+
     public static int computeIndex(int page, int resultsByPage) {
         return page * resultsByPage;
     }
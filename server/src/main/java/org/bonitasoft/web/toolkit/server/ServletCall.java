@@ -24,6 +24,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -37,7 +39,7 @@ import javax.servlet.http.HttpSession;
 
 import org.apache.commons.io.IOUtils;
 import org.bonitasoft.web.toolkit.client.common.exception.http.ServerException;
-import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+import org.bonitasoft.web.toolkit.server.utils.JSonStreamWriter;
 import org.bonitasoft.web.toolkit.server.utils.LocaleUtils;
 
 /**
@@ -155,6 +157,22 @@ public abstract class ServletCall {
         return inputStream;
     }
 
+    /**
+     * Get a reader on the body of the request, to parse it without reading it in a String first.<br>
+     * The caller has to close the reader.
+     */
+    public Reader getInputReader() {
+        if (inputStream != null) {
+            return new StringReader(inputStream);
+        }
+        try {
+            // BS-8474 - use custom reader instead of request reader to avoid JBoss5.1 bug
+            return new BufferedReader(new InputStreamReader(request.getInputStream(), "UTF-8"));
+        } catch (final IOException e) {
+            throw new RuntimeException("Can't read input Stream.", e);
+        }
+    }
+
     private void closeQuietly(final BufferedReader reader) {
         if (reader != null) {
             try {
@@ -319,12 +337,14 @@ public abstract class ServletCall {
      * Write into the output
      *
      * @param object
-     *            An object that will be transform into JSon
+     *            An object that will be transform into JSon (streamed into the response instead of being built in memory)
      */
     protected void output(final Object object) {
-        final PrintWriter outputWriter = getOutputWriter();
-        outputWriter.print(JSonSerializer.serialize(object));
-        outputWriter.flush();
+        try {
+            new JSonStreamWriter(getOutputWriter()).write(object).flush();
+        } catch (final IOException e) {
+            throw new ServerException(e);
+        }
     }
 
     /**
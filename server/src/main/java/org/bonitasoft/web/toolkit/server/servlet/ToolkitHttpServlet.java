@@ -130,6 +130,7 @@ public abstract class ToolkitHttpServlet extends HttpServlet {
         Item.setApplyValidatorsByDefault(false);
         Item.setApplyOutputModifiersByDefault(false);
         Item.setApplyValidatorMandatoryByDefault(false);
+        Item.setUseCompactStorageByDefault(true);
 
         CommonDateFormater.setDateFormater(new ServerDateFormater());
     }
@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.server.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+
+import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+import org.bonitasoft.web.toolkit.client.common.json.JSonUtil;
+import org.bonitasoft.web.toolkit.client.common.json.JsonSerializable;
+import org.bonitasoft.web.toolkit.client.data.item.Item;
+
+/**
+ * Write the same JSon as {@link JSonSerializer} directly into a Writer.<br>
+ * Items, lists and maps are written piece by piece so that big responses (e.g. a search of 1000 items with deploys) are not built in
+ * memory first. The characters are written in a buffer which is flushed into the Writer when full.
+ */
+public class JSonStreamWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Writer writer;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int position = 0;
+
+    private final Appendable bufferAppender = new BufferAppender();
+
+    public JSonStreamWriter(final Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Write an object as {@link JSonSerializer#serialize(Object)} would
+     */
+    public JSonStreamWriter write(final Object object) throws IOException {
+        if (object == null) {
+            append("null");
+        } else if (object instanceof Item) {
+            writeItem((Item) object);
+        } else if (object instanceof JsonSerializable) {
+            append(JSonSerializer.serialize((JsonSerializable) object));
+        } else if (object instanceof Collection<?>) {
+            writeCollection((Collection<?>) object);
+        } else if (object instanceof Map<?, ?>) {
+            writeMap((Map<?, ?>) object);
+        } else {
+            append(JSonSerializer.serialize(object));
+        }
+        return this;
+    }
+
+    /**
+     * Write the buffered characters into the Writer and flush it
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        writer.flush();
+    }
+
+    private void writeItem(final Item item) throws IOException {
+        append('{');
+        boolean first = true;
+        for (final String attribute : item.getAttributeNames()) {
+            if (!first) {
+                append(',');
+            }
+            writeQuoted(attribute);
+            append(':');
+            if (item.hasDeploy(attribute)) {
+                write(item.getDeploy(attribute));
+            } else {
+                writeQuoted(item.getAttributeValue(attribute));
+            }
+            first = false;
+        }
+        append('}');
+    }
+
+    private void writeCollection(final Collection<?> collection) throws IOException {
+        append('[');
+        boolean first = true;
+        for (final Object element : collection) {
+            if (!first) {
+                append(',');
+            }
+            write(element);
+            first = false;
+        }
+        append(']');
+    }
+
+    private void writeMap(final Map<?, ?> map) throws IOException {
+        append('{');
+        boolean first = true;
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                append(',');
+            }
+            writeQuoted(entry.getKey().toString());
+            append(':');
+            write(entry.getValue());
+            first = false;
+        }
+        append('}');
+    }
+
+    /**
+     * Same escaping as {@link JSonSerializer#quote(String)}
+     */
+    private void writeQuoted(final String string) throws IOException {
+        append('"');
+        JSonUtil.escape(string, bufferAppender);
+        append('"');
+    }
+
+    private void append(final char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = c;
+    }
+
+    private void append(final String string) throws IOException {
+        final int length = string.length();
+        if (length > buffer.length - position) {
+            flushBuffer();
+            if (length > buffer.length) {
+                writer.write(string);
+                return;
+            }
+        }
+        string.getChars(0, length, buffer, position);
+        position += length;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            writer.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * Appends into the buffer, for the escaping of {@link JSonUtil}
+     */
+    private class BufferAppender implements Appendable {
+
+        @Override
+        public Appendable append(final CharSequence csq) throws IOException {
+            JSonStreamWriter.this.append(String.valueOf(csq));
+            return this;
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end) throws IOException {
+            JSonStreamWriter.this.append(String.valueOf(csq).substring(start, end));
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char c) throws IOException {
+            JSonStreamWriter.this.append(c);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.console.common.server.login.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import org.bonitasoft.console.common.server.preferences.properties.SecurityProperties;
+import org.bonitasoft.engine.api.permission.APICallContext;
+import org.junit.Test;
+
+public class DynamicPermissionsVerdictCacheTest {
+
+    private long currentTime = 1000L;
+
+    private DynamicPermissionsVerdictCache createVerdictCache(final long timeToLive, final int maxSize) {
+        return new DynamicPermissionsVerdictCache(1L) {
+
+            @Override
+            protected long getTimeToLive() {
+                return timeToLive;
+            }
+
+            @Override
+            protected int getMaxSize() {
+                return maxSize;
+            }
+
+            @Override
+            protected long now() {
+                return currentTime;
+            }
+        };
+    }
+
+    private APICallContext aGetCall(final String resourceId, final String queryString) {
+        return new APICallContext("GET", "bpm", "case", resourceId, queryString, "");
+    }
+
+    @Test
+    public void should_get_the_verdict_of_the_same_call_whatever_the_paging() throws Exception {
+        final DynamicPermissionsVerdictCache verdictCache = createVerdictCache(100, 10);
+
+        verdictCache.put(1L, "CasePermissionRule", aGetCall(null, "p=0&c=10&f=user_id%3d1&f=state%3dready"), true);
+
+        assertThat(verdictCache.get(1L, "CasePermissionRule", aGetCall(null, "f=state%3dready&p=2&f=user_id%3d1&c=20"))).isTrue();
+        assertThat(verdictCache.get(1L, "CasePermissionRule", aGetCall(null, "f=user_id%3d2&f=state%3dready"))).isNull();
+        assertThat(verdictCache.get(1L, "CasePermissionRule", aGetCall("1", "f=user_id%3d1&f=state%3dready"))).isNull();
+        assertThat(verdictCache.get(2L, "CasePermissionRule", aGetCall(null, "f=user_id%3d1&f=state%3dready"))).isNull();
+        assertThat(verdictCache.get(1L, "ProcessPermissionRule", aGetCall(null, "f=user_id%3d1&f=state%3dready"))).isNull();
+    }
+
+    @Test
+    public void should_not_cache_the_verdicts_of_calls_with_a_body() throws Exception {
+        final DynamicPermissionsVerdictCache verdictCache = createVerdictCache(100, 10);
+        final APICallContext postCall = new APICallContext("POST", "bpm", "case", null, "", "{\"processDefinitionId\":\"1\"}");
+
+        verdictCache.put(1L, "CasePermissionRule", postCall, true);
+
+        assertThat(verdictCache.get(1L, "CasePermissionRule", postCall)).isNull();
+        assertThat(verdictCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_drop_expired_verdicts() throws Exception {
+        final DynamicPermissionsVerdictCache verdictCache = createVerdictCache(100, 10);
+        verdictCache.put(1L, "CasePermissionRule", aGetCall("1", ""), false);
+
+        currentTime += 101;
+
+        assertThat(verdictCache.get(1L, "CasePermissionRule", aGetCall("1", ""))).isNull();
+        assertThat(verdictCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_drop_the_verdicts_of_a_session() throws Exception {
+        final DynamicPermissionsVerdictCache verdictCache = createVerdictCache(100, 10);
+        verdictCache.put(1L, "CasePermissionRule", aGetCall("1", ""), true);
+        verdictCache.put(12L, "CasePermissionRule", aGetCall("1", ""), true);
+
+        verdictCache.invalidateSession(1L);
+
+        assertThat(verdictCache.get(1L, "CasePermissionRule", aGetCall("1", ""))).isNull();
+        assertThat(verdictCache.get(12L, "CasePermissionRule", aGetCall("1", ""))).isTrue();
+    }
+
+    @Test
+    public void should_not_keep_more_verdicts_than_max_size() throws Exception {
+        final DynamicPermissionsVerdictCache verdictCache = createVerdictCache(100, 2);
+        verdictCache.put(1L, "CasePermissionRule", aGetCall("1", ""), true);
+        verdictCache.put(1L, "CasePermissionRule", aGetCall("2", ""), true);
+
+        verdictCache.put(1L, "CasePermissionRule", aGetCall("3", ""), true);
+
+        assertThat(verdictCache.size()).isLessThanOrEqualTo(2);
+        assertThat(verdictCache.get(1L, "CasePermissionRule", aGetCall("3", ""))).isTrue();
+    }
+
+    @Test
+    public void should_be_disabled_without_time_to_live() throws Exception {
+        final DynamicPermissionsVerdictCache verdictCache = createVerdictCache(0, 10);
+
+        verdictCache.put(1L, "CasePermissionRule", aGetCall("1", ""), true);
+
+        assertThat(verdictCache.isEnabled()).isFalse();
+        assertThat(verdictCache.get(1L, "CasePermissionRule", aGetCall("1", ""))).isNull();
+    }
+
+    @Test
+    public void should_read_the_time_to_live_from_the_security_config_on_each_call() throws Exception {
+        final SecurityProperties securityProperties = mock(SecurityProperties.class);
+        doReturn(100L).when(securityProperties).getAPIAuthorizationsCheckCacheTimeToLive();
+        doReturn(10).when(securityProperties).getAPIAuthorizationsCheckCacheMaxSize();
+        final DynamicPermissionsVerdictCache verdictCache = new DynamicPermissionsVerdictCache(1L) {
+
+            @Override
+            protected SecurityProperties getSecurityProperties() {
+                return securityProperties;
+            }
+
+            @Override
+            protected long now() {
+                return currentTime;
+            }
+        };
+        verdictCache.put(1L, "CasePermissionRule", aGetCall("1", ""), true);
+        currentTime += 50;
+        assertThat(verdictCache.get(1L, "CasePermissionRule", aGetCall("1", ""))).isTrue();
+
+        doReturn(10L).when(securityProperties).getAPIAuthorizationsCheckCacheTimeToLive();
+
+        assertThat(verdictCache.get(1L, "CasePermissionRule", aGetCall("1", ""))).isNull();
+    }
+}
@@ -65,6 +65,68 @@ public class MultiReadHttpServletRequestTest {
         }
     }
 
+    @Test
+    public void should_keep_a_body_bigger_than_the_threshold_in_a_temporary_file() throws Exception {
+
+        ServletInputStream fakeInputStream = null;
+        try {
+            fakeInputStream = new FakeServletInputStream();
+            doReturn(fakeInputStream).when(request).getInputStream();
+            final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request, 4);
+
+            Assert.assertEquals("body content", IOUtils.toString(multiReadHttpServletRequest.getInputStream()));
+            Assert.assertEquals("body content", IOUtils.toString(multiReadHttpServletRequest.getInputStream()));
+            Assert.assertTrue(multiReadHttpServletRequest.isBodyInTemporaryFile());
+
+            multiReadHttpServletRequest.release();
+            Assert.assertFalse(multiReadHttpServletRequest.isBodyInTemporaryFile());
+        } finally {
+            if (fakeInputStream != null) {
+                fakeInputStream.close();
+            }
+        }
+    }
+
+    @Test
+    public void should_not_buffer_the_body_once_buffering_is_stopped() throws Exception {
+
+        ServletInputStream fakeInputStream = null;
+        try {
+            fakeInputStream = new FakeServletInputStream();
+            doReturn(fakeInputStream).when(request).getInputStream();
+            final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request);
+
+            multiReadHttpServletRequest.stopBuffering();
+
+            Assert.assertSame(fakeInputStream, multiReadHttpServletRequest.getInputStream());
+            Assert.assertFalse(multiReadHttpServletRequest.isBodyRead());
+        } finally {
+            if (fakeInputStream != null) {
+                fakeInputStream.close();
+            }
+        }
+    }
+
+    @Test
+    public void should_keep_the_body_read_before_buffering_is_stopped() throws Exception {
+
+        ServletInputStream fakeInputStream = null;
+        try {
+            fakeInputStream = new FakeServletInputStream();
+            doReturn(fakeInputStream).when(request).getInputStream();
+            final MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(request);
+            Assert.assertEquals("body content", IOUtils.toString(multiReadHttpServletRequest.getInputStream()));
+
+            multiReadHttpServletRequest.stopBuffering();
+
+            Assert.assertEquals("body content", IOUtils.toString(multiReadHttpServletRequest.getInputStream()));
+        } finally {
+            if (fakeInputStream != null) {
+                fakeInputStream.close();
+            }
+        }
+    }
+
     class FakeServletInputStream extends ServletInputStream {
 
         private final StringInputStream inputStream = new StringInputStream("body content");
@@ -340,6 +340,25 @@ public class RestAPIAuthorizationFilterTest {
         assertThat(isAuthorized).isFalse();
     }
 
+    @Test
+    public void should_dynamicCheck_reuse_the_cached_verdict_of_the_script() throws Exception {
+        final Set<String> dynamicAuthorizations = new HashSet<String>(Arrays.asList("check|className"));
+        final RestAPIAuthorizationFilter restAPIAuthorizationFilterSpy = spy(restAPIAuthorizationFilter);
+        final APICallContext apiCallContext = new APICallContext("GET", "bpm", "case", null, "p=0&c=10&f=user_id%3d1", "");
+        final DynamicPermissionsVerdictCache verdictCache = spy(new DynamicPermissionsVerdictCache(1L));
+        doReturn(10000L).when(verdictCache).getTimeToLive();
+        doReturn(10).when(verdictCache).getMaxSize();
+        doReturn(verdictCache).when(restAPIAuthorizationFilterSpy).getDynamicPermissionsVerdictCache(1L);
+        doReturn(true).when(restAPIAuthorizationFilterSpy).executeScript(apiSession, "className", apiCallContext);
+
+        restAPIAuthorizationFilterSpy.dynamicCheck(apiCallContext, new HashSet<String>(), dynamicAuthorizations, apiSession);
+        final boolean isAuthorized = restAPIAuthorizationFilterSpy.dynamicCheck(new APICallContext("GET", "bpm", "case", null, "f=user_id%3d1&p=1&c=10",
+                ""), new HashSet<String>(), dynamicAuthorizations, apiSession);
+
+        assertThat(isAuthorized).isTrue();
+        verify(restAPIAuthorizationFilterSpy, times(1)).executeScript(eq(apiSession), eq("className"), any(APICallContext.class));
+    }
+
     @Test
     public void should_dynamicCheck_return_false_if_the_script_execution_fails() throws Exception {
         final Set<String> dynamicAuthorizations = new HashSet<String>(Arrays.asList("check|className"));
@@ -20,13 +20,20 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -125,6 +132,89 @@ public class CustomPageChildFirstClassLoaderTest {
         assertThat(classLoader.getResourceAsStream("util.properties")).isNotNull();
     }
 
+    @Test
+    public void should_load_classes_and_resources_of_indexed_custom_page_jars() throws Exception {
+        classLoader = new CustomPageChildFirstClassLoader("myPage", customPageDependenciesResolver, bdmDependenciesResolver,
+                Thread.currentThread().getContextClassLoader(), true);
+        final Map<String, File> libraries = new HashMap<>();
+        libraries.put("lib.jar", createJar("org/bonitasoft/console/common/server/page/VersionedClassloader.class", "org/company/config.properties"));
+        final File properties = tmpRule.newFile("util.properties");
+        libraries.put("util.properties", properties);
+        when(customPageDependenciesResolver.resolveCustomPageLibraries()).thenReturn(libraries);
+
+        classLoader.addCustomPageResources();
+
+        try {
+            assertThat(classLoader.getURLs()).hasSize(1);
+            assertThat(classLoader.loadClass(VersionedClassloader.class.getName()).getClassLoader()).isSameAs(classLoader);
+            assertThat(classLoader.getResource("org/company/config.properties")).isNotNull();
+            assertThat(classLoader.getResource("org/company/missing.properties")).isNull();
+            assertThat(classLoader.getResourceAsStream("util.properties")).isNotNull();
+        } finally {
+            classLoader.destroy();
+        }
+    }
+
+    @Test
+    public void should_delete_the_copies_of_the_indexed_custom_page_jars_when_destroyed() throws Exception {
+        classLoader = new CustomPageChildFirstClassLoader("myPage", customPageDependenciesResolver, bdmDependenciesResolver,
+                Thread.currentThread().getContextClassLoader(), true);
+        final Map<String, File> libraries = new HashMap<>();
+        libraries.put("lib.jar", createJar("org/company/config.properties"));
+        when(customPageDependenciesResolver.resolveCustomPageLibraries()).thenReturn(libraries);
+        classLoader.addCustomPageResources();
+        assertThat(customPageDependenciesResolver.getTempFolder().listFiles()).hasSize(1);
+
+        classLoader.destroy();
+
+        assertThat(customPageDependenciesResolver.getTempFolder().listFiles()).isEmpty();
+    }
+
+    @Test
+    public void should_read_the_resources_of_indexed_custom_page_jars_without_opening_them_again() throws Exception {
+        classLoader = new CustomPageChildFirstClassLoader("myPage", customPageDependenciesResolver, bdmDependenciesResolver,
+                Thread.currentThread().getContextClassLoader(), true);
+        final Map<String, File> libraries = new HashMap<>();
+        libraries.put("lib.jar", createJar("org/bonitasoft/console/common/server/page/VersionedClassloader.class"));
+        when(customPageDependenciesResolver.resolveCustomPageLibraries()).thenReturn(libraries);
+        classLoader.addCustomPageResources();
+
+        final URL resource = classLoader.getResource("org/bonitasoft/console/common/server/page/VersionedClassloader.class");
+        final InputStream inputStream = resource.openStream();
+        try {
+            assertThat(IOUtils.toByteArray(inputStream)).isNotEmpty();
+        } finally {
+            inputStream.close();
+        }
+        assertThat(resource.openConnection()).isNotInstanceOf(JarURLConnection.class);
+        classLoader.destroy();
+
+        assertThat(customPageDependenciesResolver.getTempFolder().listFiles()).isEmpty();
+        assertThat(resource.toExternalForm()).startsWith("jar:file:").endsWith("!/org/bonitasoft/console/common/server/page/VersionedClassloader.class");
+    }
+
+    private File createJar(final String... entries) throws IOException {
+        final File jar = tmpRule.newFile();
+        final JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            for (final String entry : entries) {
+                jarOutputStream.putNextEntry(new JarEntry(entry));
+                final InputStream content = getClass().getResourceAsStream("/" + entry);
+                if (content != null) {
+                    try {
+                        IOUtils.copy(content, jarOutputStream);
+                    } finally {
+                        content.close();
+                    }
+                }
+                jarOutputStream.closeEntry();
+            }
+        } finally {
+            jarOutputStream.close();
+        }
+        return jar;
+    }
+
     private Map<String, byte[]> loadedResources(String... resourceNames) {
         final Map<String, byte[]> resources = new HashMap<>();
         for (final String resource : resourceNames) {
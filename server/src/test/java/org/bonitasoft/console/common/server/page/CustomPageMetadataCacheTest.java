@@ -0,0 +1,82 @@
+package org.bonitasoft.console.common.server.page;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+import org.bonitasoft.engine.page.Page;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CustomPageMetadataCacheTest {
+
+    private long currentTime = 1000L;
+
+    @Mock
+    private Page page;
+
+    @Before
+    public void before() throws Exception {
+        doReturn(2L).when(page).getId();
+    }
+
+    private CustomPageMetadataCache createMetadataCache(final long timeToLive) {
+        return new CustomPageMetadataCache(timeToLive) {
+
+            @Override
+            protected long now() {
+                return currentTime;
+            }
+        };
+    }
+
+    @Test
+    public void should_keep_pages_until_they_expire() throws Exception {
+        final CustomPageMetadataCache metadataCache = createMetadataCache(100);
+        metadataCache.putPage(page);
+        metadataCache.putPage("custompage_page", page);
+
+        assertThat(metadataCache.getPage(2L)).isSameAs(page);
+        assertThat(metadataCache.getPage("custompage_page")).isSameAs(page);
+
+        currentTime += 101;
+
+        assertThat(metadataCache.getPage(2L)).isNull();
+        assertThat(metadataCache.getPage("custompage_page")).isNull();
+    }
+
+    @Test
+    public void should_tell_a_folder_is_up_to_date_only_for_the_same_last_update_date() throws Exception {
+        final CustomPageMetadataCache metadataCache = createMetadataCache(100);
+        metadataCache.setFolderUpToDate("custompage_page", 10L);
+
+        assertThat(metadataCache.isFolderUpToDate("custompage_page", 10L)).isTrue();
+        assertThat(metadataCache.isFolderUpToDate("custompage_page", 11L)).isFalse();
+        assertThat(metadataCache.isFolderUpToDate("custompage_other", 10L)).isFalse();
+    }
+
+    @Test
+    public void should_forget_everything_on_clear() throws Exception {
+        final CustomPageMetadataCache metadataCache = createMetadataCache(100);
+        metadataCache.putPage(page);
+        metadataCache.setFolderUpToDate("custompage_page", 10L);
+
+        metadataCache.clear();
+
+        assertThat(metadataCache.getPage(2L)).isNull();
+        assertThat(metadataCache.isFolderUpToDate("custompage_page", 10L)).isFalse();
+    }
+
+    @Test
+    public void should_keep_nothing_when_disabled() throws Exception {
+        final CustomPageMetadataCache metadataCache = createMetadataCache(0);
+        metadataCache.putPage(page);
+        metadataCache.setFolderUpToDate("custompage_page", 10L);
+
+        assertThat(metadataCache.getPage(2L)).isNull();
+        assertThat(metadataCache.isFolderUpToDate("custompage_page", 10L)).isFalse();
+    }
+}
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.fail;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -123,7 +124,7 @@ public class CustomPageServiceTest {
         final File pageLibDir = new File(pageFile.getParentFile(), File.separator + "lib");
         doReturn(pageLibDir).when(customPageService).getCustomPageLibDirectory(any(File.class));
         doReturn(Thread.currentThread().getContextClassLoader()).when(customPageService).getParentClassloader(anyString(),
-                any(CustomPageDependenciesResolver.class),any(BDMClientDependenciesResolver.class));
+                any(CustomPageDependenciesResolver.class), any(BDMClientDependenciesResolver.class), anyBoolean());
 
         when(mockedPage.getLastModificationDate()).thenReturn(new Date(0L));
         doReturn(pageAPI).when(customPageService).getPageAPI(apiSession);
@@ -152,7 +153,7 @@ public class CustomPageServiceTest {
         doReturn(pageLibDir).when(customPageService).getCustomPageLibDirectory(any(File.class));
         doReturn(Thread.currentThread().getContextClassLoader()).when(customPageService).getParentClassloader(anyString(),
                 any(CustomPageDependenciesResolver.class),
-                any(BDMClientDependenciesResolver.class));
+                any(BDMClientDependenciesResolver.class), anyBoolean());
         final Page mockedPage = mock(Page.class);
         when(mockedPage.getLastModificationDate()).thenReturn(new Date(0L));
         doReturn(pageAPI).when(customPageService).getPageAPI(apiSession);
@@ -491,4 +492,36 @@ public class CustomPageServiceTest {
         assertThat(classloader.getResource("org/company/test/config.properties")).isNotNull();
     }
 
+    @Test
+    public void should_get_page_from_the_engine_only_once_while_it_is_cached() throws Exception {
+        doReturn(new CustomPageMetadataCache(60000L)).when(customPageService).getPageMetadataCache(apiSession);
+        doReturn(pageAPI).when(customPageService).getPageAPI(apiSession);
+        doReturn(42L).when(mockedPage).getId();
+        doReturn(mockedPage).when(pageAPI).getPage(42L);
+
+        customPageService.getPage(apiSession, 42L);
+        final Page page = customPageService.getPage(apiSession, 42L);
+
+        assertThat(page).isSameAs(mockedPage);
+        verify(pageAPI, times(1)).getPage(42L);
+    }
+
+    @Test
+    public void should_not_read_the_page_folder_again_while_it_is_up_to_date() throws Exception {
+        final CustomPageMetadataCache pageMetadataCache = new CustomPageMetadataCache(60000L);
+        doReturn(pageMetadataCache).when(customPageService).getPageMetadataCache(apiSession);
+        final File pageFolder = new File("target/bonita/home/client/tenants/1/pages/upToDatePage");
+        pageFolder.mkdirs();
+        new File(pageFolder, ".lastupdate").delete();
+        when(pageResourceProvider.getPageDirectory()).thenReturn(pageFolder);
+        when(pageResourceProvider.getFullPageName()).thenReturn("upToDatePage");
+        doReturn(12L).when(customPageService).getPageLastUpdateDateFromEngine(apiSession, pageResourceProvider);
+
+        customPageService.ensurePageFolderIsUpToDate(apiSession, pageResourceProvider);
+        customPageService.ensurePageFolderIsUpToDate(apiSession, pageResourceProvider);
+
+        assertThat(pageMetadataCache.isFolderUpToDate("upToDatePage", 12L)).isTrue();
+        verify(customPageService, times(1)).getPageFile(pageFolder, ".lastupdate");
+    }
+
 }
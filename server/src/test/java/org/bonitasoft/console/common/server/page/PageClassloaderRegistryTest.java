@@ -0,0 +1,244 @@
+package org.bonitasoft.console.common.server.page;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bonitasoft.engine.session.APISession;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import groovy.lang.GroovyClassLoader;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PageClassloaderRegistryTest {
+
+    private long currentTime = 1000L;
+
+    @Mock
+    private BDMClientDependenciesResolver bdmDependenciesResolver;
+
+    private final PageClassloaderRegistry registry = createRegistry(2);
+
+    private PageClassloaderRegistry createRegistry(final int maxSize) {
+        return new PageClassloaderRegistry(maxSize, 100) {
+
+            @Override
+            protected long now() {
+                return currentTime;
+            }
+        };
+    }
+
+    @Test
+    public void should_build_the_classloader_of_a_page_only_once() throws Exception {
+        final CountingBuilder builder = new CountingBuilder("1");
+
+        final GroovyClassLoader classloader = registry.getClassloader("custompage_page", false, "1", builder);
+
+        assertThat(registry.getClassloader("custompage_page", false, "1", builder)).isSameAs(classloader);
+        assertThat(builder.builds.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_build_the_classloader_of_a_page_only_once_when_asked_concurrently() throws Exception {
+        final CountingBuilder builder = new CountingBuilder("1");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Callable<GroovyClassLoader> getClassloader = new Callable<GroovyClassLoader>() {
+
+                @Override
+                public GroovyClassLoader call() throws Exception {
+                    return registry.getClassloader("custompage_page", false, "1", builder);
+                }
+            };
+            final Future<GroovyClassLoader> first = executor.submit(getClassloader);
+            final Future<GroovyClassLoader> second = executor.submit(getClassloader);
+            final Future<GroovyClassLoader> third = executor.submit(getClassloader);
+
+            assertThat(second.get()).isSameAs(first.get());
+            assertThat(third.get()).isSameAs(first.get());
+            assertThat(builder.builds.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void should_build_and_close_the_previous_classloader_when_outdated_or_asked_to() throws Exception {
+        final GroovyClassLoader classloader = registry.getClassloader("custompage_page", false, "1", new CountingBuilder("1"));
+        registry.release(classloader);
+        final GroovyClassLoader rebuiltClassloader = registry.getClassloader("custompage_page", true, "1", new CountingBuilder("1"));
+        registry.release(rebuiltClassloader);
+        final GroovyClassLoader newBDMClassloader = registry.getClassloader("custompage_page", false, "2", new CountingBuilder("2"));
+        registry.release(newBDMClassloader);
+
+        assertThat(rebuiltClassloader).isNotSameAs(classloader);
+        assertThat(newBDMClassloader).isNotSameAs(rebuiltClassloader);
+        verify(classloader).close();
+        verify(rebuiltClassloader).close();
+        verify(newBDMClassloader, never()).close();
+    }
+
+    @Test
+    public void should_not_close_a_classloader_rebuilt_in_debug_mode_until_the_requests_using_it_release_it() throws Exception {
+        final GroovyClassLoader classloader = registry.getClassloader("custompage_page", true, "1", new CountingBuilder("1"));
+        assertThat(registry.getClassloader("custompage_page", false, "1", new CountingBuilder("1"))).isSameAs(classloader);
+
+        final GroovyClassLoader rebuiltClassloader = registry.getClassloader("custompage_page", true, "1", new CountingBuilder("1"));
+        registry.release(classloader);
+
+        assertThat(registry.get("custompage_page")).isSameAs(rebuiltClassloader);
+        assertThat(registry.getRetiredSize()).isEqualTo(1);
+        verify(classloader, never()).close();
+
+        registry.release(classloader);
+
+        assertThat(registry.getRetiredSize()).isEqualTo(0);
+        verify(classloader).close();
+        verify(rebuiltClassloader, never()).close();
+    }
+
+    @Test
+    public void should_close_the_classloader_of_the_least_recently_used_page_when_full() throws Exception {
+        final CountingBuilder builder = new CountingBuilder("1");
+        final GroovyClassLoader classloader1 = registry.getClassloader("custompage_page1", false, "1", builder);
+        final GroovyClassLoader classloader2 = registry.getClassloader("custompage_page2", false, "1", builder);
+        registry.release(classloader2);
+        registry.getClassloader("custompage_page1", false, "1", builder);
+
+        registry.getClassloader("custompage_page3", false, "1", builder);
+
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.get("custompage_page1")).isSameAs(classloader1);
+        assertThat(registry.get("custompage_page2")).isNull();
+        verify(classloader2).close();
+    }
+
+    @Test
+    public void should_close_an_evicted_classloader_only_once_released() throws Exception {
+        final CountingBuilder builder = new CountingBuilder("1");
+        final GroovyClassLoader classloader1 = registry.getClassloader("custompage_page1", false, "1", builder);
+        registry.getClassloader("custompage_page2", false, "1", builder);
+
+        registry.getClassloader("custompage_page3", false, "1", builder);
+
+        assertThat(registry.get("custompage_page1")).isNull();
+        verify(classloader1, never()).close();
+
+        registry.release(classloader1);
+
+        verify(classloader1).close();
+    }
+
+    @Test
+    public void should_close_the_classloader_of_a_removed_page() throws Exception {
+        final GroovyClassLoader classloader = registry.getClassloader("custompage_page", false, "1", new CountingBuilder("1"));
+        registry.release(classloader);
+
+        registry.remove("custompage_page");
+
+        assertThat(registry.get("custompage_page")).isNull();
+        verify(classloader).close();
+    }
+
+    @Test
+    public void should_close_the_classloader_of_a_page_removed_while_in_use_once_released() throws Exception {
+        final GroovyClassLoader classloader = registry.getClassloader("custompage_page", false, "1", new CountingBuilder("1"));
+
+        registry.remove("custompage_page");
+        verify(classloader, never()).close();
+        registry.release(classloader);
+
+        verify(classloader).close();
+    }
+
+    @Test
+    public void should_ask_the_bdm_version_again_only_when_expired_or_invalidated() throws Exception {
+        doReturn("1").when(bdmDependenciesResolver).getBusinessDataModelVersion();
+
+        assertThat(registry.getBusinessDataModelVersion(bdmDependenciesResolver)).isEqualTo("1");
+        currentTime += 100;
+        registry.getBusinessDataModelVersion(bdmDependenciesResolver);
+        verify(bdmDependenciesResolver, times(1)).getBusinessDataModelVersion();
+
+        currentTime += 1;
+        registry.getBusinessDataModelVersion(bdmDependenciesResolver);
+        registry.invalidateBusinessDataModelVersion();
+        registry.getBusinessDataModelVersion(bdmDependenciesResolver);
+        verify(bdmDependenciesResolver, times(3)).getBusinessDataModelVersion();
+    }
+
+    @Test
+    public void should_reuse_the_bdm_dependencies_resolver_while_the_session_is_the_same() throws Exception {
+        final APISession session = mock(APISession.class);
+        doReturn(1L).when(session).getId();
+        final APISession otherSession = mock(APISession.class);
+        doReturn(2L).when(otherSession).getId();
+
+        final BDMClientDependenciesResolver resolver = registry.getBDMDependenciesResolver(session);
+
+        assertThat(registry.getBDMDependenciesResolver(session)).isSameAs(resolver);
+        assertThat(registry.getBDMDependenciesResolver(otherSession)).isNotSameAs(resolver);
+    }
+
+    @Test
+    public void should_build_the_classloader_of_a_removed_page_again() throws Exception {
+        final CountingBuilder builder = new CountingBuilder("1");
+        registry.release(registry.getClassloader("custompage_page", false, "1", builder));
+
+        registry.remove("custompage_page");
+        registry.getClassloader("custompage_page", false, "1", builder);
+
+        assertThat(builder.builds.get()).isEqualTo(2);
+    }
+
+    private static class CountingBuilder implements PageClassloaderRegistry.ClassloaderBuilder {
+
+        private final String bdmVersion;
+
+        private final AtomicInteger builds = new AtomicInteger();
+
+        private CountingBuilder(final String bdmVersion) {
+            this.bdmVersion = bdmVersion;
+        }
+
+        @Override
+        public GroovyClassLoader build() {
+            builds.incrementAndGet();
+            return spy(new GroovyClassLoader(new VersionedParentClassloader(bdmVersion)));
+        }
+    }
+
+    private static class VersionedParentClassloader extends ClassLoader implements VersionedClassloader {
+
+        private final String version;
+
+        private VersionedParentClassloader(final String version) {
+            super(Thread.currentThread().getContextClassLoader());
+            this.version = version;
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+
+        @Override
+        public boolean hasVersion(final String version) {
+            return this.version.equals(version);
+        }
+    }
+}
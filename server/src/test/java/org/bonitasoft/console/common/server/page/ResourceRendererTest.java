@@ -16,8 +16,11 @@ package org.bonitasoft.console.common.server.page;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,12 +36,19 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.CompressedResourceCache;
+import org.bonitasoft.console.common.server.utils.StaticResourceSender;
 import org.bonitasoft.engine.exception.BonitaException;
 import org.bonitasoft.engine.session.APISession;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -50,6 +60,9 @@ import org.mockito.runners.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class ResourceRendererTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Mock
     private HttpServletRequest req;
 
@@ -86,6 +99,8 @@ public class ResourceRendererTest {
         when(req.getSession()).thenReturn(httpSession);
         when(res.getOutputStream()).thenReturn(outputStream);
         when(httpSession.getServletContext()).thenReturn(servletContext);
+        doReturn(new StaticResourceSender(0)).when(resourceRenderer).getStaticResourceSender(apiSession);
+        doReturn(new CompressedResourceCache(temporaryFolder.newFolder("tenantTemp"))).when(resourceRenderer).getCompressedResourceCache(apiSession);
     }
 
     @Test
@@ -100,13 +115,65 @@ public class ResourceRendererTest {
         verify(servletContext).getMimeType("file.css");
         verify(res).setContentType("text/css");
         verify(res).setContentLength((int) contentLength);
-        verify(res).setBufferSize((int) contentLength);
         verify(res).setHeader("Cache-Control", "no-cache");
+        verify(res).setHeader(eq("ETag"), anyString());
         verify(outputStream).write(any(byte[].class), eq(0), eq((int) contentLength));
         verify(res).flushBuffer();
         verify(outputStream).close();
     }
 
+    @Test
+    public void renderFile_should_answer_not_modified_when_the_browser_has_the_same_version() throws Exception {
+        final File resourceFile = getResourceFile();
+        final ArgumentCaptor<String> entityTag = ArgumentCaptor.forClass(String.class);
+        resourceRenderer.renderFile(req, res, resourceFile, apiSession);
+        verify(res).setHeader(eq("ETag"), entityTag.capture());
+        when(req.getHeader("If-None-Match")).thenReturn(entityTag.getValue());
+
+        resourceRenderer.renderFile(req, res, resourceFile, apiSession);
+
+        verify(res).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(outputStream, times(1)).close();
+    }
+
+    @Test
+    public void renderFile_should_send_the_requested_range() throws Exception {
+        final File resourceFile = getResourceFile();
+        when(req.getHeader("Range")).thenReturn("bytes=1-2");
+
+        resourceRenderer.renderFile(req, res, resourceFile, apiSession);
+
+        verify(res).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(res).setHeader("Content-Range", "bytes 1-2/" + resourceFile.length());
+        verify(res).setContentLength(2);
+        verify(outputStream).write(any(byte[].class), eq(0), eq(2));
+    }
+
+    @Test
+    public void renderFile_should_let_the_browser_keep_versioned_resources_when_configured() throws Exception {
+        doReturn(new StaticResourceSender(3600)).when(resourceRenderer).getStaticResourceSender(apiSession);
+        when(req.getParameter(StaticResourceSender.VERSION_PARAM)).thenReturn("7.0.0");
+
+        resourceRenderer.renderFile(req, res, getResourceFile(), apiSession);
+
+        verify(res).setHeader("Cache-Control", "public, max-age=3600, immutable");
+    }
+
+    @Test
+    public void renderFile_should_send_the_gzipped_variant_stored_in_the_temp_folder_to_the_browsers_accepting_it() throws Exception {
+        final File pageFolder = temporaryFolder.newFolder("page");
+        final File resourceFile = new File(pageFolder, "app.css");
+        FileUtils.writeStringToFile(resourceFile, StringUtils.repeat("body { margin: 0; }", 50));
+        when(req.getHeader("Accept-Encoding")).thenReturn("gzip, deflate");
+
+        resourceRenderer.renderFile(req, res, resourceFile, apiSession);
+
+        verify(res).setHeader("Content-Encoding", CompressedResourceCache.GZIP_ENCODING);
+        verify(res).setHeader("Vary", "Accept-Encoding");
+        assertThat(pageFolder.list()).containsOnly("app.css");
+        assertThat(new File(temporaryFolder.getRoot(), "tenantTemp").list()).isNotEmpty();
+    }
+
     private File getResourceFile() throws URISyntaxException {
         return new File(ResourceRendererTest.class.getResource("file.css").toURI());
     }
@@ -0,0 +1,110 @@
+package org.bonitasoft.console.common.server.page;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.util.Date;
+import java.util.Properties;
+
+import org.bonitasoft.engine.page.Page;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import groovy.lang.GroovyClassLoader;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RestApiControllerRegistryTest {
+
+    private static final long TENANT_ID = 1L;
+
+    @Mock
+    private Page page;
+
+    @Mock
+    private PageResourceProvider pageResourceProvider;
+
+    @Mock
+    private CustomPageService customPageService;
+
+    private final RestApiControllerRegistry registry = new RestApiControllerRegistry();
+
+    @Before
+    public void before() throws Exception {
+        doReturn(2L).when(page).getId();
+        doReturn(new Date(1000L)).when(page).getLastModificationDate();
+        doAnswer(new Answer<ByteArrayInputStream>() {
+
+            @Override
+            public ByteArrayInputStream answer(final InvocationOnMock invocation) throws Throwable {
+                return new ByteArrayInputStream("apiExtensions=helloWorld".getBytes("UTF-8"));
+            }
+        }).when(pageResourceProvider).getResourceAsStream("page.properties");
+        doReturn(RestApiController.class).when(customPageService).registerRestApiPage(any(GroovyClassLoader.class), any(PageResourceProvider.class),
+                anyString());
+    }
+
+    @Test
+    public void should_read_page_properties_only_when_the_page_is_updated() throws Exception {
+        final Properties properties = registry.getPageProperties(TENANT_ID, page, pageResourceProvider);
+        registry.getPageProperties(TENANT_ID, page, pageResourceProvider);
+
+        doReturn(new Date(2000L)).when(page).getLastModificationDate();
+        registry.getPageProperties(TENANT_ID, page, pageResourceProvider);
+
+        assertThat(properties.getProperty("apiExtensions")).isEqualTo("helloWorld");
+        verify(pageResourceProvider, times(2)).getResourceAsStream("page.properties");
+    }
+
+    @Test
+    public void should_compile_the_controller_only_once_per_page_version_and_classloader() throws Exception {
+        final GroovyClassLoader pageClassLoader = new GroovyClassLoader();
+        final GroovyClassLoader newPageClassLoader = new GroovyClassLoader();
+
+        final Class<RestApiController> controllerClass = registry.getControllerClass(TENANT_ID, page, "Index.groovy", pageClassLoader,
+                pageResourceProvider, customPageService);
+        registry.getControllerClass(TENANT_ID, page, "Index.groovy", pageClassLoader, pageResourceProvider, customPageService);
+        registry.getControllerClass(TENANT_ID, page, "Index.groovy", newPageClassLoader, pageResourceProvider, customPageService);
+
+        assertThat(controllerClass).isEqualTo(RestApiController.class);
+        verify(customPageService).registerRestApiPage(pageClassLoader, pageResourceProvider, "Index.groovy");
+        verify(customPageService).registerRestApiPage(newPageClassLoader, pageResourceProvider, "Index.groovy");
+    }
+
+    @Test
+    public void should_compile_the_controller_again_when_its_classloader_is_invalidated_or_the_page_updated() throws Exception {
+        final GroovyClassLoader pageClassLoader = new GroovyClassLoader();
+
+        registry.getControllerClass(TENANT_ID, page, "Index.groovy", pageClassLoader, pageResourceProvider, customPageService);
+        registry.invalidate(pageClassLoader);
+        registry.getControllerClass(TENANT_ID, page, "Index.groovy", pageClassLoader, pageResourceProvider, customPageService);
+        doReturn(new Date(2000L)).when(page).getLastModificationDate();
+        registry.getControllerClass(TENANT_ID, page, "Index.groovy", pageClassLoader, pageResourceProvider, customPageService);
+
+        verify(customPageService, times(3)).registerRestApiPage(pageClassLoader, pageResourceProvider, "Index.groovy");
+    }
+
+    @Test
+    public void should_read_page_properties_and_compile_the_controller_again_when_the_page_is_invalidated() throws Exception {
+        final GroovyClassLoader pageClassLoader = new GroovyClassLoader();
+        registry.getPageProperties(TENANT_ID, page, pageResourceProvider);
+        registry.getControllerClass(TENANT_ID, page, "Index.groovy", pageClassLoader, pageResourceProvider, customPageService);
+
+        registry.invalidate(TENANT_ID, 2L);
+        registry.getPageProperties(TENANT_ID, page, pageResourceProvider);
+        registry.getControllerClass(TENANT_ID, page, "Index.groovy", pageClassLoader, pageResourceProvider, customPageService);
+
+        verify(pageResourceProvider, times(2)).getResourceAsStream("page.properties");
+        verify(customPageService, times(2)).registerRestApiPage(pageClassLoader, pageResourceProvider, "Index.groovy");
+    }
+}
@@ -11,6 +11,8 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.PrintWriter;
 import java.net.HttpURLConnection;
 import java.util.Arrays;
@@ -21,6 +23,8 @@ import javax.servlet.http.HttpSession;
 
 import org.apache.commons.fileupload.FileItem;
 import org.apache.commons.fileupload.FileItemFactory;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.forms.server.accessor.DefaultFormsProperties;
@@ -142,4 +146,59 @@ public class TenantFileUploadServletTest {
         verify(printer).flush();
         verify(item).getSize();
     }
+
+    @Test
+    public void should_stream_the_uploaded_file_to_its_final_location() throws Exception {
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        final PrintWriter printer = mock(PrintWriter.class);
+        final FileItemStream itemStream = mockStreamingUpload("uploadedFile.txt", new byte[1000]);
+        fileUploadServlet.checkUploadedFileSize = true;
+        when(formsProperties.getAttachmentMaxSize()).thenReturn(1L); // 1Mb
+        when(response.getWriter()).thenReturn(printer);
+
+        fileUploadServlet.doPost(request, response);
+
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(printer).print(captor.capture());
+        final File uploadedFile = new File(tempFolder.getRoot(), captor.getValue());
+        assertThat(uploadedFile).exists();
+        assertThat(uploadedFile.length()).isEqualTo(1000L);
+        verify(itemStream).openStream();
+    }
+
+    @Test
+    public void should_set_413_status_code_and_delete_the_file_when_the_streamed_file_is_too_big() throws Exception {
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        final PrintWriter printer = mock(PrintWriter.class);
+        mockStreamingUpload("uploadedFile.zip", new byte[2 * 1048576]);
+        fileUploadServlet.checkUploadedFileSize = true;
+        when(formsProperties.getAttachmentMaxSize()).thenReturn(1L); // 1Mb
+        when(response.getWriter()).thenReturn(printer);
+
+        fileUploadServlet.doPost(request, response);
+
+        verify(response).setStatus(HttpURLConnection.HTTP_ENTITY_TOO_LARGE);
+        verify(printer, never()).print(anyString());
+        assertThat(tempFolder.getRoot().listFiles()).isEmpty();
+    }
+
+    private FileItemStream mockStreamingUpload(final String fileName, final byte[] content) throws Exception {
+        final ServletFileUpload serviceFileUpload = mock(ServletFileUpload.class);
+        final FileItemIterator items = mock(FileItemIterator.class);
+        final FileItemStream itemStream = mock(FileItemStream.class);
+
+        fileUploadServlet.uploadDirectoryPath = tempFolder.getRoot().getAbsolutePath();
+        fileUploadServlet.streamUpload = true;
+        doNothing().when(fileUploadServlet).defineUploadDirectoryPath(request);
+        doReturn(serviceFileUpload).when(fileUploadServlet).createStreamingServletFileUpload();
+
+        when(serviceFileUpload.getItemIterator(request)).thenReturn(items);
+        when(items.hasNext()).thenReturn(true, false);
+        when(items.next()).thenReturn(itemStream);
+        when(itemStream.getName()).thenReturn(fileName);
+        when(itemStream.openStream()).thenReturn(new ByteArrayInputStream(content));
+        when(request.getMethod()).thenReturn("post");
+        when(request.getContentType()).thenReturn("multipart/");
+        return itemStream;
+    }
 }
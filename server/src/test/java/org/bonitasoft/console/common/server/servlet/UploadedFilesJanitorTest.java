@@ -0,0 +1,46 @@
+package org.bonitasoft.console.common.server.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class UploadedFilesJanitorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final UploadedFilesJanitor uploadedFilesJanitor = new UploadedFilesJanitor();
+
+    @Test
+    public void should_only_delete_the_expired_uploaded_files() throws Exception {
+        final long now = System.currentTimeMillis();
+        final File expiredFile = createFile("tmp_expired.bar", now - 20000L);
+        final File recentFile = createFile("tmp_recent.bar", now - 5000L);
+        final File otherFile = createFile("other.bar", now - 20000L);
+        final File expiredFolder = temporaryFolder.newFolder("tmp_folder");
+        expiredFolder.setLastModified(now - 20000L);
+
+        final int deletedFiles = uploadedFilesJanitor.sweep(temporaryFolder.getRoot(), 10000L, now);
+
+        assertThat(deletedFiles).isEqualTo(1);
+        assertThat(expiredFile).doesNotExist();
+        assertThat(recentFile).exists();
+        assertThat(otherFile).exists();
+        assertThat(expiredFolder).exists();
+    }
+
+    @Test
+    public void should_ignore_a_missing_directory() throws Exception {
+        assertThat(uploadedFilesJanitor.sweep(new File(temporaryFolder.getRoot(), "missing"), 10000L, System.currentTimeMillis())).isEqualTo(0);
+    }
+
+    private File createFile(final String name, final long lastModified) throws Exception {
+        final File file = temporaryFolder.newFile(name);
+        file.setLastModified(lastModified);
+        return file;
+    }
+}
@@ -1,5 +1,6 @@
 package org.bonitasoft.console.server.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -8,9 +9,11 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
+import java.util.Collections;
 
 import org.bonitasoft.console.common.server.i18n.I18n;
 import org.bonitasoft.console.common.server.utils.BonitaHomeFolderAccessor;
+import org.bonitasoft.console.common.server.utils.ProfilePermissionsCache;
 import org.bonitasoft.console.common.server.utils.UnauthorizedFolderException;
 import org.bonitasoft.engine.api.ApplicationAPI;
 import org.bonitasoft.engine.api.ImportStatus;
@@ -20,6 +23,7 @@ import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
 import org.bonitasoft.engine.exception.ServerAPIException;
 import org.bonitasoft.engine.exception.UnknownAPITypeException;
 import org.bonitasoft.engine.session.InvalidSessionException;
+import org.bonitasoft.livingapps.ApplicationModelCache;
 import org.bonitasoft.web.common.model.ImportStatusMessages;
 import org.bonitasoft.web.rest.server.BonitaRestAPIServlet;
 import org.bonitasoft.web.toolkit.client.common.i18n.AbstractI18n.LOCALE;
@@ -61,6 +65,7 @@ public class ApplicationsImportServiceTest {
         MockitoAnnotations.initMocks(this);
         doReturn(LOCALE.en).when(spiedApplicationImportService).getLocale();
         Mockito.doReturn(applicationAPI).when(spiedApplicationImportService).getApplicationAPI();
+        doReturn(1L).when(spiedApplicationImportService).getTenantId();
     }
 
     @Test
@@ -79,6 +84,25 @@ public class ApplicationsImportServiceTest {
         assertEquals(importStatusMessages.getImported().size(), 1);
     }
 
+    @Test
+    public void should_importFileContent_make_the_permissions_of_the_profiles_be_computed_again() throws Exception {
+        final ProfilePermissionsCache profilePermissionsCache = ProfilePermissionsCache.getInstance(1L);
+        profilePermissionsCache.put(2L, Collections.singleton("Perm1"), profilePermissionsCache.getGeneration());
+
+        spiedApplicationImportService.importFileContent(new byte[0], "FAIL_ON_DUPLICATES");
+
+        assertThat(profilePermissionsCache.get(2L)).isNull();
+    }
+
+    @Test
+    public void should_importFileContent_make_the_living_applications_be_retrieved_again() throws Exception {
+        ApplicationModelCache.getInstance(1L).put("homePage|1", "home/");
+
+        spiedApplicationImportService.importFileContent(new byte[0], "FAIL_ON_DUPLICATES");
+
+        assertThat(ApplicationModelCache.getInstance(1L).<String> get("homePage|1")).isNull();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void should_importFileContent_with_invalid_policy_throw_error() throws Exception {
         spiedApplicationImportService.importFileContent(new byte[0], "NOT_AUTHORIZED_POLICY");
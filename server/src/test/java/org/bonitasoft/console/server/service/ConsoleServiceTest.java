@@ -0,0 +1,40 @@
+package org.bonitasoft.console.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConsoleServiceTest {
+
+    private ConsoleService consoleService;
+
+    @Before
+    public void setUp() {
+        consoleService = spy(new ConsoleService() {
+
+            @Override
+            public Object run() {
+                return null;
+            }
+        });
+        doReturn(1L).when(consoleService).getImportBackgroundMinSize();
+    }
+
+    @Test
+    public void should_import_a_big_file_in_the_background_when_the_client_asks_for_it() {
+        doReturn(true).when(consoleService).isBackgroundImportRequested();
+
+        assertThat(consoleService.isBackgroundImport(1048576L)).isTrue();
+        assertThat(consoleService.isBackgroundImport(1048575L)).isFalse();
+    }
+
+    @Test
+    public void should_not_import_a_big_file_in_the_background_when_the_client_does_not_ask_for_it() {
+        doReturn(false).when(consoleService).isBackgroundImportRequested();
+
+        assertThat(consoleService.isBackgroundImport(1048576L)).isFalse();
+    }
+}
@@ -0,0 +1,49 @@
+package org.bonitasoft.console.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ImportFileTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_count_the_elements_of_the_document() throws Exception {
+        final ImportFile importFile = new ImportFile(createFile("<organization><users><user userName=\"walter\"/><user userName=\"april\"/></users>"
+                + "<roles><role name=\"member\"/></roles><groups/><memberships/></organization>", "UTF-8")).validate();
+
+        assertThat(importFile.count("user")).isEqualTo(2);
+        assertThat(importFile.count("role")).isEqualTo(1);
+        assertThat(importFile.count("group")).isEqualTo(0);
+        assertThat(importFile.getSummary("user", "group", "role", "membership")).isEqualTo("user: 2, group: 0, role: 1, membership: 0");
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void should_reject_a_malformed_document() throws Exception {
+        new ImportFile(createFile("<organization><users><user></users></organization>", "UTF-8")).validate();
+    }
+
+    @Test
+    public void should_decode_the_content_with_the_declared_encoding() throws Exception {
+        final String content = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><organization name=\"Société\"/>";
+
+        final ImportFile importFile = new ImportFile(createFile(content, "ISO-8859-1")).validate();
+
+        assertThat(importFile.getContentAsString()).isEqualTo(content);
+    }
+
+    private File createFile(final String content, final String encoding) throws Exception {
+        final File file = temporaryFolder.newFile();
+        FileUtils.writeStringToFile(file, content, encoding);
+        return file;
+    }
+}
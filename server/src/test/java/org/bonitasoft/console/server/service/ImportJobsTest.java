@@ -0,0 +1,128 @@
+package org.bonitasoft.console.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ImportJobsTest {
+
+    private final ImportJobs importJobs = new ImportJobs();
+
+    @After
+    public void tearDown() {
+        importJobs.shutdown();
+    }
+
+    @Test
+    public void should_run_the_import_in_the_background_and_keep_its_result() throws Exception {
+        final CountDownLatch importStarted = new CountDownLatch(1);
+        final CountDownLatch importAllowedToEnd = new CountDownLatch(1);
+
+        final Map<String, Object> submittedStatus = importJobs.submit(1L, "organization", new Callable<String>() {
+
+            @Override
+            public String call() throws Exception {
+                importStarted.countDown();
+                importAllowedToEnd.await(10, TimeUnit.SECONDS);
+                return "imported";
+            }
+        });
+        final String id = (String) submittedStatus.get("id");
+
+        assertThat(importStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(importJobs.getStatus(1L, id).get("state")).isEqualTo(ImportJobs.STATE_RUNNING);
+
+        importAllowedToEnd.countDown();
+        final Map<String, Object> status = waitForEnd(id);
+
+        assertThat(status.get("state")).isEqualTo(ImportJobs.STATE_DONE);
+        assertThat(status.get("result")).isEqualTo("imported");
+        assertThat(status.get("description")).isEqualTo("organization");
+    }
+
+    @Test
+    public void should_keep_the_error_of_a_failed_import() throws Exception {
+        final Map<String, Object> submittedStatus = importJobs.submit(1L, "actor mapping", new Callable<Void>() {
+
+            @Override
+            public Void call() throws Exception {
+                throw new Exception("malformed actor mapping");
+            }
+        });
+
+        final Map<String, Object> status = waitForEnd((String) submittedStatus.get("id"));
+
+        assertThat(status.get("state")).isEqualTo(ImportJobs.STATE_FAILED);
+        assertThat(status.get("error")).isEqualTo("malformed actor mapping");
+    }
+
+    @Test
+    public void should_not_give_the_status_of_an_import_of_another_tenant() throws Exception {
+        final Map<String, Object> submittedStatus = importJobs.submit(1L, "organization", new Callable<Void>() {
+
+            @Override
+            public Void call() throws Exception {
+                return null;
+            }
+        });
+
+        assertThat(importJobs.getStatus(2L, (String) submittedStatus.get("id"))).isNull();
+        assertThat(importJobs.getStatus(1L, "unknown")).isNull();
+    }
+
+    @Test
+    public void should_drop_the_queued_imports_and_interrupt_the_running_one_on_shutdown() throws Exception {
+        final CountDownLatch importStarted = new CountDownLatch(1);
+        final CountDownLatch importInterrupted = new CountDownLatch(1);
+        final CountDownLatch queuedImportRun = new CountDownLatch(1);
+        final Map<String, Object> runningStatus = importJobs.submit(1L, "organization", new Callable<Void>() {
+
+            @Override
+            public Void call() throws Exception {
+                importStarted.countDown();
+                try {
+                    Thread.sleep(10000L);
+                } catch (final InterruptedException e) {
+                    importInterrupted.countDown();
+                }
+                return null;
+            }
+        });
+        final Map<String, Object> queuedStatus = importJobs.submit(1L, "actor mapping", new Callable<Void>() {
+
+            @Override
+            public Void call() throws Exception {
+                queuedImportRun.countDown();
+                return null;
+            }
+        });
+        assertThat(importStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        importJobs.shutdown();
+
+        assertThat(importInterrupted.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(queuedImportRun.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(importJobs.getStatus(1L, (String) runningStatus.get("id"))).isNull();
+        assertThat(importJobs.getStatus(1L, (String) queuedStatus.get("id"))).isNull();
+    }
+
+    private Map<String, Object> waitForEnd(final String id) throws InterruptedException {
+        final long timeout = System.currentTimeMillis() + 10000L;
+        Map<String, Object> status = importJobs.getStatus(1L, id);
+        while (!isFinished(status) && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+            status = importJobs.getStatus(1L, id);
+        }
+        return status;
+    }
+
+    private boolean isFinished(final Map<String, Object> status) {
+        return ImportJobs.STATE_DONE.equals(status.get("state")) || ImportJobs.STATE_FAILED.equals(status.get("state"));
+    }
+}
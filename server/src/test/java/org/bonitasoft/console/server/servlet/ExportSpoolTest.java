@@ -0,0 +1,146 @@
+package org.bonitasoft.console.server.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExportSpoolTest {
+
+    @Mock
+    private HttpServletResponse response;
+
+    private final ByteArrayOutputStream sentContent = new ByteArrayOutputStream();
+
+    private boolean closed;
+
+    @Before
+    public void setUp() throws Exception {
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+
+            @Override
+            public void write(final int b) throws IOException {
+                sentContent.write(b);
+            }
+
+            @Override
+            public void close() throws IOException {
+                closed = true;
+            }
+        });
+    }
+
+    @Test
+    public void should_flush_the_headers_then_stream_the_export_without_content_length() throws Exception {
+        final ExportSpool exportSpool = new ExportSpool(response);
+
+        final boolean spooled = exportSpool.spool("Organization_Data.xml", new ExportSpool.Export() {
+
+            @Override
+            public void writeTo(final ExportSpool spool) throws Exception {
+                assertThat(sentContent.size()).isEqualTo(0);
+                spool.write("<organization>é</organization>");
+            }
+        });
+
+        assertThat(spooled).isTrue();
+        assertThat(sentContent.toString("UTF-8")).isEqualTo("<organization>é</organization>");
+        assertThat(closed).isTrue();
+        final InOrder order = inOrder(response);
+        order.verify(response).getOutputStream();
+        order.verify(response).flushBuffer();
+        verify(response, never()).setContentLength(anyInt());
+        verify(response, never()).setHeader("Content-Length", anyString());
+        verify(response, never()).sendError(anyInt());
+    }
+
+    @Test
+    public void should_close_the_response_stream_and_release_the_turn_when_the_export_fails() throws Exception {
+        final ExportSpool exportSpool = new ExportSpool(response);
+        final ExportSpool.Export export = mock(ExportSpool.Export.class);
+        doThrow(new IllegalStateException("export failed")).when(export).writeTo(exportSpool);
+
+        try {
+            exportSpool.spool("Organization_Data.xml", export);
+            fail("the failure of the export should be thrown");
+        } catch (final IllegalStateException e) {
+            assertThat(e).hasMessage("export failed");
+        }
+
+        assertThat(closed).isTrue();
+        for (int i = 0; i < ExportSpool.MAX_CONCURRENT_EXPORTS; i++) {
+            assertThat(ExportSpool.acquirePermit()).isTrue();
+        }
+        for (int i = 0; i < ExportSpool.MAX_CONCURRENT_EXPORTS; i++) {
+            ExportSpool.releasePermit();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void should_not_write_the_export_before_its_turn_comes() throws Exception {
+        new ExportSpool(response).write("<organization/>");
+    }
+
+    @Test
+    public void should_limit_the_exports_built_at_the_same_time() throws Exception {
+        for (int i = 0; i < ExportSpool.MAX_CONCURRENT_EXPORTS; i++) {
+            assertThat(ExportSpool.acquirePermit()).isTrue();
+        }
+        Thread.currentThread().interrupt();
+        try {
+            assertThat(ExportSpool.acquirePermit()).isFalse();
+        } finally {
+            Thread.interrupted();
+            for (int i = 0; i < ExportSpool.MAX_CONCURRENT_EXPORTS; i++) {
+                ExportSpool.releasePermit();
+            }
+        }
+    }
+
+    @Test
+    public void should_reject_the_export_with_a_retry_after_when_too_many_exports_are_in_progress() throws Exception {
+        final ExportSpool exportSpool = new ExportSpool(response);
+        final ExportSpool.Export export = mock(ExportSpool.Export.class);
+        for (int i = 0; i < ExportSpool.MAX_CONCURRENT_EXPORTS; i++) {
+            ExportSpool.acquirePermit();
+        }
+        Thread.currentThread().interrupt();
+        final boolean spooled;
+        try {
+            spooled = exportSpool.spool("Organization_Data.xml", export);
+        } finally {
+            Thread.interrupted();
+            for (int i = 0; i < ExportSpool.MAX_CONCURRENT_EXPORTS; i++) {
+                ExportSpool.releasePermit();
+            }
+        }
+
+        assertThat(spooled).isFalse();
+        verify(export, never()).writeTo(exportSpool);
+        final InOrder order = inOrder(response);
+        order.verify(response).reset();
+        order.verify(response).setHeader("Retry-After", String.valueOf(ExportSpool.QUEUE_TIMEOUT));
+        order.verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(response, never()).flushBuffer();
+    }
+}
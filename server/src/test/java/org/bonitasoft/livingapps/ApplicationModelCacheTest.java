@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.livingapps;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class ApplicationModelCacheTest {
+
+    private long currentTime = 1000L;
+
+    private ApplicationModelCache createApplicationModelCache(final long timeToLive, final int maxSize) {
+        return new ApplicationModelCache(timeToLive, maxSize) {
+
+            @Override
+            protected long now() {
+                return currentTime;
+            }
+        };
+    }
+
+    @Test
+    public void should_drop_expired_values() throws Exception {
+        final ApplicationModelCache cache = createApplicationModelCache(100, 10);
+        cache.put("homePage|1", "home/");
+
+        currentTime += 100;
+        assertThat(cache.<String> get("homePage|1")).isEqualTo("home/");
+
+        currentTime += 1;
+        assertThat(cache.<String> get("homePage|1")).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_not_keep_more_values_than_max_size() throws Exception {
+        final ApplicationModelCache cache = createApplicationModelCache(100, 2);
+        cache.put("homePage|1", "home/");
+        cache.put("homePage|2", "home/");
+
+        cache.put("homePage|3", "dashboard/");
+
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        assertThat(cache.<String> get("homePage|3")).isEqualTo("dashboard/");
+    }
+
+    @Test
+    public void should_not_keep_anything_when_disabled() throws Exception {
+        final ApplicationModelCache cache = createApplicationModelCache(0, 10);
+
+        cache.put("homePage|1", "home/");
+
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_keep_tenants_apart() throws Exception {
+        ApplicationModelCache.getInstance(1L).put("homePage|1", "home/");
+
+        assertThat(ApplicationModelCache.getInstance(2L).<String> get("homePage|1")).isNull();
+        assertThat(ApplicationModelCache.getInstance(1L)).isSameAs(ApplicationModelCache.getInstance(1L));
+
+        ApplicationModelCache.getInstance(1L).clear();
+    }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.Collections;
@@ -25,6 +26,7 @@ import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -36,6 +38,9 @@ public class ApplicationModelFactoryTest {
     @Mock
     PageAPI customPageApi;
 
+    @Spy
+    ApplicationModelCache cache = new ApplicationModelCache(ApplicationModelCache.DEFAULT_TIME_TO_LIVE, ApplicationModelCache.DEFAULT_MAX_SIZE);
+
     @InjectMocks
     ApplicationModelFactory factory;
 
@@ -80,4 +85,20 @@ public class ApplicationModelFactoryTest {
         assertThat(filter.getField()).isEqualTo("token");
         assertThat(filter.getValue()).isEqualTo("bar");
     }
+
+    @Test
+    public void should_search_the_application_once_while_it_is_cached() throws Exception {
+        final ApplicationImpl application = new ApplicationImpl("foobar", "1.0", "bazqux");
+        application.setId(3);
+        given(applicationApi.searchApplications(any(SearchOptions.class))).willReturn(
+                new SearchResultImpl<Application>(1, asList((Application) application)));
+        given(applicationApi.getApplicationHomePage(3)).willReturn(new ApplicationPageImpl(1, 1, "home"));
+
+        factory.createApplicationModel("foobar").getApplicationHomePage();
+        final ApplicationModel model = factory.createApplicationModel("foobar");
+
+        assertThat(model.getApplicationHomePage()).isEqualTo("home/");
+        verify(applicationApi, times(1)).searchApplications(any(SearchOptions.class));
+        verify(applicationApi, times(1)).getApplicationHomePage(3);
+    }
 }
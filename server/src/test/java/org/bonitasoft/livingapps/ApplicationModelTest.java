@@ -4,6 +4,7 @@ import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
@@ -134,6 +135,24 @@ public class ApplicationModelTest {
         assertThat(model.authorize(session)).isFalse();
     }
 
+    @Test
+    public void should_retrieve_the_user_profiles_once_per_session_while_cached() throws Exception {
+        final ProfileImpl profile = new ProfileImpl("user");
+        profile.setId(2L);
+        given(profileApi.getProfilesForUser(1L, 0, Integer.MAX_VALUE, ProfileCriterion.ID_ASC))
+        .willReturn(asList((Profile) profile));
+        given(session.getUserId()).willReturn(1L);
+        given(session.getId()).willReturn(10L);
+        application.setProfileId(2L);
+        final ApplicationModelCache cache = new ApplicationModelCache(ApplicationModelCache.DEFAULT_TIME_TO_LIVE,
+                ApplicationModelCache.DEFAULT_MAX_SIZE);
+
+        assertThat(new ApplicationModel(applicationApi, pageApi, profileApi, application, factory, cache).authorize(session)).isTrue();
+        assertThat(new ApplicationModel(applicationApi, pageApi, profileApi, application, factory, cache).authorize(session)).isTrue();
+
+        verify(profileApi, times(1)).getProfilesForUser(1L, 0, Integer.MAX_VALUE, ProfileCriterion.ID_ASC);
+    }
+
     private void givenSearchApplicationMenusWillReturns(final List<ApplicationMenu> menuList) throws Exception {
         given(applicationApi.searchApplicationMenus(any(SearchOptions.class))).willReturn(
                 new SearchResultImpl<>(menuList.size(), menuList));
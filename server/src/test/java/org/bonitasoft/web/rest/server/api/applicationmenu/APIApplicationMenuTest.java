@@ -0,0 +1,98 @@
+package org.bonitasoft.web.rest.server.api.applicationmenu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+import javax.servlet.http.HttpSession;
+
+import org.bonitasoft.engine.session.APISession;
+import org.bonitasoft.livingapps.ApplicationModelCache;
+import org.bonitasoft.web.rest.model.ModelFactory;
+import org.bonitasoft.web.rest.model.applicationmenu.ApplicationMenuItem;
+import org.bonitasoft.web.rest.server.datastore.applicationmenu.ApplicationMenuDataStore;
+import org.bonitasoft.web.rest.server.datastore.applicationmenu.ApplicationMenuDataStoreCreator;
+import org.bonitasoft.web.rest.server.framework.APIServletCall;
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class APIApplicationMenuTest {
+
+    static {
+        ItemDefinitionFactory.setDefaultFactory(new ModelFactory());
+    }
+
+    private static final long TENANT_ID = 3L;
+
+    @Mock
+    private ApplicationMenuDataStoreCreator creator;
+
+    @Mock
+    private ApplicationMenuDataStore dataStore;
+
+    @Mock(answer = Answers.RETURNS_MOCKS)
+    private APIServletCall caller;
+
+    @Mock
+    private HttpSession httpSession;
+
+    @Mock
+    private APISession apiSession;
+
+    private APIApplicationMenu apiApplicationMenu;
+
+    @Before
+    public void setUp() throws Exception {
+        apiApplicationMenu = new APIApplicationMenu(creator);
+        apiApplicationMenu.setCaller(caller);
+        given(caller.getHttpSession()).willReturn(httpSession);
+        given(httpSession.getAttribute("apiSession")).willReturn(apiSession);
+        given(apiSession.getTenantId()).willReturn(TENANT_ID);
+        given(creator.create(apiSession)).willReturn(dataStore);
+        ApplicationModelCache.getInstance(TENANT_ID).put("homePage|1", "home/");
+    }
+
+    @Test
+    public void add_should_make_the_living_applications_be_retrieved_again() throws Exception {
+        //given
+        final ApplicationMenuItem itemToCreate = mock(ApplicationMenuItem.class);
+        final ApplicationMenuItem createdItem = mock(ApplicationMenuItem.class);
+        given(dataStore.add(itemToCreate)).willReturn(createdItem);
+
+        //when
+        final ApplicationMenuItem retrievedItem = apiApplicationMenu.add(itemToCreate);
+
+        //then
+        assertThat(retrievedItem).isEqualTo(createdItem);
+        assertThat(ApplicationModelCache.getInstance(TENANT_ID).<String> get("homePage|1")).isNull();
+    }
+
+    @Test
+    public void update_should_make_the_living_applications_be_retrieved_again() throws Exception {
+        //when
+        apiApplicationMenu.update(APIID.makeAPIID(1L), new HashMap<String, String>());
+
+        //then
+        assertThat(ApplicationModelCache.getInstance(TENANT_ID).<String> get("homePage|1")).isNull();
+    }
+
+    @Test
+    public void delete_should_make_the_living_applications_be_retrieved_again() throws Exception {
+        //when
+        apiApplicationMenu.delete(Collections.singletonList(APIID.makeAPIID(1L)));
+
+        //then
+        assertThat(ApplicationModelCache.getInstance(TENANT_ID).<String> get("homePage|1")).isNull();
+    }
+
+}
@@ -35,6 +35,7 @@ import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.flownode.FlowNodeDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.ProcessDatastore;
 import org.bonitasoft.web.rest.server.datastore.organization.UserDatastore;
+import org.bonitasoft.web.rest.server.framework.CounterCache;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
@@ -74,6 +75,7 @@ public class APICaseTest {
         doReturn(processDatastore).when(apiCase).getProcessDatastore();
         doReturn(flowNodeDatastore).when(apiCase).getFlowNodeDatastore();
         doReturn(caseDatastore).when(apiCase).getCaseDatastore();
+        doReturn(new CounterCache(CounterCache.DEFAULT_TIME_TO_LIVE, CounterCache.DEFAULT_MAX_SIZE)).when(apiCase).getCounterCache();
     }
 
     /**
@@ -411,4 +413,50 @@ public class APICaseTest {
         // Then
         verify(item).setAttribute(CaseItem.COUNTER_ACTIVE_FLOW_NODES, numberOfFailedFlowNodes);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public final void fillCounters_should_count_failed_flow_nodes_of_all_cases_with_one_search() {
+        // Given
+        final CaseItem case1 = new CaseItem();
+        case1.setId(1L);
+        final CaseItem case2 = new CaseItem();
+        case2.setId(2L);
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put(FlowNodeItem.ATTRIBUTE_STATE, FlowNodeItem.VALUE_STATE_FAILED);
+        final Map<APIID, Long> counts = new HashMap<APIID, Long>();
+        counts.put(APIID.makeAPIID(1L), 1L);
+        counts.put(APIID.makeAPIID(2L), 4L);
+        doReturn(counts).when(flowNodeDatastore).countGroupedByParentCase(anyCollection(), eq(filters));
+
+        // When
+        apiCase.fillCounters(Arrays.asList(case1, case2), Arrays.asList(CaseItem.COUNTER_FAILED_FLOW_NODES));
+
+        // Then
+        assertEquals("1", case1.getAttributeValue(CaseItem.COUNTER_FAILED_FLOW_NODES));
+        assertEquals("4", case2.getAttributeValue(CaseItem.COUNTER_FAILED_FLOW_NODES));
+        verify(flowNodeDatastore, never()).count(anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public final void fillCounters_should_count_active_flow_nodes_of_all_cases_with_one_search() {
+        // Given
+        final CaseItem case1 = new CaseItem();
+        case1.setId(1L);
+        final CaseItem case2 = new CaseItem();
+        case2.setId(2L);
+        final Map<APIID, Long> counts = new HashMap<APIID, Long>();
+        counts.put(APIID.makeAPIID(1L), 2L);
+        counts.put(APIID.makeAPIID(2L), 6L);
+        doReturn(counts).when(flowNodeDatastore).countGroupedByParentCase(anyCollection(), eq(new HashMap<String, String>()));
+
+        // When
+        apiCase.fillCounters(Arrays.asList(case1, case2), Arrays.asList(CaseItem.COUNTER_ACTIVE_FLOW_NODES));
+
+        // Then
+        assertEquals("2", case1.getAttributeValue(CaseItem.COUNTER_ACTIVE_FLOW_NODES));
+        assertEquals("6", case2.getAttributeValue(CaseItem.COUNTER_ACTIVE_FLOW_NODES));
+        verify(flowNodeDatastore, never()).count(anyString(), anyString(), anyMap());
+    }
 }
@@ -1,9 +1,13 @@
 package org.bonitasoft.web.rest.server.api.bpm.process;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
 import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -33,6 +37,7 @@ import org.bonitasoft.web.rest.model.bpm.process.ProcessItem;
 import org.bonitasoft.web.rest.server.datastore.bpm.cases.CaseDatastore;
 import org.bonitasoft.web.rest.server.datastore.bpm.process.ProcessDatastore;
 import org.bonitasoft.web.rest.server.framework.APIServletCall;
+import org.bonitasoft.web.rest.server.framework.CounterCache;
 import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIForbiddenException;
 import org.bonitasoft.web.toolkit.client.common.util.StringUtil;
@@ -92,6 +97,7 @@ public class APIProcessTest {
         apiProcess.setCaller(caller);
         doReturn(processDatastore).when(apiProcess).getProcessDatastore();
         doReturn(caseDatastore).when(apiProcess).getCaseDatastore();
+        doReturn(new CounterCache(CounterCache.DEFAULT_TIME_TO_LIVE, CounterCache.DEFAULT_MAX_SIZE)).when(apiProcess).getCounterCache();
         doReturn(webBonitaConstantsUtils).when(apiProcess).getWebBonitaConstantsUtils();
         doNothing().when(apiProcess).deleteOldIconFile(any(APIID.class));
         doReturn(null).when(apiProcess).uploadIcon("Non empty");
@@ -250,6 +256,84 @@ public class APIProcessTest {
         verify(item, never()).setAttribute(anyString(), anyLong());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public final void fillCounters_should_count_failed_cases_of_all_processes_with_one_search() {
+        // Given
+        final ProcessItem process1 = aProcess(1L);
+        final ProcessItem process2 = aProcess(2L);
+        final Map<APIID, Long> counts = new HashMap<APIID, Long>();
+        counts.put(APIID.makeAPIID(1L), 3L);
+        counts.put(APIID.makeAPIID(2L), 0L);
+        doReturn(counts).when(caseDatastore).countGroupedByProcess(anyCollection(), eq(failedCasesFilters()));
+
+        // When
+        apiProcess.fillCounters(Arrays.asList(process1, process2), Arrays.asList(ProcessItem.COUNTER_FAILED_CASES));
+
+        // Then
+        assertEquals("3", process1.getAttributeValue(ProcessItem.COUNTER_FAILED_CASES));
+        assertEquals("0", process2.getAttributeValue(ProcessItem.COUNTER_FAILED_CASES));
+        verify(caseDatastore, never()).count(anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public final void fillCounters_should_count_open_cases_of_all_processes_with_one_search() {
+        // Given
+        final ProcessItem process1 = aProcess(1L);
+        final ProcessItem process2 = aProcess(2L);
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put(CaseItem.FILTER_CALLER, "any");
+        final Map<APIID, Long> counts = new HashMap<APIID, Long>();
+        counts.put(APIID.makeAPIID(1L), 2500L);
+        counts.put(APIID.makeAPIID(2L), 7L);
+        doReturn(counts).when(caseDatastore).countGroupedByProcess(anyCollection(), eq(filters));
+
+        // When
+        apiProcess.fillCounters(Arrays.asList(process1, process2), Arrays.asList(ProcessItem.COUNTER_OPEN_CASES));
+
+        // Then
+        assertEquals("2500", process1.getAttributeValue(ProcessItem.COUNTER_OPEN_CASES));
+        assertEquals("7", process2.getAttributeValue(ProcessItem.COUNTER_OPEN_CASES));
+        verify(caseDatastore, never()).count(anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public final void fillCounters_should_not_count_cases_again_while_counters_are_cached() {
+        // Given
+        doReturn(5L).when(caseDatastore).count(null, null, failedCasesFilters(1L));
+        apiProcess.fillCounters(aProcess(1L), Arrays.asList(ProcessItem.COUNTER_FAILED_CASES));
+        final ProcessItem process = aProcess(1L);
+
+        // When
+        apiProcess.fillCounters(Arrays.asList(process), Arrays.asList(ProcessItem.COUNTER_FAILED_CASES));
+
+        // Then
+        assertEquals("5", process.getAttributeValue(ProcessItem.COUNTER_FAILED_CASES));
+        verify(caseDatastore, times(1)).count(null, null, failedCasesFilters(1L));
+        verify(caseDatastore, never()).countGroupedByProcess(anyCollection(), anyMap());
+    }
+
+    private ProcessItem aProcess(final long id) {
+        final ProcessItem process = new ProcessItem();
+        process.setId(id);
+        return process;
+    }
+
+    private Map<String, String> failedCasesFilters() {
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put(CaseItem.FILTER_CALLER, "any");
+        filters.put(CaseItem.FILTER_STATE, ProcessInstanceState.ERROR.name());
+        return filters;
+    }
+
+    private Map<String, String> failedCasesFilters(final long processId) {
+        final Map<String, String> filters = failedCasesFilters();
+        filters.put(CaseItem.ATTRIBUTE_PROCESS_ID, String.valueOf(processId));
+        return filters;
+    }
+
     @Test(expected = APIForbiddenException.class)
     public void it_throws_an_exception_updating_icon_with_unauthorized_path() throws IOException {
         // Given
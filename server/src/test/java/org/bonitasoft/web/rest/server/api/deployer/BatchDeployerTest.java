@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.api.deployer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bonitasoft.web.rest.model.ModelFactory;
+import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
+import org.bonitasoft.web.rest.model.identity.UserItem;
+import org.bonitasoft.web.rest.server.APITestWithMock;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBatchGet;
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+public class BatchDeployerTest extends APITestWithMock {
+
+    @Mock
+    private DatastoreHasBatchGet<UserItem> getter;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        ItemDefinitionFactory.setDefaultFactory(new ModelFactory());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_retrieve_distinct_ids_of_all_items_at_once() throws Exception {
+        final UserItem user1 = aUser(1L);
+        final UserItem user2 = aUser(2L);
+        final Map<APIID, UserItem> users = new HashMap<APIID, UserItem>();
+        users.put(APIID.makeAPIID(1L), user1);
+        users.put(APIID.makeAPIID(2L), user2);
+        doReturn(users).when(getter).get(anyCollectionOf(APIID.class));
+        final CaseItem case1 = aCaseStartedBy(1L, 2L);
+        final CaseItem case2 = aCaseStartedBy(1L, null);
+
+        new BatchDeployer<UserItem>(getter, CaseItem.ATTRIBUTE_STARTED_BY_USER_ID, CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID)
+                .deployIn(Arrays.asList(case1, case2),
+                        Arrays.asList(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID, CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID));
+
+        final ArgumentCaptor<Collection> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(getter).get(ids.capture());
+        assertThat(ids.getValue()).containsOnly(APIID.makeAPIID(1L), APIID.makeAPIID(2L));
+        assertThat(case1.getDeploy(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID)).isEqualTo(user1);
+        assertThat(case1.getDeploy(CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID)).isEqualTo(user2);
+        assertThat(case2.getDeploy(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID)).isEqualTo(user1);
+        assertThat(case2.getDeploy(CaseItem.ATTRIBUTE_STARTED_BY_SUBSTITUTE_USER_ID)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_not_call_datastore_when_attribute_is_not_deployed() throws Exception {
+        final CaseItem caseItem = aCaseStartedBy(1L, null);
+
+        new BatchDeployer<UserItem>(getter, CaseItem.ATTRIBUTE_STARTED_BY_USER_ID)
+                .deployIn(Arrays.asList(caseItem), Collections.<String> emptyList());
+
+        verify(getter, never()).get(anyCollectionOf(APIID.class));
+        assertThat(caseItem.getDeploy(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID)).isNull();
+    }
+
+    private UserItem aUser(final long id) {
+        final UserItem user = new UserItem();
+        user.setId(id);
+        return user;
+    }
+
+    private CaseItem aCaseStartedBy(final Long userId, final Long substituteId) {
+        final CaseItem item = new CaseItem();
+        item.setStartedByUserId(userId);
+        item.setStartedBySubstituteUserId(substituteId);
+        return item;
+    }
+}
@@ -1,9 +1,11 @@
 package org.bonitasoft.web.rest.server.api.tenant;
 
 import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -37,6 +39,7 @@ public class APIBusinessDataModelTest extends APITestWithMock {
     @Before
     public void setUp() {
         doReturn(tenantManagementEngineClient).when(apiBusinessDataModel).getTenantManagementEngineClient();
+        doNothing().when(apiBusinessDataModel).invalidateBusinessDataModelVersion();
     }
 
     @Test
@@ -52,6 +55,7 @@ public class APIBusinessDataModelTest extends APITestWithMock {
         final InOrder inOrder = inOrder(tenantManagementEngineClient);
         inOrder.verify(tenantManagementEngineClient).uninstallBusinessDataModel();
         inOrder.verify(tenantManagementEngineClient).installBusinessDataModel(getContent(bdmFile));
+        verify(apiBusinessDataModel).invalidateBusinessDataModelVersion();
     }
 
     private File testBDMFile() throws URISyntaxException {
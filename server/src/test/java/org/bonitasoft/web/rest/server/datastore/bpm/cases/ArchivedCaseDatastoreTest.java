@@ -1,5 +1,7 @@
 package org.bonitasoft.web.rest.server.datastore.bpm.cases;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.doReturn;
@@ -12,6 +14,7 @@ import static org.mockito.MockitoAnnotations.initMocks;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.bonitasoft.engine.api.ProcessAPI;
 import org.bonitasoft.engine.bpm.process.ArchivedProcessInstance;
@@ -21,6 +24,9 @@ import org.bonitasoft.engine.exception.BonitaHomeNotSetException;
 import org.bonitasoft.engine.exception.DeletionException;
 import org.bonitasoft.engine.exception.ServerAPIException;
 import org.bonitasoft.engine.exception.UnknownAPITypeException;
+import org.bonitasoft.engine.search.SearchOptions;
+import org.bonitasoft.engine.search.impl.SearchResultImpl;
+import org.bonitasoft.web.rest.model.bpm.cases.ArchivedCaseItem;
 import org.bonitasoft.web.rest.server.APITestWithMock;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
 import org.bonitasoft.web.toolkit.client.data.APIID;
@@ -126,6 +132,29 @@ public class ArchivedCaseDatastoreTest extends APITestWithMock {
 
     }
 
+    @Test
+    public void should_retrieve_the_archived_cases_of_several_cases_with_one_search() throws Exception {
+        //given
+        doReturn(new SearchResultImpl<ArchivedProcessInstance>(2, Arrays.asList(archivedProcessInstance1, archivedProcessInstance3)))
+                .when(processAPI).searchArchivedProcessInstances(any(SearchOptions.class));
+
+        //when
+        final Map<APIID, ArchivedCaseItem> archivedCases = datastore.getBySourceObjectIds(Arrays.asList(APIID.makeAPIID(sourceProcessInstanceId1),
+                APIID.makeAPIID(sourceProcessInstanceId2), APIID.makeAPIID(sourceProcessInstanceId3)));
+
+        //then
+        verify(processAPI, times(1)).searchArchivedProcessInstances(any(SearchOptions.class));
+        assertThat(archivedCases.keySet()).containsOnly(APIID.makeAPIID(sourceProcessInstanceId1), APIID.makeAPIID(sourceProcessInstanceId3));
+    }
+
+    @Test
+    public void should_not_search_the_archived_cases_of_no_case() throws Exception {
+        //when
+        final Map<APIID, ArchivedCaseItem> archivedCases = datastore.getBySourceObjectIds(Collections.<APIID> emptyList());
 
+        //then
+        assertThat(archivedCases).isEmpty();
+        verify(processAPI, times(0)).searchArchivedProcessInstances(any(SearchOptions.class));
+    }
 
 }
@@ -19,6 +19,7 @@ import static org.junit.Assert.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -40,6 +41,7 @@ import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
 import org.bonitasoft.web.toolkit.client.common.exception.api.APIException;
+import org.bonitasoft.web.toolkit.client.data.APIID;
 import org.bonitasoft.web.toolkit.client.data.item.IItem;
 import org.junit.Before;
 import org.junit.Test;
@@ -406,6 +408,56 @@ public class CaseDatastoreTest {
         assertEquals(total, result);
     }
 
+    @Test
+    public void countGroupedByProcess_should_count_the_cases_of_each_process_with_one_search() throws Exception {
+        // Given
+        final Map<String, String> filters = failedCasesFilters();
+        doReturn(new SearchResultImpl<ProcessInstance>(3L, Arrays.asList(aCaseOf(1L), aCaseOf(1L), aCaseOf(3L)))).when(processAPI)
+                .searchFailedProcessInstances(any(SearchOptions.class));
+
+        // When
+        final Map<APIID, Long> counts = caseDatastore.countGroupedByProcess(
+                Arrays.asList(APIID.makeAPIID(1L), APIID.makeAPIID(2L), APIID.makeAPIID(3L)), filters);
+
+        // Then
+        assertThat(counts).containsEntry(APIID.makeAPIID(1L), 2L).containsEntry(APIID.makeAPIID(2L), 0L).containsEntry(APIID.makeAPIID(3L), 1L)
+                .hasSize(3);
+        verify(processAPI, times(1)).searchFailedProcessInstances(any(SearchOptions.class));
+    }
+
+    @Test
+    public void countGroupedByProcess_should_retrieve_the_next_pages_when_there_are_more_cases_than_a_page() throws Exception {
+        // Given
+        final List<ProcessInstance> firstPage = new ArrayList<ProcessInstance>();
+        for (int i = 0; i < CaseDatastore.GROUPED_COUNT_PAGE_SIZE; i++) {
+            firstPage.add(aCaseOf(1L));
+        }
+        doReturn(new SearchResultImpl<ProcessInstance>(CaseDatastore.GROUPED_COUNT_PAGE_SIZE + 2, firstPage))
+                .doReturn(new SearchResultImpl<ProcessInstance>(CaseDatastore.GROUPED_COUNT_PAGE_SIZE + 2, Arrays.asList(aCaseOf(1L), aCaseOf(2L))))
+                .when(processAPI).searchFailedProcessInstances(any(SearchOptions.class));
+
+        // When
+        final Map<APIID, Long> counts = caseDatastore.countGroupedByProcess(Arrays.asList(APIID.makeAPIID(1L), APIID.makeAPIID(2L)),
+                failedCasesFilters());
+
+        // Then
+        assertThat(counts).containsEntry(APIID.makeAPIID(1L), CaseDatastore.GROUPED_COUNT_PAGE_SIZE + 1L).containsEntry(APIID.makeAPIID(2L), 1L);
+        verify(processAPI, times(2)).searchFailedProcessInstances(any(SearchOptions.class));
+    }
+
+    private Map<String, String> failedCasesFilters() {
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put(CaseItem.FILTER_CALLER, "any");
+        filters.put(CaseItem.FILTER_STATE, ProcessInstanceState.ERROR.name());
+        return filters;
+    }
+
+    private ProcessInstance aCaseOf(final long processId) {
+        final ProcessInstance processInstance = mock(ProcessInstance.class);
+        doReturn(processId).when(processInstance).getProcessDefinitionId();
+        return processInstance;
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     @Test
     public void searchProcessInstances_With_PM_Filter_And_Failed_State_should_call_API() throws Exception {
@@ -49,6 +49,7 @@ import org.apache.commons.io.FileUtils;
 import org.assertj.core.groups.Tuple;
 import org.bonitasoft.console.common.server.page.CustomPageService;
 import org.bonitasoft.console.common.server.page.PageResourceProvider;
+import org.bonitasoft.console.common.server.page.RestApiControllerRegistry;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstants;
 import org.bonitasoft.console.common.server.preferences.constants.WebBonitaConstantsUtils;
 import org.bonitasoft.console.common.server.preferences.properties.CompoundPermissionsMapping;
@@ -146,6 +147,9 @@ public class PageDatastoreTest extends APITestWithMock {
     @Mock
     private PageResourceProvider pageResourceProvider;
 
+    @Mock
+    private RestApiControllerRegistry restApiControllerRegistry;
+
     @Before
     public void setUp() throws Exception {
         final Date mockedDate = new Date(0l);
@@ -186,6 +190,7 @@ public class PageDatastoreTest extends APITestWithMock {
         pageDatastore = spy(new PageDatastore(engineSession, constantsValue, pageAPI, customPageService, compoundPermissionsMapping,
                 resourcesPermissionsMapping,
                 tenantFolder));
+        doReturn(restApiControllerRegistry).when(pageDatastore).getRestApiControllerRegistry();
 
         pageToBeAdded = new PageItem();
         pageToBeAdded.setUrlToken("custompage_page1");
@@ -243,6 +248,7 @@ public class PageDatastoreTest extends APITestWithMock {
 
         //then
         verify(customPageService).addRestApiExtensionPermissions(resourcesPermissionsMapping, pageResourceProvider, engineSession);
+        verify(restApiControllerRegistry).invalidate(TENANT_ID, PAGE_ID);
     }
 
     @Test(expected = APIException.class)
@@ -284,6 +290,7 @@ public class PageDatastoreTest extends APITestWithMock {
 
         // Validate
         verify(customPageService).removePage(engineSession, mockedPage.getName());
+        verify(restApiControllerRegistry).invalidate(TENANT_ID, PAGE_ID);
     }
 
     @Test(expected = APIException.class)
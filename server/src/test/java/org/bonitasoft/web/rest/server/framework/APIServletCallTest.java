@@ -22,10 +22,14 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,9 +41,12 @@ import org.bonitasoft.console.common.server.preferences.properties.ResourcesPerm
 import org.bonitasoft.console.common.server.utils.SessionUtil;
 import org.bonitasoft.engine.session.APISession;
 import org.bonitasoft.web.rest.server.framework.search.ItemSearchResult;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.bonitasoft.web.toolkit.client.data.item.IItem;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -111,4 +118,47 @@ public class APIServletCallTest {
         verify(apiServletCall).head(anyString(), anyString());
     }
 
+    @Test
+    public void should_output_identity_map_statistics_in_debug_mode() throws Exception {
+        apiServletCall.getIdentityMap().getCount("counter", new HashMap<String, String>());
+        doReturn(true).when(apiServletCall).isInDebugMode();
+        doNothing().when(apiServletCall).head(anyString(), anyString());
+
+        apiServletCall.outputIdentityMapStatistics();
+
+        verify(apiServletCall).head(APIServletCall.HEADER_IDENTITY_MAP_HITS, "0");
+        verify(apiServletCall).head(APIServletCall.HEADER_IDENTITY_MAP_MISSES, "1");
+    }
+
+    @Test
+    public void doGet_should_set_the_identity_map_statistics_headers_on_the_response_before_the_body() throws Exception {
+        doReturn(new HashMap<String, String[]>()).when(request).getParameterMap();
+        doReturn("API/bpm/case/15").when(request).getPathInfo();
+        final APIServletCall apiServletCallWithResponse = spy(new APIServletCall(request, response));
+        apiServletCallWithResponse.parsePath(request);
+        apiServletCallWithResponse.api = api;
+        apiServletCallWithResponse.getIdentityMap().getCount("counter", new HashMap<String, String>());
+        doReturn(true).when(apiServletCallWithResponse).isInDebugMode();
+        final IItem item = mock(IItem.class);
+        doReturn(item).when(api).runGet(any(APIID.class), any(List.class), any(List.class));
+        doNothing().when(apiServletCallWithResponse).output(item);
+
+        apiServletCallWithResponse.doGet();
+
+        final InOrder inOrder = inOrder(response, apiServletCallWithResponse);
+        inOrder.verify(response).addHeader(APIServletCall.HEADER_IDENTITY_MAP_HITS, "0");
+        inOrder.verify(response).addHeader(APIServletCall.HEADER_IDENTITY_MAP_MISSES, "1");
+        inOrder.verify(apiServletCallWithResponse).output(item);
+    }
+
+    @Test
+    public void should_not_output_identity_map_statistics_when_not_in_debug_mode() throws Exception {
+        apiServletCall.getIdentityMap().getCount("counter", new HashMap<String, String>());
+        doReturn(false).when(apiServletCall).isInDebugMode();
+
+        apiServletCall.outputIdentityMapStatistics();
+
+        verify(apiServletCall, never()).head(anyString(), anyString());
+    }
+
 }
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CounterCacheTest {
+
+    private long currentTime = 1000L;
+
+    private CounterCache createCounterCache(final long timeToLive, final int maxSize) {
+        return new CounterCache(timeToLive, maxSize) {
+
+            @Override
+            protected long now() {
+                return currentTime;
+            }
+        };
+    }
+
+    @Test
+    public void should_get_a_counter_with_the_same_filters() throws Exception {
+        final CounterCache counterCache = createCounterCache(100, 10);
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put("processId", "1");
+        filters.put("state", "error");
+
+        counterCache.put("failedCases", filters, 3L);
+
+        assertThat(counterCache.get("failedCases", new HashMap<String, String>(filters))).isEqualTo(3L);
+        assertThat(counterCache.get("openCases", filters)).isNull();
+        assertThat(counterCache.get("failedCases", Collections.singletonMap("processId", "1"))).isNull();
+    }
+
+    @Test
+    public void should_drop_expired_counters() throws Exception {
+        final CounterCache counterCache = createCounterCache(100, 10);
+        counterCache.put("openCases", Collections.singletonMap("processId", "1"), 3L);
+
+        currentTime += 101;
+
+        assertThat(counterCache.get("openCases", Collections.singletonMap("processId", "1"))).isNull();
+        assertThat(counterCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_not_keep_more_counters_than_max_size() throws Exception {
+        final CounterCache counterCache = createCounterCache(100, 2);
+        counterCache.put("openCases", Collections.singletonMap("processId", "1"), 1L);
+        counterCache.put("openCases", Collections.singletonMap("processId", "2"), 2L);
+
+        counterCache.put("openCases", Collections.singletonMap("processId", "3"), 3L);
+
+        assertThat(counterCache.size()).isLessThanOrEqualTo(2);
+        assertThat(counterCache.get("openCases", Collections.singletonMap("processId", "3"))).isEqualTo(3L);
+    }
+
+    @Test
+    public void should_keep_tenants_apart() throws Exception {
+        CounterCache.getInstance(1L).put("openCases", Collections.singletonMap("processId", "1"), 1L);
+
+        CounterCache.getInstance(2L).clear();
+
+        assertThat(CounterCache.getInstance(1L).get("openCases", Collections.singletonMap("processId", "1"))).isEqualTo(1L);
+        CounterCache.getInstance(1L).clear();
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.rest.server.framework;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bonitasoft.web.rest.model.ModelFactory;
+import org.bonitasoft.web.rest.model.identity.UserDefinition;
+import org.bonitasoft.web.rest.model.identity.UserItem;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasBatchGet;
+import org.bonitasoft.web.rest.server.framework.api.DatastoreHasGet;
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
+import org.bonitasoft.web.toolkit.client.data.APIID;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ItemIdentityMapTest {
+
+    @Mock
+    private DatastoreHasGet<UserItem> getter;
+
+    @Mock
+    private DatastoreHasBatchGet<UserItem> batchGetter;
+
+    private final ItemIdentityMap identityMap = new ItemIdentityMap();
+
+    @Before
+    public void setUp() {
+        ItemDefinitionFactory.setDefaultFactory(new ModelFactory());
+    }
+
+    @Test
+    public void should_retrieve_an_item_only_once() throws Exception {
+        final UserItem user = aUser(1L);
+        doReturn(user).when(getter).get(APIID.makeAPIID(1L));
+
+        final UserItem first = identityMap.getter(UserDefinition.TOKEN, getter).get(APIID.makeAPIID(1L));
+        final UserItem second = identityMap.getter(UserDefinition.TOKEN, getter).get(APIID.makeAPIID(1L));
+
+        verify(getter, times(1)).get(APIID.makeAPIID(1L));
+        assertThat(first).isSameAs(user);
+        assertThat(second).isSameAs(user);
+        assertThat(identityMap.getHits()).isEqualTo(1);
+        assertThat(identityMap.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_remember_items_which_do_not_exist() throws Exception {
+        identityMap.getter(UserDefinition.TOKEN, getter).get(APIID.makeAPIID(1L));
+
+        final UserItem user = identityMap.getter(UserDefinition.TOKEN, getter).get(APIID.makeAPIID(1L));
+
+        verify(getter, times(1)).get(APIID.makeAPIID(1L));
+        assertThat(user).isNull();
+    }
+
+    @Test
+    public void should_only_retrieve_unknown_items_of_a_batch() throws Exception {
+        final UserItem user1 = aUser(1L);
+        final UserItem user2 = aUser(2L);
+        doReturn(user1).when(getter).get(APIID.makeAPIID(1L));
+        doReturn(Collections.singletonMap(APIID.makeAPIID(2L), user2)).when(batchGetter).get(Arrays.asList(APIID.makeAPIID(2L)));
+        identityMap.getter(UserDefinition.TOKEN, getter).get(APIID.makeAPIID(1L));
+
+        final Map<APIID, UserItem> users = identityMap.batchGetter(UserDefinition.TOKEN, batchGetter).get(
+                Arrays.asList(APIID.makeAPIID(1L), APIID.makeAPIID(2L)));
+
+        verify(batchGetter).get(Arrays.asList(APIID.makeAPIID(2L)));
+        assertThat(users).hasSize(2).containsEntry(APIID.makeAPIID(1L), user1).containsEntry(APIID.makeAPIID(2L), user2);
+        assertThat(identityMap.getHits()).isEqualTo(1);
+        assertThat(identityMap.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_keep_item_types_apart() throws Exception {
+        doReturn(aUser(1L)).when(getter).get(APIID.makeAPIID(1L));
+        identityMap.getter(UserDefinition.TOKEN, getter).get(APIID.makeAPIID(1L));
+
+        identityMap.getter("anotherType", getter).get(APIID.makeAPIID(1L));
+
+        verify(getter, times(2)).get(APIID.makeAPIID(1L));
+    }
+
+    @Test
+    public void should_remember_counters_by_filters() throws Exception {
+        final Map<String, String> filters = new HashMap<String, String>();
+        filters.put("processId", "1");
+        identityMap.putCount("openCases", filters, 3L);
+
+        assertThat(identityMap.getCount("openCases", new HashMap<String, String>(filters))).isEqualTo(3L);
+        assertThat(identityMap.getCount("failedCases", filters)).isNull();
+        assertThat(identityMap.getHits()).isEqualTo(1);
+        assertThat(identityMap.getMisses()).isEqualTo(1);
+    }
+
+    private UserItem aUser(final long id) {
+        final UserItem user = new UserItem();
+        user.setId(id);
+        return user;
+    }
+}
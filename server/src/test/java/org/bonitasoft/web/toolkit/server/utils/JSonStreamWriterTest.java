@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2015 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.web.toolkit.server.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bonitasoft.web.rest.model.ModelFactory;
+import org.bonitasoft.web.rest.model.bpm.cases.CaseItem;
+import org.bonitasoft.web.rest.model.identity.UserItem;
+import org.bonitasoft.web.toolkit.client.ItemDefinitionFactory;
+import org.bonitasoft.web.toolkit.client.common.json.JSonSerializer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JSonStreamWriterTest {
+
+    @Before
+    public void setUp() {
+        ItemDefinitionFactory.setDefaultFactory(new ModelFactory());
+    }
+
+    private String write(final Object object) throws Exception {
+        final StringWriter writer = new StringWriter();
+        new JSonStreamWriter(writer).write(object).flush();
+        return writer.toString();
+    }
+
+    private UserItem createUser(final String id, final String userName) {
+        final UserItem user = new UserItem();
+        user.setId(id);
+        user.setUserName(userName);
+        user.setFirstName("first \"name\"\t</script>");
+        user.setLastName("\u00e9t\u00e9 \u0085 \u2028 \\ end");
+        return user;
+    }
+
+    @Test
+    public void should_write_an_item_as_the_serializer() throws Exception {
+        final UserItem user = createUser("1", "walter.bates");
+
+        assertThat(write(user)).isEqualTo(JSonSerializer.serialize(user));
+    }
+
+    @Test
+    public void should_write_the_deploys_of_an_item_as_the_serializer() throws Exception {
+        final CaseItem caseItem = new CaseItem();
+        caseItem.setId("12");
+        caseItem.setAttribute(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID, "1");
+        caseItem.setDeploy(CaseItem.ATTRIBUTE_STARTED_BY_USER_ID, createUser("1", "walter.bates"));
+        caseItem.setAttribute(CaseItem.ATTRIBUTE_STATE, (String) null);
+
+        assertThat(write(caseItem)).isEqualTo(JSonSerializer.serialize(caseItem));
+    }
+
+    @Test
+    public void should_write_a_search_result_bigger_than_the_buffer_as_the_serializer() throws Exception {
+        final List<UserItem> users = new ArrayList<UserItem>();
+        for (int i = 0; i < 500; i++) {
+            users.add(createUser(String.valueOf(i), "user" + i));
+        }
+
+        assertThat(write(users)).isEqualTo(JSonSerializer.serialize(users));
+    }
+
+    @Test
+    public void should_write_maps_numbers_booleans_and_null_as_the_serializer() throws Exception {
+        final Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("count", 3L);
+        map.put("enabled", true);
+        map.put("nothing", null);
+        map.put("values", Arrays.asList("a", "b\nc"));
+
+        assertThat(write(map)).isEqualTo(JSonSerializer.serialize(map));
+        assertThat(write(null)).isEqualTo("null");
+        assertThat(write(new ArrayList<String>())).isEqualTo("[]");
+    }
+}